@@ -163,6 +163,40 @@ tasks.withType<Test> {
     maxHeapSize = "6G"
 }
 
+// ---------------- Benchmarks ----------------
+
+// JMH benchmarks are kept in a separate source set. Run all benchmarks with 'gradlew jmh' or
+// select benchmarks and pass further JMH options with '-Pjmh="<regexp> -p formulaSet=fggf"'.
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    // https://github.com/openjdk/jmh
+    "jmhImplementation"("org.openjdk.jmh", "jmh-core", "1.35")
+    "jmhAnnotationProcessor"("org.openjdk.jmh", "jmh-generator-annprocess", "1.35")
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Run the JMH benchmarks"
+
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    maxHeapSize = "6G"
+
+    val resultFile = file("${project.buildDir}/reports/jmh/results.json")
+    doFirst { resultFile.parentFile.mkdirs() }
+
+    // Report throughput, percentiles (sample mode) and allocation rates (GC profiler).
+    args("-bm", "thrpt,sample", "-prof", "gc", "-rf", "json", "-rff", resultFile)
+    (project.findProperty("jmh") as String?)?.let { args(it.split(' ').filter(String::isNotBlank)) }
+}
+
 // ---------------- Compilation ----------------
 
 tasks.compileJava {
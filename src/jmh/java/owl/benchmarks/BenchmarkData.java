@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.OptionalInt;
+import owl.automaton.Automaton;
+import owl.automaton.HashMapAutomaton;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.ltl.LabelledFormula;
+import owl.ltl.parser.LtlParser;
+import owl.translations.LtlTranslationRepository.LtlToDpaTranslation;
+import owl.translations.LtlTranslationRepository.Option;
+
+/**
+ * Shared inputs for the benchmarks. All paths are resolved relative to the project directory,
+ * which is the working directory of the {@code jmh} Gradle task.
+ */
+final class BenchmarkData {
+
+  /**
+   * JVM argument disabling assertions in the BDD library for the forked benchmark JVMs. The
+   * library checks expensive invariants that would otherwise dominate the measurements if the JVM
+   * runs with {@code -ea}. The assertion status of a class is fixed once it is initialized and
+   * thus cannot be changed from a setup method.
+   */
+  static final String DISABLE_JBDD_ASSERTIONS = "-da:de.tum.in.jbdd...";
+
+  private static final String BASE_PATH = "data/formulas";
+
+  private BenchmarkData() {}
+
+  /**
+   * Reads all formulas of a formula set from {@code data/formulas}. Empty lines and lines starting
+   * with '#' are skipped.
+   *
+   * @param name the name of the formula set, e.g., {@code fggf} for {@code data/formulas/fggf.ltl}.
+   * @return the parsed formulas in the order of the file.
+   */
+  static List<LabelledFormula> formulas(String name) {
+    List<LabelledFormula> formulas = new ArrayList<>();
+
+    try (BufferedReader reader = Files.newBufferedReader(Path.of(BASE_PATH, name + ".ltl"))) {
+      reader.lines().forEach(line -> {
+        var formulaString = line.trim();
+
+        if (formulaString.isEmpty() || formulaString.charAt(0) == '#') {
+          return;
+        }
+
+        formulas.add(LtlParser.parse(formulaString));
+      });
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+
+    return formulas;
+  }
+
+  /**
+   * Translates all formulas of a formula set with the default LTL-to-DPA translation and copies
+   * the explored automata into memory. Used as input for benchmarks of automaton algorithms.
+   */
+  static List<Automaton<Object, ?>> automata(String name) {
+    var translation = LtlToDpaTranslation.DEFAULT.translation(
+      ParityAcceptance.class, EnumSet.noneOf(Option.class), OptionalInt.empty());
+
+    List<Automaton<Object, ?>> automata = new ArrayList<>();
+
+    for (var formula : formulas(name)) {
+      @SuppressWarnings("unchecked")
+      var automaton = (Automaton<Object, ?>) translation.apply(formula);
+      automata.add(HashMapAutomaton.copyOf(automaton));
+    }
+
+    return automata;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import owl.bdd.EquivalenceClassFactory;
+import owl.bdd.FactorySupplier;
+import owl.ltl.EquivalenceClass;
+import owl.ltl.Formula;
+import owl.ltl.LabelledFormula;
+
+/**
+ * Benchmarks the basic operations of the BDD-backed {@link EquivalenceClassFactory}. Fresh
+ * factories are created before every iteration. Since factories memoize results, the measurements
+ * are dominated by the cached paths; setting up factories per invocation would instead measure
+ * the setup and garbage collection overhead of JMH.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkData.DISABLE_JBDD_ASSERTIONS)
+public class EquivalenceClassFactoryBenchmark {
+
+  @Param({"base", "fggf", "size", "syntcomp-selection"})
+  public String formulaSet;
+
+  private List<LabelledFormula> formulas;
+  private List<EquivalenceClassFactory> factories;
+  private List<List<EquivalenceClass>> temporalOperators;
+
+  @Setup(Level.Trial)
+  public void setUpTrial() {
+    formulas = BenchmarkData.formulas(formulaSet);
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpIteration() {
+    factories = new ArrayList<>(formulas.size());
+    temporalOperators = new ArrayList<>(formulas.size());
+
+    for (LabelledFormula formula : formulas) {
+      var factory = FactorySupplier.defaultSupplier()
+        .getEquivalenceClassFactory(formula.atomicPropositions());
+      var classes = new ArrayList<EquivalenceClass>();
+
+      for (var temporalOperator : formula.formula().subformulas(Formula.TemporalOperator.class)) {
+        classes.add(factory.of(temporalOperator));
+      }
+
+      factories.add(factory);
+      temporalOperators.add(classes);
+    }
+  }
+
+  @Benchmark
+  public void of(Blackhole blackhole) {
+    for (int i = 0, s = formulas.size(); i < s; i++) {
+      blackhole.consume(factories.get(i).of(formulas.get(i).formula()));
+    }
+  }
+
+  @Benchmark
+  public void and(Blackhole blackhole) {
+    for (int i = 0, s = formulas.size(); i < s; i++) {
+      blackhole.consume(factories.get(i).and(temporalOperators.get(i)));
+    }
+  }
+
+  @Benchmark
+  public void or(Blackhole blackhole) {
+    for (int i = 0, s = formulas.size(); i < s; i++) {
+      blackhole.consume(factories.get(i).or(temporalOperators.get(i)));
+    }
+  }
+
+  @Benchmark
+  public void temporalStepTree(Blackhole blackhole) {
+    for (int i = 0, s = formulas.size(); i < s; i++) {
+      var clazz = factories.get(i).of(formulas.get(i).formula()).unfold();
+      blackhole.consume(clazz.temporalStepTree());
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.benchmarks;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import owl.automaton.Automaton;
+import owl.automaton.hoa.HoaReader;
+import owl.automaton.hoa.HoaWriter;
+import owl.bdd.FactorySupplier;
+import owl.thirdparty.jhoafparser.consumer.HOAConsumerException;
+import owl.thirdparty.jhoafparser.owl.extensions.HOAConsumerPrintFixed;
+import owl.thirdparty.jhoafparser.parser.generated.ParseException;
+
+/**
+ * Benchmarks reading and writing of automata in the HOA format. As the command line interface,
+ * the automata are written without state labels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkData.DISABLE_JBDD_ASSERTIONS)
+public class HoaBenchmark {
+
+  @Param({"fggf", "size-fggf", "syntcomp-selection"})
+  public String formulaSet;
+
+  private List<Automaton<Object, ?>> automata;
+  private final List<String> serializedAutomata = new ArrayList<>();
+
+  @Setup
+  public void setUp() {
+    automata = BenchmarkData.automata(formulaSet);
+
+    for (Automaton<Object, ?> automaton : automata) {
+      serializedAutomata.add(toHoa(automaton));
+    }
+  }
+
+  @Benchmark
+  public void read(Blackhole blackhole) throws ParseException {
+    for (String automaton : serializedAutomata) {
+      blackhole.consume(
+        HoaReader.read(automaton, FactorySupplier.defaultSupplier()::getBddSetFactory, null));
+    }
+  }
+
+  @Benchmark
+  public void write(Blackhole blackhole) {
+    for (Automaton<Object, ?> automaton : automata) {
+      blackhole.consume(toHoa(automaton));
+    }
+  }
+
+  private static String toHoa(Automaton<Object, ?> automaton) {
+    var buffer = new StringWriter();
+
+    try {
+      HoaWriter.write(automaton, new HOAConsumerPrintFixed(buffer), false);
+    } catch (HOAConsumerException ex) {
+      throw new HoaWriter.UncheckedHoaConsumerException(ex);
+    }
+
+    return buffer.toString();
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.benchmarks;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import owl.automaton.Automaton;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.ltl.LabelledFormula;
+import owl.translations.LtlTranslationRepository.LtlToDpaTranslation;
+import owl.translations.LtlTranslationRepository.Option;
+
+/**
+ * Translates a complete formula set from {@code data/formulas} to deterministic parity automata
+ * and explores the reachable state space.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = BenchmarkData.DISABLE_JBDD_ASSERTIONS)
+public class LtlToDpaTranslationBenchmark {
+
+  @Param({"SLM21", "SEJK16_EKRS17", "EKS20_EKRS17", "SYMBOLIC_SE20_BKS10"})
+  public LtlToDpaTranslation translation;
+
+  @Param({"fggf", "size-fggf", "syntcomp-selection"})
+  public String formulaSet;
+
+  private List<LabelledFormula> formulas;
+  private Function<LabelledFormula, ? extends Automaton<?, ? extends ParityAcceptance>> translator;
+
+  @Setup
+  public void setUp() {
+    formulas = BenchmarkData.formulas(formulaSet);
+    translator = translation.translation(
+      ParityAcceptance.class, EnumSet.noneOf(Option.class), OptionalInt.empty());
+  }
+
+  @Benchmark
+  public int translate() {
+    int states = 0;
+
+    for (LabelledFormula formula : formulas) {
+      states += translator.apply(formula).states().size();
+    }
+
+    return states;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import owl.automaton.Automaton;
+import owl.automaton.edge.Edge;
+import owl.bdd.BddSetFactory;
+import owl.bdd.MtBdd;
+
+/**
+ * Benchmarks {@link MtBdd#inverse(BddSetFactory)} on the edge trees of all states of the
+ * automata obtained from a formula set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkData.DISABLE_JBDD_ASSERTIONS)
+public class MtBddBenchmark {
+
+  @Param({"fggf", "size-fggf", "syntcomp-selection"})
+  public String formulaSet;
+
+  private final List<BddSetFactory> factories = new ArrayList<>();
+  private final List<MtBdd<Edge<Object>>> edgeTrees = new ArrayList<>();
+
+  @Setup
+  public void setUp() {
+    for (Automaton<Object, ?> automaton : BenchmarkData.automata(formulaSet)) {
+      for (Object state : automaton.states()) {
+        factories.add(automaton.factory());
+        edgeTrees.add(automaton.edgeTree(state));
+      }
+    }
+  }
+
+  @Benchmark
+  public void inverse(Blackhole blackhole) {
+    for (int i = 0, s = edgeTrees.size(); i < s; i++) {
+      blackhole.consume(edgeTrees.get(i).inverse(factories.get(i)));
+    }
+  }
+}
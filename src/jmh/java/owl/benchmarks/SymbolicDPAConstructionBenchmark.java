@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import owl.bdd.FactorySupplier;
+import owl.ltl.LabelledFormula;
+import owl.translations.ltl2dpa.SymbolicDPAConstruction;
+
+/**
+ * Benchmarks the symbolic LTL-to-DPA construction, i.e., {@code SymbolicDRA2DPAConstruction} and
+ * the {@code SymbolicSccDecomposition} it uses, on the sequential and the concurrent BDD.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkData.DISABLE_JBDD_ASSERTIONS)
+public class SymbolicDPAConstructionBenchmark {
+
+  @Param({"fgx", "size"})
+  public String formulaSet;
+
+  @Param({"jbdd", "concurrent"})
+  public String bdd;
+
+  private List<LabelledFormula> formulas;
+
+  @Setup
+  public void setUp() {
+    // Each benchmark runs in its own fork and the factories are created by the construction.
+    System.setProperty(FactorySupplier.BDD_IMPLEMENTATION_PROPERTY, bdd);
+    formulas = BenchmarkData.formulas(formulaSet);
+  }
+
+  @Benchmark
+  public void translate(Blackhole blackhole) {
+    for (LabelledFormula formula : formulas) {
+      blackhole.consume(SymbolicDPAConstruction.of().apply(formula));
+    }
+  }
+}
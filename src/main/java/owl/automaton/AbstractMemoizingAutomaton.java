@@ -35,6 +35,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import javax.annotation.Nullable;
 import owl.automaton.acceptance.EmersonLeiAcceptance;
 import owl.automaton.edge.Edge;
@@ -164,16 +166,42 @@ public abstract class AbstractMemoizingAutomaton<S, A extends EmersonLeiAcceptan
     }
 
     var edgeTree = edgeTreeImpl(state);
+    memoize(state, edgeTree, null);
+    return edgeTree;
+  }
+
+  /**
+   * Returns the same value as {@link #edgeTree(Object)}, but does not add the computed transition
+   * relation to the memoization table. This is intended for single-pass consumers, e.g., streaming
+   * serialisation, that do not want to retain the transition relation of large automata in
+   * memory. Already memoized values are reused.
+   *
+   * @param state the state.
+   * @return the edge tree of the state.
+   */
+  public final MtBdd<Edge<S>> edgeTreeWithoutMemoization(S state) {
+    var memoizedPair = memoizedEdgeTrees.get(state);
+    return memoizedPair == null ? edgeTreeImpl(state) : memoizedPair.fst();
+  }
+
+  // Newly discovered successors are marked as unexplored and, if requested, added to newStates.
+  private void memoize(S state, MtBdd<Edge<S>> edgeTree, @Nullable List<S> newStates) {
     @SuppressWarnings("unchecked")
     Edge<S>[] edges = edgeTree.flatValues().toArray(Edge[]::new);
     memoizedEdgeTrees.put(state, Pair.of(edgeTree, Set.of(edges)));
 
     // Update the set of unexplored states.
     for (Edge<S> edge : edges) {
-      memoizedEdgeTrees.putIfAbsent(edge.successor(), null);
-    }
+      S successor = edge.successor();
 
-    return edgeTree;
+      if (!memoizedEdgeTrees.containsKey(successor)) {
+        memoizedEdgeTrees.put(successor, null);
+
+        if (newStates != null) {
+          newStates.add(successor);
+        }
+      }
+    }
   }
 
   @Override
@@ -271,6 +299,53 @@ public abstract class AbstractMemoizingAutomaton<S, A extends EmersonLeiAcceptan
         : Collections.unmodifiableSet(memoizedEdgeTrees.keySet());
   }
 
+  /**
+   * Explores the missing part of the state space and returns the set of states. In contrast to
+   * {@link #states()} the transition relation of all states of the current exploration frontier is
+   * computed in parallel on the given pool. The results are merged into the memoization table by
+   * the calling thread before the next frontier is explored.
+   *
+   * <p>Parallel exploration is only used if the implementation declares that
+   * {@link #edgeTreeImpl(Object)} can be safely called concurrently, see
+   * {@link #concurrentEdgeTreeImpl()}. Otherwise, this method is equivalent to {@link #states()}.
+   * This method must not be called concurrently with other methods of this automaton.
+   *
+   * @param pool the pool used to compute the transition relation of frontier states.
+   * @return the set of states.
+   */
+  public final Set<S> states(ForkJoinPool pool) {
+    if (explorationCompleted || !concurrentEdgeTreeImpl()) {
+      return states();
+    }
+
+    // The frontier is only collected from the memoization table once. Afterwards it consists of
+    // the states that were discovered while merging the previous frontier.
+    List<S> frontier = new ArrayList<>();
+
+    memoizedEdgeTrees.forEach((state, pair) -> {
+      if (pair == null) {
+        frontier.add(state);
+      }
+    });
+
+    while (!frontier.isEmpty()) {
+      List<S> currentFrontier = List.copyOf(frontier);
+      List<MtBdd<Edge<S>>> edgeTrees = currentFrontier.size() == 1
+          ? List.of(edgeTreeImpl(currentFrontier.get(0)))
+          : pool.invoke(ForkJoinTask.adapt(
+              () -> currentFrontier.parallelStream().map(this::edgeTreeImpl).toList()));
+
+      frontier.clear();
+
+      for (int i = 0, s = currentFrontier.size(); i < s; i++) {
+        memoize(currentFrontier.get(i), edgeTrees.get(i), frontier);
+      }
+    }
+
+    // Finish with the sequential path, which also notifies subclasses.
+    return states();
+  }
+
   @Override
   public boolean is(Property property) {
 
@@ -316,6 +391,18 @@ public abstract class AbstractMemoizingAutomaton<S, A extends EmersonLeiAcceptan
 
   protected abstract MtBdd<Edge<S>> edgeTreeImpl(S state);
 
+  /**
+   * Indicates whether {@link #edgeTreeImpl(Object)} is thread-safe and can be called concurrently
+   * for different states by {@link #states(ForkJoinPool)}. This requires factories that are
+   * thread-safe, see {@link owl.bdd.EquivalenceClassFactory#isThreadSafe()}, and no other mutable
+   * objects shared between calls, e.g., caches stored in plain maps.
+   *
+   * @return {@code false}, unless overridden by a subclass.
+   */
+  protected boolean concurrentEdgeTreeImpl() {
+    return false;
+  }
+
   @SuppressWarnings("PMD.EmptyMethodInAbstractClassShouldBeAbstract")
   protected void explorationCompleted() {
     // do nothing. Subclasses can be notified that the transition relation is frozen.
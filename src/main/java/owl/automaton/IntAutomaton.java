@@ -0,0 +1,698 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.automaton;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.primitives.ImmutableIntArray;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import owl.automaton.acceptance.EmersonLeiAcceptance;
+import owl.automaton.edge.Edge;
+import owl.bdd.BddSet;
+import owl.bdd.BddSetFactory;
+import owl.bdd.MtBdd;
+import owl.collections.ImmutableBitSet;
+import owl.collections.Numbering;
+
+/**
+ * A compact, immutable representation of a fully explored automaton. States are numbered
+ * consecutively starting from {@code 0} and the edges are stored in compressed sparse row (CSR)
+ * format: the outgoing edges of state {@code s} are the edge indices from
+ * {@link #edgesStart(int)} (inclusive) to {@link #edgesEnd(int)} (exclusive). For each edge the
+ * successor is stored in an {@code int[]}, the colours are packed into a {@code long[]} and the
+ * guard is stored as an index into a table of distinct {@link BddSet}s.
+ *
+ * <p>Compared to {@link HashMapAutomaton} no per-state maps and no {@link Edge} objects are kept,
+ * which reduces the memory footprint of large automata considerably. Algorithms that recognise
+ * this class, such as {@link owl.automaton.algorithm.SccDecomposition},
+ * {@link owl.automaton.algorithm.LanguageEmptiness} and {@link owl.automaton.hoa.HoaWriter},
+ * directly operate on the primitive arrays. All methods of the {@link Automaton} interface are
+ * supported by materialising {@link Edge} objects on demand.</p>
+ *
+ * @param <A> the type of the omega-acceptance condition of the automaton
+ */
+public final class IntAutomaton<A extends EmersonLeiAcceptance> implements Automaton<Integer, A> {
+
+  private final List<String> atomicPropositions;
+  private final BddSetFactory factory;
+  private final A acceptance;
+  private final ImmutableBitSet initialStates;
+
+  // Edges of state s are stored at the indices edgeOffsets[s] until edgeOffsets[s + 1].
+  private final int[] edgeOffsets;
+  private final int[] successors;
+  private final int[] guards;
+  private final BddSet[] guardTable;
+
+  // The colours of edge e are stored in colours[e * colourWords] until colours[(e+1) * colourWords].
+  private final int colourWords;
+  private final long[] colours;
+
+  // Built on the first call of predecessors().
+  @Nullable
+  private Predecessors predecessorIndex;
+
+  private IntAutomaton(
+    List<String> atomicPropositions,
+    BddSetFactory factory,
+    A acceptance,
+    ImmutableBitSet initialStates,
+    int[] edgeOffsets,
+    int[] successors,
+    int[] guards,
+    BddSet[] guardTable,
+    int colourWords,
+    long[] colours) {
+
+    this.atomicPropositions = List.copyOf(atomicPropositions);
+    this.factory = factory;
+    this.acceptance = acceptance;
+    this.initialStates = initialStates;
+    this.edgeOffsets = edgeOffsets;
+    this.successors = successors;
+    this.guards = guards;
+    this.guardTable = guardTable;
+    this.colourWords = colourWords;
+    this.colours = colours;
+  }
+
+  /**
+   * Returns this automaton with its atomic propositions renamed. The states, edges and guards are
+   * shared with this automaton and are not copied.
+   *
+   * @param atomicPropositions the new names of the atomic propositions, in the same order.
+   * @return this automaton over the renamed atomic propositions.
+   */
+  public IntAutomaton<A> withAtomicPropositions(List<String> atomicPropositions) {
+    checkArgument(atomicPropositions.size() == this.atomicPropositions.size(),
+      "atomicPropositions must have the same size.");
+
+    return new IntAutomaton<>(atomicPropositions, factory, acceptance, initialStates,
+      edgeOffsets, successors, guards, guardTable, colourWords, colours);
+  }
+
+  /**
+   * Copies all reachable states of the given automaton into an {@code IntAutomaton}. States are
+   * numbered in breadth-first order starting with the initial states.
+   *
+   * @param automaton the automaton, which might be constructed on-the-fly.
+   * @param <S> the state type of the source automaton.
+   * @param <A> the acceptance condition.
+   * @return a compact copy of the automaton.
+   */
+  public static <S, A extends EmersonLeiAcceptance> IntAutomaton<A> copyOf(
+    Automaton<S, A> automaton) {
+
+    return copyOf(automaton, new Numbering<>());
+  }
+
+  /**
+   * Copies all reachable states of the given automaton into an {@code IntAutomaton}. States are
+   * numbered in breadth-first order starting with the initial states and the numbering is
+   * recorded in {@code numbering}, i.e., state {@code i} of the returned automaton corresponds to
+   * {@code numbering.lookup(i)}. This can be used to translate results back to the source
+   * automaton.
+   *
+   * @param automaton the automaton, which might be constructed on-the-fly.
+   * @param numbering an empty numbering that is used to record the state numbers.
+   * @param <S> the state type of the source automaton.
+   * @param <A> the acceptance condition.
+   * @return a compact copy of the automaton.
+   */
+  public static <S, A extends EmersonLeiAcceptance> IntAutomaton<A> copyOf(
+    Automaton<S, A> automaton, Numbering<S> numbering) {
+
+    checkArgument(numbering.asMap().isEmpty(), "numbering must be empty.");
+
+    if (automaton instanceof IntAutomaton<?> intAutomaton) {
+      @SuppressWarnings("unchecked")
+      var identity = (Numbering<Integer>) numbering;
+      intAutomaton.states().forEach(identity::lookup);
+      @SuppressWarnings("unchecked")
+      var casted = (IntAutomaton<A>) intAutomaton;
+      return casted;
+    }
+
+    BitSet initialStates = new BitSet();
+
+    for (S initialState : automaton.initialStates()) {
+      initialStates.set(numbering.lookup(initialState));
+    }
+
+    var edgeOffsets = ImmutableIntArray.builder();
+    var successors = ImmutableIntArray.builder();
+    var guards = ImmutableIntArray.builder();
+    var edgeColours = new ArrayList<ImmutableBitSet>();
+    var guardTable = new HashMap<BddSet, Integer>();
+
+    // Numbering assigns consecutive numbers in the order of the first lookup. Thus processing the
+    // states in the order of their number yields a breadth-first exploration.
+    int maximalColour = -1;
+
+    for (int state = 0; state < numbering.asMap().size(); state++) {
+      edgeOffsets.add(edgeColours.size());
+
+      for (Map.Entry<Edge<S>, BddSet> entry : automaton.edgeMap(numbering.lookup(state))
+        .entrySet()) {
+
+        Edge<S> edge = entry.getKey();
+        BddSet guard = entry.getValue();
+
+        if (guard.isEmpty()) {
+          continue;
+        }
+
+        successors.add(numbering.lookup(edge.successor()));
+        guards.add(guardTable.computeIfAbsent(guard, x -> guardTable.size()));
+        edgeColours.add(edge.colours());
+        maximalColour = Math.max(maximalColour, edge.colours().last().orElse(-1));
+      }
+    }
+
+    edgeOffsets.add(edgeColours.size());
+
+    // Pack colours.
+    int colourWords = (Math.max(maximalColour, automaton.acceptance().acceptanceSets() - 1)
+      + Long.SIZE) / Long.SIZE;
+    long[] colours = new long[edgeColours.size() * colourWords];
+
+    for (int edge = 0, s = edgeColours.size(); edge < s; edge++) {
+      int offset = edge * colourWords;
+      edgeColours.get(edge).forEach((int colour) ->
+        colours[offset + colour / Long.SIZE] |= 1L << colour);
+    }
+
+    var guardArray = new BddSet[guardTable.size()];
+    guardTable.forEach((guard, index) -> guardArray[index] = guard);
+
+    return new IntAutomaton<>(
+      automaton.atomicPropositions(),
+      automaton.factory(),
+      automaton.acceptance(),
+      ImmutableBitSet.copyOf(initialStates),
+      edgeOffsets.build().toArray(),
+      successors.build().toArray(),
+      guards.build().toArray(),
+      guardArray,
+      colourWords,
+      colours);
+  }
+
+  /**
+   * Creates a builder for an {@code IntAutomaton} that is populated state by state, e.g., by a
+   * parser. In contrast to {@link #copyOf(Automaton)} no intermediate automaton is constructed.
+   *
+   * @param atomicPropositions the atomic propositions.
+   * @param factory the factory used to create the guards.
+   * @param acceptance the acceptance condition.
+   * @param <A> the acceptance condition.
+   * @return an empty builder.
+   */
+  public static <A extends EmersonLeiAcceptance> Builder<A> builder(
+    List<String> atomicPropositions, BddSetFactory factory, A acceptance) {
+
+    return new Builder<>(atomicPropositions, factory, acceptance);
+  }
+
+  // Primitive access
+
+  /**
+   * Returns the number of states. The states are {@code 0} until {@code stateCount() - 1}.
+   *
+   * @return the number of states.
+   */
+  public int stateCount() {
+    return edgeOffsets.length - 1;
+  }
+
+  /**
+   * Returns the number of edges. The edges are {@code 0} until {@code edgeCount() - 1}.
+   *
+   * @return the number of edges.
+   */
+  public int edgeCount() {
+    return successors.length;
+  }
+
+  /**
+   * Returns the index of the first outgoing edge of {@code state}.
+   */
+  public int edgesStart(int state) {
+    return edgeOffsets[state];
+  }
+
+  /**
+   * Returns the index after the last outgoing edge of {@code state}.
+   */
+  public int edgesEnd(int state) {
+    return edgeOffsets[state + 1];
+  }
+
+  public int successor(int edge) {
+    return successors[edge];
+  }
+
+  public BddSet guard(int edge) {
+    return guardTable[guards[edge]];
+  }
+
+  public boolean hasColour(int edge, int colour) {
+    int word = colour / Long.SIZE;
+    return colour >= 0
+      && word < colourWords
+      && (colours[edge * colourWords + word] & (1L << colour)) != 0;
+  }
+
+  public boolean hasColours(int edge) {
+    for (int i = edge * colourWords, s = i + colourWords; i < s; i++) {
+      if (colours[i] != 0) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Adds the colours of {@code edge} to {@code target}.
+   */
+  public void addColours(int edge, BitSet target) {
+    for (int word = 0; word < colourWords; word++) {
+      long bits = colours[edge * colourWords + word];
+
+      while (bits != 0) {
+        target.set(word * Long.SIZE + Long.numberOfTrailingZeros(bits));
+        bits &= bits - 1;
+      }
+    }
+  }
+
+  public ImmutableBitSet colours(int edge) {
+    if (!hasColours(edge)) {
+      return ImmutableBitSet.of();
+    }
+
+    BitSet colourSet = new BitSet();
+    addColours(edge, colourSet);
+    return ImmutableBitSet.copyOf(colourSet);
+  }
+
+  // Automaton interface
+
+  @Override
+  public A acceptance() {
+    return acceptance;
+  }
+
+  @Override
+  public List<String> atomicPropositions() {
+    return atomicPropositions;
+  }
+
+  @Override
+  public BddSetFactory factory() {
+    return factory;
+  }
+
+  @Override
+  public Set<Integer> initialStates() {
+    return initialStates;
+  }
+
+  @Override
+  public Set<Integer> states() {
+    return ImmutableBitSet.range(0, stateCount());
+  }
+
+  @Override
+  public Set<Edge<Integer>> edges(Integer state, BitSet valuation) {
+    int s = checkStateIndex(state);
+    Set<Edge<Integer>> edges = new HashSet<>();
+
+    for (int edge = edgeOffsets[s], end = edgeOffsets[s + 1]; edge < end; edge++) {
+      if (guard(edge).contains(valuation)) {
+        edges.add(edge(edge));
+      }
+    }
+
+    return edges;
+  }
+
+  @Override
+  public Set<Edge<Integer>> edges(Integer state) {
+    int s = checkStateIndex(state);
+    Set<Edge<Integer>> edges = new HashSet<>();
+
+    for (int edge = edgeOffsets[s], end = edgeOffsets[s + 1]; edge < end; edge++) {
+      edges.add(edge(edge));
+    }
+
+    return edges;
+  }
+
+  @Override
+  public Map<Edge<Integer>, BddSet> edgeMap(Integer state) {
+    int s = checkStateIndex(state);
+    Map<Edge<Integer>, BddSet> edgeMap = new HashMap<>();
+
+    for (int edge = edgeOffsets[s], end = edgeOffsets[s + 1]; edge < end; edge++) {
+      edgeMap.merge(edge(edge), guard(edge), BddSet::union);
+    }
+
+    return edgeMap;
+  }
+
+  @Override
+  public MtBdd<Edge<Integer>> edgeTree(Integer state) {
+    return factory.toMtBdd(edgeMap(state));
+  }
+
+  @Override
+  public Set<Integer> successors(Integer state) {
+    int s = checkStateIndex(state);
+    BitSet successorSet = new BitSet();
+
+    for (int edge = edgeOffsets[s], end = edgeOffsets[s + 1]; edge < end; edge++) {
+      successorSet.set(successors[edge]);
+    }
+
+    return ImmutableBitSet.copyOf(successorSet);
+  }
+
+  @Override
+  public Set<Integer> predecessors(Integer successor) {
+    int target = checkStateIndex(successor);
+    Predecessors index = predecessorIndex;
+
+    if (index == null) {
+      index = new Predecessors(this);
+      predecessorIndex = index;
+    }
+
+    BitSet predecessorSet = new BitSet();
+
+    for (int i = index.offsets[target], end = index.offsets[target + 1]; i < end; i++) {
+      predecessorSet.set(index.states[i]);
+    }
+
+    return ImmutableBitSet.copyOf(predecessorSet);
+  }
+
+  /**
+   * Copies this automaton back into a state-labelled representation using the given numbering,
+   * e.g., the numbering that was passed to {@link #copyOf(Automaton, Numbering)}.
+   *
+   * @param numbering the numbering from state indices to states.
+   * @param <S> the state type.
+   * @return a mutable copy of this automaton.
+   */
+  public <S> MutableAutomaton<S, A> toAutomaton(Numbering<S> numbering) {
+    MutableAutomaton<S, A> automaton
+      = HashMapAutomaton.create(atomicPropositions, factory, acceptance);
+
+    initialStates.forEach((int state) -> automaton.addInitialState(numbering.lookup(state)));
+    Deque<Integer> workList = new ArrayDeque<>(initialStates);
+    BitSet visited = initialStates.copyInto(new BitSet());
+
+    while (!workList.isEmpty()) {
+      int state = workList.remove();
+      S source = numbering.lookup(state);
+      automaton.addState(source);
+
+      for (int edge = edgeOffsets[state], end = edgeOffsets[state + 1]; edge < end; edge++) {
+        int successor = successors[edge];
+
+        if (!visited.get(successor)) {
+          visited.set(successor);
+          workList.add(successor);
+        }
+
+        automaton.addEdge(
+          source, guard(edge), Edge.of(numbering.lookup(successor), colours(edge)));
+      }
+    }
+
+    automaton.trim();
+    return automaton;
+  }
+
+  private Edge<Integer> edge(int edge) {
+    return Edge.of(successors[edge], colours(edge));
+  }
+
+  private int checkStateIndex(Integer state) {
+    return checkElementIndex(state, stateCount(), "state");
+  }
+
+  /**
+   * The reverse adjacency in the same format as the edges: the predecessors of state {@code s} are
+   * stored at the indices {@code offsets[s]} until {@code offsets[s + 1]} without duplicates. All
+   * fields are final and thus the index can be shared between threads without synchronisation; a
+   * race only leads to building it twice.
+   */
+  private static final class Predecessors {
+    private final int[] offsets;
+    private final int[] states;
+
+    private Predecessors(IntAutomaton<?> automaton) {
+      int stateCount = automaton.stateCount();
+      int[] edgeOffsets = automaton.edgeOffsets;
+      int[] successors = automaton.successors;
+
+      // States are visited in ascending order, thus a repeated edge from the same state to a
+      // target is detected by remembering the last source added for the target.
+      int[] lastSource = new int[stateCount];
+      Arrays.fill(lastSource, -1);
+      offsets = new int[stateCount + 1];
+
+      for (int state = 0; state < stateCount; state++) {
+        for (int edge = edgeOffsets[state], end = edgeOffsets[state + 1]; edge < end; edge++) {
+          int target = successors[edge];
+
+          if (lastSource[target] != state) {
+            lastSource[target] = state;
+            offsets[target + 1]++;
+          }
+        }
+      }
+
+      for (int state = 0; state < stateCount; state++) {
+        offsets[state + 1] += offsets[state];
+      }
+
+      int[] next = Arrays.copyOf(offsets, stateCount);
+      Arrays.fill(lastSource, -1);
+      states = new int[offsets[stateCount]];
+
+      for (int state = 0; state < stateCount; state++) {
+        for (int edge = edgeOffsets[state], end = edgeOffsets[state + 1]; edge < end; edge++) {
+          int target = successors[edge];
+
+          if (lastSource[target] != state) {
+            lastSource[target] = state;
+            states[next[target]++] = state;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Builder for {@link IntAutomaton}. States are added in ascending order with
+   * {@link #addState()} and {@link #addEdge(int, BddSet, BitSet)} adds an edge to the most
+   * recently added state. Successors may refer to states that have not been added yet, but all
+   * states need to be added and to be reachable from the initial states when {@link #build()} is
+   * called.
+   *
+   * @param <A> the type of the omega-acceptance condition of the automaton
+   */
+  public static final class Builder<A extends EmersonLeiAcceptance> {
+
+    private final List<String> atomicPropositions;
+    private final BddSetFactory factory;
+    private final A acceptance;
+    private final int colourWords;
+
+    private final BitSet initialStates = new BitSet();
+    private final Map<BddSet, Integer> guardIndices = new HashMap<>();
+    private final List<BddSet> guardTable = new ArrayList<>();
+
+    private int stateCount = 0;
+    private int edgeCount = 0;
+    private int[] edgeOffsets = new int[16];
+    private int[] successors = new int[16];
+    private int[] guards = new int[16];
+    private long[] colours;
+
+    private Builder(List<String> atomicPropositions, BddSetFactory factory, A acceptance) {
+      this.atomicPropositions = List.copyOf(atomicPropositions);
+      this.factory = factory;
+      this.acceptance = acceptance;
+      this.colourWords = (acceptance.acceptanceSets() - 1 + Long.SIZE) / Long.SIZE;
+      this.colours = new long[16 * colourWords];
+    }
+
+    /**
+     * Adds a new state without edges.
+     *
+     * @return the index of the new state.
+     */
+    public int addState() {
+      if (stateCount + 1 >= edgeOffsets.length) {
+        edgeOffsets = Arrays.copyOf(edgeOffsets, 2 * edgeOffsets.length);
+      }
+
+      edgeOffsets[stateCount] = edgeCount;
+      return stateCount++;
+    }
+
+    public void addInitialState(int state) {
+      checkArgument(state >= 0, "state must be non-negative.");
+      initialStates.set(state);
+    }
+
+    /**
+     * Adds an edge to the most recently added state. Edges with an empty guard are ignored.
+     *
+     * @param successor the successor, which might not have been added yet.
+     * @param guard the guard of the edge.
+     * @param edgeColours the colours of the edge.
+     */
+    public void addEdge(int successor, BddSet guard, BitSet edgeColours) {
+      checkState(stateCount > 0, "No state has been added.");
+      checkArgument(successor >= 0, "successor must be non-negative.");
+      checkArgument(edgeColours.length() <= acceptance.acceptanceSets(),
+        "The colours of the edge (%s) exceed the number of colours allowed by the acceptance "
+          + "condition (%s).", edgeColours, acceptance);
+
+      if (guard.isEmpty()) {
+        return;
+      }
+
+      if (edgeCount == successors.length) {
+        int capacity = 2 * edgeCount;
+        successors = Arrays.copyOf(successors, capacity);
+        guards = Arrays.copyOf(guards, capacity);
+        colours = Arrays.copyOf(colours, capacity * colourWords);
+      }
+
+      successors[edgeCount] = successor;
+      guards[edgeCount] = guardIndices.computeIfAbsent(guard, x -> {
+        guardTable.add(x);
+        return guardTable.size() - 1;
+      });
+
+      int offset = edgeCount * colourWords;
+      for (int colour = edgeColours.nextSetBit(0); colour >= 0;
+           colour = edgeColours.nextSetBit(colour + 1)) {
+        colours[offset + colour / Long.SIZE] |= 1L << colour;
+      }
+
+      edgeCount++;
+    }
+
+    public int stateCount() {
+      return stateCount;
+    }
+
+    /**
+     * Checks whether every added state is reachable from the initial states.
+     *
+     * @return {@code true} if all states are reachable and all successors and initial states have
+     *     been added.
+     */
+    public boolean allStatesReachable() {
+      if (initialStates.length() > stateCount) {
+        return false;
+      }
+
+      BitSet visited = (BitSet) initialStates.clone();
+      int[] workList = new int[stateCount];
+      int size = 0;
+
+      for (int state = initialStates.nextSetBit(0); state >= 0;
+           state = initialStates.nextSetBit(state + 1)) {
+        workList[size++] = state;
+      }
+
+      while (size > 0) {
+        int state = workList[--size];
+
+        for (int edge = edgeOffsets[state], end = edgeEnd(state); edge < end; edge++) {
+          int successor = successors[edge];
+
+          if (successor >= stateCount) {
+            return false;
+          }
+
+          if (!visited.get(successor)) {
+            visited.set(successor);
+            workList[size++] = successor;
+          }
+        }
+      }
+
+      return visited.cardinality() == stateCount;
+    }
+
+    /**
+     * Builds the automaton.
+     *
+     * @return the automaton.
+     * @throws IllegalStateException if a state is unreachable or has not been added.
+     */
+    public IntAutomaton<A> build() {
+      checkState(allStatesReachable(),
+        "All states need to be added and reachable from the initial states.");
+
+      int[] offsets = Arrays.copyOf(edgeOffsets, stateCount + 1);
+      offsets[stateCount] = edgeCount;
+
+      return new IntAutomaton<>(
+        atomicPropositions,
+        factory,
+        acceptance,
+        ImmutableBitSet.copyOf(initialStates),
+        offsets,
+        Arrays.copyOf(successors, edgeCount),
+        Arrays.copyOf(guards, edgeCount),
+        guardTable.toArray(BddSet[]::new),
+        colourWords,
+        Arrays.copyOf(colours, edgeCount * colourWords));
+    }
+
+    private int edgeEnd(int state) {
+      return state + 1 == stateCount ? edgeCount : edgeOffsets[state + 1];
+    }
+  }
+}
@@ -35,6 +35,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -473,11 +474,12 @@ public final class Views {
       return (Automaton<S, ParityAcceptance>) automaton;
     }
 
+    int sets = automaton.acceptance().acceptanceSets();
+
     if (automaton.acceptance().parity().max() != toParity.max()) {
-      throw new UnsupportedOperationException();
+      return reverseParity(automaton, toParity);
     }
 
-    int sets = automaton.acceptance().acceptanceSets();
     var newParityAcceptance = new ParityAcceptance(sets + 1, toParity);
 
     return new AbstractMemoizingAutomaton.EdgeTreeImplementation<>(
@@ -493,6 +495,40 @@ public final class Views {
     };
   }
 
+  // Reverses the order of importance of the colours. The colour of rank r, where the missing colour
+  // has rank 0 and the least important colour rank 1, is mapped to 2r or 2r + 1, such that it
+  // keeps its acceptance, and the order is reversed for the new parity. Thus every edge is
+  // coloured.
+  private static <S> Automaton<S, ParityAcceptance> reverseParity(
+      Automaton<S, ? extends ParityAcceptance> automaton, ParityAcceptance.Parity toParity) {
+
+    ParityAcceptance acceptance = automaton.acceptance();
+    boolean max = acceptance.parity().max();
+    int sets = acceptance.acceptanceSets();
+    int noColour = max ? -1 : sets;
+
+    IntUnaryOperator mapping = colour -> {
+      int rank = max ? colour + 1 : sets - colour;
+      int offset = acceptance.isAccepting(colour) == toParity.even() ? 0 : 1;
+      return toParity.max() ? 2 * rank + offset : 2 * (sets - rank) + offset;
+    };
+
+    return new AbstractMemoizingAutomaton.EdgeTreeImplementation<>(
+        automaton.atomicPropositions(),
+        automaton.initialStates(),
+        new ParityAcceptance(2 * sets + 2, toParity)) {
+
+      @Override
+      protected MtBdd<Edge<S>> edgeTreeImpl(S state) {
+        return automaton.edgeTree(state).map(x -> Collections3.transformSet(x, y -> {
+          var colours = y.colours();
+          int colour = (max ? colours.last() : colours.first()).orElse(noColour);
+          return y.withAcceptance(mapping.applyAsInt(colour));
+        }));
+      }
+    };
+  }
+
   private static class DropStateLabelsImpl<S, A extends EmersonLeiAcceptance>
       extends AbstractMemoizingAutomaton.EdgeTreeImplementation<Integer, A> {
 
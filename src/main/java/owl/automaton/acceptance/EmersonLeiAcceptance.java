@@ -68,11 +68,11 @@ public sealed class EmersonLeiAcceptance permits
   public static EmersonLeiAcceptance of(PropositionalFormula<Integer> expression) {
     var normalisedExpression = expression.nnf();
 
-    if (Solver.DPLL.model(normalisedExpression).isEmpty()) {
+    if (Solver.DEFAULT_MODELS.model(normalisedExpression).isEmpty()) {
       return new EmersonLeiAcceptance(0, PropositionalFormula.falseConstant());
     }
 
-    if (Solver.DPLL.model(Negation.of(normalisedExpression)).isEmpty()) {
+    if (Solver.DEFAULT_MODELS.model(Negation.of(normalisedExpression)).isEmpty()) {
       return AllAcceptance.ofPartial(PropositionalFormula.trueConstant()).orElseThrow();
     }
 
@@ -161,7 +161,7 @@ public sealed class EmersonLeiAcceptance permits
    * @see #isAccepting(BitSet)
    */
   public Optional<ImmutableBitSet> acceptingSet() {
-    return Solver.DPLL.model(booleanExpression()).map(ImmutableBitSet::copyOf);
+    return Solver.DEFAULT_MODELS.model(booleanExpression()).map(ImmutableBitSet::copyOf);
   }
 
   /**
@@ -171,7 +171,7 @@ public sealed class EmersonLeiAcceptance permits
    * @see #isAccepting(BitSet)
    */
   public Optional<ImmutableBitSet> rejectingSet() {
-    return Solver.DPLL
+    return Solver.DEFAULT_MODELS
       .model(Negation.of(booleanExpression()))
       .map(ImmutableBitSet::copyOf);
   }
@@ -26,15 +26,19 @@ import java.util.Map;
 import java.util.stream.Stream;
 import owl.collections.ImmutableBitSet;
 import owl.logic.propositional.PropositionalFormula;
-import owl.logic.propositional.sat.Solver;
+import owl.logic.propositional.sat.MaximalModelEnumerator;
 
 public final class ZielonkaDag {
 
   private final PropositionalFormula<Integer> alpha;
+  private final MaximalModelEnumerator<Integer> alphaModels;
+  private final MaximalModelEnumerator<Integer> negatedAlphaModels;
   private final Map<ImmutableBitSet, List<ImmutableBitSet>> dag;
 
   public ZielonkaDag(PropositionalFormula<Integer> alpha) {
     this.alpha = alpha;
+    this.alphaModels = new MaximalModelEnumerator<>(alpha);
+    this.negatedAlphaModels = new MaximalModelEnumerator<>(PropositionalFormula.Negation.of(alpha));
     this.dag = new HashMap<>();
     this.dag.put(ImmutableBitSet.of(), List.of());
   }
@@ -51,8 +55,8 @@ public final class ZielonkaDag {
     }
 
     // Invert acceptance condition (alpha) in order to obtain alternation in DAG.
-    var maximalModels = Solver.DEFAULT_MAXIMAL_MODELS.maximalModels(
-        alpha.evaluate(node) ? PropositionalFormula.Negation.of(alpha) : alpha, node);
+    var maximalModels = (alpha.evaluate(node) ? negatedAlphaModels : alphaModels)
+        .maximalModels(node);
     var maximalModelsAsImmutableBitSets = new ImmutableBitSet[maximalModels.size()];
 
     for (int i = 0, s = maximalModels.size(); i < s; i++) {
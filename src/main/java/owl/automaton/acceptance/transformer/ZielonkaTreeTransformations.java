@@ -60,7 +60,7 @@ import owl.collections.ImmutableBitSet;
 import owl.collections.Pair;
 import owl.logic.propositional.PropositionalFormula;
 import owl.logic.propositional.PropositionalFormula.Conjunction;
-import owl.logic.propositional.sat.Solver;
+import owl.logic.propositional.sat.MaximalModelEnumerator;
 
 public final class ZielonkaTreeTransformations {
 
@@ -792,13 +792,21 @@ public final class ZielonkaTreeTransformations {
         PropositionalFormula<Integer> alpha,
         PropositionalFormula<Integer> beta) {
 
-      return of(ImmutableBitSet.copyOf(alpha.variables()), alpha, beta, new HashMap<>());
+      // The maximal models of both formulas are enumerated incrementally across all nodes.
+      var negatedAlpha = PropositionalFormula.Negation.of(alpha);
+      return of(
+          ImmutableBitSet.copyOf(alpha.variables()),
+          alpha,
+          new MaximalModelEnumerator<>(Conjunction.of(alpha, beta)),
+          new MaximalModelEnumerator<>(Conjunction.of(negatedAlpha, beta)),
+          new HashMap<>());
     }
 
     private static ConditionalZielonkaTree of(
         ImmutableBitSet colours,
         PropositionalFormula<Integer> alpha,
-        PropositionalFormula<Integer> beta,
+        MaximalModelEnumerator<Integer> alphaModels,
+        MaximalModelEnumerator<Integer> negatedAlphaModels,
         Map<ImmutableBitSet, ConditionalZielonkaTree> cache) {
 
       var zielonkaTree = cache.get(colours);
@@ -810,10 +818,8 @@ public final class ZielonkaTreeTransformations {
       // Invert acceptance condition (alpha) in order to obtain alternation in tree.
       // Sort colour sets lexicographically. This ensures that we always compute
       // the same Zielonka tree for a given acceptance condition.
-      var maximalModels = Solver.DEFAULT_MAXIMAL_MODELS.maximalModels(
-              Conjunction.of(
-                  alpha.evaluate(colours) ? PropositionalFormula.Negation.of(alpha) : alpha, beta),
-              colours)
+      var maximalModels = (alpha.evaluate(colours) ? negatedAlphaModels : alphaModels)
+          .maximalModels(colours)
           .stream()
           .map(ImmutableBitSet::copyOf)
           .sorted()
@@ -823,7 +829,7 @@ public final class ZielonkaTreeTransformations {
       int height = 0;
 
       for (ImmutableBitSet childColours : maximalModels) {
-        var child = of(childColours, alpha, beta, cache);
+        var child = of(childColours, alpha, alphaModels, negatedAlphaModels, cache);
         height = Math.max(height, child.height() + 1);
         children.add(child);
       }
@@ -21,10 +21,12 @@ package owl.automaton.algorithm;
 
 import java.util.BitSet;
 import java.util.HashSet;
+import java.util.PrimitiveIterator;
 import java.util.Set;
 import java.util.function.IntConsumer;
 import java.util.function.Predicate;
 import owl.automaton.Automaton;
+import owl.automaton.IntAutomaton;
 import owl.automaton.SuccessorFunction;
 import owl.automaton.acceptance.AllAcceptance;
 import owl.automaton.acceptance.BuchiAcceptance;
@@ -38,6 +40,9 @@ import owl.automaton.acceptance.ParityAcceptance;
 import owl.automaton.acceptance.RabinAcceptance;
 import owl.automaton.acceptance.transformer.ZielonkaTreeTransformations;
 import owl.automaton.edge.Edge;
+import owl.collections.BitSet2;
+import owl.collections.ImmutableBitSet;
+import owl.logic.propositional.PropositionalFormula;
 
 public final class LanguageEmptiness {
   private LanguageEmptiness() {}
@@ -47,6 +52,11 @@ public final class LanguageEmptiness {
   }
 
   public static <S> boolean isEmpty(Automaton<S, ?> automaton, Set<S> initialStates) {
+    if (automaton instanceof IntAutomaton<?> intAutomaton) {
+      var roots = initialStates.stream().mapToInt(x -> (Integer) x).toArray();
+      return !EmersonLei.containsAcceptingScc(intAutomaton, roots);
+    }
+
     EmersonLeiAcceptance acceptance = automaton.acceptance();
     // TODO: move to exploration stage.
     // assert acceptance.isWellFormedAutomaton(automaton) : "Automaton is not well-formed.";
@@ -173,6 +183,114 @@ public final class LanguageEmptiness {
     return index >= 0 && edge.colours().contains(index);
   }
 
+  /**
+   * Emptiness check for arbitrary Emerson-Lei conditions on {@link IntAutomaton}s. An SCC is
+   * accepting if visiting all of its edges infinitely often satisfies the acceptance condition.
+   * Otherwise, for some colour {@code i} occurring in a Fin-atom both cases are explored: either
+   * {@code i} is visited infinitely often, or all edges with colour {@code i} are removed and
+   * the remaining sub-SCCs are analysed.
+   */
+  private static final class EmersonLei {
+
+    private EmersonLei() {}
+
+    private static boolean containsAcceptingScc(IntAutomaton<?> automaton, int[] roots) {
+      var expression = automaton.acceptance().booleanExpression();
+
+      for (var scc : SccDecomposition.sccs(automaton, roots, null, edge -> true)) {
+        if (isAccepting(automaton, scc, expression, new BitSet(), new BitSet())) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    private static boolean isAccepting(IntAutomaton<?> automaton, ImmutableBitSet scc,
+      PropositionalFormula<Integer> expression, BitSet infinite, BitSet finite) {
+
+      // Collect the colours of all edges within the SCC.
+      var colours = new BitSet();
+      boolean transientScc = true;
+
+      for (PrimitiveIterator.OfInt iterator = scc.intIterator(); iterator.hasNext();) {
+        int state = iterator.nextInt();
+
+        for (int edge = automaton.edgesStart(state), end = automaton.edgesEnd(state);
+          edge < end; edge++) {
+
+          if (scc.contains(automaton.successor(edge)) && !hasColour(automaton, edge, finite)) {
+            transientScc = false;
+            automaton.addColours(edge, colours);
+          }
+        }
+      }
+
+      var missingColours = (BitSet) infinite.clone();
+      missingColours.andNot(colours);
+
+      if (transientScc || !missingColours.isEmpty()) {
+        return false;
+      }
+
+      if (expression.evaluate(BitSet2.asSet(colours))) {
+        return true;
+      }
+
+      // Pick a colour that occurs in a Fin-atom and in the SCC. If there is none, the expression
+      // is monotone in the colours of the SCC and visiting all edges is the best choice.
+      int colour = -1;
+
+      for (var entry : expression.polarities().entrySet()) {
+        if (entry.getValue() != PropositionalFormula.Polarity.POSITIVE
+          && colours.get(entry.getKey())) {
+          colour = entry.getKey();
+          break;
+        }
+      }
+
+      if (colour == -1) {
+        return false;
+      }
+
+      // Case 1: the colour is visited infinitely often.
+      var infinite1 = (BitSet) infinite.clone();
+      infinite1.set(colour);
+
+      if (isAccepting(automaton, scc,
+        expression.substitute(colour, PropositionalFormula.trueConstant()), infinite1, finite)) {
+        return true;
+      }
+
+      // Case 2: the colour is visited finitely often.
+      var finite2 = (BitSet) finite.clone();
+      finite2.set(colour);
+
+      var expression2 = expression.substitute(colour, PropositionalFormula.falseConstant());
+      var restriction = scc.copyInto(new BitSet());
+
+      for (var subScc : SccDecomposition.sccs(automaton, scc.intStream().toArray(),
+        restriction, edge -> !hasColour(automaton, edge, finite2))) {
+
+        if (isAccepting(automaton, subScc, expression2, infinite, finite2)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    private static boolean hasColour(IntAutomaton<?> automaton, int edge, BitSet colours) {
+      for (int i = colours.nextSetBit(0); i >= 0; i = colours.nextSetBit(i + 1)) {
+        if (automaton.hasColour(edge, i)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+  }
+
   private static final class Buchi {
 
     private Buchi() {}
@@ -39,11 +39,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.annotation.Nullable;
 import owl.automaton.Automaton;
+import owl.automaton.IntAutomaton;
 import owl.automaton.SuccessorFunction;
 import owl.automaton.Views;
 import owl.automaton.acceptance.BuchiAcceptance;
@@ -56,6 +58,9 @@ import owl.collections.ImmutableBitSet;
  * <p>The SCC decomposition is computed using Tarjan's strongly connected component algorithm. It
  * runs in linear time, assuming the Map-operation get, put and containsKey (and the onStack
  * set-operations) take constant time.</p>
+ *
+ * <p>If the decomposition is obtained for an {@link IntAutomaton}, then the SCCs are computed
+ * directly on its primitive representation.</p>
  */
 @AutoValue
 public abstract class SccDecomposition<S> {
@@ -127,6 +132,13 @@ public abstract class SccDecomposition<S> {
    */
   @Memoized
   public List<Set<S>> sccs() {
+    if (automaton() instanceof IntAutomaton<?> intAutomaton) {
+      var roots = initialStates().stream().mapToInt(x -> (Integer) x).toArray();
+      @SuppressWarnings("unchecked")
+      var sccs = (List<Set<S>>) (List<?>) sccs(intAutomaton, roots, null, edge -> true);
+      return sccs;
+    }
+
     // TODO: also compute condensation graph in the same processing step.
     var successorFunction = successorFunction();
 
@@ -168,6 +180,105 @@ public abstract class SccDecomposition<S> {
     return List.copyOf(topologicalSortedSccs);
   }
 
+  /**
+   * Computes the strongly connected components of an {@link IntAutomaton} with an iterative
+   * version of Tarjan's algorithm that only operates on the primitive edge arrays.
+   *
+   * @param automaton the automaton.
+   * @param roots the states from which the search is started.
+   * @param restriction if non-null, only states of this set are explored.
+   * @param edgeFilter only edges (given by their index) matching this predicate are followed.
+   * @return the list of strongly connected components in topological order.
+   */
+  static List<ImmutableBitSet> sccs(
+    IntAutomaton<?> automaton, int[] roots,
+    @Nullable BitSet restriction, IntPredicate edgeFilter) {
+
+    int stateCount = automaton.stateCount();
+    // Tarjan indices are shifted by one such that 0 marks unvisited states.
+    int[] index = new int[stateCount];
+    int[] lowLink = new int[stateCount];
+    BitSet onStack = new BitSet(stateCount);
+    int[] stack = new int[stateCount];
+    int[] callStack = new int[stateCount];
+    int[] nextEdge = new int[stateCount];
+    int stackSize = 0;
+    int nextIndex = 1;
+
+    var reverseTopologicalSortedSccs = new ArrayList<ImmutableBitSet>();
+
+    for (int root : roots) {
+      if (index[root] != 0 || (restriction != null && !restriction.get(root))) {
+        continue;
+      }
+
+      index[root] = nextIndex;
+      lowLink[root] = nextIndex;
+      nextIndex++;
+      stack[stackSize++] = root;
+      onStack.set(root);
+      callStack[0] = root;
+      nextEdge[0] = automaton.edgesStart(root);
+      int callStackSize = 1;
+
+      while (callStackSize > 0) {
+        int state = callStack[callStackSize - 1];
+        int edge = nextEdge[callStackSize - 1];
+
+        if (edge < automaton.edgesEnd(state)) {
+          nextEdge[callStackSize - 1]++;
+
+          if (!edgeFilter.test(edge)) {
+            continue;
+          }
+
+          int successor = automaton.successor(edge);
+
+          if (restriction != null && !restriction.get(successor)) {
+            continue;
+          }
+
+          if (index[successor] == 0) {
+            index[successor] = nextIndex;
+            lowLink[successor] = nextIndex;
+            nextIndex++;
+            stack[stackSize++] = successor;
+            onStack.set(successor);
+            callStack[callStackSize] = successor;
+            nextEdge[callStackSize] = automaton.edgesStart(successor);
+            callStackSize++;
+          } else if (onStack.get(successor)) {
+            lowLink[state] = Math.min(lowLink[state], index[successor]);
+          }
+
+          continue;
+        }
+
+        callStackSize--;
+
+        if (lowLink[state] == index[state]) {
+          var scc = new BitSet();
+          int member;
+
+          do {
+            member = stack[--stackSize];
+            onStack.clear(member);
+            scc.set(member);
+          } while (member != state);
+
+          reverseTopologicalSortedSccs.add(ImmutableBitSet.copyOf(scc));
+        }
+
+        if (callStackSize > 0) {
+          int caller = callStack[callStackSize - 1];
+          lowLink[caller] = Math.min(lowLink[caller], lowLink[state]);
+        }
+      }
+    }
+
+    return List.copyOf(Lists.reverse(reverseTopologicalSortedSccs));
+  }
+
   /**
    * Compute the list of strongly connected components, skipping transient components.
    *
@@ -30,18 +30,23 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import owl.automaton.Automaton;
+import owl.automaton.IntAutomaton;
 import owl.automaton.Views;
 import owl.automaton.acceptance.BuchiAcceptance;
+import owl.automaton.algorithm.simulations.SimulationType.SimulationState;
+import owl.collections.Numbering;
 import owl.collections.Pair;
 import owl.command.AutomatonConversionCommands;
 import owl.game.algorithms.OinkGameSolver;
 import owl.game.algorithms.ParityGameSolver;
-import owl.game.algorithms.ZielonkaGameSolver;
+import owl.game.algorithms.PriorityPromotionGameSolver;
 
 public final class BuchiSimulation {
 
@@ -50,7 +55,9 @@ public final class BuchiSimulation {
   private final ParityGameSolver solver;
 
   public BuchiSimulation() {
-    solver = OinkGameSolver.checkOinkExecutable() ? new OinkGameSolver() : new ZielonkaGameSolver();
+    solver = OinkGameSolver.checkOinkExecutable()
+      ? new OinkGameSolver()
+      : new PriorityPromotionGameSolver();
   }
 
   public BuchiSimulation(ParityGameSolver pgSolver) {
@@ -126,7 +133,7 @@ public final class BuchiSimulation {
 
     logger.fine("Starting simulation computation");
 
-    ParityGameSolver solver = new OinkGameSolver();
+    ParityGameSolver solver = new PriorityPromotionGameSolver();
     var simulator = new BuchiSimulation(solver);
     Set<Pair<S, S>> rel;
     int pebbles = args.pebbleCount();
@@ -135,7 +142,7 @@ public final class BuchiSimulation {
       logger.fine("Starting sanity check for di < de < f on automaton with "
         + pebbles + " pebbles.");
       var relDirect = simulator.directSimulation(automaton, automaton, pebbles);
-      var relDirectRefinement = ColorRefinement.of(automaton);
+      var relDirectRefinement = DirectSimulation.of(automaton);
       var relDelayed = simulator.delayedSimulation(automaton, automaton, pebbles);
       var relFair = simulator.fairSimulation(automaton, automaton, pebbles);
       logger.fine("Direct simulation pairs: " + relDirect);
@@ -179,7 +186,7 @@ public final class BuchiSimulation {
 
       case DIRECT_SIMULATION_COLOUR_REFINEMENT -> {
         logger.fine("Computing direct simulation based on color refinement.");
-        rel = ColorRefinement.of(automaton);
+        rel = DirectSimulation.of(automaton);
       }
 
       case DELAYED_SIMULATION -> {
@@ -244,99 +251,65 @@ public final class BuchiSimulation {
     Automaton<S, ? extends BuchiAcceptance> left,
     Automaton<S, ? extends BuchiAcceptance> right,
     int maxLookahead,
-    LookaheadGameConstructor<S> gc
+    LookaheadGameConstructor<Integer> gc
   ) {
     assert maxLookahead > 0;
     if (automatonTrivial(left) || automatonTrivial(right)) {
       return Set.of();
     }
-    Set<Pair<S, S>> known = ConcurrentHashMap.newKeySet();
-    Set<Pair<S, S>> seen = ConcurrentHashMap.newKeySet();
-
-    var stats = Pair.allPairs(left.states(), right.states())
-      .stream()
-      .map(pair -> {
-        if (seen.add(pair)) {
-          long startTime = System.currentTimeMillis();
-          var game = gc.createGame(
-            left, right, pair.fst(), pair.snd(), maxLookahead, known
-          );
-
-          var wrEven = solver.solve(game).playerEven();
-          var similar = wrEven.stream()
-            .filter(s -> s.owner().isOdd())
-            .map(s -> Pair.of(s.odd(), s.even()))
-            .collect(Collectors.toSet());
-
-          if (wrEven.contains(game.initialState())) {
-            assert !similar.isEmpty();
-            known.addAll(similar);
-            seen.addAll(known);
-          }
-
-          return SimulationStats.of(System.currentTimeMillis() - startTime, game);
-        } else {
-          return null;
-        }
-      }).filter(Objects::nonNull).toList();
 
+    return onIntAutomata(left, right, (intLeft, intRight) -> {
+      Set<Pair<Integer, Integer>> known = ConcurrentHashMap.newKeySet();
 
-    logStats(stats);
-    logger.fine("Obtained " + known.size() + " simulation pairs");
+      solveGames(intLeft, intRight, known,
+        pair -> gc.createGame(intLeft, intRight, pair.fst(), pair.snd(), maxLookahead, known),
+        wrEven -> wrEven.stream()
+          .filter(s -> s.owner().isOdd())
+          .map(s -> Pair.of(s.odd(), s.even()))
+          .collect(Collectors.toSet()));
 
-    return known;
+      logger.fine("Obtained " + known.size() + " simulation pairs");
+      return known;
+    });
   }
 
   private <S> Set<Pair<S, S>> multipebbleSimulate(
     Automaton<S, ? extends BuchiAcceptance> left,
     Automaton<S, ? extends BuchiAcceptance> right,
     int pebbleCount,
-    MultipebbleGameConstructor<S> gc
+    MultipebbleGameConstructor<Integer> gc
   ) {
     assert pebbleCount > 0;
     if (automatonTrivial(left) || automatonTrivial(right)) {
       return Set.of();
     }
 
+    return onIntAutomata(left, right,
+      (intLeft, intRight) -> indexedMultipebbleSimulate(intLeft, intRight, pebbleCount, gc));
+  }
+
+  private Set<Pair<Integer, Integer>> indexedMultipebbleSimulate(
+    Automaton<Integer, ? extends BuchiAcceptance> left,
+    Automaton<Integer, ? extends BuchiAcceptance> right,
+    int pebbleCount,
+    MultipebbleGameConstructor<Integer> gc
+  ) {
     // if more than one pebble is allowed, compute for one pebble as speedup
-    Set<Pair<S, S>> smallerRel = (pebbleCount > 1)
-      ? multipebbleSimulate(left, right, 1, gc)
+    Set<Pair<Integer, Integer>> smallerRel = (pebbleCount > 1)
+      ? indexedMultipebbleSimulate(left, right, 1, gc)
       : Set.of();
 
-    // build concurrent sets, that are used to store pairs that are in relation and pairs
-    // that have already been considered
-    Set<Pair<S, S>> known = ConcurrentHashMap.newKeySet();
+    // build a concurrent set, that is used to store pairs that are in relation
+    Set<Pair<Integer, Integer>> known = ConcurrentHashMap.newKeySet();
     known.addAll(smallerRel);
-    Set<Pair<S, S>> seen = ConcurrentHashMap.newKeySet();
 
-    var stats = Pair.allPairs(left.states(), right.states())
-      .stream()
-      .filter(p -> !known.contains(p))
-      .map(pair -> {
-        if (seen.add(pair)) {
-          long startTime = System.currentTimeMillis();
-          var game = gc.createGame(
-            left, right, pair.fst(), pair.snd(), pebbleCount, known
-          );
-
-          var wrEven = solver.solve(game).playerEven();
-          var similar = wrEven.stream()
-            .filter(s -> s.even().count() == 1 && s.owner().isOdd())
-            .map(s -> Pair.of(s.odd().state(), s.even().onlyState()))
-            .collect(Collectors.toSet());
-
-          if (wrEven.contains(game.initialState())) {
-            assert !similar.isEmpty();
-            known.addAll(similar);
-            seen.addAll(similar);
-          }
-          return SimulationStats.of(System.currentTimeMillis() - startTime, game);
-        } else {
-          return null;
-        }
-      }).filter(Objects::nonNull).toList();
+    solveGames(left, right, known,
+      pair -> gc.createGame(left, right, pair.fst(), pair.snd(), pebbleCount, known),
+      wrEven -> wrEven.stream()
+        .filter(s -> s.even().count() == 1 && s.owner().isOdd())
+        .map(s -> Pair.of(s.odd().state(), s.even().onlyState()))
+        .collect(Collectors.toSet()));
 
-    logStats(stats);
     logger.fine("Obtained " + known.size() + " simulation pairs");
 
     if (pebbleCount > 1 && known.size() < smallerRel.size()) {
@@ -346,6 +319,77 @@ public final class BuchiSimulation {
     return known;
   }
 
+  /**
+   * Copies both automata into {@link IntAutomaton}s, runs the computation on the copies and
+   * translates the resulting pairs back. The copies are immutable and their guards are fixed,
+   * thus they can be read from several threads without creating BDD nodes. If both automata
+   * coincide, the same copy is used for both sides.
+   */
+  private static <S> Set<Pair<S, S>> onIntAutomata(
+    Automaton<S, ? extends BuchiAcceptance> left,
+    Automaton<S, ? extends BuchiAcceptance> right,
+    BiFunction<Automaton<Integer, ? extends BuchiAcceptance>,
+      Automaton<Integer, ? extends BuchiAcceptance>, Set<Pair<Integer, Integer>>> computation
+  ) {
+    var leftNumbering = new Numbering<S>();
+    var intLeft = IntAutomaton.copyOf(left, leftNumbering);
+    Numbering<S> rightNumbering;
+    Automaton<Integer, ? extends BuchiAcceptance> intRight;
+
+    if (left == right) {
+      rightNumbering = leftNumbering;
+      intRight = intLeft;
+    } else {
+      rightNumbering = new Numbering<>();
+      intRight = IntAutomaton.copyOf(right, rightNumbering);
+    }
+
+    return computation.apply(intLeft, intRight).stream()
+      .map(pair -> Pair.of(leftNumbering.lookup(pair.fst()), rightNumbering.lookup(pair.snd())))
+      .collect(Collectors.toSet());
+  }
+
+  /**
+   * Solves one simulation game for every pair of states that is not yet known to be similar.
+   * The games are solved in parallel on the common fork-join pool, which balances the load by
+   * work stealing. All pairs that are won by Duplicator in some game are added to {@code known}
+   * as soon as the game is solved. The games constructed afterwards use them as shortcuts and
+   * pairs that became known in the meantime are skipped.
+   *
+   * @param known a concurrent set of similar pairs, which is updated in place.
+   * @param gameConstructor constructs the game for a pair of states.
+   * @param similarPairs extracts the similar pairs from the winning region of Duplicator.
+   */
+  private <T extends SimulationState> void solveGames(
+    Automaton<Integer, ?> left,
+    Automaton<Integer, ?> right,
+    Set<Pair<Integer, Integer>> known,
+    Function<Pair<Integer, Integer>, SimulationGame<Integer, T>> gameConstructor,
+    Function<Set<T>, Set<Pair<Integer, Integer>>> similarPairs
+  ) {
+    var stats = Pair.allPairs(left.states(), right.states())
+      .parallelStream()
+      .map(pair -> {
+        if (known.contains(pair)) {
+          return null;
+        }
+
+        long startTime = System.currentTimeMillis();
+        var game = gameConstructor.apply(pair);
+        var wrEven = solver.solve(game).playerEven();
+
+        if (wrEven.contains(game.initialState())) {
+          var similar = similarPairs.apply(wrEven);
+          assert !similar.isEmpty();
+          known.addAll(similar);
+        }
+
+        return SimulationStats.of(System.currentTimeMillis() - startTime, game);
+      }).filter(Objects::nonNull).toList();
+
+    logStats(stats);
+  }
+
   private static void logStats(List<SimulationStats> stats) {
     if (!stats.isEmpty()) {
       var avgSize = stats
@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.automaton.algorithm.simulations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import owl.automaton.Automaton;
+import owl.automaton.IntAutomaton;
+import owl.automaton.acceptance.BuchiAcceptance;
+import owl.bdd.BddSet;
+import owl.collections.Numbering;
+import owl.collections.Pair;
+
+/**
+ * Computes the maximal direct simulation relation of a Büchi automaton with acceptance on edges.
+ * A state {@code q} direct-simulates {@code p} if for every edge {@code p -a-> p'} there is an
+ * edge {@code q -a-> q'} such that {@code q'} direct-simulates {@code p'} and the edge of
+ * {@code q} is accepting whenever the edge of {@code p} is accepting.
+ *
+ * <p>The result coincides with {@link ColorRefinement#of(Automaton)}, but the relation is
+ * computed on a primitive view of the automaton: the states are numbered by an
+ * {@link IntAutomaton}, the alphabet is partitioned into valuation classes that no edge guard
+ * distinguishes, and the edges are stored as predecessor lists per class. For every state
+ * {@code p} the set of states simulating {@code p} is kept as a {@link BitSet}. Starting from
+ * the full relation, pairs are removed by intersecting with the predecessors of the simulators
+ * of successors until a fixed point is reached. States whose simulators changed are revisited
+ * through a worklist.</p>
+ */
+public final class DirectSimulation {
+
+  private final int stateCount;
+  private final int classCount;
+
+  // predecessors[valuationClass * stateCount + state] lists the predecessors of state, each
+  // encoded as 2 * predecessor + 1 if the edge is accepting and 2 * predecessor otherwise.
+  private final int[][] predecessors;
+
+  private DirectSimulation(IntAutomaton<?> automaton) {
+    this.stateCount = automaton.stateCount();
+
+    var valuationClasses = valuationClasses(automaton);
+    var representatives = new ArrayList<BitSet>(valuationClasses.size());
+    valuationClasses.forEach(x -> representatives.add(x.element().orElseThrow()));
+    this.classCount = valuationClasses.size();
+
+    int[] sizes = new int[classCount * stateCount];
+    boolean[][] memberships = new boolean[automaton.edgeCount()][];
+
+    for (int edge = 0; edge < automaton.edgeCount(); edge++) {
+      BddSet guard = automaton.guard(edge);
+      boolean[] membership = new boolean[classCount];
+
+      for (int i = 0; i < classCount; i++) {
+        if (guard.contains(representatives.get(i))) {
+          membership[i] = true;
+          sizes[i * stateCount + automaton.successor(edge)]++;
+        }
+      }
+
+      memberships[edge] = membership;
+    }
+
+    this.predecessors = new int[classCount * stateCount][];
+
+    for (int i = 0; i < predecessors.length; i++) {
+      predecessors[i] = new int[sizes[i]];
+    }
+
+    Arrays.fill(sizes, 0);
+
+    for (int state = 0; state < stateCount; state++) {
+      for (int edge = automaton.edgesStart(state); edge < automaton.edgesEnd(state); edge++) {
+        int encoded = 2 * state + (automaton.hasColour(edge, 0) ? 1 : 0);
+
+        for (int i = 0; i < classCount; i++) {
+          if (memberships[edge][i]) {
+            int index = i * stateCount + automaton.successor(edge);
+            predecessors[index][sizes[index]++] = encoded;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Computes the direct simulation relation of the reachable part of the automaton.
+   *
+   * @param automaton the automaton.
+   * @param <S> the state type of the automaton.
+   * @return the set of pairs {@code (p, q)} such that {@code q} direct-simulates {@code p}.
+   */
+  public static <S> Set<Pair<S, S>> of(Automaton<S, ? extends BuchiAcceptance> automaton) {
+    var numbering = new Numbering<S>();
+    var simulators = new DirectSimulation(IntAutomaton.copyOf(automaton, numbering)).refine();
+    var relation = new HashSet<Pair<S, S>>();
+
+    for (int state = 0; state < simulators.length; state++) {
+      S simulated = numbering.lookup(state);
+      simulators[state].stream().forEach(
+        simulator -> relation.add(Pair.of(simulated, numbering.lookup(simulator))));
+    }
+
+    return relation;
+  }
+
+  /**
+   * Partitions the valuations into classes such that each edge guard is a union of classes.
+   */
+  private static List<BddSet> valuationClasses(IntAutomaton<?> automaton) {
+    var guards = new LinkedHashSet<BddSet>();
+
+    for (int edge = 0; edge < automaton.edgeCount(); edge++) {
+      guards.add(automaton.guard(edge));
+    }
+
+    List<BddSet> classes = List.of(automaton.factory().of(true));
+
+    for (BddSet guard : guards) {
+      var refinedClasses = new ArrayList<BddSet>(classes.size() + 1);
+
+      for (BddSet valuationClass : classes) {
+        if (guard.containsAll(valuationClass)) {
+          refinedClasses.add(valuationClass);
+          continue;
+        }
+
+        var inside = valuationClass.intersection(guard);
+
+        if (inside.isEmpty()) {
+          refinedClasses.add(valuationClass);
+        } else {
+          refinedClasses.add(inside);
+          refinedClasses.add(valuationClass.intersection(guard.complement()));
+        }
+      }
+
+      classes = refinedClasses;
+    }
+
+    return classes;
+  }
+
+  /**
+   * Returns for each state the set of states that direct-simulate it.
+   */
+  private BitSet[] refine() {
+    BitSet[] simulators = new BitSet[stateCount];
+
+    for (int state = 0; state < stateCount; state++) {
+      simulators[state] = new BitSet(stateCount);
+      simulators[state].set(0, stateCount);
+    }
+
+    // The simulators of the states in the worklist changed after the last refinement of their
+    // predecessors. Since each state is at most once in the worklist, it is stored as a ring
+    // buffer of capacity stateCount.
+    int[] worklist = new int[stateCount];
+    int worklistHead = 0;
+    int worklistSize = stateCount;
+    var inWorklist = new BitSet(stateCount);
+
+    for (int state = 0; state < stateCount; state++) {
+      worklist[state] = state;
+    }
+
+    inWorklist.set(0, stateCount);
+
+    var matchingPredecessors = new BitSet(stateCount);
+    var matchingAcceptingPredecessors = new BitSet(stateCount);
+
+    while (worklistSize > 0) {
+      int successor = worklist[worklistHead];
+      worklistHead = (worklistHead + 1) % stateCount;
+      worklistSize--;
+      inWorklist.clear(successor);
+      BitSet successorSimulators = simulators[successor];
+
+      for (int i = 0; i < classCount; i++) {
+        int[] successorPredecessors = predecessors[i * stateCount + successor];
+
+        if (successorPredecessors.length == 0) {
+          continue;
+        }
+
+        // Collect all states that can match an edge to the successor, i.e., that have an edge
+        // to a simulator of the successor.
+        matchingPredecessors.clear();
+        matchingAcceptingPredecessors.clear();
+
+        for (int simulator = successorSimulators.nextSetBit(0); simulator >= 0;
+             simulator = successorSimulators.nextSetBit(simulator + 1)) {
+
+          for (int encoded : predecessors[i * stateCount + simulator]) {
+            matchingPredecessors.set(encoded >>> 1);
+
+            if ((encoded & 1) == 1) {
+              matchingAcceptingPredecessors.set(encoded >>> 1);
+            }
+          }
+        }
+
+        for (int encoded : successorPredecessors) {
+          int state = encoded >>> 1;
+          BitSet stateSimulators = simulators[state];
+          int cardinality = stateSimulators.cardinality();
+          stateSimulators.and((encoded & 1) == 1
+            ? matchingAcceptingPredecessors
+            : matchingPredecessors);
+
+          if (stateSimulators.cardinality() < cardinality && !inWorklist.get(state)) {
+            inWorklist.set(state);
+            worklist[(worklistHead + worklistSize) % stateCount] = state;
+            worklistSize++;
+          }
+        }
+      }
+    }
+
+    return simulators;
+  }
+}
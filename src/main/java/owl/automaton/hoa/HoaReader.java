@@ -24,8 +24,17 @@ import static owl.logic.propositional.PropositionalFormula.Disjunction;
 import static owl.logic.propositional.PropositionalFormula.Variable;
 
 import com.google.common.collect.Iterables;
+import com.google.common.io.ByteStreams;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -94,6 +103,43 @@ public final class HoaReader {
       () -> new ToTransitionAcceptance(new HoaConsumerAutomatonSupplier()));
   }
 
+  /**
+   * Reads all automata from the given file. Automata that use explicit edge labels, transition-based
+   * acceptance and no aliases, e.g., those written by {@link HoaWriter}, are parsed directly from
+   * a memory-mapped view of the file into an {@link owl.automaton.IntAutomaton}. This avoids the
+   * intermediate representations of the full parser and thus considerably reduces the time and
+   * memory needed for large files. Each automaton outside of this subset is read on its own by
+   * {@link #readStream(Reader, Supplier, List, Consumer)} and the following automata again use
+   * the fast path.
+   */
+  public static void readStream(
+    Path file,
+    Supplier<BddSetFactory> factorySupplier,
+    @Nullable List<String> predefinedAtomicPropositions,
+    Consumer<? super Automaton<Integer, ?>> consumer) throws IOException, ParseException {
+
+    var copiedPredefinedAtomicPropositions = predefinedAtomicPropositions == null
+      ? null
+      : List.copyOf(predefinedAtomicPropositions);
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedHoaReader.read(channel, factorySupplier, copiedPredefinedAtomicPropositions, consumer,
+        (start, end) -> {
+          // The full parser closes its input, which must not close the shared channel.
+          var input = new FilterInputStream(
+            ByteStreams.limit(Channels.newInputStream(channel.position(start)), end - start)) {
+            @Override
+            public void close() {
+              // Keep the channel open.
+            }
+          };
+
+          readStream(new InputStreamReader(input, StandardCharsets.UTF_8),
+            factorySupplier, copiedPredefinedAtomicPropositions, consumer);
+        });
+    }
+  }
+
   public static Automaton<Integer, ?> read(String string) throws ParseException {
     return read(string, FactorySupplier.defaultSupplier()::getBddSetFactory, null);
   }
@@ -130,7 +176,7 @@ public final class HoaReader {
     return automaton;
   }
 
-  private static EmersonLeiAcceptance acceptance(StoredHeader header) throws HOAConsumerException {
+  static EmersonLeiAcceptance acceptance(StoredHeader header) throws HOAConsumerException {
 
     var name = Iterables.getOnlyElement(header.getAcceptanceNames(), null);
     var formula = header.getAcceptanceCondition();
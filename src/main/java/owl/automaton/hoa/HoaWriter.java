@@ -30,7 +30,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import javax.annotation.Nullable;
+import owl.automaton.AbstractMemoizingAutomaton;
 import owl.automaton.Automaton;
+import owl.automaton.IntAutomaton;
 import owl.automaton.edge.Edge;
 import owl.bdd.BddSet;
 import owl.thirdparty.jhoafparser.ast.AtomLabel;
@@ -71,6 +73,30 @@ public final class HoaWriter {
     @Nullable String automatonName)
     throws HOAConsumerException {
 
+    write(automaton, consumer, stateLabels, subcommand, subcommandArgs, automatonName, false);
+  }
+
+  /**
+   * Writes the automaton to the consumer.
+   *
+   * <p>If {@code streaming} is set, then the automaton is written in a single pass: states are
+   * numbered on discovery and each state is passed to the consumer as soon as its outgoing edges
+   * are computed. For this the header omits the properties 'deterministic' and 'complete', since
+   * they are only known after the complete exploration. Further, the transition relation of an
+   * {@link AbstractMemoizingAutomaton} is not memoized, see
+   * {@link AbstractMemoizingAutomaton#edgeTreeWithoutMemoization(Object)}. Thus only the explored
+   * states need to be kept in memory.</p>
+   */
+  public static <S> void write(
+    Automaton<S, ?> automaton,
+    HOAConsumer consumer,
+    boolean stateLabels,
+    @Nullable String subcommand,
+    @Nullable List<String> subcommandArgs,
+    @Nullable String automatonName,
+    boolean streaming)
+    throws HOAConsumerException {
+
     consumer.notifyHeaderStart("v1");
     var nameAndVersion = OwlVersion.getNameAndVersion();
     consumer.setTool(
@@ -89,8 +115,15 @@ public final class HoaWriter {
 
     var numbering = new Numbering<S>();
 
-    for (S state : automaton.initialStates()) {
-      consumer.addStartStates(List.of(numbering.get(state)));
+    // IntAutomaton states are already numbered and are written in the order of their numbers.
+    if (automaton instanceof IntAutomaton<?>) {
+      for (S state : automaton.initialStates()) {
+        consumer.addStartStates(List.of((Integer) state));
+      }
+    } else {
+      for (S state : automaton.initialStates()) {
+        consumer.addStartStates(List.of(numbering.get(state)));
+      }
     }
 
     var acceptance = automaton.acceptance();
@@ -104,18 +137,25 @@ public final class HoaWriter {
 
     // jhoafparser does not adhere to the spec. If we call an automaton without initial
     // states deterministic, the serializer will throw an exception.
-    if (!automaton.initialStates().isEmpty()
+    if (!streaming
+      && !automaton.initialStates().isEmpty()
       && automaton.is(Automaton.Property.DETERMINISTIC)) {
       consumer.addProperties(List.of("deterministic", "unambiguous"));
     }
 
-    if (automaton.is(Automaton.Property.COMPLETE)) {
+    if (!streaming && automaton.is(Automaton.Property.COMPLETE)) {
       consumer.addProperties(List.of("complete"));
     }
 
     consumer.setAPs(automaton.atomicPropositions());
     consumer.notifyBodyStart();
 
+    if (automaton instanceof IntAutomaton<?> intAutomaton) {
+      writeBody(intAutomaton, consumer, stateLabels);
+      consumer.notifyEnd();
+      return;
+    }
+
     // Use a work-list algorithm in case source is an on-the-fly generated automaton and
     // to ensure that initial states appear at the top.
     Deque<S> workList = new ArrayDeque<>(automaton.initialStates());
@@ -129,7 +169,11 @@ public final class HoaWriter {
       String label = stateLabels ? state.toString() : null;
       consumer.addState(stateId, label, null, null);
 
-      for (Map.Entry<Edge<S>, BddSet> entry : automaton.edgeMap(state).entrySet()) {
+      var edgeMap = streaming && automaton instanceof AbstractMemoizingAutomaton<S, ?> memoizing
+        ? memoizing.edgeTreeWithoutMemoization(state).inverse(automaton.factory())
+        : automaton.edgeMap(state);
+
+      for (Map.Entry<Edge<S>, BddSet> entry : edgeMap.entrySet()) {
         Edge<S> edge = entry.getKey();
         S successor = edge.successor();
         BddSet valuationSet = entry.getValue();
@@ -154,6 +198,26 @@ public final class HoaWriter {
     consumer.notifyEnd();
   }
 
+  private static void writeBody(
+    IntAutomaton<?> automaton, HOAConsumer consumer, boolean stateLabels)
+    throws HOAConsumerException {
+
+    for (int state = 0, s = automaton.stateCount(); state < s; state++) {
+      consumer.addState(state, stateLabels ? Integer.toString(state) : null, null, null);
+
+      for (int edge = automaton.edgesStart(state), end = automaton.edgesEnd(state);
+        edge < end; edge++) {
+
+        consumer.addEdgeWithLabel(state,
+          automaton.guard(edge).toExpression().map(AtomLabel::createAPIndex),
+          List.of(automaton.successor(edge)),
+          automaton.colours(edge));
+      }
+
+      consumer.notifyEndOfState(state);
+    }
+  }
+
   static final class Numbering<S> {
     private final Map<S, Integer> stateNumbers = new HashMap<>();
 
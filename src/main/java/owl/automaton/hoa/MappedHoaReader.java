@@ -0,0 +1,646 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.automaton.hoa;
+
+import static owl.logic.propositional.PropositionalFormula.Conjunction;
+import static owl.logic.propositional.PropositionalFormula.Disjunction;
+import static owl.logic.propositional.PropositionalFormula.Negation;
+import static owl.logic.propositional.PropositionalFormula.Variable;
+import static owl.logic.propositional.PropositionalFormula.falseConstant;
+import static owl.logic.propositional.PropositionalFormula.trueConstant;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import owl.automaton.Automaton;
+import owl.automaton.IntAutomaton;
+import owl.automaton.acceptance.EmersonLeiAcceptance;
+import owl.bdd.BddSet;
+import owl.bdd.BddSetFactory;
+import owl.logic.propositional.PropositionalFormula;
+import owl.thirdparty.jhoafparser.consumer.HOAConsumerException;
+import owl.thirdparty.jhoafparser.parser.generated.ParseException;
+import owl.thirdparty.jhoafparser.storage.StoredHeader;
+
+/**
+ * Parser for the common subset of the HOA format that operates directly on a memory-mapped file
+ * and builds {@link IntAutomaton}s without intermediate representations. The subset consists of
+ * automata with explicit edge labels, transition-based acceptance, a single initial state per
+ * {@code Start:} header, no aliases, states listed in ascending order and all states reachable.
+ * This covers the output of {@link HoaWriter} with {@code stateLabels = false}.
+ *
+ * <p>The parser does not report errors. If it encounters anything outside the subset, including
+ * malformed input, the automaton it failed on is handed to the full parser and parsing continues
+ * with the next automaton.</p>
+ */
+final class MappedHoaReader {
+
+  // A single MappedByteBuffer is limited to 2 GiB and thus the file is mapped in segments.
+  private static final int SEGMENT_BITS = 30;
+  private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+  // The cache for parsed labels is cleared when it exceeds this size.
+  private static final int LABEL_CACHE_SIZE = 1 << 16;
+
+  private final MappedByteBuffer[] segments;
+  private final long size;
+  private final Supplier<BddSetFactory> factorySupplier;
+  @Nullable
+  private final List<String> predefinedAtomicPropositions;
+
+  private long position = 0;
+
+  private MappedHoaReader(
+    FileChannel channel,
+    Supplier<BddSetFactory> factorySupplier,
+    @Nullable List<String> predefinedAtomicPropositions) throws IOException {
+
+    this.size = channel.size();
+    this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS)];
+    this.factorySupplier = factorySupplier;
+    this.predefinedAtomicPropositions = predefinedAtomicPropositions;
+
+    for (int i = 0; i < segments.length; i++) {
+      long start = (long) i << SEGMENT_BITS;
+      segments[i] = channel.map(
+        FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_MASK + 1, size - start));
+    }
+  }
+
+  /**
+   * Parses all automata from the channel. Each automaton that is not covered by the supported
+   * subset is passed to the fallback parser, which is given the range of the file from the start
+   * of the automaton to the end of its body. If the end cannot be determined, e.g., due to
+   * malformed input, the range extends to the end of the file.
+   */
+  static void read(
+    FileChannel channel,
+    Supplier<BddSetFactory> factorySupplier,
+    @Nullable List<String> predefinedAtomicPropositions,
+    Consumer<? super Automaton<Integer, ?>> consumer,
+    FallbackParser fallbackParser) throws IOException, ParseException {
+
+    var reader = new MappedHoaReader(channel, factorySupplier, predefinedAtomicPropositions);
+
+    while (true) {
+      long start = reader.position;
+      IntAutomaton<?> automaton;
+
+      try {
+        reader.skipWhitespace();
+
+        if (reader.position == reader.size) {
+          return;
+        }
+
+        automaton = reader.automaton();
+      } catch (UnsupportedInputException ex) {
+        reader.position = start;
+        long end = reader.endOfAutomaton();
+        fallbackParser.parse(start, end);
+        reader.position = end;
+        continue;
+      }
+
+      consumer.accept(automaton);
+    }
+  }
+
+  @FunctionalInterface
+  interface FallbackParser {
+    void parse(long start, long end) throws IOException, ParseException;
+  }
+
+  /**
+   * Returns the position after the {@code --END--} or {@code --ABORT--} token that ends the
+   * automaton at the current position, or the size of the file if there is none.
+   */
+  private long endOfAutomaton() {
+    try {
+      while (position < size) {
+        skipWhitespace();
+
+        if (peek() == '"') {
+          readString();
+        } else if (tryConsume("--END--") || tryConsume("--ABORT--")) {
+          return position;
+        } else if (position < size) {
+          position++;
+        }
+      }
+    } catch (UnsupportedInputException ex) {
+      // An unterminated string or comment, which the full parser reports.
+    }
+
+    return size;
+  }
+
+  private IntAutomaton<?> automaton() throws UnsupportedInputException {
+    // Header
+    expectHeaderName("HOA");
+    check(readIdentifier().equals("v1"));
+
+    var header = new StoredHeader();
+    var initialStates = new BitSet();
+    int declaredStates = -1;
+    List<String> atomicPropositions = null;
+
+    while (!tryConsume("--BODY--")) {
+      String name = readHeaderName();
+
+      switch (name) {
+        case "States" -> declaredStates = readInt();
+
+        case "Start" -> {
+          initialStates.set(readInt());
+          // Universal initial states are not supported.
+          check(!tryConsume('&'));
+        }
+
+        case "AP" -> {
+          int count = readInt();
+          atomicPropositions = new ArrayList<>(count);
+
+          for (int i = 0; i < count; i++) {
+            atomicPropositions.add(readString());
+          }
+        }
+
+        case "Acceptance" -> {
+          int sets = readInt();
+          header.setAcceptanceCondition(sets, acceptanceCondition());
+        }
+
+        case "acc-name" -> header.provideAcceptanceName(readIdentifier(), readHeaderValues());
+
+        default -> {
+          // Headers starting with an upper-case letter, e.g., Alias, have to be understood.
+          check(Character.isLowerCase(name.charAt(0)));
+          readHeaderValues();
+        }
+      }
+    }
+
+    check(atomicPropositions != null && header.getAcceptanceCondition() != null);
+
+    int[] remapping = null;
+
+    if (predefinedAtomicPropositions != null
+      && !predefinedAtomicPropositions.equals(atomicPropositions)) {
+
+      remapping = new int[atomicPropositions.size()];
+
+      for (int i = 0; i < remapping.length; i++) {
+        remapping[i] = predefinedAtomicPropositions.indexOf(atomicPropositions.get(i));
+        check(remapping[i] >= 0);
+      }
+    }
+
+    EmersonLeiAcceptance acceptance;
+
+    try {
+      acceptance = HoaReader.acceptance(header);
+    } catch (HOAConsumerException | IllegalArgumentException | IndexOutOfBoundsException
+      | NoSuchElementException ex) {
+      throw UnsupportedInputException.INSTANCE;
+    }
+
+    var factory = factorySupplier.get();
+    var builder = IntAutomaton.builder(
+      remapping == null ? atomicPropositions : predefinedAtomicPropositions, factory, acceptance);
+    initialStates.stream().forEach(builder::addInitialState);
+
+    // Body
+    var labelParser = new LabelParser(factory, atomicPropositions.size(), remapping);
+    var colours = new BitSet();
+    int acceptanceSets = acceptance.acceptanceSets();
+    int maximalState = initialStates.length() - 1;
+
+    while (!tryConsume("--END--")) {
+      expectHeaderName("State");
+      // State labels are not supported.
+      check(!tryConsume('['));
+
+      int state = readInt();
+      check(state >= builder.stateCount());
+
+      while (builder.stateCount() <= state) {
+        builder.addState();
+      }
+
+      skipWhitespace();
+
+      if (peek() == '"') {
+        readString();
+      }
+
+      // State-based acceptance is not supported.
+      check(!tryConsume('{'));
+
+      while (tryConsume('[')) {
+        BddSet guard = labelParser.label();
+        int successor = readInt();
+        // Universal branching is not supported.
+        check(!tryConsume('&'));
+
+        colours.clear();
+
+        if (tryConsume('{')) {
+          while (!tryConsume('}')) {
+            int colour = readInt();
+            check(colour < acceptanceSets);
+            colours.set(colour);
+          }
+        }
+
+        maximalState = Math.max(maximalState, successor);
+        builder.addEdge(successor, guard, colours);
+      }
+
+      // Edges with implicit labels are not supported.
+      skipWhitespace();
+      check(!isDigit(peek()));
+    }
+
+    maximalState = Math.max(maximalState, builder.stateCount() - 1);
+    check(declaredStates < 0 || maximalState < declaredStates);
+
+    while (builder.stateCount() <= maximalState) {
+      builder.addState();
+    }
+
+    // Automata are required to only have reachable states, but the HOA format allows unreachable
+    // states. Since they need to be removed without renumbering, we leave this to the full parser.
+    check(builder.allStatesReachable());
+    return builder.build();
+  }
+
+  private PropositionalFormula<Integer> acceptanceCondition() throws UnsupportedInputException {
+    List<PropositionalFormula<Integer>> disjuncts = new ArrayList<>();
+    disjuncts.add(acceptanceConditionConjunction());
+
+    while (tryConsume('|')) {
+      disjuncts.add(acceptanceConditionConjunction());
+    }
+
+    return Disjunction.of(disjuncts);
+  }
+
+  private PropositionalFormula<Integer> acceptanceConditionConjunction()
+    throws UnsupportedInputException {
+
+    List<PropositionalFormula<Integer>> conjuncts = new ArrayList<>();
+    conjuncts.add(acceptanceConditionAtom());
+
+    while (tryConsume('&')) {
+      conjuncts.add(acceptanceConditionAtom());
+    }
+
+    return Conjunction.of(conjuncts);
+  }
+
+  private PropositionalFormula<Integer> acceptanceConditionAtom()
+    throws UnsupportedInputException {
+
+    if (tryConsume('(')) {
+      var expression = acceptanceCondition();
+      check(tryConsume(')'));
+      return expression;
+    }
+
+    String identifier = readIdentifier();
+
+    switch (identifier) {
+      case "t":
+        return trueConstant();
+
+      case "f":
+        return falseConstant();
+
+      case "Fin":
+      case "Inf":
+        check(tryConsume('('));
+        boolean negated = tryConsume('!');
+        int set = readInt();
+        check(tryConsume(')'));
+        return identifier.equals("Fin") != negated
+          ? Negation.of(Variable.of(set))
+          : Variable.of(set);
+
+      default:
+        throw UnsupportedInputException.INSTANCE;
+    }
+  }
+
+  private final class LabelParser {
+    private final BddSetFactory factory;
+    private final int atomicPropositions;
+    @Nullable
+    private final int[] remapping;
+    private final Map<String, BddSet> cache = new HashMap<>();
+
+    private LabelParser(BddSetFactory factory, int atomicPropositions, @Nullable int[] remapping) {
+      this.factory = factory;
+      this.atomicPropositions = atomicPropositions;
+      this.remapping = remapping;
+    }
+
+    // Parses a label after the opening bracket, including the closing bracket.
+    private BddSet label() throws UnsupportedInputException {
+      long start = position;
+      long end = start;
+
+      while (end < size && get(end) != ']') {
+        end++;
+      }
+
+      check(end < size && end - start <= Integer.MAX_VALUE);
+      byte[] bytes = new byte[(int) (end - start)];
+
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = get(start + i);
+      }
+
+      String key = new String(bytes, StandardCharsets.ISO_8859_1);
+      BddSet guard = cache.get(key);
+
+      if (guard == null) {
+        guard = disjunction();
+        skipWhitespace();
+        check(position == end);
+
+        if (cache.size() >= LABEL_CACHE_SIZE) {
+          cache.clear();
+        }
+
+        cache.put(key, guard);
+      }
+
+      position = end + 1;
+      return guard;
+    }
+
+    private BddSet disjunction() throws UnsupportedInputException {
+      BddSet disjunction = conjunction();
+
+      while (tryConsume('|')) {
+        disjunction = disjunction.union(conjunction());
+      }
+
+      return disjunction;
+    }
+
+    private BddSet conjunction() throws UnsupportedInputException {
+      BddSet conjunction = atom();
+
+      while (tryConsume('&')) {
+        conjunction = conjunction.intersection(atom());
+      }
+
+      return conjunction;
+    }
+
+    private BddSet atom() throws UnsupportedInputException {
+      if (tryConsume('!')) {
+        return atom().complement();
+      }
+
+      if (tryConsume('(')) {
+        var expression = disjunction();
+        check(tryConsume(')'));
+        return expression;
+      }
+
+      skipWhitespace();
+
+      if (isDigit(peek())) {
+        int atomicProposition = readInt();
+        check(atomicProposition < atomicPropositions);
+        return factory.of(remapping == null ? atomicProposition : remapping[atomicProposition]);
+      }
+
+      // Aliases are not supported.
+      return switch (readIdentifier()) {
+        case "t" -> factory.of(true);
+        case "f" -> factory.of(false);
+        default -> throw UnsupportedInputException.INSTANCE;
+      };
+    }
+  }
+
+  // Lexer
+
+  private byte get(long index) {
+    return segments[(int) (index >>> SEGMENT_BITS)].get((int) (index & SEGMENT_MASK));
+  }
+
+  private int peek() {
+    return position < size ? get(position) : -1;
+  }
+
+  private void skipWhitespace() throws UnsupportedInputException {
+    while (position < size) {
+      byte c = get(position);
+
+      if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+        position++;
+      } else if (c == '/' && position + 1 < size && get(position + 1) == '*') {
+        skipComment();
+      } else {
+        return;
+      }
+    }
+  }
+
+  // Comments might be nested.
+  private void skipComment() throws UnsupportedInputException {
+    int depth = 0;
+
+    do {
+      check(position + 1 < size);
+      byte c = get(position);
+      byte d = get(position + 1);
+
+      if (c == '/' && d == '*') {
+        depth++;
+        position += 2;
+      } else if (c == '*' && d == '/') {
+        depth--;
+        position += 2;
+      } else {
+        position++;
+      }
+    } while (depth > 0);
+  }
+
+  private boolean tryConsume(char c) throws UnsupportedInputException {
+    skipWhitespace();
+
+    if (peek() == c) {
+      position++;
+      return true;
+    }
+
+    return false;
+  }
+
+  private boolean tryConsume(String token) throws UnsupportedInputException {
+    skipWhitespace();
+
+    if (position + token.length() > size) {
+      return false;
+    }
+
+    for (int i = 0; i < token.length(); i++) {
+      if (get(position + i) != token.charAt(i)) {
+        return false;
+      }
+    }
+
+    position += token.length();
+    return true;
+  }
+
+  private int readInt() throws UnsupportedInputException {
+    skipWhitespace();
+    check(isDigit(peek()));
+    long value = 0;
+
+    while (isDigit(peek())) {
+      value = 10 * value + (get(position++) - '0');
+      check(value <= Integer.MAX_VALUE);
+    }
+
+    return (int) value;
+  }
+
+  private String readIdentifier() throws UnsupportedInputException {
+    skipWhitespace();
+    int c = peek();
+    check(c == '_' || isLetter(c));
+    var builder = new StringBuilder();
+
+    while (c == '_' || c == '-' || isLetter(c) || isDigit(c)) {
+      builder.append((char) c);
+      position++;
+      c = peek();
+    }
+
+    return builder.toString();
+  }
+
+  private String readHeaderName() throws UnsupportedInputException {
+    String name = readIdentifier();
+    check(peek() == ':');
+    position++;
+    return name;
+  }
+
+  private void expectHeaderName(String name) throws UnsupportedInputException {
+    check(readHeaderName().equals(name));
+  }
+
+  private String readString() throws UnsupportedInputException {
+    check(tryConsume('"'));
+    var bytes = new ByteArrayOutputStream();
+
+    while (true) {
+      check(position < size);
+      byte c = get(position++);
+
+      if (c == '"') {
+        return bytes.toString(StandardCharsets.UTF_8);
+      }
+
+      if (c == '\\') {
+        check(position < size);
+        c = get(position++);
+      }
+
+      bytes.write(c);
+    }
+  }
+
+  // Reads the values of a header item until the next header name or the start of the body.
+  private List<Object> readHeaderValues() throws UnsupportedInputException {
+    List<Object> values = new ArrayList<>();
+
+    while (true) {
+      skipWhitespace();
+      int c = peek();
+
+      if (c == '"') {
+        values.add(readString());
+      } else if (isDigit(c)) {
+        values.add(readInt());
+      } else if (c == '_' || isLetter(c)) {
+        long start = position;
+        String identifier = readIdentifier();
+
+        if (peek() == ':') {
+          position = start;
+          return values;
+        }
+
+        values.add(identifier);
+      } else {
+        check(c == '-');
+        return values;
+      }
+    }
+  }
+
+  private static boolean isDigit(int c) {
+    return '0' <= c && c <= '9';
+  }
+
+  private static boolean isLetter(int c) {
+    return ('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z');
+  }
+
+  private static void check(boolean condition) throws UnsupportedInputException {
+    if (!condition) {
+      throw UnsupportedInputException.INSTANCE;
+    }
+  }
+
+  // Signals that the input is not covered by the supported subset. The exception is preallocated
+  // and has no stack trace, since it is only used for control flow.
+  private static final class UnsupportedInputException extends Exception {
+    private static final long serialVersionUID = 1L;
+    private static final UnsupportedInputException INSTANCE = new UnsupportedInputException();
+
+    private UnsupportedInputException() {
+      super(null, null, false, false);
+    }
+  }
+}
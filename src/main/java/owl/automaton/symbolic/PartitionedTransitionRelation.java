@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton.symbolic;
+
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.ATOMIC_PROPOSITION;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.COLOUR;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.STATE;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.SUCCESSOR_STATE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import owl.automaton.symbolic.SymbolicAutomaton.VariableAllocation;
+import owl.bdd.BddSet;
+import owl.bdd.BddSetFactory;
+import owl.collections.ImmutableBitSet;
+
+/**
+ * A conjunctively partitioned transition relation. The transition relation is split into one
+ * conjunct per successor-state variable and one for the colour variables, each obtained by
+ * quantifying all other successor-state and colour variables, and adjacent conjuncts are clustered
+ * up to {@link #CLUSTER_SIZE} nodes. Images and pre-images conjoin the clusters one after the other
+ * and quantify each variable as soon as no remaining cluster depends on it (early quantification),
+ * so the product of a set with the full transition relation is never built.
+ *
+ * <p>The split is only exact if the successor state and the colours are functions of the state
+ * and the valuation, e.g. for deterministic automata. Otherwise the monolithic transition relation
+ * is used as the single cluster.</p>
+ */
+final class PartitionedTransitionRelation {
+
+  // Adjacent conjuncts are merged as long as the merged conjunct has at most this many nodes.
+  static final int CLUSTER_SIZE = 1 << 12;
+
+  // Reachability splits the states by the values of this many topmost state variables.
+  private static final int CHAINING_VARIABLES = 2;
+
+  private final VariableAllocation allocation;
+  private final List<BddSet> clusters;
+  // The union of the supports of the clusters from the given index on.
+  private final List<BitSet> remainingSupports;
+
+  private PartitionedTransitionRelation(VariableAllocation allocation, List<BddSet> clusters) {
+    this.allocation = allocation;
+    this.clusters = List.copyOf(clusters);
+
+    var supports = new ArrayList<BitSet>(clusters.size() + 1);
+    supports.add(new BitSet());
+
+    for (int i = clusters.size() - 1; i >= 0; i--) {
+      BitSet support = clusters.get(i).support();
+      support.or(supports.get(0));
+      supports.add(0, support);
+    }
+
+    this.remainingSupports = List.copyOf(supports);
+  }
+
+  static PartitionedTransitionRelation of(
+    BddSet transitionRelation, VariableAllocation allocation) {
+    return of(transitionRelation, allocation, CLUSTER_SIZE);
+  }
+
+  static PartitionedTransitionRelation of(
+    BddSet transitionRelation, VariableAllocation allocation, int clusterSize) {
+
+    ImmutableBitSet successorStates = allocation.variables(SUCCESSOR_STATE);
+    ImmutableBitSet successorStatesAndColours = allocation.variables(SUCCESSOR_STATE, COLOUR);
+
+    List<BddSet> conjuncts = new ArrayList<>();
+    conjuncts.add(transitionRelation.project(successorStates));
+
+    successorStates.forEach((int variable) -> {
+      BitSet quantifiedVariables = successorStatesAndColours.copyInto(new BitSet());
+      quantifiedVariables.clear(variable);
+      conjuncts.add(transitionRelation.project(quantifiedVariables));
+    });
+
+    List<BddSet> clusters = new ArrayList<>();
+
+    for (BddSet conjunct : conjuncts) {
+      int last = clusters.size() - 1;
+
+      if (last >= 0) {
+        BddSet cluster = clusters.get(last).intersection(conjunct);
+
+        if (cluster.nodeCount() <= clusterSize) {
+          clusters.set(last, cluster);
+          continue;
+        }
+      }
+
+      clusters.add(conjunct);
+    }
+
+    if (clusters.size() == 1
+      || !transitionRelation.factory().intersection(clusters.toArray(BddSet[]::new))
+      .equals(transitionRelation)) {
+      return new PartitionedTransitionRelation(allocation, List.of(transitionRelation));
+    }
+
+    return new PartitionedTransitionRelation(allocation, clusters);
+  }
+
+  List<BddSet> clusters() {
+    return clusters;
+  }
+
+  /**
+   * Computes the successors of the given states, see {@link SymbolicAutomaton#successors(BddSet)}.
+   */
+  BddSet image(BddSet statesAndValuation) {
+    return relationalProduct(
+      statesAndValuation.project(allocation.variables(COLOUR)),
+      allocation.variables(STATE, ATOMIC_PROPOSITION)).relabel(swapStateVariables());
+  }
+
+  /**
+   * Computes the predecessors of the given states, see
+   * {@link SymbolicAutomaton#predecessors(BddSet)}.
+   */
+  BddSet preImage(BddSet statesAndValuation) {
+    return relationalProduct(
+      statesAndValuation.relabel(swapStateVariables()),
+      allocation.variables(SUCCESSOR_STATE, ATOMIC_PROPOSITION, COLOUR));
+  }
+
+  /**
+   * Computes the states reachable from the given states by chaining: the states are split by the
+   * values of the topmost state variables and the image of each part is saturated before moving
+   * to the next part. Thus states found while exploring one part are already explored by the
+   * following parts in the same sweep, which needs fewer sweeps than breadth-first search.
+   */
+  BddSet reachableStates(BddSet initialStates) {
+    List<BddSet> parts = parts();
+    BddSetFactory factory = initialStates.factory();
+    BddSet[] exploredStates = new BddSet[parts.size()];
+    Arrays.fill(exploredStates, factory.of(false));
+    BddSet reachableStates = initialStates;
+    boolean changed = true;
+
+    while (changed) {
+      changed = false;
+
+      for (int i = 0; i < parts.size(); i++) {
+        BddSet frontier = reachableStates.intersection(
+          parts.get(i), exploredStates[i].complement());
+
+        while (!frontier.isEmpty()) {
+          exploredStates[i] = exploredStates[i].union(frontier);
+          BddSet newStates = image(frontier).intersection(reachableStates.complement());
+
+          if (!newStates.isEmpty()) {
+            reachableStates = reachableStates.union(newStates);
+            changed = true;
+          }
+
+          frontier = newStates.intersection(parts.get(i));
+        }
+      }
+    }
+
+    return reachableStates;
+  }
+
+  private List<BddSet> parts() {
+    BddSetFactory factory = clusters.get(0).factory();
+    List<BddSet> parts = new ArrayList<>(List.of(factory.of(true)));
+    var stateVariables = allocation.variables(STATE).intIterator();
+
+    for (int i = 0; i < CHAINING_VARIABLES && stateVariables.hasNext(); i++) {
+      BddSet variable = factory.of(stateVariables.nextInt());
+      List<BddSet> refinedParts = new ArrayList<>(2 * parts.size());
+
+      for (BddSet part : parts) {
+        refinedParts.add(part.intersection(variable.complement()));
+        refinedParts.add(part.intersection(variable));
+      }
+
+      parts = refinedParts;
+    }
+
+    return parts;
+  }
+
+  private BddSet relationalProduct(BddSet set, ImmutableBitSet quantifiedVariables) {
+    BddSet product = project(set, quantifiedVariables, remainingSupports.get(0));
+
+    for (int i = 0; i < clusters.size() && !product.isEmpty(); i++) {
+      product = project(
+        product.intersection(clusters.get(i)), quantifiedVariables, remainingSupports.get(i + 1));
+    }
+
+    return product;
+  }
+
+  // Quantifies the given variables that are not used by the remaining clusters.
+  private static BddSet project(
+    BddSet set, ImmutableBitSet quantifiedVariables, BitSet remainingSupport) {
+
+    BitSet variables = quantifiedVariables.copyInto(new BitSet());
+    variables.andNot(remainingSupport);
+    return variables.isEmpty() ? set : set.project(variables);
+  }
+
+  private IntUnaryOperator swapStateVariables() {
+    ImmutableBitSet states = allocation.variables(STATE);
+    ImmutableBitSet successorStates = allocation.variables(SUCCESSOR_STATE);
+
+    return variable -> {
+      if (states.contains(variable)) {
+        return allocation.localToGlobal(allocation.globalToLocal(variable, STATE), SUCCESSOR_STATE);
+      } else if (successorStates.contains(variable)) {
+        return allocation.localToGlobal(allocation.globalToLocal(variable, SUCCESSOR_STATE), STATE);
+      } else {
+        return variable;
+      }
+    };
+  }
+}
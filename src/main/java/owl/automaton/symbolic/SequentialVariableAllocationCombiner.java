@@ -170,7 +170,7 @@ public class SequentialVariableAllocationCombiner implements AllocationCombiner
   public int localToGlobal(int variable, VariableAllocation allocation) {
     if (allocation.typeOf(variable) == ATOMIC_PROPOSITION) {
       return (startWithAtomicPropositions ? 0 : numberOfVariables() - nrOfAps)
-        + getNrOfSetBitsUntilVariable(allocation.variables(ATOMIC_PROPOSITION), variable);
+        + allocation.globalToLocal(variable, ATOMIC_PROPOSITION);
     } else {
       return offsets[allocations.indexOf(allocation)] + withoutAtomicPropositions(allocation,
         variable);
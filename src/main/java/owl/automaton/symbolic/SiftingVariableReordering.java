@@ -0,0 +1,442 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.automaton.symbolic;
+
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.ATOMIC_PROPOSITION;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.COLOUR;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.STATE;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.SUCCESSOR_STATE;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import owl.automaton.symbolic.SymbolicAutomaton.VariableAllocation;
+import owl.automaton.symbolic.SymbolicAutomaton.VariableType;
+import owl.bdd.BddSet;
+import owl.bdd.MtBdd;
+import owl.collections.ImmutableBitSet;
+
+/**
+ * Group sifting of the variables of symbolic automata, cf. Rudell's sifting and its extension to
+ * variable groups by Panda and Somenzi.
+ *
+ * <p>The underlying BDD libraries do not reorder variables in place. Thus the sets are copied into
+ * a small node table that supports swapping adjacent levels, the order is optimised there, and
+ * finally the sets are relabelled once according to the new order. The variables are partitioned
+ * into groups that are moved as a unit: each state variable together with its successor-state
+ * variable directly below it, such that the transition relation stays interleaved, all colour
+ * variables as one block in their current order, and each atomic proposition on its own. Each
+ * group is moved through all positions and placed at the position minimising the number of nodes.
+ * The new order is only used if it is smaller than the current one.</p>
+ */
+final class SiftingVariableReordering {
+
+  // Moving a group in one direction stops once the size exceeds the best size by this factor.
+  private static final double MAXIMAL_GROWTH = 1.2;
+
+  private static final int FALSE_NODE = 0;
+  private static final int TRUE_NODE = 1;
+  private static final int TERMINAL_VARIABLE = -1;
+
+  private final int[] levelToVariable;
+  private final int[] variableToLevel;
+  private final List<Map<Long, Integer>> uniqueTables;
+
+  // The reference count of a node is the number of its parents and of the sets it represents.
+  private int[] variables = new int[1024];
+  private int[] lows = new int[1024];
+  private int[] highs = new int[1024];
+  private int[] referenceCounts = new int[1024];
+  private final Deque<Integer> freeNodes = new ArrayDeque<>();
+  private int nextNode = TRUE_NODE + 1;
+  private int liveNodes = 0;
+
+  private SiftingVariableReordering(int numberOfVariables) {
+    levelToVariable = new int[numberOfVariables];
+    variableToLevel = new int[numberOfVariables];
+    uniqueTables = new ArrayList<>(numberOfVariables);
+
+    for (int variable = 0; variable < numberOfVariables; variable++) {
+      levelToVariable[variable] = variable;
+      variableToLevel[variable] = variable;
+      uniqueTables.add(new HashMap<>());
+    }
+
+    variables[FALSE_NODE] = TERMINAL_VARIABLE;
+    variables[TRUE_NODE] = TERMINAL_VARIABLE;
+  }
+
+  /**
+   * The reordered allocation and the sets relabelled accordingly.
+   */
+  record Result(VariableAllocation allocation, List<BddSet> sets) {}
+
+  static Result reorder(VariableAllocation allocation, List<BddSet> sets) {
+    var reordering = new SiftingVariableReordering(allocation.numberOfVariables());
+
+    for (BddSet set : sets) {
+      reordering.reference(reordering.copy(set));
+    }
+
+    int initialSize = reordering.liveNodes;
+
+    // Start from the current order of the groups, which interleaves states and successors.
+    List<int[]> groups = groups(allocation);
+    groups.sort(Comparator.comparingInt(group -> group[0]));
+    reordering.arrange(groups);
+
+    for (int[] group : List.copyOf(groups)) {
+      reordering.sift(groups, groups.indexOf(group));
+    }
+
+    if (reordering.liveNodes >= initialSize) {
+      return new Result(allocation, sets);
+    }
+
+    int[] permutation = reordering.variableToLevel.clone();
+    List<BddSet> relabelledSets = new ArrayList<>(sets.size());
+
+    for (BddSet set : sets) {
+      relabelledSets.add(set.relabel(variable -> permutation[variable]));
+    }
+
+    return new Result(PermutedVariableAllocation.of(allocation, permutation), relabelledSets);
+  }
+
+  private static List<int[]> groups(VariableAllocation allocation) {
+    List<int[]> groups = new ArrayList<>();
+
+    for (int i = 0, s = allocation.variables(STATE).size(); i < s; i++) {
+      groups.add(new int[] {
+        allocation.localToGlobal(i, STATE), allocation.localToGlobal(i, SUCCESSOR_STATE)});
+    }
+
+    for (int i = 0, s = allocation.variables(ATOMIC_PROPOSITION).size(); i < s; i++) {
+      groups.add(new int[] {allocation.localToGlobal(i, ATOMIC_PROPOSITION)});
+    }
+
+    int[] colours = allocation.variables(COLOUR).intStream().toArray();
+
+    if (colours.length > 0) {
+      groups.add(colours);
+    }
+
+    return groups;
+  }
+
+  private int copy(BddSet set) {
+    MtBdd<Boolean> tree = set.factory().toMtBdd(Map.of(Boolean.TRUE, set));
+    return copy(tree, new IdentityHashMap<>());
+  }
+
+  private int copy(MtBdd<Boolean> tree, Map<MtBdd<Boolean>, Integer> copies) {
+    Integer copy = copies.get(tree);
+
+    if (copy != null) {
+      return copy;
+    }
+
+    int node;
+
+    if (tree instanceof MtBdd.Node<Boolean> treeNode) {
+      int high = copy(treeNode.trueChild, copies);
+      int low = copy(treeNode.falseChild, copies);
+      node = makeNode(treeNode.variable, low, high);
+    } else {
+      node = ((MtBdd.Leaf<Boolean>) tree).value.isEmpty() ? FALSE_NODE : TRUE_NODE;
+    }
+
+    copies.put(tree, node);
+    return node;
+  }
+
+  // Moves the variables such that the groups are contiguous and in the given order.
+  private void arrange(List<int[]> groups) {
+    int targetLevel = 0;
+
+    for (int[] group : groups) {
+      for (int variable : group) {
+        for (int level = variableToLevel[variable]; level > targetLevel; level--) {
+          swap(level - 1);
+        }
+
+        targetLevel++;
+      }
+    }
+  }
+
+  private void sift(List<int[]> groups, int index) {
+    int initialIndex = index;
+    int bestSize = liveNodes;
+    int bestIndex = index;
+
+    while (index < groups.size() - 1) {
+      swapGroups(groups, index);
+      index++;
+
+      if (liveNodes < bestSize) {
+        bestSize = liveNodes;
+        bestIndex = index;
+      } else if (liveNodes > MAXIMAL_GROWTH * bestSize) {
+        break;
+      }
+    }
+
+    // The positions down to the initial position were already visited.
+    while (index > 0) {
+      swapGroups(groups, index - 1);
+      index--;
+
+      if (liveNodes < bestSize) {
+        bestSize = liveNodes;
+        bestIndex = index;
+      } else if (index < initialIndex && liveNodes > MAXIMAL_GROWTH * bestSize) {
+        break;
+      }
+    }
+
+    while (index < bestIndex) {
+      swapGroups(groups, index);
+      index++;
+    }
+
+    while (index > bestIndex) {
+      swapGroups(groups, index - 1);
+      index--;
+    }
+  }
+
+  // Exchanges the adjacent groups at the given index and the next index.
+  private void swapGroups(List<int[]> groups, int index) {
+    int start = 0;
+
+    for (int i = 0; i < index; i++) {
+      start += groups.get(i).length;
+    }
+
+    int upperSize = groups.get(index).length;
+    int lowerSize = groups.get(index + 1).length;
+
+    // Move each variable of the lower group above the upper group.
+    for (int i = 0; i < lowerSize; i++) {
+      for (int level = start + upperSize + i - 1; level >= start + i; level--) {
+        swap(level);
+      }
+    }
+
+    Collections.swap(groups, index, index + 1);
+  }
+
+  /**
+   * Swaps the variables at the given level and the level below. Nodes of the upper variable are
+   * rewritten in place, such that their parents and the represented sets stay valid.
+   */
+  private void swap(int level) {
+    int upper = levelToVariable[level];
+    int lower = levelToVariable[level + 1];
+    var upperTable = uniqueTables.get(upper);
+    List<Integer> dependentNodes = new ArrayList<>();
+
+    for (int node : upperTable.values()) {
+      if (variables[lows[node]] == lower || variables[highs[node]] == lower) {
+        dependentNodes.add(node);
+      }
+    }
+
+    for (int node : dependentNodes) {
+      upperTable.remove(key(lows[node], highs[node]));
+    }
+
+    for (int node : dependentNodes) {
+      int low = lows[node];
+      int high = highs[node];
+      int lowLow = variables[low] == lower ? lows[low] : low;
+      int lowHigh = variables[low] == lower ? highs[low] : low;
+      int highLow = variables[high] == lower ? lows[high] : high;
+      int highHigh = variables[high] == lower ? highs[high] : high;
+
+      int newLow = makeNode(upper, lowLow, highLow);
+      reference(newLow);
+      int newHigh = makeNode(upper, lowHigh, highHigh);
+      reference(newHigh);
+
+      variables[node] = lower;
+      lows[node] = newLow;
+      highs[node] = newHigh;
+      uniqueTables.get(lower).put(key(newLow, newHigh), node);
+
+      dereference(low);
+      dereference(high);
+    }
+
+    levelToVariable[level] = lower;
+    levelToVariable[level + 1] = upper;
+    variableToLevel[lower] = level;
+    variableToLevel[upper] = level + 1;
+  }
+
+  private int makeNode(int variable, int low, int high) {
+    if (low == high) {
+      return low;
+    }
+
+    var table = uniqueTables.get(variable);
+    Integer existingNode = table.get(key(low, high));
+
+    if (existingNode != null) {
+      return existingNode;
+    }
+
+    int node;
+
+    if (freeNodes.isEmpty()) {
+      node = nextNode++;
+
+      if (node == variables.length) {
+        int size = 2 * node;
+        variables = Arrays.copyOf(variables, size);
+        lows = Arrays.copyOf(lows, size);
+        highs = Arrays.copyOf(highs, size);
+        referenceCounts = Arrays.copyOf(referenceCounts, size);
+      }
+    } else {
+      node = freeNodes.pop();
+    }
+
+    variables[node] = variable;
+    lows[node] = low;
+    highs[node] = high;
+    referenceCounts[node] = 0;
+    reference(low);
+    reference(high);
+    table.put(key(low, high), node);
+    liveNodes++;
+    return node;
+  }
+
+  private void reference(int node) {
+    if (node > TRUE_NODE) {
+      referenceCounts[node]++;
+    }
+  }
+
+  private void dereference(int node) {
+    if (node <= TRUE_NODE) {
+      return;
+    }
+
+    assert referenceCounts[node] > 0;
+
+    if (--referenceCounts[node] == 0) {
+      uniqueTables.get(variables[node]).remove(key(lows[node], highs[node]));
+      liveNodes--;
+      freeNodes.push(node);
+      dereference(lows[node]);
+      dereference(highs[node]);
+    }
+  }
+
+  private static long key(int low, int high) {
+    return ((long) low << 32) | (high & 0xFFFF_FFFFL);
+  }
+
+  /**
+   * An allocation whose global variables are permuted with respect to another allocation.
+   */
+  private static final class PermutedVariableAllocation implements VariableAllocation {
+
+    private final VariableAllocation allocation;
+    private final int[] permutation;
+    private final int[] inversePermutation;
+
+    private PermutedVariableAllocation(VariableAllocation allocation, int[] permutation) {
+      this.allocation = allocation;
+      this.permutation = permutation.clone();
+      this.inversePermutation = new int[permutation.length];
+
+      for (int i = 0; i < permutation.length; i++) {
+        inversePermutation[permutation[i]] = i;
+      }
+    }
+
+    private static VariableAllocation of(VariableAllocation allocation, int[] permutation) {
+      // Compose permutations instead of nesting allocations.
+      if (allocation instanceof PermutedVariableAllocation permutedAllocation) {
+        int[] composedPermutation = new int[permutation.length];
+
+        for (int i = 0; i < permutation.length; i++) {
+          composedPermutation[i] = permutation[permutedAllocation.permutation[i]];
+        }
+
+        return new PermutedVariableAllocation(permutedAllocation.allocation, composedPermutation);
+      }
+
+      return new PermutedVariableAllocation(allocation, permutation);
+    }
+
+    @Override
+    public ImmutableBitSet variables(VariableType... types) {
+      BitSet variables = new BitSet();
+      allocation.variables(types).forEach((int variable) -> variables.set(permutation[variable]));
+      return ImmutableBitSet.copyOf(variables);
+    }
+
+    @Override
+    public int numberOfVariables() {
+      return permutation.length;
+    }
+
+    @Override
+    public VariableType typeOf(int variable) {
+      return allocation.typeOf(inversePermutation[variable]);
+    }
+
+    @Override
+    public List<String> variableNames() {
+      List<String> names = allocation.variableNames();
+      List<String> permutedNames = new ArrayList<>(names.size());
+
+      for (int variable = 0; variable < permutation.length; variable++) {
+        permutedNames.add(names.get(inversePermutation[variable]));
+      }
+
+      return permutedNames;
+    }
+
+    @Override
+    public int localToGlobal(int variable, VariableType type) {
+      return permutation[allocation.localToGlobal(variable, type)];
+    }
+
+    @Override
+    public int globalToLocal(int variable, VariableType type) {
+      return allocation.globalToLocal(inversePermutation[variable], type);
+    }
+  }
+}
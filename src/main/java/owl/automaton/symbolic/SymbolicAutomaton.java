@@ -58,6 +58,10 @@ import owl.collections.ImmutableBitSet;
 @AutoValue
 public abstract class SymbolicAutomaton<A extends EmersonLeiAcceptance> {
 
+  // The number of nodes of the transition relation that triggers a reordering of the variables
+  // during the construction. The threshold doubles with respect to the reordered size.
+  static final int REORDERING_THRESHOLD = 1 << 14;
+
   public abstract List<String> atomicPropositions();
 
   public abstract BddSet initialStates();
@@ -74,65 +78,59 @@ public abstract class SymbolicAutomaton<A extends EmersonLeiAcceptance> {
 
   public BddSet successors(BddSet statesAndValuation) {
     checkArgument(statesAndValuation.factory() == factory());
-    ImmutableBitSet quantifyOver = variableAllocation().variables(STATE, ATOMIC_PROPOSITION);
-    ImmutableBitSet states = variableAllocation().variables(STATE);
-    ImmutableBitSet successorStates = variableAllocation().variables(SUCCESSOR_STATE);
-    return transitionRelation()
-      .intersection(statesAndValuation
-        .project(variableAllocation().variables(COLOUR))
-      )
-      .project(quantifyOver)
-      .relabel(variable -> {
-        if (states.contains(variable)) {
-          return variableAllocation()
-            .localToGlobal(variableAllocation().globalToLocal(variable, STATE), SUCCESSOR_STATE);
-        } else if (successorStates.contains(variable)) {
-          return variableAllocation()
-            .localToGlobal(variableAllocation().globalToLocal(variable, SUCCESSOR_STATE), STATE);
-        } else {
-          return variable;
-        }
-      });
+    return partitionedTransitionRelation().image(statesAndValuation);
   }
 
   public BddSet predecessors(BddSet statesAndValuation) {
     checkArgument(statesAndValuation.factory() == factory());
-    ImmutableBitSet quantifyOver = variableAllocation().variables(
-      SUCCESSOR_STATE,
-      ATOMIC_PROPOSITION,
-      COLOUR
-    );
-    ImmutableBitSet successorStates = variableAllocation().variables(SUCCESSOR_STATE);
-    ImmutableBitSet states = variableAllocation().variables(STATE);
-    return transitionRelation()
-      .intersection(statesAndValuation
-        .relabel(variable -> {
-          if (successorStates.contains(variable)) {
-            return variableAllocation()
-              .localToGlobal(variableAllocation().globalToLocal(variable, SUCCESSOR_STATE), STATE);
-          } else if (states.contains(variable)) {
-            return variableAllocation()
-              .localToGlobal(variableAllocation().globalToLocal(variable, STATE), SUCCESSOR_STATE);
-          } else {
-            return variable;
-          }
-        })
-      )
-      .project(quantifyOver);
+    return partitionedTransitionRelation().preImage(statesAndValuation);
   }
 
   @Memoized
   public BddSet reachableStates() {
-    BddSet previousStates = initialStates().factory().of(false);
-    BddSet currentStates = initialStates().intersection(
+    return partitionedTransitionRelation().reachableStates(initialStates().intersection(
       initialStates().factory().of(new BitSet(),
         variableAllocation().variables(COLOUR).copyInto(new BitSet()))
-    );
-    while (!previousStates.equals(currentStates)) {
-      previousStates = currentStates;
-      currentStates = currentStates.union(successors(currentStates));
+    ));
+  }
+
+  @Memoized
+  PartitionedTransitionRelation partitionedTransitionRelation() {
+    return PartitionedTransitionRelation.of(transitionRelation(), variableAllocation());
+  }
+
+  /**
+   * Returns an equivalent automaton whose variables are reordered by sifting groups of variables
+   * to reduce the size of the initial states and the transition relation. Each state variable
+   * stays directly in front of its successor-state variable and the colour variables stay
+   * together. If no smaller order is found, this automaton is returned.
+   *
+   * @return an equivalent automaton with a possibly different {@link #variableAllocation()}.
+   */
+  public SymbolicAutomaton<A> reorderVariables() {
+    var reordering = SiftingVariableReordering.reorder(
+      variableAllocation(), List.of(initialStates(), transitionRelation()));
+
+    if (reordering.allocation() == variableAllocation()) {
+      return this;
     }
-    return currentStates;
+
+    return of(
+      atomicPropositions(),
+      reordering.sets().get(0),
+      reordering.sets().get(1),
+      acceptance(),
+      reordering.allocation(),
+      properties(),
+      colourOffset());
+  }
+
+  /**
+   * Reorders the variables if the transition relation exceeds {@link #REORDERING_THRESHOLD}
+   * nodes.
+   */
+  SymbolicAutomaton<A> reorderVariablesIfLarge() {
+    return transitionRelation().nodeCount() > REORDERING_THRESHOLD ? reorderVariables() : this;
   }
 
   public boolean is(Automaton.Property property) {
@@ -224,7 +222,7 @@ public abstract class SymbolicAutomaton<A extends EmersonLeiAcceptance> {
 
     List<String> atomicPropositionsCopy = List.copyOf(atomicPropositions);
     StateEncoder<S> stateEncoder = encoderFactory.create(automaton);
-    VariableAllocation allocation = allocator.allocate(
+    var allocation = allocator.allocate(
       stateEncoder.stateVariables(),
       atomicPropositionsCopy.size(),
       automaton.acceptance().acceptanceSets());
@@ -246,8 +244,21 @@ public abstract class SymbolicAutomaton<A extends EmersonLeiAcceptance> {
     }
 
     BddSet transitionRelation = factory.of(false);
+    int reorderingThreshold = REORDERING_THRESHOLD;
+    int processedStates = 0;
 
     while (!workList.isEmpty()) {
+      // The transition relation is sensitive to the variable order, hence the variables are
+      // reordered if it grows too much. The size is only checked periodically.
+      if (++processedStates % 256 == 0 && transitionRelation.nodeCount() > reorderingThreshold) {
+        var reordering = SiftingVariableReordering.reorder(
+          allocation, List.of(initialStates, transitionRelation));
+        allocation = reordering.allocation();
+        initialStates = reordering.sets().get(0);
+        transitionRelation = reordering.sets().get(1);
+        reorderingThreshold = Math.max(reorderingThreshold, 2 * transitionRelation.nodeCount());
+      }
+
       S state = workList.remove();
       MtBdd<Edge<S>> edgeTree = automaton.edgeTree(state);
 
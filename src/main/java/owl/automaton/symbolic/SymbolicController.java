@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.automaton.symbolic;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.ATOMIC_PROPOSITION;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.COLOUR;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.STATE;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.SUCCESSOR_STATE;
+import static owl.automaton.symbolic.SymbolicDPASolver.Solution.Winner.CONTROLLER;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import owl.automaton.Automaton;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.bdd.BddSet;
+import owl.collections.ImmutableBitSet;
+import owl.game.output.AigConsumer;
+import owl.game.output.AigFactory;
+import owl.game.output.AigPrintable;
+import owl.game.output.LabelledAig;
+
+/**
+ * A controller extracted symbolically from the strategy of a winning controller computed by a
+ * {@link SymbolicDPASolver}.
+ *
+ * <p>The strategy relation is determinized one controlled atomic proposition at a time: an output
+ * is set if and only if the remaining strategy does not allow to unset it. Fixing all outputs
+ * determines the successor in the automaton, and hence every state variable is updated by a
+ * function of the current state and the uncontrolled atomic propositions. The circuit is obtained
+ * by Shannon expansion of these BDDs and no state of the automaton is enumerated explicitly.
+ */
+public final class SymbolicController implements AigPrintable {
+
+  private final SymbolicAutomaton<?> dpa;
+  private final ImmutableBitSet controlledAps;
+  private final List<BddSet> outputFunctions;
+  private final List<BddSet> successorFunctions;
+
+  private SymbolicController(SymbolicAutomaton<?> dpa, ImmutableBitSet controlledAps,
+    List<BddSet> outputFunctions, List<BddSet> successorFunctions) {
+    this.dpa = dpa;
+    this.controlledAps = controlledAps;
+    this.outputFunctions = List.copyOf(outputFunctions);
+    this.successorFunctions = List.copyOf(successorFunctions);
+  }
+
+  public static SymbolicController of(
+    SymbolicAutomaton<? extends ParityAcceptance> dpa,
+    ImmutableBitSet controlledAps,
+    SymbolicDPASolver.Solution solution) {
+
+    checkArgument(solution.winner() == CONTROLLER, "The controller does not win.");
+    checkArgument(dpa.is(Automaton.Property.COMPLETE));
+    checkArgument(dpa.is(Automaton.Property.DETERMINISTIC));
+
+    var factory = dpa.factory();
+    var allocation = dpa.variableAllocation();
+    BitSet controlledVariables
+      = allocation.localToGlobal(controlledAps.copyInto(new BitSet()), ATOMIC_PROPOSITION);
+
+    BitSet quantifiedVariables = allocation.variables(COLOUR, SUCCESSOR_STATE)
+      .copyInto(new BitSet());
+    quantifiedVariables.or(controlledVariables);
+
+    // The moves of the strategy over the current state and all atomic propositions.
+    BddSet moves = solution.strategy().project(allocation.variables(COLOUR, SUCCESSOR_STATE));
+    BddSet choice = factory.of(true);
+    List<BddSet> outputFunctions = new ArrayList<>();
+
+    for (int i = controlledAps.first().orElse(-1); i >= 0;
+      i = controlledAps.higher(i).orElse(-1)) {
+
+      BddSet output = factory.of(allocation.localToGlobal(i, ATOMIC_PROPOSITION));
+      BddSet outputFunction = moves.intersection(output.complement())
+        .project(controlledVariables)
+        .complement();
+      BddSet equivalence = output.intersection(outputFunction)
+        .union(output.union(outputFunction).complement());
+
+      outputFunctions.add(outputFunction);
+      moves = moves.intersection(equivalence);
+      choice = choice.intersection(equivalence);
+    }
+
+    BddSet closedLoop = dpa.transitionRelation().intersection(choice);
+    List<BddSet> successorFunctions = new ArrayList<>();
+
+    for (int i = 0, s = allocation.variables(STATE).size(); i < s; i++) {
+      successorFunctions.add(closedLoop
+        .intersection(factory.of(allocation.localToGlobal(i, SUCCESSOR_STATE)))
+        .project(quantifiedVariables));
+    }
+
+    return new SymbolicController(dpa, controlledAps, outputFunctions, successorFunctions);
+  }
+
+  /**
+   * The functions setting the controlled atomic propositions in ascending order. The functions
+   * range over the state variables and the uncontrolled atomic propositions.
+   */
+  public List<BddSet> outputFunctions() {
+    return outputFunctions;
+  }
+
+  /**
+   * The functions updating the state variables, indexed by the local state variable. The
+   * functions range over the state variables and the uncontrolled atomic propositions.
+   */
+  public List<BddSet> successorFunctions() {
+    return successorFunctions;
+  }
+
+  @Override
+  public void feedTo(AigConsumer consumer) {
+    var allocation = dpa.variableAllocation();
+    var factory = new AigFactory();
+    Map<Integer, LabelledAig> literals = new HashMap<>();
+    List<String> atomicPropositions = dpa.atomicPropositions();
+    int variable = 0;
+
+    for (int i = 0, s = atomicPropositions.size(); i < s; i++) {
+      if (!controlledAps.contains(i)) {
+        consumer.addInput(atomicPropositions.get(i));
+        variable++;
+        literals.put(allocation.localToGlobal(i, ATOMIC_PROPOSITION), factory.getNode(variable));
+      }
+    }
+
+    // Latches are initialised with zero, thus they store the state variables relative to the
+    // initial state.
+    BitSet initialState = dpa.initialStates().element().orElseThrow();
+    BitSet negatedLatches = new BitSet();
+
+    for (int i = 0, s = successorFunctions.size(); i < s; i++) {
+      int stateVariable = allocation.localToGlobal(i, STATE);
+      variable++;
+      LabelledAig latch = factory.getNode(variable);
+
+      if (initialState.get(stateVariable)) {
+        negatedLatches.set(i);
+        latch = factory.not(latch);
+      }
+
+      literals.put(stateVariable, latch);
+    }
+
+    Map<BddSet, LabelledAig> cache = new HashMap<>();
+
+    for (int i = 0, s = successorFunctions.size(); i < s; i++) {
+      LabelledAig latch = toAig(successorFunctions.get(i), factory, literals, cache);
+      consumer.addLatch("", negatedLatches.get(i) ? factory.not(latch) : latch);
+    }
+
+    int output = 0;
+
+    for (int i = controlledAps.first().orElse(-1); i >= 0;
+      i = controlledAps.higher(i).orElse(-1)) {
+      consumer.addOutput(atomicPropositions.get(i),
+        toAig(outputFunctions.get(output), factory, literals, cache));
+      output++;
+    }
+  }
+
+  private static LabelledAig toAig(BddSet function, AigFactory factory,
+    Map<Integer, LabelledAig> literals, Map<BddSet, LabelledAig> cache) {
+
+    if (function.isEmpty()) {
+      return factory.getFalse();
+    }
+
+    if (function.isUniverse()) {
+      return factory.getTrue();
+    }
+
+    LabelledAig aig = cache.get(function);
+
+    if (aig != null) {
+      return aig;
+    }
+
+    // Expand along the top-most variable such that the cofactors are nodes of the BDD.
+    int variable = function.support().nextSetBit(0);
+    LabelledAig literal = literals.get(variable);
+    checkState(literal != null, "Variable %s is neither an input nor a latch.", variable);
+
+    BddSet bddLiteral = function.factory().of(variable);
+    ImmutableBitSet quantified = ImmutableBitSet.of(variable);
+    LabelledAig high = toAig(
+      function.intersection(bddLiteral).project(quantified), factory, literals, cache);
+    LabelledAig low = toAig(
+      function.intersection(bddLiteral.complement()).project(quantified), factory, literals, cache);
+
+    aig = factory.disjunction(
+      factory.conjunction(literal, high),
+      factory.conjunction(factory.not(literal), low));
+    cache.put(function, aig);
+    return aig;
+  }
+}
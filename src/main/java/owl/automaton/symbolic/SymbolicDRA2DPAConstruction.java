@@ -144,6 +144,8 @@ public abstract class SymbolicDRA2DPAConstruction {
       );
     }
 
+    // The parity colours are appended to the order and might increase the transition relation
+    // considerably.
     return SymbolicAutomaton.of(
       automaton().atomicPropositions(),
       automaton().initialStates(),
@@ -152,7 +154,7 @@ public abstract class SymbolicDRA2DPAConstruction {
       new ParityVariableAllocation(automaton().variableAllocation(), coloursNeeded),
       automaton().properties(),
       automaton().variableAllocation().variables(COLOUR).size()
-    );
+    ).reorderVariablesIfLarge();
   }
 
   private static boolean paritySetsDisjoint(List<BddSet> paritySets) {
@@ -31,6 +31,7 @@ import java.util.BitSet;
 import java.util.Deque;
 import java.util.List;
 import owl.bdd.BddSet;
+import owl.bdd.BddSetFactory;
 
 @AutoValue
 public abstract class SymbolicSccDecomposition {
@@ -42,9 +43,16 @@ public abstract class SymbolicSccDecomposition {
   }
 
   /**
-   * Computes the scc decomposition of the automaton using the algorithm
-   * described in https://doi.org/10.1007/s10703-006-4341-z, where the acceptance condition
-   * is included in the states. The returned BDDs therefore only contain state and colour variables
+   * Computes the scc decomposition of the automaton using the skeleton-based algorithm of
+   * Gentilini, Piazza, and Policriti ("Computing strongly connected components in a linear number
+   * of symbolic steps"), where the acceptance condition is included in the states. The returned
+   * BDDs therefore only contain state and colour variables
+   *
+   * <p>The forward set of a node is computed layer by layer and a path through the layers, the
+   * skeleton, is kept. The SCC of the node is the backward closure of the node within the forward
+   * set. The search in the forward set then starts from the end of the skeleton and the search in
+   * the remaining states from the predecessor of the SCC on the skeleton of the enclosing search,
+   * such that every state is part of at most two forward sets.
    *
    * @param restrictedTo a BddSet representing the state-space for which the SCC decomposition
    *     is computed. Only states in restrictedTo are included in the result.
@@ -55,60 +63,61 @@ public abstract class SymbolicSccDecomposition {
     if (restrictedTo.isEmpty()) {
       return List.of();
     }
-    BddSet transitionRelation = automaton().transitionRelation();
-    SymbolicAutomaton.VariableAllocation variableAllocation = automaton().variableAllocation();
-    BitSet states = variableAllocation.variables(STATE, COLOUR).copyInto(new BitSet());
-    checkArgument(restrictedTo.factory() == transitionRelation.factory());
-    Deque<BddSet> worklist = new ArrayDeque<>();
-    worklist.push(restrictedTo);
+    BddSetFactory factory = automaton().factory();
+    BitSet states = automaton().variableAllocation().variables(STATE, COLOUR)
+      .copyInto(new BitSet());
+    checkArgument(restrictedTo.factory() == factory);
+    Deque<Subproblem> worklist = new ArrayDeque<>();
+    worklist.push(new Subproblem(restrictedTo, factory.of(false), factory.of(false)));
     List<BddSet> sccs = new ArrayList<>();
     while (!worklist.isEmpty()) {
-      BddSet consideredStates = worklist.pop();
-      // Get some arbitrary state from consideredStates
-      BddSet node = transitionRelation
-        .factory()
-        .of(consideredStates.element().orElseThrow(), states);
-      BddSet forwardSet = node;
-      BddSet backwardSet = node;
-      BddSet successors = node;
-      BddSet predecessors = node;
-      // Compute successors and predecessors in lock-step
-      while (!successors.isEmpty() && !predecessors.isEmpty()) {
-        successors = automaton().successors(successors).intersection(consideredStates)
-          .intersection(forwardSet.complement());
-        predecessors = automaton().predecessors(predecessors).intersection(consideredStates)
-          .intersection(backwardSet.complement());
-        forwardSet = forwardSet.union(successors);
-        backwardSet = backwardSet.union(predecessors);
+      Subproblem subproblem = worklist.pop();
+      BddSet consideredStates = subproblem.states();
+      BddSet startNodes = subproblem.node().intersection(consideredStates);
+      BddSet node = pick(startNodes.isEmpty() ? consideredStates : startNodes, states);
+      // Compute the forward set layer by layer
+      List<BddSet> layers = new ArrayList<>();
+      BddSet forwardSet = factory.of(false);
+      BddSet layer = node;
+      while (!layer.isEmpty()) {
+        layers.add(layer);
+        forwardSet = forwardSet.union(layer);
+        layer = automaton().successors(layer)
+          .intersection(consideredStates, forwardSet.complement());
       }
-      BddSet converged;
-      // Refine forwardset or backwardset
-      if (successors.isEmpty()) {
-        converged = forwardSet;
-        while (!predecessors.intersection(forwardSet).isEmpty()) {
-          predecessors = automaton().predecessors(predecessors).intersection(consideredStates)
-            .intersection(backwardSet.complement());
-          backwardSet = backwardSet.union(predecessors);
-        }
-      } else {
-        converged = backwardSet;
-        while (!successors.intersection(backwardSet).isEmpty()) {
-          successors = automaton().successors(successors).intersection(consideredStates)
-            .intersection(forwardSet.complement());
-          forwardSet = forwardSet.union(successors);
-        }
+      // Compute a path from the node to the last layer backwards
+      BddSet skeletonNode = pick(layers.get(layers.size() - 1), states);
+      BddSet skeleton = skeletonNode;
+      BddSet pathNode = skeletonNode;
+      for (int i = layers.size() - 2; i >= 0; i--) {
+        pathNode = pick(automaton().predecessors(pathNode).intersection(layers.get(i)), states);
+        skeleton = skeleton.union(pathNode);
+      }
+      // The SCC is the backward closure of the node within the forward set
+      BddSet scc = node;
+      BddSet predecessors = node;
+      while (!predecessors.isEmpty()) {
+        predecessors = automaton().predecessors(predecessors)
+          .intersection(forwardSet, scc.complement());
+        scc = scc.union(predecessors);
       }
-      // Save the SCC
-      BddSet scc = forwardSet.intersection(backwardSet);
       sccs.add(scc);
       // Continue with the "recursive" steps of the algorithm
-      BddSet next1 = converged.intersection(scc.complement());
-      BddSet next2 = consideredStates.intersection(converged.complement());
-      if (!next1.isEmpty()) {
-        worklist.push(next1);
+      BddSet remainingStates = consideredStates.intersection(forwardSet.complement());
+      if (!remainingStates.isEmpty()) {
+        BddSet remainingSkeleton = subproblem.skeleton().intersection(scc.complement());
+        worklist.push(new Subproblem(
+          remainingStates,
+          remainingSkeleton,
+          automaton().predecessors(subproblem.skeleton().intersection(scc))
+            .intersection(remainingSkeleton)));
       }
-      if (!next2.isEmpty()) {
-        worklist.push(next2);
+      BddSet remainingForwardSet = forwardSet.intersection(scc.complement());
+      if (!remainingForwardSet.isEmpty()) {
+        worklist.push(new Subproblem(
+          remainingForwardSet,
+          skeleton.intersection(scc.complement()),
+          skeletonNode.intersection(scc.complement())));
       }
     }
     return sccs;
@@ -122,4 +131,10 @@ public abstract class SymbolicSccDecomposition {
   public boolean isTrivialScc(BddSet scc) {
     return automaton().successors(scc).intersection(scc).isEmpty();
   }
+
+  private static BddSet pick(BddSet set, BitSet states) {
+    return set.factory().of(set.element().orElseThrow(), states);
+  }
+
+  private record Subproblem(BddSet states, BddSet skeleton, BddSet node) {}
 }
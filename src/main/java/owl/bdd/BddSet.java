@@ -84,6 +84,12 @@ public interface BddSet {
    */
   BitSet support();
 
+  /**
+   * Returns the number of inner nodes of the decision diagram representing this set. The number
+   * depends on the order of the variables and is intended for size heuristics.
+   */
+  int nodeCount();
+
   PropositionalFormula<Integer> toExpression();
 
   /**
@@ -51,4 +51,13 @@ public interface BddSetFactory {
 
   <S> MtBdd<S> toMtBdd(Map<? extends S, ? extends BddSet> sets);
 
+  /**
+   * Indicates whether this factory and the sets created by it may be used by several threads
+   * concurrently.
+   *
+   * @return {@code false}, unless the implementation is thread-safe.
+   */
+  default boolean isThreadSafe() {
+    return false;
+  }
 }
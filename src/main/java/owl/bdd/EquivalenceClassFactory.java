@@ -74,4 +74,14 @@ public interface EquivalenceClassFactory {
   }
 
   void clearCaches();
+
+  /**
+   * Indicates whether this factory and the equivalence classes created by it may be used by
+   * several threads concurrently, e.g., to explore the states of an automaton in parallel.
+   *
+   * @return {@code false}, unless the implementation is thread-safe.
+   */
+  default boolean isThreadSafe() {
+    return false;
+  }
 }
@@ -24,9 +24,37 @@ import owl.bdd.jbdd.JBddSupplier;
 
 public interface FactorySupplier {
 
+  /**
+   * The system property selecting the BDD implementation of {@link #defaultSupplier()}. The value
+   * {@code jbdd} (default) selects the sequential JBDD library, whose factories are confined to a
+   * single thread, and the value {@code concurrent} selects a thread-safe implementation that
+   * evaluates operations in parallel and whose factories may be shared between threads.
+   */
+  String BDD_IMPLEMENTATION_PROPERTY = "owl.bdd";
+
+  /**
+   * The system property setting the number of BDD nodes per entry of the operation caches. Smaller
+   * values give larger caches. If unset, each factory uses its own default.
+   */
+  String BDD_CACHE_DIVIDER_PROPERTY = "owl.bdd.cacheDivider";
+
+  /**
+   * The system property setting the memory in MiB initially allocated for the node table of each
+   * BDD-based factory. This is only a hint for the initial size, the node tables still grow as
+   * needed and the memory of a factory is not bounded. If unset, each factory derives the initial
+   * size from the number of atomic propositions, if it is known when the factory is created.
+   */
+  String BDD_INITIAL_MEMORY_PROPERTY = "owl.bdd.initialMemory";
+
   static FactorySupplier defaultSupplier() {
-    // TODO: add compile-time switch (JDD vs sylvan)
-    return JBddSupplier.INSTANCE;
+    String implementation = System.getProperty(BDD_IMPLEMENTATION_PROPERTY, "jbdd");
+
+    return switch (implementation) {
+      case "jbdd" -> JBddSupplier.INSTANCE;
+      case "concurrent" -> JBddSupplier.CONCURRENT;
+      default -> throw new IllegalArgumentException(
+        "Unknown BDD implementation '" + implementation + "', expected 'jbdd' or 'concurrent'.");
+    };
   }
 
   BddSetFactory getBddSetFactory();
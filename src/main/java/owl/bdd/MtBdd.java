@@ -23,6 +23,8 @@ import static owl.logic.propositional.PropositionalFormula.falseConstant;
 import static owl.logic.propositional.PropositionalFormula.trueConstant;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.common.collect.Maps;
 import java.util.ArrayList;
 import java.util.BitSet;
@@ -43,12 +45,16 @@ import owl.logic.propositional.PropositionalFormula;
 /**
  * A multi-terminal binary decision diagram (MTBDD).
  *
- * <p>This class provides an implementation of ordered, but not necessarily reduced, MTBDDs.
+ * <p>This class provides an implementation of ordered and reduced MTBDDs. All nodes and leaves are
+ * hash-consed in a global unique table that only holds weak references. Thus isomorphic MTBDDs are
+ * shared and two MTBDDs are equal if and only if they are identical.
  *
  * @param <E> the elements stored at the leaves of the MTBDD.
  */
 public abstract sealed class MtBdd<E> {
 
+  private static final Interner<MtBdd<?>> UNIQUE_TABLE = Interners.newWeakInterner();
+
   private MtBdd() {
   }
 
@@ -58,29 +64,35 @@ public abstract sealed class MtBdd<E> {
   }
 
   public static <E> MtBdd<E> of(E value) {
-    return new Leaf<>(Set.of(value));
+    return canonicalize(new Leaf<>(Set.of(value)));
   }
 
   public static <E> MtBdd<E> of(E value1, E value2) {
-    return new Leaf<>(Set.of(value1, value2));
+    return canonicalize(new Leaf<>(Set.of(value1, value2)));
   }
 
   @SafeVarargs
   @SuppressWarnings("varargs")
   public static <E> MtBdd<E> of(E... values) {
-    return new Leaf<>(values);
+    return values.length == 0 ? of() : canonicalize(new Leaf<>(values));
   }
 
   public static <E> MtBdd<E> copyOf(Collection<? extends E> value) {
-    return value.isEmpty() ? of() : new Leaf<>(Set.copyOf(value));
+    return value.isEmpty() ? of() : canonicalize(new Leaf<>(Set.copyOf(value)));
   }
 
   public static <E> MtBdd<E> of(int variable, MtBdd<E> trueChild, MtBdd<E> falseChild) {
-    if (trueChild.equals(falseChild)) {
+    // The children are canonical, hence they are equal if and only if they are identical.
+    if (trueChild == falseChild) {
       return trueChild;
     }
 
-    return new Node<>(variable, trueChild, falseChild);
+    return canonicalize(new Node<>(variable, trueChild, falseChild));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E> MtBdd<E> canonicalize(MtBdd<E> tree) {
+    return (MtBdd<E>) UNIQUE_TABLE.intern(tree);
   }
 
   public static <E> MtBdd<E> of(Map<E, PropositionalFormula<Integer>> map) {
@@ -181,12 +193,12 @@ public abstract sealed class MtBdd<E> {
   }
 
   public final Map<E, BddSet> inverse(BddSetFactory factory, IntUnaryOperator mapping) {
-    return memoizedInverse(factory, new HashMap<>(), mapping);
+    return memoizedInverse(factory, new IdentityHashMap<>(), mapping);
   }
 
   public final <T> MtBdd<T> map(
       Function<? super Set<E>, ? extends Set<? extends T>> mapper) {
-    return memoizedMap(mapper, new HashMap<>());
+    return memoizedMap(mapper, new IdentityHashMap<>());
   }
 
   protected abstract <T> MtBdd<T> memoizedMap(
@@ -205,16 +217,19 @@ public abstract sealed class MtBdd<E> {
 
   public static final class Leaf<E> extends MtBdd<E> {
 
-    private static final MtBdd<?> EMPTY = new Leaf<>(Set.of());
+    private static final MtBdd<?> EMPTY = canonicalize(new Leaf<>(Set.of()));
 
     public final Set<E> value;
+    private final int hashCode;
 
     private Leaf(E[] value) {
       this.value = Set.of(value);
+      this.hashCode = this.value.hashCode();
     }
 
     private Leaf(Set<E> value) {
       this.value = Set.copyOf(value);
+      this.hashCode = this.value.hashCode();
     }
 
     @Override
@@ -259,14 +274,17 @@ public abstract sealed class MtBdd<E> {
       return memoizedCalls.computeIfAbsent(this, x -> Maps.asMap(value, y -> factory.of(true)));
     }
 
+    // Leaves are compared by value to look them up in the unique table, see canonicalize().
     @Override
     public boolean equals(Object o) {
-      return this == o || (o instanceof Leaf && value.equals(((Leaf<?>) o).value));
+      return this == o || (o instanceof Leaf<?> that
+          && hashCode == that.hashCode
+          && value.equals(that.value));
     }
 
     @Override
     public int hashCode() {
-      return value.hashCode();
+      return hashCode;
     }
 
     @Override
@@ -378,6 +396,8 @@ public abstract sealed class MtBdd<E> {
       return newMap;
     }
 
+    // Nodes are compared structurally to look them up in the unique table, see canonicalize().
+    // Their children are canonical and thus they are compared by identity.
     @Override
     public boolean equals(Object o) {
       if (this == o) {
@@ -390,8 +410,8 @@ public abstract sealed class MtBdd<E> {
 
       return hashCode == that.hashCode
           && variable == that.variable
-          && trueChild.equals(that.trueChild)
-          && falseChild.equals(that.falseChild);
+          && trueChild == that.trueChild
+          && falseChild == that.falseChild;
     }
 
     @Override
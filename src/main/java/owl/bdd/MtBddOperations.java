@@ -24,6 +24,7 @@ import static java.util.stream.Collectors.toUnmodifiableSet;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -32,6 +33,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -43,6 +45,13 @@ import owl.collections.Pair;
  */
 public final class MtBddOperations {
 
+  // Results of top-level unions are additionally cached across calls in a direct-mapped cache.
+  // Since MTBDDs are canonical the operands are compared by identity. Entries are only softly
+  // reachable and thus do not keep the trees alive under memory pressure.
+  private static final int UNION_CACHE_SIZE = 1 << 14;
+  private static final AtomicReferenceArray<SoftReference<UnionCacheEntry>> UNION_CACHE =
+      new AtomicReferenceArray<>(UNION_CACHE_SIZE);
+
   private MtBddOperations() {
   }
 
@@ -124,7 +133,26 @@ public final class MtBddOperations {
   }
 
   public static <E> MtBdd<E> union(MtBdd<E> tree1, MtBdd<E> tree2) {
-    return union(tree1, tree2, new HashMap<>());
+    if (tree1 == tree2) {
+      return tree1;
+    }
+
+    // Union is commutative, hence the cache key does not depend on the order of the operands.
+    int hash = System.identityHashCode(tree1) + System.identityHashCode(tree2);
+    int index = (hash ^ (hash >>> 16)) & (UNION_CACHE_SIZE - 1);
+    var reference = UNION_CACHE.get(index);
+    var entry = reference == null ? null : reference.get();
+
+    if (entry != null && (entry.tree1 == tree1 && entry.tree2 == tree2
+        || entry.tree1 == tree2 && entry.tree2 == tree1)) {
+      @SuppressWarnings("unchecked")
+      MtBdd<E> union = (MtBdd<E>) entry.union;
+      return union;
+    }
+
+    var union = union(tree1, tree2, new HashMap<>());
+    UNION_CACHE.set(index, new SoftReference<>(new UnionCacheEntry(tree1, tree2, union)));
+    return union;
   }
 
   public static <E> MtBdd<E> union(Collection<? extends MtBdd<E>> trees) {
@@ -147,6 +175,53 @@ public final class MtBddOperations {
     }
   }
 
+  private static <E> MtBdd<E> union(
+      MtBdd<E> tree1, MtBdd<E> tree2, Map<OperandPair, MtBdd<E>> memoizedCalls) {
+    if (tree1 == tree2) {
+      return tree1;
+    }
+
+    var key = new OperandPair(tree1, tree2);
+    MtBdd<E> union = memoizedCalls.get(key);
+
+    if (union != null) {
+      return union;
+    }
+
+    int variable = nextVariable(tree1, tree2);
+
+    if (variable == Integer.MAX_VALUE) {
+      Set<E> value1 = ((MtBdd.Leaf<E>) tree1).value;
+      Set<E> value2 = ((MtBdd.Leaf<E>) tree2).value;
+
+      if (value1.isEmpty()) {
+        union = tree2;
+      } else if (value2.isEmpty()) {
+        union = tree1;
+      } else {
+        var value = new HashSet<E>(value1.size() + value2.size());
+        value.addAll(value1);
+        value.addAll(value2);
+        @SuppressWarnings("unchecked")
+        var mtbdd = (MtBdd<E>) MtBdd.of(value.toArray(Object[]::new));
+        union = mtbdd;
+      }
+    } else {
+      var falseUnionProduct = union(
+          descendFalseIf(tree1, variable),
+          descendFalseIf(tree2, variable),
+          memoizedCalls);
+      var trueUnionProduct = union(
+          descendTrueIf(tree1, variable),
+          descendTrueIf(tree2, variable),
+          memoizedCalls);
+      union = MtBdd.of(variable, trueUnionProduct, falseUnionProduct);
+    }
+
+    memoizedCalls.put(key, union);
+    return union;
+  }
+
   private static <L, R, E> MtBdd<E> cartesianProduct(
       MtBdd<L> leftTree, MtBdd<R> rightTree, BiFunction<L, R, @Nullable E> merger,
       Map<Pair<MtBdd<L>, MtBdd<R>>, MtBdd<E>> memoizedCalls) {
@@ -288,64 +363,17 @@ public final class MtBddOperations {
     return cartesianProduct;
   }
 
-
-  private static <E> MtBdd<E> union(MtBdd<E> tree1, MtBdd<E> tree2,
-      Map<Set<?>, MtBdd<E>> memoizedCalls) {
-    if (tree1.equals(tree2)) {
-      return tree1;
-    }
-
-    var key = Set.of(tree1, tree2);
-
-    MtBdd<E> union = memoizedCalls.get(key);
-
-    if (union != null) {
-      return union;
-    }
-
-    int variable = nextVariable(tree1, tree2);
-
-    if (variable == Integer.MAX_VALUE) {
-      Set<E> value1 = ((MtBdd.Leaf<E>) tree1).value;
-      Set<E> value2 = ((MtBdd.Leaf<E>) tree2).value;
-
-      if (value1.isEmpty()) {
-        union = tree2;
-      } else if (value2.isEmpty()) {
-        union = tree1;
-      } else {
-        var value = new HashSet<E>(value1.size() + value2.size());
-        value.addAll(value1);
-        value.addAll(value2);
-        @SuppressWarnings("unchecked")
-        var mtbdd = (MtBdd<E>) MtBdd.of(value.toArray(Object[]::new));
-        union = mtbdd;
-      }
-    } else {
-      var falseUnionProduct = union(
-          descendFalseIf(tree1, variable),
-          descendFalseIf(tree2, variable), memoizedCalls);
-      var trueUnionProduct = union(
-          descendTrueIf(tree1, variable),
-          descendTrueIf(tree2, variable), memoizedCalls);
-      union = MtBdd.of(variable, trueUnionProduct, falseUnionProduct);
-    }
-
-    memoizedCalls.put(key, union);
-    return union;
-  }
-
   private static int nextVariable(MtBdd<?> tree1, MtBdd<?> tree2) {
     return Math.min(
-        tree1 instanceof MtBdd.Node node1 ? node1.variable : Integer.MAX_VALUE,
-        tree2 instanceof MtBdd.Node node2 ? node2.variable : Integer.MAX_VALUE);
+        tree1 instanceof MtBdd.Node<?> node1 ? node1.variable : Integer.MAX_VALUE,
+        tree2 instanceof MtBdd.Node<?> node2 ? node2.variable : Integer.MAX_VALUE);
   }
 
   private static int nextVariable(Collection<? extends MtBdd<?>> trees) {
     int variable = Integer.MAX_VALUE;
 
     for (var tree : trees) {
-      variable = Math.min(variable, tree instanceof MtBdd.Node node
+      variable = Math.min(variable, tree instanceof MtBdd.Node<?> node
           ? node.variable
           : Integer.MAX_VALUE);
     }
@@ -368,4 +396,22 @@ public final class MtBddOperations {
       return tree;
     }
   }
+
+  private record UnionCacheEntry(MtBdd<?> tree1, MtBdd<?> tree2, MtBdd<?> union) {}
+
+  // Unordered pair of operands compared by identity, used to memoize the recursive calls of a
+  // single union.
+  private record OperandPair(MtBdd<?> tree1, MtBdd<?> tree2) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof OperandPair that
+          && (tree1 == that.tree1 && tree2 == that.tree2
+              || tree1 == that.tree2 && tree2 == that.tree1);
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(tree1) + System.identityHashCode(tree2);
+    }
+  }
 }
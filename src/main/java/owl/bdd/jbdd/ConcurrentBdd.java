@@ -0,0 +1,1473 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.bdd.jbdd;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import de.tum.in.jbdd.Bdd;
+import de.tum.in.jbdd.BddConfiguration;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.IntSupplier;
+import javax.annotation.Nullable;
+
+/**
+ * A thread-safe BDD that evaluates the recursive operations in parallel on a shared
+ * {@link ForkJoinPool}, following the design of Sylvan.
+ *
+ * <p>Nodes are stored in flat arrays and are found through a lock-free open-addressed unique
+ * table: a new node is written to a free slot of the arrays and then published by a
+ * compare-and-set on the unique table. Results of operations are stored in a lossy operation cache
+ * whose entries are guarded by sequence numbers. The top levels of the recursion of
+ * {@code and}, {@code or}, {@code exists}, {@code ifThenElse}, etc. are forked into tasks. The
+ * operation cache is doubled whenever a large fraction of its lookups hits.</p>
+ *
+ * <p>Operations run concurrently while holding a shared lock. If an operation runs out of free
+ * nodes, it is aborted and retried after the nodes not reachable from referenced nodes, from the
+ * operands of running operations and from the last result of each thread are collected and the
+ * table is grown if necessary. Collecting and growing hold the lock exclusively. Thus, as in the
+ * sequential implementations, an unreferenced result is only guaranteed to survive until the
+ * next operation of the same thread.</p>
+ *
+ * <p>Queries of single nodes, e.g., {@link #high(int)} or {@link #evaluate(int, BitSet)}, and
+ * reference counting do not take the lock. The fields of a node are written before it is published
+ * and do not change while it is live, and the node arrays are only replaced by copies. Thus any
+ * version of the arrays a thread observes holds the fields of the live nodes it knows of. Reference
+ * counts are moved to a grown table entry by entry: each entry of the old table is replaced by a
+ * marker, and updates that observe the marker are retried on the new table.</p>
+ */
+final class ConcurrentBdd implements Bdd {
+
+  private static final int FALSE_NODE = 0;
+  private static final int TRUE_NODE = 1;
+  private static final int TERMINAL_VARIABLE = Integer.MAX_VALUE;
+  private static final int MAXIMAL_CAPACITY = 1 << 29;
+
+  // Returned by the recursive operations if the node table is exhausted.
+  private static final int FULL = -1;
+
+  // Replaces the reference counts that have been moved to a grown table.
+  private static final int MOVED = Integer.MIN_VALUE;
+
+  private static final int AND = 1;
+  private static final int OR = 2;
+  private static final int XOR = 3;
+  private static final int EQUIVALENCE = 4;
+  private static final int IMPLICATION = 5;
+  private static final int NOT_AND = 6;
+  private static final int NOT = 7;
+  private static final int IF_THEN_ELSE = 8;
+  private static final int EXISTS = 9;
+  private static final int IMPLIES = 10;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final boolean garbageCollection;
+  private final double growthFactor;
+  private final double minimumFreeNodes;
+  private final int cacheDivider;
+  private final int parallelDepth;
+
+  // The arrays are only replaced while the lock is held exclusively.
+  private int[] variables;
+  private int[] lows;
+  private int[] highs;
+  private volatile AtomicIntegerArray referenceCounts;
+  private AtomicIntegerArray uniqueTable;
+  private OperationCache cache;
+
+  // Free nodes are taken from the top of this stack, which is only refilled exclusively.
+  private int[] freeNodes;
+  private final AtomicInteger freeNodesTop = new AtomicInteger();
+
+  private int[] variableNodes = new int[16];
+  private volatile int numberOfVariables = 0;
+  private volatile int collections = 0;
+
+  // The operands and the last result of each thread, which are protected from collection.
+  private final Map<Thread, int[]> threadRoots =
+    Collections.synchronizedMap(new WeakHashMap<>());
+  private final ThreadLocal<int[]> roots = ThreadLocal.withInitial(() -> {
+    int[] threadRoots = new int[4];
+    this.threadRoots.put(Thread.currentThread(), threadRoots);
+    return threadRoots;
+  });
+
+  ConcurrentBdd(int initialSize, BddConfiguration configuration) {
+    this(initialSize, configuration, Runtime.getRuntime().availableProcessors());
+  }
+
+  ConcurrentBdd(int initialSize, BddConfiguration configuration, int parallelism) {
+    checkArgument(initialSize > 0 && parallelism > 0);
+    this.garbageCollection = configuration.useGarbageCollection();
+    this.growthFactor = Math.max(configuration.growthFactor(), 1.5);
+    this.minimumFreeNodes = configuration.minimumFreeNodePercentageAfterGc();
+    this.cacheDivider = Math.max(configuration.cacheBinaryDivider(), 1);
+    // Fork the top levels of the recursion such that there are a few tasks per thread.
+    this.parallelDepth = parallelism == 1
+      ? 0
+      : Integer.SIZE - Integer.numberOfLeadingZeros(parallelism - 1) + 3;
+
+    int capacity = Math.min(Math.max(initialSize, 64), MAXIMAL_CAPACITY);
+    this.variables = new int[capacity];
+    this.lows = new int[capacity];
+    this.highs = new int[capacity];
+    this.referenceCounts = new AtomicIntegerArray(capacity);
+
+    for (int node = FALSE_NODE; node <= TRUE_NODE; node++) {
+      variables[node] = TERMINAL_VARIABLE;
+      lows[node] = node;
+      highs[node] = node;
+      referenceCounts.set(node, -1);
+    }
+
+    this.freeNodes = new int[capacity];
+    int free = 0;
+
+    for (int node = capacity - 1; node > TRUE_NODE; node--) {
+      freeNodes[free++] = node;
+    }
+
+    freeNodesTop.set(free);
+    this.uniqueTable = new AtomicIntegerArray(tableSize(capacity));
+    this.cache = new OperationCache(capacity / cacheDivider);
+  }
+
+  // Node accessors
+
+  @Override
+  public int trueNode() {
+    return TRUE_NODE;
+  }
+
+  @Override
+  public int falseNode() {
+    return FALSE_NODE;
+  }
+
+  @Override
+  public int numberOfVariables() {
+    return numberOfVariables;
+  }
+
+  @Override
+  public int high(int node) {
+    return highs[node];
+  }
+
+  @Override
+  public int low(int node) {
+    return lows[node];
+  }
+
+  @Override
+  public int variable(int node) {
+    return variables[node];
+  }
+
+  @Override
+  public int variableNode(int variable) {
+    // The array is replaced before the number of variables is increased.
+    checkArgument(variable >= 0 && variable < numberOfVariables, "Unknown variable %s", variable);
+    return variableNodes[variable];
+  }
+
+  @Override
+  public int createVariable() {
+    lock.writeLock().lock();
+
+    try {
+      if (freeNodesTop.get() < 2) {
+        reclaim(false);
+      }
+
+      int variable = numberOfVariables;
+      int node = makeNode(variable, FALSE_NODE, TRUE_NODE);
+      int negatedNode = makeNode(variable, TRUE_NODE, FALSE_NODE);
+      assert node != FULL && negatedNode != FULL;
+
+      // Variables are never collected.
+      referenceCounts.set(node, -1);
+      referenceCounts.set(negatedNode, -1);
+
+      if (variable == variableNodes.length) {
+        variableNodes = Arrays.copyOf(variableNodes, 2 * variable);
+      }
+
+      variableNodes[variable] = node;
+      numberOfVariables = variable + 1;
+      return node;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public int[] createVariables(int count) {
+    // In contrast to the default, no variables can be created, as for the JBDD implementations.
+    checkArgument(count >= 0, "Count must be non-negative.");
+    int[] nodes = new int[count];
+
+    for (int i = 0; i < count; i++) {
+      nodes[i] = createVariable();
+    }
+
+    return nodes;
+  }
+
+  @Override
+  public boolean isNodeRoot(int node) {
+    return node == FALSE_NODE || node == TRUE_NODE;
+  }
+
+  @Override
+  public boolean isVariable(int node) {
+    return !isNodeRoot(node) && lows[node] == FALSE_NODE && highs[node] == TRUE_NODE;
+  }
+
+  @Override
+  public boolean isVariableNegated(int node) {
+    return !isNodeRoot(node) && lows[node] == TRUE_NODE && highs[node] == FALSE_NODE;
+  }
+
+  @Override
+  public boolean isVariableOrNegated(int node) {
+    return isVariable(node) || isVariableNegated(node);
+  }
+
+  // Reference counting
+
+  @Override
+  public int reference(int node) {
+    while (true) {
+      var counts = referenceCounts;
+      int count = counts.get(node);
+
+      if (count == MOVED) {
+        Thread.onSpinWait();
+      } else if (count < 0 || count == Integer.MAX_VALUE
+        || counts.compareAndSet(node, count, count + 1)) {
+        return node;
+      }
+    }
+  }
+
+  @Override
+  public int dereference(int node) {
+    while (true) {
+      var counts = referenceCounts;
+      int count = counts.get(node);
+
+      if (count == MOVED) {
+        Thread.onSpinWait();
+        continue;
+      }
+
+      checkArgument(count != 0, "Node %s is not referenced.", node);
+
+      if (count < 0 || counts.compareAndSet(node, count, count - 1)) {
+        return node;
+      }
+    }
+  }
+
+  @Override
+  public int getReferenceCount(int node) {
+    while (true) {
+      int count = referenceCounts.get(node);
+
+      if (count != MOVED) {
+        return count;
+      }
+
+      Thread.onSpinWait();
+    }
+  }
+
+  // Queries
+
+  @Override
+  public boolean evaluate(int node, boolean[] assignment) {
+    int current = node;
+
+    while (!isNodeRoot(current)) {
+      current = assignment[variables[current]] ? highs[current] : lows[current];
+    }
+
+    return current == TRUE_NODE;
+  }
+
+  @Override
+  public boolean evaluate(int node, BitSet assignment) {
+    int current = node;
+
+    while (!isNodeRoot(current)) {
+      current = assignment.get(variables[current]) ? highs[current] : lows[current];
+    }
+
+    return current == TRUE_NODE;
+  }
+
+  @Override
+  public BitSet getSatisfyingAssignment(int node) {
+    checkArgument(node != FALSE_NODE, "False has no satisfying assignment.");
+    BitSet assignment = new BitSet();
+    int current = node;
+
+    while (current != TRUE_NODE) {
+      if (lows[current] == FALSE_NODE) {
+        assignment.set(variables[current]);
+        current = highs[current];
+      } else {
+        current = lows[current];
+      }
+    }
+
+    return assignment;
+  }
+
+  @Override
+  public BigInteger countSatisfyingAssignments(int node) {
+    lock.readLock().lock();
+
+    try {
+      int variableCount = numberOfVariables;
+      BigInteger count = count(node, variableCount, new HashMap<>());
+      return count.shiftLeft(level(node, variableCount));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private BigInteger count(int node, int variableCount, Map<Integer, BigInteger> counts) {
+    if (isNodeRoot(node)) {
+      return node == TRUE_NODE ? BigInteger.ONE : BigInteger.ZERO;
+    }
+
+    BigInteger count = counts.get(node);
+
+    if (count == null) {
+      int level = variables[node];
+      int low = lows[node];
+      int high = highs[node];
+      count = count(low, variableCount, counts).shiftLeft(level(low, variableCount) - level - 1)
+        .add(count(high, variableCount, counts)
+          .shiftLeft(level(high, variableCount) - level - 1));
+      counts.put(node, count);
+    }
+
+    return count;
+  }
+
+  private int level(int node, int variableCount) {
+    return isNodeRoot(node) ? variableCount : variables[node];
+  }
+
+  /**
+   * Returns the satisfying assignments of the node. The paths of the node are enumerated lazily,
+   * thus the node has to stay referenced while the iterator is used, as for the sequential
+   * implementations.
+   */
+  @Override
+  public Iterator<BitSet> solutionIterator(int node) {
+    return new SolutionIterator(node, numberOfVariables);
+  }
+
+  @Override
+  public void forEachPath(int node, int numberOfVariables,
+    BiConsumer<BitSet, BitSet> action) {
+    if (node == FALSE_NODE) {
+      return;
+    }
+
+    // The action may call back into this BDD and trigger a collection, thus the node is
+    // referenced and the lock is only held while the next path is searched.
+    reference(node);
+
+    try {
+      var paths = new PathIterator(node);
+
+      while (paths.advance()) {
+        BitSet path = paths.path.get(0, numberOfVariables);
+        BitSet support = paths.support.get(0, numberOfVariables);
+        action.accept(path, support);
+      }
+    } finally {
+      dereference(node);
+    }
+  }
+
+  @Override
+  public void support(int node, BitSet bitSet, int numberOfVariables) {
+    lock.readLock().lock();
+
+    try {
+      BitSet visited = new BitSet();
+      Deque<Integer> stack = new ArrayDeque<>();
+      stack.push(node);
+
+      while (!stack.isEmpty()) {
+        int current = stack.pop();
+
+        if (isNodeRoot(current) || visited.get(current)) {
+          continue;
+        }
+
+        visited.set(current);
+
+        if (variables[current] < numberOfVariables) {
+          bitSet.set(variables[current]);
+        }
+
+        stack.push(lows[current]);
+        stack.push(highs[current]);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean implies(int node1, int node2) {
+    // The operation cache is only replaced while the lock is held exclusively.
+    lock.readLock().lock();
+
+    try {
+      return implies(node1, node2, 0) == TRUE_NODE;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // Operations
+
+  @Override
+  public int conjunction(BitSet variableSet) {
+    int[] nodes = variableSet.stream().map(this::variableNode).toArray();
+    return execute(FALSE_NODE, FALSE_NODE, FALSE_NODE, () -> {
+      int result = TRUE_NODE;
+
+      for (int i = nodes.length - 1; i >= 0 && result != FULL; i--) {
+        result = invoke(AND, nodes[i], result, FALSE_NODE);
+      }
+
+      return result;
+    });
+  }
+
+  @Override
+  public int disjunction(BitSet variableSet) {
+    int[] nodes = variableSet.stream().map(this::variableNode).toArray();
+    return execute(FALSE_NODE, FALSE_NODE, FALSE_NODE, () -> {
+      int result = FALSE_NODE;
+
+      for (int i = nodes.length - 1; i >= 0 && result != FULL; i--) {
+        result = invoke(OR, nodes[i], result, FALSE_NODE);
+      }
+
+      return result;
+    });
+  }
+
+  @Override
+  public int and(int node1, int node2) {
+    return binary(AND, node1, node2);
+  }
+
+  @Override
+  public int equivalence(int node1, int node2) {
+    return binary(EQUIVALENCE, node1, node2);
+  }
+
+  @Override
+  public int implication(int node1, int node2) {
+    return binary(IMPLICATION, node1, node2);
+  }
+
+  @Override
+  public int not(int node) {
+    return binary(NOT, node, node);
+  }
+
+  @Override
+  public int notAnd(int node1, int node2) {
+    return binary(NOT_AND, node1, node2);
+  }
+
+  @Override
+  public int or(int node1, int node2) {
+    return binary(OR, node1, node2);
+  }
+
+  @Override
+  public int xor(int node1, int node2) {
+    return binary(XOR, node1, node2);
+  }
+
+  @Override
+  public int ifThenElse(int ifNode, int thenNode, int elseNode) {
+    return execute(ifNode, thenNode, elseNode,
+      () -> invoke(IF_THEN_ELSE, ifNode, thenNode, elseNode));
+  }
+
+  @Override
+  public int exists(int node, BitSet quantifiedVariables) {
+    return execute(node, FALSE_NODE, FALSE_NODE, () -> {
+      // The quantified variables are passed as a cube, i.e., a conjunction of variables.
+      int cube = TRUE_NODE;
+
+      for (int variable = Math.min(quantifiedVariables.length(), numberOfVariables) - 1;
+        variable >= 0 && cube != FULL;
+        variable = quantifiedVariables.previousSetBit(variable - 1)) {
+
+        if (quantifiedVariables.get(variable)) {
+          cube = makeNode(variable, FALSE_NODE, cube);
+        }
+      }
+
+      return cube == FULL ? FULL : invoke(EXISTS, node, cube, FALSE_NODE);
+    });
+  }
+
+  @Override
+  public int compose(int node, int[] variableNodes) {
+    return execute(node, FALSE_NODE, FALSE_NODE, () -> {
+      // Variables after the last substituted variable are left unchanged.
+      int lastSubstitution = -1;
+
+      for (int i = 0; i < Math.min(variableNodes.length, numberOfVariables); i++) {
+        if (variableNodes[i] != -1 && variableNodes[i] != this.variableNodes[i]) {
+          lastSubstitution = i;
+        }
+      }
+
+      return compose(node, variableNodes, lastSubstitution, new HashMap<>());
+    });
+  }
+
+  private int compose(int node, int[] substitutions, int lastSubstitution,
+    Map<Integer, Integer> composed) {
+
+    if (isNodeRoot(node) || variables[node] > lastSubstitution) {
+      return node;
+    }
+
+    Integer cached = composed.get(node);
+
+    if (cached != null) {
+      return cached;
+    }
+
+    int low = compose(lows[node], substitutions, lastSubstitution, composed);
+
+    if (low == FULL) {
+      return FULL;
+    }
+
+    int high = compose(highs[node], substitutions, lastSubstitution, composed);
+
+    if (high == FULL) {
+      return FULL;
+    }
+
+    int variable = variables[node];
+    int substitution = substitutions[variable] == -1
+      ? variableNodes[variable]
+      : substitutions[variable];
+    int result = invoke(IF_THEN_ELSE, substitution, high, low);
+
+    if (result != FULL) {
+      composed.put(node, result);
+    }
+
+    return result;
+  }
+
+  @Override
+  public int restrict(int node, BitSet restrictedVariables, BitSet restrictedVariableValues) {
+    return execute(node, FALSE_NODE, FALSE_NODE, () ->
+      restrict(node, restrictedVariables, restrictedVariableValues, new HashMap<>()));
+  }
+
+  private int restrict(int node, BitSet restrictedVariables, BitSet values,
+    Map<Integer, Integer> restricted) {
+
+    if (isNodeRoot(node)) {
+      return node;
+    }
+
+    Integer cached = restricted.get(node);
+
+    if (cached != null) {
+      return cached;
+    }
+
+    int variable = variables[node];
+    int result;
+
+    if (restrictedVariables.get(variable)) {
+      result = restrict(values.get(variable) ? highs[node] : lows[node],
+        restrictedVariables, values, restricted);
+    } else {
+      int low = restrict(lows[node], restrictedVariables, values, restricted);
+      int high = low == FULL
+        ? FULL
+        : restrict(highs[node], restrictedVariables, values, restricted);
+      result = high == FULL ? FULL : makeNode(variable, low, high);
+    }
+
+    if (result != FULL) {
+      restricted.put(node, result);
+    }
+
+    return result;
+  }
+
+  @Override
+  public String statistics() {
+    lock.readLock().lock();
+
+    try {
+      return String.format("Concurrent BDD: %d variables, %d nodes capacity, %d free nodes, "
+          + "%d collections, %d cache entries, %.2f cache hit rate, parallel depth %d",
+        numberOfVariables, variables.length, Math.max(freeNodesTop.get(), 0), collections,
+        cache.entryCount(), cache.hitRate(), parallelDepth);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // Execution of operations
+
+  private int binary(int operation, int node1, int node2) {
+    return execute(node1, node2, FALSE_NODE, () -> invoke(operation, node1, node2, FALSE_NODE));
+  }
+
+  /**
+   * Runs the operation, which returns {@link #FULL} if it runs out of nodes, until it succeeds.
+   * The operands are protected from collection while the operation runs and the result is
+   * protected until the next operation of this thread.
+   */
+  private int execute(int operand1, int operand2, int operand3, IntSupplier operation) {
+    int[] threadRoots = roots.get();
+    threadRoots[0] = operand1;
+    threadRoots[1] = operand2;
+    threadRoots[2] = operand3;
+
+    boolean failedBefore = false;
+
+    while (true) {
+      int observedCollections = collections;
+      int result;
+      lock.readLock().lock();
+
+      try {
+        result = operation.getAsInt();
+
+        if (result != FULL) {
+          threadRoots[0] = FALSE_NODE;
+          threadRoots[1] = FALSE_NODE;
+          threadRoots[2] = FALSE_NODE;
+          threadRoots[3] = result;
+        }
+      } finally {
+        lock.readLock().unlock();
+      }
+
+      if (result != FULL) {
+        if (cache.hasEnoughLookups()) {
+          adaptCache();
+        }
+
+        return result;
+      }
+
+      lock.writeLock().lock();
+
+      try {
+        // Another thread might have already made room. If the operation failed although this
+        // thread collected garbage right before, the intermediate results do not fit and the table
+        // has to grow.
+        if (collections == observedCollections) {
+          reclaim(failedBefore);
+        }
+
+        failedBefore = true;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * Evaluates the operation on the calling thread. Terminal cases and cache hits are thus
+   * answered without a hand-off to the pool; only the top levels of the recursion fork tasks.
+   */
+  private int invoke(int operation, int node1, int node2, int node3) {
+    return evaluate(operation, node1, node2, node3, 0);
+  }
+
+  private int evaluate(int operation, int node1, int node2, int node3, int depth) {
+    return switch (operation) {
+      case IF_THEN_ELSE -> ifThenElse(node1, node2, node3, depth);
+      case EXISTS -> exists(node1, node2, depth);
+      default -> apply(operation, node1, node2, depth);
+    };
+  }
+
+  /**
+   * Schedules the task on the pool. Workers of the pool push it to their own queue, from which it
+   * might be stolen, while other threads submit it.
+   */
+  private static void fork(OperationTask task) {
+    if (ForkJoinTask.getPool() == PoolHolder.POOL) {
+      task.fork();
+    } else {
+      PoolHolder.POOL.execute(task);
+    }
+  }
+
+  private final class OperationTask extends RecursiveTask<Integer> {
+
+    private final int operation;
+    private final int node1;
+    private final int node2;
+    private final int node3;
+    private final int depth;
+
+    private OperationTask(int operation, int node1, int node2, int node3, int depth) {
+      this.operation = operation;
+      this.node1 = node1;
+      this.node2 = node2;
+      this.node3 = node3;
+      this.depth = depth;
+    }
+
+    @Override
+    protected Integer compute() {
+      return evaluate(operation, node1, node2, node3, depth);
+    }
+  }
+
+  private static final class PoolHolder {
+    private static final ForkJoinPool POOL =
+      new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+  }
+
+  // Recursive operations, all of them return FULL if the node table is exhausted.
+
+  private int apply(int operation, int node1, int node2, int depth) {
+    int terminal = terminalCase(operation, node1, node2);
+
+    if (terminal != FULL) {
+      return terminal;
+    }
+
+    int left = node1;
+    int right = node2;
+
+    // Normalise the operands of commutative operations to share cache entries.
+    if (operation != IMPLICATION && left > right) {
+      left = node2;
+      right = node1;
+    }
+
+    int cached = cache.lookup(operation, left, right, FALSE_NODE);
+
+    if (cached >= 0) {
+      return cached;
+    }
+
+    int variable = Math.min(variables[left], variables[right]);
+    int leftLow = variables[left] == variable ? lows[left] : left;
+    int leftHigh = variables[left] == variable ? highs[left] : left;
+    int rightLow = variables[right] == variable ? lows[right] : right;
+    int rightHigh = variables[right] == variable ? highs[right] : right;
+    int low;
+    int high;
+
+    // Only fork if both subproblems need a recursion, otherwise the task is not worth it.
+    if (depth < parallelDepth
+      && terminalCase(operation, leftLow, rightLow) == FULL
+      && terminalCase(operation, leftHigh, rightHigh) == FULL) {
+      var highTask = new OperationTask(operation, leftHigh, rightHigh, FALSE_NODE, depth + 1);
+      fork(highTask);
+      low = apply(operation, leftLow, rightLow, depth + 1);
+      high = highTask.join();
+    } else {
+      low = apply(operation, leftLow, rightLow, depth + 1);
+      high = low == FULL ? FULL : apply(operation, leftHigh, rightHigh, depth + 1);
+    }
+
+    if (low == FULL || high == FULL) {
+      return FULL;
+    }
+
+    int result = makeNode(variable, low, high);
+
+    if (result != FULL) {
+      cache.store(operation, left, right, FALSE_NODE, result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the result of the operation if it is determined without recursion and {@link #FULL}
+   * otherwise.
+   */
+  private static int terminalCase(int operation, int node1, int node2) {
+    boolean terminal1 = node1 == FALSE_NODE || node1 == TRUE_NODE;
+    boolean terminal2 = node2 == FALSE_NODE || node2 == TRUE_NODE;
+
+    if (terminal1 && terminal2) {
+      boolean value1 = node1 == TRUE_NODE;
+      boolean value2 = node2 == TRUE_NODE;
+      boolean value = switch (operation) {
+        case AND -> value1 && value2;
+        case OR -> value1 || value2;
+        case XOR -> value1 != value2;
+        case EQUIVALENCE -> value1 == value2;
+        case IMPLICATION -> !value1 || value2;
+        case NOT_AND -> !(value1 && value2);
+        case NOT -> !value1;
+        default -> throw new AssertionError();
+      };
+
+      return value ? TRUE_NODE : FALSE_NODE;
+    }
+
+    return switch (operation) {
+      case AND -> node1 == FALSE_NODE || node2 == FALSE_NODE ? FALSE_NODE
+        : node1 == TRUE_NODE || node1 == node2 ? node2
+        : node2 == TRUE_NODE ? node1
+        : FULL;
+      case OR -> node1 == TRUE_NODE || node2 == TRUE_NODE ? TRUE_NODE
+        : node1 == FALSE_NODE || node1 == node2 ? node2
+        : node2 == FALSE_NODE ? node1
+        : FULL;
+      case XOR -> node1 == node2 ? FALSE_NODE
+        : node1 == FALSE_NODE ? node2
+        : node2 == FALSE_NODE ? node1
+        : FULL;
+      case EQUIVALENCE -> node1 == node2 ? TRUE_NODE
+        : node1 == TRUE_NODE ? node2
+        : node2 == TRUE_NODE ? node1
+        : FULL;
+      case IMPLICATION -> node1 == FALSE_NODE || node2 == TRUE_NODE || node1 == node2 ? TRUE_NODE
+        : node1 == TRUE_NODE ? node2
+        : FULL;
+      case NOT_AND -> node1 == FALSE_NODE || node2 == FALSE_NODE ? TRUE_NODE : FULL;
+      default -> FULL;
+    };
+  }
+
+  private int ifThenElse(int ifNode, int thenNode, int elseNode, int depth) {
+    if (ifNode == TRUE_NODE || thenNode == elseNode) {
+      return thenNode;
+    }
+
+    if (ifNode == FALSE_NODE) {
+      return elseNode;
+    }
+
+    if (thenNode == TRUE_NODE && elseNode == FALSE_NODE) {
+      return ifNode;
+    }
+
+    if (thenNode == FALSE_NODE && elseNode == TRUE_NODE) {
+      return apply(NOT, ifNode, ifNode, depth);
+    }
+
+    if (thenNode == TRUE_NODE || thenNode == ifNode) {
+      return apply(OR, ifNode, elseNode, depth);
+    }
+
+    if (elseNode == FALSE_NODE || elseNode == ifNode) {
+      return apply(AND, ifNode, thenNode, depth);
+    }
+
+    int cached = cache.lookup(IF_THEN_ELSE, ifNode, thenNode, elseNode);
+
+    if (cached >= 0) {
+      return cached;
+    }
+
+    int variable = Math.min(variables[ifNode], Math.min(variables[thenNode], variables[elseNode]));
+    int low;
+    int high;
+
+    if (depth < parallelDepth
+      && !isNodeRoot(cofactor(ifNode, variable, false))
+      && !isNodeRoot(cofactor(ifNode, variable, true))) {
+      var highTask = new OperationTask(IF_THEN_ELSE, cofactor(ifNode, variable, true),
+        cofactor(thenNode, variable, true), cofactor(elseNode, variable, true), depth + 1);
+      fork(highTask);
+      low = ifThenElse(cofactor(ifNode, variable, false), cofactor(thenNode, variable, false),
+        cofactor(elseNode, variable, false), depth + 1);
+      high = highTask.join();
+    } else {
+      low = ifThenElse(cofactor(ifNode, variable, false), cofactor(thenNode, variable, false),
+        cofactor(elseNode, variable, false), depth + 1);
+      high = low == FULL ? FULL : ifThenElse(cofactor(ifNode, variable, true),
+        cofactor(thenNode, variable, true), cofactor(elseNode, variable, true), depth + 1);
+    }
+
+    if (low == FULL || high == FULL) {
+      return FULL;
+    }
+
+    int result = makeNode(variable, low, high);
+
+    if (result != FULL) {
+      cache.store(IF_THEN_ELSE, ifNode, thenNode, elseNode, result);
+    }
+
+    return result;
+  }
+
+  private int exists(int node, int cube, int depth) {
+    if (isNodeRoot(node)) {
+      return node;
+    }
+
+    int variable = variables[node];
+    int remainingCube = cube;
+
+    while (variables[remainingCube] < variable) {
+      remainingCube = highs[remainingCube];
+    }
+
+    if (remainingCube == TRUE_NODE) {
+      return node;
+    }
+
+    int cached = cache.lookup(EXISTS, node, remainingCube, FALSE_NODE);
+
+    if (cached >= 0) {
+      return cached;
+    }
+
+    boolean quantified = variables[remainingCube] == variable;
+    int childCube = quantified ? highs[remainingCube] : remainingCube;
+    int low;
+    int high;
+
+    if (depth < parallelDepth && !isNodeRoot(lows[node]) && !isNodeRoot(highs[node])) {
+      var highTask = new OperationTask(EXISTS, highs[node], childCube, FALSE_NODE, depth + 1);
+      fork(highTask);
+      low = exists(lows[node], childCube, depth + 1);
+      high = highTask.join();
+    } else {
+      low = exists(lows[node], childCube, depth + 1);
+      high = low == FULL || (quantified && low == TRUE_NODE)
+        ? low
+        : exists(highs[node], childCube, depth + 1);
+    }
+
+    if (low == FULL || high == FULL) {
+      return FULL;
+    }
+
+    int result = quantified
+      ? apply(OR, low, high, depth + 1)
+      : makeNode(variable, low, high);
+
+    if (result != FULL) {
+      cache.store(EXISTS, node, remainingCube, FALSE_NODE, result);
+    }
+
+    return result;
+  }
+
+  private int implies(int node1, int node2, int depth) {
+    if (node1 == FALSE_NODE || node2 == TRUE_NODE || node1 == node2) {
+      return TRUE_NODE;
+    }
+
+    if (node1 == TRUE_NODE || node2 == FALSE_NODE) {
+      return FALSE_NODE;
+    }
+
+    int cached = cache.lookup(IMPLIES, node1, node2, FALSE_NODE);
+
+    if (cached >= 0) {
+      return cached;
+    }
+
+    int variable = Math.min(variables[node1], variables[node2]);
+    int result = implies(cofactor(node1, variable, false), cofactor(node2, variable, false),
+      depth + 1) == TRUE_NODE
+      ? implies(cofactor(node1, variable, true), cofactor(node2, variable, true), depth + 1)
+      : FALSE_NODE;
+
+    cache.store(IMPLIES, node1, node2, FALSE_NODE, result);
+    return result;
+  }
+
+  private int cofactor(int node, int variable, boolean value) {
+    if (variables[node] != variable) {
+      return node;
+    }
+
+    return value ? highs[node] : lows[node];
+  }
+
+  // Node table
+
+  private int makeNode(int variable, int low, int high) {
+    if (low == high) {
+      return low;
+    }
+
+    int mask = uniqueTable.length() - 1;
+    int slot = hash(variable, low, high) & mask;
+    int allocated = -1;
+
+    while (true) {
+      int entry = uniqueTable.get(slot);
+
+      if (entry == 0) {
+        if (allocated == -1) {
+          int top = freeNodesTop.decrementAndGet();
+
+          if (top < 0) {
+            return FULL;
+          }
+
+          allocated = freeNodes[top];
+          variables[allocated] = variable;
+          lows[allocated] = low;
+          highs[allocated] = high;
+        }
+
+        // Publishing the node makes its fields visible to other threads.
+        if (uniqueTable.compareAndSet(slot, 0, allocated + 1)) {
+          return allocated;
+        }
+
+        continue;
+      }
+
+      int node = entry - 1;
+
+      if (variables[node] == variable && lows[node] == low && highs[node] == high) {
+        // An allocated but unpublished node is reclaimed by the next collection.
+        return node;
+      }
+
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private static int hash(int variable, int low, int high) {
+    int hash = variable * 0x9E3779B1 + low * 0x85EBCA6B + high * 0xC2B2AE35;
+    return hash ^ (hash >>> 15);
+  }
+
+  private static int tableSize(int capacity) {
+    return Integer.highestOneBit(capacity - 1) << 2;
+  }
+
+  /**
+   * Collects unreachable nodes, grows the node table if too few nodes are free or growth is
+   * forced, and rebuilds the unique table and the free nodes. Requires the exclusive lock.
+   */
+  private void reclaim(boolean forceGrowth) {
+    assert lock.isWriteLockedByCurrentThread();
+    int capacity = variables.length;
+    BitSet live = new BitSet(capacity);
+    live.set(FALSE_NODE);
+    live.set(TRUE_NODE);
+
+    if (garbageCollection) {
+      Deque<Integer> stack = new ArrayDeque<>();
+
+      for (int node = TRUE_NODE + 1; node < capacity; node++) {
+        if (referenceCounts.get(node) != 0) {
+          stack.push(node);
+        }
+      }
+
+      synchronized (threadRoots) {
+        for (int[] nodes : threadRoots.values()) {
+          for (int node : nodes) {
+            stack.push(node);
+          }
+        }
+      }
+
+      while (!stack.isEmpty()) {
+        int node = stack.pop();
+
+        if (!live.get(node)) {
+          live.set(node);
+          stack.push(lows[node]);
+          stack.push(highs[node]);
+        }
+      }
+    } else {
+      for (int slot = 0, s = uniqueTable.length(); slot < s; slot++) {
+        int entry = uniqueTable.get(slot);
+
+        if (entry != 0) {
+          live.set(entry - 1);
+        }
+      }
+    }
+
+    int liveNodes = live.cardinality();
+    int newCapacity = forceGrowth
+      ? (int) Math.min(MAXIMAL_CAPACITY, Math.ceil(capacity * growthFactor))
+      : capacity;
+
+    while (newCapacity < MAXIMAL_CAPACITY
+      && newCapacity - liveNodes < Math.max(minimumFreeNodes * newCapacity, 2)) {
+      newCapacity = (int) Math.min(MAXIMAL_CAPACITY, Math.ceil(newCapacity * growthFactor));
+    }
+
+    if (newCapacity - liveNodes < 2) {
+      throw new OutOfMemoryError("BDD node table is exhausted.");
+    }
+
+    if (newCapacity > capacity) {
+      variables = Arrays.copyOf(variables, newCapacity);
+      lows = Arrays.copyOf(lows, newCapacity);
+      highs = Arrays.copyOf(highs, newCapacity);
+      var oldReferenceCounts = referenceCounts;
+      var newReferenceCounts = new AtomicIntegerArray(newCapacity);
+
+      // Reference counts are updated without the lock. Marking the moved entries ensures that
+      // no update of the old table is lost.
+      for (int node = 0; node < capacity; node++) {
+        newReferenceCounts.set(node, oldReferenceCounts.getAndSet(node, MOVED));
+      }
+
+      referenceCounts = newReferenceCounts;
+      freeNodes = new int[newCapacity];
+    }
+
+    var newUniqueTable = new AtomicIntegerArray(tableSize(newCapacity));
+    int mask = newUniqueTable.length() - 1;
+    int free = 0;
+
+    for (int node = newCapacity - 1; node > TRUE_NODE; node--) {
+      if (live.get(node)) {
+        int slot = hash(variables[node], lows[node], highs[node]) & mask;
+
+        while (newUniqueTable.get(slot) != 0) {
+          slot = (slot + 1) & mask;
+        }
+
+        newUniqueTable.set(slot, node + 1);
+      } else {
+        freeNodes[free++] = node;
+      }
+    }
+
+    uniqueTable = newUniqueTable;
+    freeNodesTop.set(free);
+    // Keep the size the cache has grown to, since the hit rate was high enough.
+    cache = new OperationCache(
+      Math.max(newCapacity / cacheDivider, Math.min(cache.entryCount(), newCapacity)));
+    collections++;
+  }
+
+  /**
+   * Doubles the operation cache if a large fraction of the lookups hit, since then a larger cache
+   * likely avoids recomputations caused by overwritten entries, and otherwise starts a new
+   * measurement. The cache is not grown beyond one entry per node. Requires the shared lock to be
+   * released.
+   */
+  private void adaptCache() {
+    lock.writeLock().lock();
+
+    try {
+      if (!cache.hasEnoughLookups()) {
+        return;
+      }
+
+      if (cache.hitRate() >= OperationCache.MINIMUM_HIT_RATE
+        && cache.entryCount() < variables.length) {
+        cache = cache.resize(cache.entryCount() * 2);
+      } else {
+        cache.resetStatistics();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * A lossy cache of operation results. Each entry is guarded by a sequence number, which is odd
+   * while the entry is written. Readers discard entries whose sequence number changed.
+   */
+  private static final class OperationCache {
+
+    private static final int ENTRY_SIZE = 6;
+
+    // The cache grows if this fraction of the lookups hits, cf. CUDD.
+    private static final double MINIMUM_HIT_RATE = 0.3;
+
+    private final AtomicIntegerArray entries;
+    private final int mask;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    private OperationCache(int size) {
+      int entryCount = Integer.highestOneBit(Math.max(size, 1024));
+      this.entries = new AtomicIntegerArray(entryCount * ENTRY_SIZE);
+      this.mask = entryCount - 1;
+    }
+
+    private int entryCount() {
+      return mask + 1;
+    }
+
+    private double hitRate() {
+      long lookupCount = lookups.sum();
+      return lookupCount == 0 ? 0.0 : (double) hits.sum() / lookupCount;
+    }
+
+    // The hit rate is only meaningful after a few lookups per entry.
+    private boolean hasEnoughLookups() {
+      return lookups.sum() >= 4L * entryCount();
+    }
+
+    private void resetStatistics() {
+      lookups.reset();
+      hits.reset();
+    }
+
+    // Requires that no entries are written concurrently.
+    private OperationCache resize(int size) {
+      var resized = new OperationCache(size);
+
+      for (int index = 0, s = entries.length(); index < s; index += ENTRY_SIZE) {
+        int operation = entries.get(index + 1);
+
+        if (operation != 0) {
+          resized.store(operation, entries.get(index + 2), entries.get(index + 3),
+            entries.get(index + 4), entries.get(index + 5));
+        }
+      }
+
+      return resized;
+    }
+
+    private int index(int operation, int node1, int node2, int node3) {
+      int hash = hash(node1, node2, node3) * 31 + operation;
+      return ((hash ^ (hash >>> 17)) & mask) * ENTRY_SIZE;
+    }
+
+    private int lookup(int operation, int node1, int node2, int node3) {
+      lookups.increment();
+      int index = index(operation, node1, node2, node3);
+      int sequence = entries.get(index);
+
+      if ((sequence & 1) != 0
+        || entries.get(index + 1) != operation
+        || entries.get(index + 2) != node1
+        || entries.get(index + 3) != node2
+        || entries.get(index + 4) != node3) {
+        return -1;
+      }
+
+      int result = entries.get(index + 5);
+
+      if (entries.get(index) != sequence) {
+        return -1;
+      }
+
+      hits.increment();
+      return result;
+    }
+
+    private void store(int operation, int node1, int node2, int node3, int result) {
+      int index = index(operation, node1, node2, node3);
+      int sequence = entries.get(index);
+
+      if ((sequence & 1) != 0 || !entries.compareAndSet(index, sequence, sequence + 1)) {
+        return;
+      }
+
+      entries.set(index + 1, operation);
+      entries.set(index + 2, node1);
+      entries.set(index + 3, node2);
+      entries.set(index + 4, node3);
+      entries.set(index + 5, result);
+      entries.set(index, sequence + 2);
+    }
+  }
+
+  /**
+   * Depth-first enumeration of the paths from a node to the true node. The search is resumed for
+   * each path under the read lock, such that no list of all paths, whose number might be
+   * exponential in the number of nodes, is built.
+   */
+  private final class PathIterator {
+
+    // The nodes on the current path and for each of them the next child to visit: 0 for the low
+    // child, 1 for the high child and 2 if both children have been visited.
+    private int[] nodes = new int[16];
+    private int[] states = new int[16];
+    private int size = 0;
+
+    private final BitSet path = new BitSet();
+    private final BitSet support = new BitSet();
+
+    private PathIterator(int node) {
+      push(node);
+    }
+
+    private void push(int node) {
+      if (size == nodes.length) {
+        nodes = Arrays.copyOf(nodes, 2 * size);
+        states = Arrays.copyOf(states, 2 * size);
+      }
+
+      nodes[size] = node;
+      states[size] = 0;
+      size++;
+    }
+
+    /**
+     * Moves to the next path to the true node, which is then described by {@link #path} and
+     * {@link #support}.
+     *
+     * @return {@code false} if all paths have been visited.
+     */
+    private boolean advance() {
+      lock.readLock().lock();
+
+      try {
+        while (size > 0) {
+          int top = size - 1;
+          int node = nodes[top];
+
+          if (node == TRUE_NODE && states[top] == 0) {
+            states[top] = 2;
+            return true;
+          }
+
+          if (isNodeRoot(node) || states[top] == 2) {
+            if (!isNodeRoot(node)) {
+              path.clear(variables[node]);
+              support.clear(variables[node]);
+            }
+
+            size--;
+          } else if (states[top] == 0) {
+            states[top] = 1;
+            support.set(variables[node]);
+            push(lows[node]);
+          } else {
+            states[top] = 2;
+            path.set(variables[node]);
+            push(highs[node]);
+          }
+        }
+
+        return false;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+  }
+
+  private final class SolutionIterator implements Iterator<BitSet> {
+
+    private final PathIterator paths;
+    private final int numberOfVariables;
+    // The assignment of the variables on the current path, null if all paths are exhausted.
+    @Nullable
+    private BitSet pathAssignment;
+    // The assignment of the variables not on the current path.
+    private BitSet freeAssignment;
+    private int[] freeVariables;
+
+    private SolutionIterator(int node, int numberOfVariables) {
+      this.paths = new PathIterator(node);
+      this.numberOfVariables = numberOfVariables;
+      startPath();
+    }
+
+    private void startPath() {
+      if (paths.advance()) {
+        pathAssignment = (BitSet) paths.path.clone();
+        BitSet free = new BitSet();
+        free.set(0, numberOfVariables);
+        free.andNot(paths.support);
+        freeVariables = free.stream().toArray();
+        freeAssignment = new BitSet();
+      } else {
+        pathAssignment = null;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return pathAssignment != null;
+    }
+
+    @Override
+    public BitSet next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      BitSet solution = (BitSet) pathAssignment.clone();
+      solution.or(freeAssignment);
+
+      // Increment the assignment of the free variables as a binary counter.
+      int i = 0;
+
+      while (i < freeVariables.length && freeAssignment.get(freeVariables[i])) {
+        freeAssignment.clear(freeVariables[i]);
+        i++;
+      }
+
+      if (i < freeVariables.length) {
+        freeAssignment.set(freeVariables[i]);
+      } else {
+        startPath();
+      }
+
+      return solution;
+    }
+  }
+}
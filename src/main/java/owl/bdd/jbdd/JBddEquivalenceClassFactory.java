@@ -24,7 +24,6 @@ import static owl.bdd.jbdd.JBddEquivalenceClassFactory.JBddEquivalenceClass;
 import com.google.common.base.Preconditions;
 import de.tum.in.jbdd.Bdd;
 import de.tum.in.jbdd.BddConfiguration;
-import de.tum.in.jbdd.BddFactory;
 import de.tum.in.jbdd.ImmutableBddConfiguration;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -44,6 +43,7 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntFunction;
@@ -77,6 +77,11 @@ final class JBddEquivalenceClassFactory
    *
    * Lastly, for constructing new formulas, it seems better to build the upper-half (variables
    * encoding atomic propositions) of the tree by an explicit ITE-construction.
+   *
+   * If the factory is backed by a ConcurrentBdd and thus may be shared between threads, the
+   * lookup caches are concurrent maps, temporal operators are registered under the monitor of the
+   * factory and the caches of the classes are volatile fields. Racing threads then compute the
+   * same cached values, of which one is kept.
    **/
 
   private static final List<int[]> LIST_OF_EMPTY = List.of(new int[]{});
@@ -86,7 +91,7 @@ final class JBddEquivalenceClassFactory
   private final UnfoldVisitor unfoldVisitor;
 
   private final int atomicPropositionsVariables;
-  private TemporalOperator[] temporalOperatorReverseMapping;
+  private volatile TemporalOperator[] temporalOperatorReverseMapping;
 
   private final List<JBddEquivalenceClass> literalMapping;
 
@@ -104,7 +109,7 @@ final class JBddEquivalenceClassFactory
   private final JBddEquivalenceClassFactory reencodingFactory;
 
   private final Map<Formula.NaryPropositionalOperator, JBddEquivalenceClass> lookupCache
-      = new HashMap<>();
+      = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
 
   // Sort nodes by their smallest variable (in reverse order).
   //
@@ -122,11 +127,16 @@ final class JBddEquivalenceClassFactory
   };
 
   JBddEquivalenceClassFactory(List<String> atomicPropositions, Encoding encoding) {
-    super(createBdd(atomicPropositions.size()), true);
+    this(JBddSupplier.INSTANCE, JBddSizing.DEFAULT, atomicPropositions, encoding);
+  }
+
+  JBddEquivalenceClassFactory(JBddSupplier supplier, JBddSizing sizing,
+      List<String> atomicPropositions, Encoding encoding) {
+    super(createBdd(supplier, sizing, atomicPropositions.size()), true);
 
     this.atomicPropositions = List.copyOf(atomicPropositions);
 
-    temporalOperatorMapping = new HashMap<>();
+    temporalOperatorMapping = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
     temporalOperatorReverseMapping = new TemporalOperator[32];
     visitor = new ConversionVisitor();
     unfoldVisitor = new UnfoldVisitor();
@@ -162,7 +172,9 @@ final class JBddEquivalenceClassFactory
     this.literalMapping = List.of(literalMapping);
 
     if (this.encoding == Encoding.AP_SEPARATE) {
-      reencodingFactory = new JBddEquivalenceClassFactory(atomicPropositions, Encoding.AP_COMBINED);
+      reencodingFactory =
+          new JBddEquivalenceClassFactory(
+              supplier, sizing, atomicPropositions, Encoding.AP_COMBINED);
     } else {
       assert this.encoding == Encoding.AP_COMBINED;
       reencodingFactory = null;
@@ -175,8 +187,8 @@ final class JBddEquivalenceClassFactory
     falseClass = of(BooleanConstant.FALSE, falseNode);
   }
 
-  static Bdd createBdd(int atomicPropositionsSize) {
-    int size = 1024 * (atomicPropositionsSize + 1);
+  static Bdd createBdd(JBddSupplier supplier, JBddSizing sizing, int atomicPropositionsSize) {
+    int size = sizing.initialNodes(JBddSizing.defaultNodes(atomicPropositionsSize));
 
     // Garbage collection is disabled, since it is triggered too frequently and has an adverse
     // impact on the runtime.
@@ -184,13 +196,12 @@ final class JBddEquivalenceClassFactory
         .logStatisticsOnShutdown(false)
         .useGlobalComposeCache(false)
         .useGarbageCollection(false)
-        .cacheBinaryDivider(8)
-        .cacheTernaryDivider(8)
+        .cacheBinaryDivider(sizing.cacheDivider(8))
+        .cacheTernaryDivider(sizing.cacheDivider(8))
         .growthFactor(4)
         .build();
 
-    // Do not use buildBddIterative, since 'support(...)' is broken.
-    return BddFactory.buildBddRecursive(size, configuration);
+    return supplier.createBdd(size, configuration);
   }
 
   @Override
@@ -253,19 +264,7 @@ final class JBddEquivalenceClassFactory
           .toList();
 
       if (!newPropositions.isEmpty()) {
-        // Create variables.
-        int newSize = temporalOperatorMapping.size() + newPropositions.size();
-
-        if (temporalOperatorReverseMapping.length < newSize) {
-          temporalOperatorReverseMapping = Arrays.copyOf(temporalOperatorReverseMapping, newSize);
-        }
-
-        for (TemporalOperator proposition : newPropositions) {
-          int variableNode = bdd.createVariable();
-          temporalOperatorMapping.put(proposition, of(proposition, variableNode));
-          temporalOperatorReverseMapping
-              [bdd.variable(variableNode) - atomicPropositionsVariables] = proposition;
-        }
+        registerTemporalOperators(newPropositions);
       }
     }
 
@@ -274,6 +273,29 @@ final class JBddEquivalenceClassFactory
         : formula.accept(visitor);
   }
 
+  private synchronized void registerTemporalOperators(List<TemporalOperator> propositions) {
+    // Another thread might have registered some of the operators in the meantime.
+    var newPropositions = propositions.stream()
+        .filter(y -> !temporalOperatorMapping.containsKey(y))
+        .toList();
+
+    // Create variables.
+    int newSize = temporalOperatorMapping.size() + newPropositions.size();
+    TemporalOperator[] reverseMapping = temporalOperatorReverseMapping;
+
+    if (reverseMapping.length < newSize) {
+      reverseMapping = Arrays.copyOf(reverseMapping, newSize);
+    }
+
+    for (TemporalOperator proposition : newPropositions) {
+      int variableNode = bdd.createVariable();
+      reverseMapping[bdd.variable(variableNode) - atomicPropositionsVariables] = proposition;
+      // Publish the reverse mapping before the operator can be looked up.
+      temporalOperatorReverseMapping = reverseMapping;
+      temporalOperatorMapping.put(proposition, of(proposition, variableNode));
+    }
+  }
+
   private JBddEquivalenceClass viaIte(Formula formula) {
     if (formula instanceof BooleanConstant booleanConstant) {
       return of(booleanConstant.value);
@@ -656,35 +678,35 @@ final class JBddEquivalenceClassFactory
     private final int node;
 
     @Nullable
-    private Formula representative;
+    private volatile Formula representative;
 
     // Caches
     @Nullable
-    private MtBdd<EquivalenceClass> temporalStepTreeCache;
+    private volatile MtBdd<EquivalenceClass> temporalStepTreeCache;
     @Nullable
-    private JBddEquivalenceClass unfoldCache;
+    private volatile JBddEquivalenceClass unfoldCache;
     @Nullable
-    private JBddEquivalenceClass notCache;
+    private volatile JBddEquivalenceClass notCache;
     @Nullable
-    private List<int[]> zeroPathsCache;
+    private volatile List<int[]> zeroPathsCache;
     @Nullable
-    private List<int[]> onePathsCache;
+    private volatile List<int[]> onePathsCache;
     @Nullable
-    private Set<Set<Formula>> cnfView;
+    private volatile Set<Set<Formula>> cnfView;
     @Nullable
-    private Set<Set<Formula>> dnfView;
+    private volatile Set<Set<Formula>> dnfView;
     @Nullable
-    private List<Formula> supportCache;
+    private volatile List<Formula> supportCache;
     @Nullable
-    private List<Formula> supportCacheIncludeNested;
+    private volatile List<Formula> supportCacheIncludeNested;
     @Nullable
-    private Set<TemporalOperator> temporalOperatorsCache;
+    private volatile Set<TemporalOperator> temporalOperatorsCache;
     @Nullable
-    private Set<TemporalOperator> temporalOperatorsCacheIncludeNested;
+    private volatile Set<TemporalOperator> temporalOperatorsCacheIncludeNested;
     @Nullable
-    private EquivalenceClass encodeCache;
+    private volatile EquivalenceClass encodeCache;
 
-    private double truenessCache = Double.NaN;
+    private volatile double truenessCache = Double.NaN;
 
     private JBddEquivalenceClass(JBddEquivalenceClassFactory factory, int node,
         @Nullable Formula internalRepresentative) {
@@ -892,9 +914,7 @@ final class JBddEquivalenceClassFactory
       }
 
       Arrays.sort(support);
-
-      assert supportCache == null;
-      supportCache = List.of(support);
+      List<Formula> supportList = List.of(support);
 
       // Compute support(true)
       Set<Formula> supportIncludeNested = new TreeSet<>(Formula::compareTo);
@@ -921,46 +941,29 @@ final class JBddEquivalenceClassFactory
         }
       }
 
-      assert supportCacheIncludeNested == null;
-      supportCacheIncludeNested = supportIncludeNested.size() == supportCache.size()
-          ? supportCache
+      List<Formula> supportListIncludeNested = supportIncludeNested.size() == supportList.size()
+          ? supportList
           : List.copyOf(supportIncludeNested);
 
-      // Compute temporalOperators(false)
-      {
-        int firstTemporalOperator = 0;
-        int s = supportCache.size();
+      // Compute temporalOperators(false) and temporalOperators(true). supportCache is assigned
+      // last, since it signals that all caches are initialised.
+      temporalOperatorsCache = temporalOperators(supportList);
+      temporalOperatorsCacheIncludeNested = temporalOperators(supportListIncludeNested);
+      supportCacheIncludeNested = supportListIncludeNested;
+      supportCache = supportList;
+    }
 
-        while (firstTemporalOperator < s
-            && supportCache.get(firstTemporalOperator) instanceof Literal) {
-          firstTemporalOperator++;
-        }
+    private static Set<TemporalOperator> temporalOperators(List<Formula> support) {
+      int firstTemporalOperator = 0;
+      int s = support.size();
 
-        assert temporalOperatorsCache == null;
-        @SuppressWarnings("unchecked")
-        List<TemporalOperator> castedSublist
-            = (List) supportCache.subList(firstTemporalOperator, s);
-        temporalOperatorsCache
-            = Set.of(castedSublist.toArray(TemporalOperator[]::new));
+      while (firstTemporalOperator < s && support.get(firstTemporalOperator) instanceof Literal) {
+        firstTemporalOperator++;
       }
 
-      // Compute temporalOperators(true)
-      {
-        int firstTemporalOperator = 0;
-        int s = supportCacheIncludeNested.size();
-
-        while (firstTemporalOperator < s
-            && supportCacheIncludeNested.get(firstTemporalOperator) instanceof Literal) {
-          firstTemporalOperator++;
-        }
-
-        assert temporalOperatorsCacheIncludeNested == null;
-        @SuppressWarnings("unchecked")
-        List<TemporalOperator> castedSublist
-            = (List) supportCacheIncludeNested.subList(firstTemporalOperator, s);
-        temporalOperatorsCacheIncludeNested
-            = Set.of(castedSublist.toArray(TemporalOperator[]::new));
-      }
+      @SuppressWarnings("unchecked")
+      List<TemporalOperator> castedSublist = (List) support.subList(firstTemporalOperator, s);
+      return Set.of(castedSublist.toArray(TemporalOperator[]::new));
     }
 
     @Override
@@ -1008,10 +1011,13 @@ final class JBddEquivalenceClassFactory
 
     @Override
     public EquivalenceClass not() {
+      var notCache = this.notCache;
+
       if (notCache == null) {
         notCache = factory.cast(factory.of(representative().not()));
-        assert factory.cast(notCache).notCache == null;
+        assert notCache.notCache == null || notCache.notCache == this;
         notCache.notCache = this;
+        this.notCache = notCache;
       }
 
       assert notCache.notCache == this;
@@ -23,16 +23,28 @@ import de.tum.in.jbdd.Bdd;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import javax.annotation.Nullable;
 
+/**
+ * Base class for factories that wrap BDD nodes into Java objects. Each node is wrapped at most
+ * once and a node is referenced in the underlying BDD as long as its wrapper is reachable.
+ *
+ * <p>Factories backed by the JBDD library are confined to a single thread, since the library
+ * itself is not thread-safe, and do not synchronize at all. Factories backed by a
+ * {@link ConcurrentBdd} may be shared between threads: the tables mapping nodes to wrappers are
+ * then split into stripes, which are selected by the node and guarded by their own monitor, and
+ * each reference taken from the reference queue is released under the lock of its stripe. The
+ * operations on the BDD itself are not synchronized by the factory.</p>
+ */
 sealed abstract class JBddGcManagedFactory<V extends JBddGcManagedFactory.JBddNode>
     permits JBddEquivalenceClassFactory, JBddSetFactory {
 
+  private static final int STRIPE_BITS = 6;
+
   protected final Bdd bdd;
-  private final Map<Integer, JBddNodeReference<V>> gcObjects = new HashMap<>();
-  private final Map<Integer, V> nonGcObjects = new HashMap<>();
+  protected final boolean concurrent;
+  private final Stripe[] stripes;
   private final ReferenceQueue<V> queue = new ReferenceQueue<>();
 
   private final boolean gcDisabled;
@@ -40,90 +52,151 @@ sealed abstract class JBddGcManagedFactory<V extends JBddGcManagedFactory.JBddNo
   JBddGcManagedFactory(Bdd bdd, boolean gcDisabled) {
     this.bdd = bdd;
     this.gcDisabled = gcDisabled;
+    this.concurrent = bdd instanceof ConcurrentBdd;
+
+    int stripeCount = concurrent ? 1 << STRIPE_BITS : 1;
+    @SuppressWarnings("unchecked")
+    Stripe[] stripes = (Stripe[]) new JBddGcManagedFactory<?>.Stripe[stripeCount];
+
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Stripe();
+    }
+
+    this.stripes = stripes;
+  }
+
+  public boolean isThreadSafe() {
+    return concurrent;
   }
 
-  // This is not thread safe!
   V canonicalize(V wrapper) {
-    int node = wrapper.node();
+    Stripe stripe = stripe(wrapper.node());
+    V canonicalWrapper;
 
-    // Root nodes and variables are exempt from GC.
-    if (bdd.isNodeRoot(node) || bdd.isVariableOrNegated(node)) {
-      assert bdd.getReferenceCount(node) == -1
-          : reportReferenceCountMismatch(-1, bdd.getReferenceCount(node));
+    if (concurrent) {
+      synchronized (stripe) {
+        canonicalWrapper = stripe.canonicalize(wrapper);
+      }
+    } else {
+      canonicalWrapper = stripe.canonicalize(wrapper);
+    }
 
-      return nonGcObjects.merge(node, wrapper, (oldWrapper, newWrapper) -> oldWrapper);
+    if (canonicalWrapper == wrapper) {
+      // Remove queued BDDs from the mapping. This is done outside of the lock of the stripe, since
+      // the queued references belong to arbitrary stripes.
+      processReferenceQueue();
     }
 
-    JBddNodeReference<V> canonicalReference = gcObjects.get(node);
+    return canonicalWrapper;
+  }
 
-    if (canonicalReference == null) {
-      // The BDD was created and needs a reference to be protected.
-      assert gcDisabled || bdd.getReferenceCount(node) == 0
-          : reportReferenceCountMismatch(0, bdd.getReferenceCount(node));
+  @Nullable
+  V canonicalWrapper(int node) {
+    Stripe stripe = stripe(node);
 
-      bdd.reference(node);
-    } else {
-      // The BDD already existed.
-      assert gcDisabled || bdd.getReferenceCount(node) == 1
-          : reportReferenceCountMismatch(1, bdd.getReferenceCount(node));
+    if (concurrent) {
+      synchronized (stripe) {
+        return stripe.canonicalWrapper(node);
+      }
+    }
+
+    return stripe.canonicalWrapper(node);
+  }
+
+  private void processReferenceQueue() {
+    // The queue is thread-safe and hands out each reference exactly once.
+    Reference<? extends V> reference = queue.poll();
 
-      V canonicalWrapper = canonicalReference.get();
+    while (reference != null) {
+      var nodeReference = (JBddNodeReference<?>) reference;
+      Stripe stripe = stripe(nodeReference.node);
 
-      if (canonicalWrapper == null) {
-        // This object was GC'ed since the last run of clear(), but potentially wasn't added to the
-        // ReferenceQueue by the GC yet. Make sure that the reference is queued and cleared to
-        // avoid inconsistencies.
-        canonicalReference.enqueue();
+      if (concurrent) {
+        synchronized (stripe) {
+          stripe.release(nodeReference);
+        }
       } else {
-        assert node == canonicalWrapper.node();
-        return canonicalWrapper;
+        stripe.release(nodeReference);
       }
+
+      reference = queue.poll();
     }
+  }
 
-    assert gcDisabled || bdd.getReferenceCount(node) == 1;
-    // Remove queued BDDs from the mapping.
-    processReferenceQueue(node);
-    // Insert BDD into mapping.
-    gcObjects.put(node, new JBddNodeReference<>(wrapper, queue));
-    assert gcDisabled || bdd.getReferenceCount(node) == 1;
-    return wrapper;
+  private Stripe stripe(int node) {
+    // Select the stripe by the upper bits of the hash, the lower bits are used by the NodeTable.
+    return stripes.length == 1 ? stripes[0] : stripes[(node * 0x9E3779B9) >>> -STRIPE_BITS];
   }
 
-  @Nullable
-  V canonicalWrapper(int node) {
-    V wrapper = nonGcObjects.get(node);
+  private final class Stripe {
+
+    private final NodeTable<JBddNodeReference<V>> gcObjects = new NodeTable<>();
+    private final NodeTable<V> nonGcObjects = new NodeTable<>();
+
+    private V canonicalize(V wrapper) {
+      int node = wrapper.node();
+
+      // Root nodes and variables are exempt from GC.
+      if (bdd.isNodeRoot(node) || bdd.isVariableOrNegated(node)) {
+        assert bdd.getReferenceCount(node) == -1
+            : reportReferenceCountMismatch(-1, bdd.getReferenceCount(node));
+
+        return nonGcObjects.putIfAbsent(node, wrapper);
+      }
+
+      JBddNodeReference<V> canonicalReference = gcObjects.get(node);
+
+      if (canonicalReference == null) {
+        // The BDD was created and needs a reference to be protected.
+        assert gcDisabled || bdd.getReferenceCount(node) == 0
+            : reportReferenceCountMismatch(0, bdd.getReferenceCount(node));
+
+        bdd.reference(node);
+      } else {
+        // The BDD already existed.
+        assert gcDisabled || bdd.getReferenceCount(node) == 1
+            : reportReferenceCountMismatch(1, bdd.getReferenceCount(node));
+
+        V canonicalWrapper = canonicalReference.get();
 
-    if (wrapper != null) {
+        if (canonicalWrapper != null) {
+          assert node == canonicalWrapper.node();
+          return canonicalWrapper;
+        }
+
+        // This object was GC'ed, but its reference has not been processed yet. The new wrapper
+        // takes over the mapping and the BDD reference, the stale reference is then ignored by
+        // release().
+      }
+
+      gcObjects.put(node, new JBddNodeReference<>(wrapper, queue));
+      assert gcDisabled || bdd.getReferenceCount(node) == 1;
       return wrapper;
     }
 
-    JBddNodeReference<V> reference = gcObjects.get(node);
-    return reference == null ? null : reference.get();
-  }
+    @Nullable
+    private V canonicalWrapper(int node) {
+      V wrapper = nonGcObjects.get(node);
 
-  private void processReferenceQueue(int protectedNode) {
-    Reference<? extends V> reference = queue.poll();
-    if (reference == null) {
-      // Queue is empty
-      return;
+      if (wrapper != null) {
+        return wrapper;
+      }
+
+      JBddNodeReference<V> reference = gcObjects.get(node);
+      return reference == null ? null : reference.get();
     }
 
-    // int count = 0;
-    do {
-      int node = ((JBddNodeReference<?>) reference).node;
-      gcObjects.remove(node);
+    private void release(JBddNodeReference<?> reference) {
+      int node = reference.node;
 
-      if (!gcDisabled && node != protectedNode) {
+      // Only drop the mapping (and the BDD reference) if it still belongs to the queued reference.
+      // Otherwise the node has already been re-canonicalized and the entry is live.
+      if (gcObjects.remove(node, reference) && !gcDisabled) {
         assert bdd.getReferenceCount(node) == 1;
         bdd.dereference(node);
         assert bdd.getReferenceCount(node) == 0;
-        // count += 1;
       }
-
-      reference = queue.poll();
-    } while (reference != null);
-
-    // System.err.printf("Cleared %d references", count);
+    }
   }
 
   private static final class JBddNodeReference<V extends JBddNode> extends WeakReference<V> {
@@ -136,6 +209,148 @@ sealed abstract class JBddGcManagedFactory<V extends JBddGcManagedFactory.JBddNo
     }
   }
 
+  /**
+   * Open-addressed hash table with linear probing keyed by (non-negative) BDD nodes. This avoids
+   * boxing the keys and allocating an entry object for each node.
+   */
+  private static final class NodeTable<T> {
+
+    private static final int EMPTY = -1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    private NodeTable() {
+      keys = new int[INITIAL_CAPACITY];
+      values = new Object[INITIAL_CAPACITY];
+      Arrays.fill(keys, EMPTY);
+    }
+
+    @Nullable
+    T get(int key) {
+      int mask = keys.length - 1;
+
+      for (int i = index(key, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+        if (keys[i] == key) {
+          return value(i);
+        }
+      }
+
+      return null;
+    }
+
+    void put(int key, T value) {
+      assert key >= 0;
+      int i = slot(key);
+
+      if (keys[i] == EMPTY) {
+        keys[i] = key;
+        size++;
+      }
+
+      values[i] = value;
+
+      if (2 * size > keys.length) {
+        resize();
+      }
+    }
+
+    /**
+     * Associates the key with the value, if the key is not mapped, and returns the value now
+     * associated with the key.
+     */
+    T putIfAbsent(int key, T value) {
+      T oldValue = get(key);
+
+      if (oldValue != null) {
+        return oldValue;
+      }
+
+      put(key, value);
+      return value;
+    }
+
+    /**
+     * Removes the entry for the key, if it is currently mapped to the given value (by identity).
+     */
+    boolean remove(int key, Object value) {
+      int mask = keys.length - 1;
+      int i = index(key, mask);
+
+      while (keys[i] != key) {
+        if (keys[i] == EMPTY) {
+          return false;
+        }
+
+        i = (i + 1) & mask;
+      }
+
+      if (values[i] != value) {
+        return false;
+      }
+
+      // Backward-shift deletion: move later entries of the probe sequence into the gap.
+      int gap = i;
+
+      for (int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+        int home = index(keys[j], mask);
+
+        // The entry at j can be moved into the gap if its home slot does not lie in (gap, j].
+        if (((j - home) & mask) >= ((j - gap) & mask)) {
+          keys[gap] = keys[j];
+          values[gap] = values[j];
+          gap = j;
+        }
+      }
+
+      keys[gap] = EMPTY;
+      values[gap] = null;
+      size--;
+      return true;
+    }
+
+    private int slot(int key) {
+      int mask = keys.length - 1;
+      int i = index(key, mask);
+
+      while (keys[i] != EMPTY && keys[i] != key) {
+        i = (i + 1) & mask;
+      }
+
+      return i;
+    }
+
+    private void resize() {
+      int[] oldKeys = keys;
+      Object[] oldValues = values;
+
+      keys = new int[2 * oldKeys.length];
+      values = new Object[2 * oldValues.length];
+      Arrays.fill(keys, EMPTY);
+
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != EMPTY) {
+          int j = slot(oldKeys[i]);
+          keys[j] = oldKeys[i];
+          values[j] = oldValues[i];
+        }
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T value(int i) {
+      return (T) values[i];
+    }
+
+    private static int index(int key, int mask) {
+      // Fibonacci hashing to spread consecutive node ids.
+      int hash = key * 0x9E3779B9;
+      return (hash ^ (hash >>> 16)) & mask;
+    }
+  }
+
   interface JBddNode {
 
     int node();
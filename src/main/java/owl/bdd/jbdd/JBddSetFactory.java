@@ -29,7 +29,6 @@ import static owl.logic.propositional.PropositionalFormula.trueConstant;
 
 import com.google.common.base.Preconditions;
 import de.tum.in.jbdd.Bdd;
-import de.tum.in.jbdd.BddFactory;
 import de.tum.in.jbdd.ImmutableBddConfiguration;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -55,28 +54,32 @@ final class JBddSetFactory extends JBddGcManagedFactory<JBddSet> implements BddS
 
   private final int trueNode;
   private final int falseNode;
-  private int variables;
+  // Only grows, new variables are created under the monitor of the factory.
+  private volatile int variables;
 
   JBddSetFactory(int size) {
-    super(createBdd(size), false);
+    this(JBddSupplier.INSTANCE, JBddSizing.DEFAULT, size);
+  }
+
+  JBddSetFactory(JBddSupplier supplier, JBddSizing sizing, int size) {
+    super(createBdd(supplier, sizing, size), false);
 
     trueNode = this.bdd.trueNode();
     falseNode = this.bdd.falseNode();
     variables = 0;
   }
 
-  private static Bdd createBdd(int size) {
+  private static Bdd createBdd(JBddSupplier supplier, JBddSizing sizing, int size) {
     var configuration = ImmutableBddConfiguration.builder()
         .logStatisticsOnShutdown(false)
         .useGlobalComposeCache(false)
         .integrityDuplicatesMaximalSize(50)
-        .cacheBinaryDivider(4)
-        .cacheTernaryDivider(4)
+        .cacheBinaryDivider(sizing.cacheDivider(4))
+        .cacheTernaryDivider(sizing.cacheDivider(4))
         .growthFactor(4)
         .build();
 
-    // Do not use buildBddIterative, since 'support(...)' is broken.
-    return BddFactory.buildBddRecursive(size, configuration);
+    return supplier.createBdd(size, configuration);
   }
 
   @Override
@@ -163,14 +166,20 @@ final class JBddSetFactory extends JBddGcManagedFactory<JBddSet> implements BddS
 
   private int variableNode(int variable) {
     if (variable >= variables) {
-      bdd.createVariables((variable + 1) - variables);
-      variables = bdd.numberOfVariables();
+      createVariables(variable);
     }
 
     Objects.checkIndex(variable, variables);
     return bdd.variableNode(variable);
   }
 
+  private synchronized void createVariables(int variable) {
+    if (variable >= variables) {
+      bdd.createVariables((variable + 1) - variables);
+      variables = bdd.numberOfVariables();
+    }
+  }
+
   private JBddSet create(int node) {
     return canonicalize(new JBddSet(this, node));
   }
@@ -254,7 +263,7 @@ final class JBddSetFactory extends JBddGcManagedFactory<JBddSet> implements BddS
     private final int node;
 
     @Nullable
-    private BitSet supportCache;
+    private volatile BitSet supportCache;
 
     private JBddSet(JBddSetFactory factory, int node) {
       this.factory = factory;
@@ -506,6 +515,34 @@ final class JBddSetFactory extends JBddGcManagedFactory<JBddSet> implements BddS
       return Optional.of(factory.bdd.getSatisfyingAssignment(node));
     }
 
+    @Override
+    public int nodeCount() {
+      var bdd = factory.bdd;
+      BitSet visited = new BitSet();
+      int[] stack = new int[32];
+      int size = 0;
+      stack[size++] = node;
+
+      while (size > 0) {
+        int current = stack[--size];
+
+        if (bdd.isNodeRoot(current) || visited.get(current)) {
+          continue;
+        }
+
+        visited.set(current);
+
+        if (size + 2 > stack.length) {
+          stack = Arrays.copyOf(stack, 2 * stack.length);
+        }
+
+        stack[size++] = bdd.low(current);
+        stack[size++] = bdd.high(current);
+      }
+
+      return visited.cardinality();
+    }
+
     @Override
     public BitSet support() {
       if (supportCache == null) {
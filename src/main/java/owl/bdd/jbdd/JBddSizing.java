@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.bdd.jbdd;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import owl.bdd.FactorySupplier;
+
+/**
+ * Sizing of the node tables and operation caches of the BDDs backing the factories of
+ * {@link JBddSupplier}.
+ *
+ * <p>By default the initial node table of a factory has {@link #defaultNodes(int)} nodes, derived
+ * from the number of atomic propositions if these are known when the factory is created. The size
+ * of the formulas is not taken into account, since the variables of the temporal operators are
+ * only allocated when a formula is first seen. The initial memory overrides this default. It is
+ * only a hint for the initial size: the node tables still grow as needed and there is no upper
+ * bound on the memory used by a factory. The operation caches have one entry per
+ * {@code cacheDivider} nodes and grow with the node table; only {@link ConcurrentBdd} additionally
+ * grows its caches when their hit rate is high.</p>
+ *
+ * @param cacheDivider the number of nodes per cache entry, or {@code 0} to use the default of the
+ *     factory.
+ * @param initialNodes the size of the initial node table, or {@code 0} to use the default of the
+ *     factory.
+ */
+record JBddSizing(int cacheDivider, int initialNodes) {
+
+  static final JBddSizing DEFAULT = new JBddSizing(0, 0);
+
+  // A node takes three ints in the node table, one in the unique table, a reference count and a
+  // share of the operation caches.
+  private static final int BYTES_PER_NODE = 32;
+
+  // Upper bound for the initial size of the node table, the maximal capacity of ConcurrentBdd. The
+  // node tables may still grow beyond the initial size.
+  private static final int MAXIMAL_NODES = 1 << 29;
+
+  JBddSizing {
+    checkArgument(cacheDivider >= 0, "cacheDivider must be non-negative.");
+    checkArgument(initialNodes >= 0, "initialNodes must be non-negative.");
+  }
+
+  /**
+   * Reads the sizing from the system properties {@link FactorySupplier#BDD_CACHE_DIVIDER_PROPERTY}
+   * and {@link FactorySupplier#BDD_INITIAL_MEMORY_PROPERTY}.
+   *
+   * @throws IllegalArgumentException if a property is set to an invalid value.
+   */
+  static JBddSizing fromSystemProperties() {
+    int cacheDivider = parse(FactorySupplier.BDD_CACHE_DIVIDER_PROPERTY, 0);
+    long initialMemory = parse(FactorySupplier.BDD_INITIAL_MEMORY_PROPERTY, 0);
+    long initialNodes = (initialMemory << 20) / BYTES_PER_NODE;
+    return new JBddSizing(cacheDivider, (int) Math.min(initialNodes, MAXIMAL_NODES));
+  }
+
+  private static int parse(String property, int defaultValue) {
+    String value = System.getProperty(property);
+
+    if (value == null) {
+      return defaultValue;
+    }
+
+    try {
+      int parsedValue = Integer.parseInt(value.strip());
+      checkArgument(parsedValue > 0);
+      return parsedValue;
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException(
+        "The property '" + property + "' must be a positive integer, but was '" + value + "'.", ex);
+    }
+  }
+
+  /**
+   * The default size of the initial node table for the given number of atomic propositions.
+   */
+  static int defaultNodes(int atomicPropositions) {
+    return (int) Math.min(1024L * (atomicPropositions + 1), MAXIMAL_NODES);
+  }
+
+  /**
+   * The size of the initial node table, falling back to the given default of the factory.
+   */
+  int initialNodes(int defaultNodes) {
+    return initialNodes == 0 ? defaultNodes : initialNodes;
+  }
+
+  /**
+   * The number of nodes per cache entry, falling back to the given default of the factory.
+   */
+  int cacheDivider(int defaultDivider) {
+    return cacheDivider == 0 ? defaultDivider : cacheDivider;
+  }
+}
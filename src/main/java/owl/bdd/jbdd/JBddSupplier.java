@@ -19,24 +19,64 @@
 
 package owl.bdd.jbdd;
 
+import de.tum.in.jbdd.Bdd;
+import de.tum.in.jbdd.BddConfiguration;
+import de.tum.in.jbdd.BddFactory;
 import java.util.List;
 import owl.bdd.BddSetFactory;
 import owl.bdd.EquivalenceClassFactory;
+import owl.bdd.Factories;
 import owl.bdd.FactorySupplier;
 
+/**
+ * Suppliers of factories backed by BDDs of the JBDD library ({@link #INSTANCE}) or by the
+ * thread-safe {@link ConcurrentBdd} ({@link #CONCURRENT}). Only the factories of the latter may be
+ * shared between threads.
+ */
 public enum JBddSupplier implements FactorySupplier {
-  INSTANCE;
+  INSTANCE {
+    @Override
+    Bdd createBdd(int size, BddConfiguration configuration) {
+      // Do not use buildBddIterative, since 'support(...)' is broken.
+      return BddFactory.buildBddRecursive(size, configuration);
+    }
+  },
+
+  CONCURRENT {
+    @Override
+    Bdd createBdd(int size, BddConfiguration configuration) {
+      return new ConcurrentBdd(size, configuration, Runtime.getRuntime().availableProcessors());
+    }
+  };
 
   @Override
   public EquivalenceClassFactory getEquivalenceClassFactory(
       List<String> atomicPropositions,
       EquivalenceClassFactory.Encoding defaultEncoding) {
 
-    return new JBddEquivalenceClassFactory(atomicPropositions, defaultEncoding);
+    return new JBddEquivalenceClassFactory(
+      this, JBddSizing.fromSystemProperties(), atomicPropositions, defaultEncoding);
   }
 
   @Override
   public BddSetFactory getBddSetFactory() {
-    return new JBddSetFactory(1024);
+    var sizing = JBddSizing.fromSystemProperties();
+    // The number of variables is not known in advance.
+    return new JBddSetFactory(this, sizing, sizing.initialNodes(JBddSizing.defaultNodes(0)));
+  }
+
+  @Override
+  public Factories getFactories(
+      List<String> atomicPropositions,
+      EquivalenceClassFactory.Encoding defaultEncoding) {
+
+    var sizing = JBddSizing.fromSystemProperties();
+    int initialNodes = sizing.initialNodes(JBddSizing.defaultNodes(atomicPropositions.size()));
+
+    return new Factories(
+      new JBddEquivalenceClassFactory(this, sizing, atomicPropositions, defaultEncoding),
+      new JBddSetFactory(this, sizing, initialNodes));
   }
+
+  abstract Bdd createBdd(int size, BddConfiguration configuration);
 }
@@ -27,6 +27,8 @@ import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import org.graalvm.nativeimage.ImageInfo;
+import owl.bdd.FactorySupplier;
+import owl.util.ParallelEvaluation;
 
 abstract class AbstractOwlSubcommand extends AbstractOwlCommand {
 
@@ -50,9 +52,73 @@ abstract class AbstractOwlSubcommand extends AbstractOwlCommand {
   @SuppressWarnings("PMD.ImmutableField")
   private boolean nonNativeMode = false;
 
+  @Option(
+    names = "--bdd",
+    description = "The BDD implementation: 'jbdd' (default) or 'concurrent'. Both "
+      + "implementations can be shared between threads; the concurrent implementation "
+      + "additionally splits the evaluation of large BDD operations across several threads."
+  )
+  private String bddImplementation = null;
+
+  @Option(
+    names = "--bdd-cache-divider",
+    description = "The number of BDD nodes per entry of the operation caches. Smaller values give "
+      + "larger caches. By default each BDD uses its own divider."
+  )
+  private Integer bddCacheDivider = null;
+
+  @Option(
+    names = "--bdd-initial-memory",
+    description = "The memory in MiB initially allocated for the node table of each BDD. This is "
+      + "only a hint for the initial size, the node tables still grow as needed. By default the "
+      + "size is derived from the input."
+  )
+  private Integer bddInitialMemory = null;
+
+  @Option(
+    names = "--portfolio-time-budget",
+    description = "The time budget in milliseconds of each candidate of a portfolio translation, "
+      + "e.g., of the SMALLEST_AUTOMATON translations. A candidate exceeding it is abandoned once "
+      + "another candidate has finished. By default there is no time budget."
+  )
+  private Long portfolioTimeBudget = null;
+
   @Override
   @SuppressWarnings("PMD.SystemPrintln")
   public final Integer call() throws Exception {
+    if (bddImplementation != null) {
+      System.setProperty(FactorySupplier.BDD_IMPLEMENTATION_PROPERTY, bddImplementation);
+      // Fail early on unknown implementations.
+      FactorySupplier.defaultSupplier();
+    }
+
+    if (bddCacheDivider != null) {
+      if (bddCacheDivider <= 0) {
+        throw new IllegalArgumentException("The BDD cache divider must be positive.");
+      }
+
+      System.setProperty(
+        FactorySupplier.BDD_CACHE_DIVIDER_PROPERTY, bddCacheDivider.toString());
+    }
+
+    if (bddInitialMemory != null) {
+      if (bddInitialMemory <= 0) {
+        throw new IllegalArgumentException("The initial BDD memory must be positive.");
+      }
+
+      System.setProperty(
+        FactorySupplier.BDD_INITIAL_MEMORY_PROPERTY, bddInitialMemory.toString());
+    }
+
+    if (portfolioTimeBudget != null) {
+      if (portfolioTimeBudget <= 0) {
+        throw new IllegalArgumentException("The portfolio time budget must be positive.");
+      }
+
+      System.setProperty(
+        ParallelEvaluation.TIME_BUDGET_PROPERTY, portfolioTimeBudget.toString());
+    }
+
     boolean enforceNativeMode = !nonNativeMode;
 
     if (enforceNativeMode && !ImageInfo.inImageCode()) {
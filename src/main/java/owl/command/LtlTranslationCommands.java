@@ -32,11 +32,21 @@ import static owl.translations.LtlTranslationRepository.Option.USE_PORTFOLIO_FOR
 import static owl.translations.LtlTranslationRepository.Option.X_DPA_USE_COMPLEMENT;
 import static owl.translations.LtlTranslationRepository.Option.X_DRA_NORMAL_FORM_USE_DUAL;
 
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import owl.Bibliography;
+import owl.automaton.Automaton;
 import owl.automaton.acceptance.BuchiAcceptance;
 import owl.automaton.acceptance.EmersonLeiAcceptance;
 import owl.automaton.acceptance.GeneralizedBuchiAcceptance;
@@ -52,6 +62,7 @@ import owl.thirdparty.picocli.CommandLine.Option;
 import owl.translations.LtlTranslationRepository;
 import owl.translations.LtlTranslationRepository.LtlToLdbaTranslation;
 import owl.translations.LtlTranslationRepository.LtlToNbaTranslation;
+import owl.translations.TranslationCache;
 
 @SuppressWarnings("PMD.ImmutableField")
 final class LtlTranslationCommands {
@@ -84,8 +95,38 @@ final class LtlTranslationCommands {
     )
     private boolean skipPortfolio = false;
 
+    @Option(
+        names = {"-j", "--jobs"},
+        description = "Translate up to the given number of formulas in parallel. The automata are "
+            + "written in the order of the input formulas. By default ${DEFAULT-VALUE} formula is "
+            + "translated at a time.",
+        defaultValue = "1"
+    )
+    private int jobs = 1;
+
+    @Option(
+        names = "--translation-cache",
+        description = "Cache translations in the given directory. Formulas are normalised before "
+            + "the lookup such that formulas only differing in the names of atomic propositions "
+            + "share cache entries."
+    )
+    private String translationCache = null;
+
+    @Option(
+        names = "--translation-cache-size",
+        description = "The maximal size of the translation cache in megabytes. If the cache "
+            + "exceeds this size, then the least recently used entries are removed. The default "
+            + "value is ${DEFAULT-VALUE}.",
+        defaultValue = "1024"
+    )
+    private long translationCacheSize = 1024;
+
     @Override
     protected int run() throws Exception {
+      if (jobs < 1) {
+        throw new IllegalArgumentException("The number of jobs must be positive.");
+      }
+
       var translation = translation();
       var acceptanceClass = acceptanceClass();
 
@@ -110,20 +151,84 @@ final class LtlTranslationCommands {
       basicOptions.addAll(extraOptions());
 
       var subcommand = getClass().getAnnotation(Command.class).name();
-      var translator = translation.translation(acceptanceClass, basicOptions, lookahead());
+      Function<LabelledFormula, ? extends Automaton<?, ?>> translator
+          = translation.translation(acceptanceClass, basicOptions, lookahead());
+
+      if (translationCache != null) {
+        String configuration = String.join(" ", subcommand, translation.toString(),
+            acceptanceClass.getName(), basicOptions.toString(), lookahead().toString());
+        translator = new TranslationCache(
+            translator, configuration, Path.of(translationCache), translationCacheSize << 20);
+      }
 
       try (var source = formulaReader.source();
           var sink = automatonWriter.sink(subcommand, rawArgs())) {
 
         Iterator<LabelledFormula> formulaIterator = source.iterator();
 
+        if (jobs == 1) {
+          while (formulaIterator.hasNext()) {
+            LabelledFormula formula = formulaIterator.next();
+            sink.accept(translator.apply(formula), "Automaton for " + formula);
+          }
+        } else {
+          translateInParallel(formulaIterator, sink, translator);
+        }
+      }
+
+      return 0;
+    }
+
+    private void translateInParallel(
+        Iterator<LabelledFormula> formulaIterator,
+        AutomatonWriter.Sink sink,
+        Function<LabelledFormula, ? extends Automaton<?, ?>> translator) throws Exception {
+
+      // Every translation allocates its own factories and thus the workers do not share any
+      // mutable state. Each worker translates a formula and renders the HOA representation, while
+      // the calling thread writes the results in input order. The number of pending results is
+      // bounded in order to bound the memory used for reordering.
+      int bound = 2 * jobs;
+      Deque<Future<String>> pending = new ArrayDeque<>(bound);
+      ExecutorService executor = Executors.newFixedThreadPool(jobs);
+
+      try {
         while (formulaIterator.hasNext()) {
           LabelledFormula formula = formulaIterator.next();
-          sink.accept(translator.apply(formula), "Automaton for " + formula);
+
+          if (pending.size() == bound) {
+            sink.acceptRendered(getUnchecked(pending.removeFirst()));
+          }
+
+          pending.addLast(executor.submit(
+              () -> sink.render(translator.apply(formula), "Automaton for " + formula)));
+        }
+
+        while (!pending.isEmpty()) {
+          sink.acceptRendered(getUnchecked(pending.removeFirst()));
         }
+      } finally {
+        executor.shutdownNow();
       }
+    }
 
-      return 0;
+    private static String getUnchecked(Future<String> future) throws Exception {
+      try {
+        return Uninterruptibles.getUninterruptibly(future);
+      } catch (ExecutionException ex) {
+        var cause = ex.getCause();
+
+        // Unpack exceptions and errors.
+        if (cause instanceof Exception) {
+          throw (Exception) cause;
+        }
+
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+
+        throw ex;
+      }
     }
 
     protected abstract LtlTranslationRepository.LtlTranslation<L, A> translation();
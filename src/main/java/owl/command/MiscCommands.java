@@ -33,11 +33,13 @@ import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
@@ -50,9 +52,22 @@ import owl.automaton.acceptance.OmegaAcceptanceCast;
 import owl.automaton.acceptance.ParityAcceptance;
 import owl.automaton.algorithm.SccDecomposition;
 import owl.automaton.hoa.HoaWriter;
+import owl.automaton.symbolic.DFISymbolicDPASolver;
+import owl.automaton.symbolic.SymbolicAutomaton;
+import owl.automaton.symbolic.SymbolicController;
+import owl.collections.ImmutableBitSet;
 import owl.game.GameViews;
 import owl.game.PgSolverFormat;
+import owl.game.algorithms.MemoizingZielonkaGameSolver;
+import owl.game.algorithms.OnTheFlyGameSolver;
+import owl.game.algorithms.ParallelZielonkaGameSolver;
+import owl.game.algorithms.ParityGameSolver;
+import owl.game.algorithms.PriorityPromotionGameSolver;
+import owl.game.algorithms.TangleLearningGameSolver;
+import owl.game.algorithms.ZielonkaGameSolver;
+import owl.game.output.AigerPrinter;
 import owl.ltl.SyntacticFragments;
+import owl.thirdparty.picocli.CommandLine;
 
 @SuppressWarnings({"PMD.ImmutableField", "PMD.SystemPrintln"})
 final class MiscCommands {
@@ -1699,7 +1714,8 @@ final class MiscCommands {
       "Converts a deterministic parity automaton into a parity game by splitting the transitions. "
         + "This subcommand outputs the game in the PG-solver format and this command is only "
         + "expected to be used for prototyping, since in practice the resulting files are too "
-        + "large.",
+        + "large. With '--solve' the game is solved instead and 'REALIZABLE' or 'UNREALIZABLE' is "
+        + "printed for each automaton, optionally followed by a controller.",
     hidden = true
   )
   static final class Automaton2GameCommand extends AbstractOwlSubcommand {
@@ -1713,9 +1729,55 @@ final class MiscCommands {
     )
     private Path gameFile = null;
 
+    @Option(
+      names = "--solve",
+      description = "Decide whether the system wins the game instead of writing the game."
+    )
+    private boolean solve = false;
+
+    @Option(
+      names = "--solver",
+      description = {
+        "The parity game solver used by '--solve':",
+        "ON_THE_FLY (default): Explores the game in rounds and stops as soon as the winner of the "
+          + "initial state is known.",
+        "ZIELONKA: Zielonka's recursive algorithm on the explicit game.",
+        "MEMOIZING_ZIELONKA: Zielonka's recursive algorithm on an indexed copy of the game.",
+        "PARALLEL_ZIELONKA: Zielonka's recursive algorithm solving independent SCCs in parallel.",
+        "PRIORITY_PROMOTION: The priority promotion algorithm.",
+        "TANGLE_LEARNING: The tangle learning algorithm."
+      },
+      defaultValue = "ON_THE_FLY",
+      showDefaultValue = CommandLine.Help.Visibility.NEVER
+    )
+    private Solver solver = Solver.ON_THE_FLY;
+
+    @Option(
+      names = "--controller",
+      description = "Print a controller in the ASCII AIGER format after 'REALIZABLE'. The "
+        + "controller is extracted symbolically from the solution of the symbolic DPA solver and "
+        + "does not depend on '--solver'. Requires '--solve'."
+    )
+    private boolean controller = false;
+
     @ArgGroup(multiplicity = "1")
     private InputsOutputs inputsOutputs = null;
 
+    private enum Solver {
+      ON_THE_FLY(OnTheFlyGameSolver::new),
+      ZIELONKA(ZielonkaGameSolver::new),
+      MEMOIZING_ZIELONKA(MemoizingZielonkaGameSolver::new),
+      PARALLEL_ZIELONKA(ParallelZielonkaGameSolver::new),
+      PRIORITY_PROMOTION(PriorityPromotionGameSolver::new),
+      TANGLE_LEARNING(TangleLearningGameSolver::new);
+
+      private final Supplier<ParityGameSolver> constructor;
+
+      Solver(Supplier<ParityGameSolver> constructor) {
+        this.constructor = constructor;
+      }
+    }
+
     private static class InputsOutputs {
       @Option(
         names = {"-e", "--environment"},
@@ -1744,6 +1806,7 @@ final class MiscCommands {
 
     @Override
     protected int run() throws IOException {
+      checkArgument(solve || !controller, "'--controller' requires '--solve'.");
 
       Predicate<String> environmentAtomicProposition;
 
@@ -1761,6 +1824,8 @@ final class MiscCommands {
           = inputsOutputs.environmentPrefix::startsWith;
       }
 
+      ParityGameSolver gameSolver = solver.constructor.get();
+
       try (var source = automatonReader.source(ParityAcceptance.class);
            var sink = new PrintWriter(gameFile == null
              ? new BufferedWriter(new OutputStreamWriter(System.out))
@@ -1770,9 +1835,14 @@ final class MiscCommands {
 
         while (automatonIterator.hasNext()) {
 
+          var completeAutomaton = OmegaAcceptanceCast.cast(
+            Views.complete(automatonIterator.next()), ParityAcceptance.class);
+
+          // ParityUtil does not convert min-parity to max-parity acceptance.
           var automaton = ParityUtil.convert(
-            OmegaAcceptanceCast.cast(
-              Views.complete(automatonIterator.next()), ParityAcceptance.class),
+            completeAutomaton.acceptance().parity().max()
+              ? completeAutomaton
+              : Views.convertParity(completeAutomaton, ParityAcceptance.Parity.MAX_EVEN),
             ParityAcceptance.Parity.MAX_EVEN);
 
           checkArgument(automaton.initialStates().size() <= 1,
@@ -1780,12 +1850,41 @@ final class MiscCommands {
           checkArgument(automaton.is(Automaton.Property.DETERMINISTIC),
             "Input automaton needs to be deterministic");
 
-          PgSolverFormat.write(
-            GameViews.split(automaton, environmentAtomicProposition), sink, false);
+          var game = GameViews.split(automaton, environmentAtomicProposition);
+
+          if (solve) {
+            boolean realizable = gameSolver.realizable(game);
+            sink.println(realizable ? "REALIZABLE" : "UNREALIZABLE");
+
+            if (realizable && controller) {
+              writeController(automaton, environmentAtomicProposition, sink);
+            }
+          } else {
+            PgSolverFormat.write(game, sink, false);
+          }
         }
       }
 
       return 0;
     }
+
+    private static void writeController(Automaton<?, ? extends ParityAcceptance> automaton,
+      Predicate<String> environmentAtomicProposition, PrintWriter sink) {
+
+      var dpa = SymbolicAutomaton.of(
+        Views.convertParity(automaton, ParityAcceptance.Parity.MIN_EVEN));
+      var atomicPropositions = dpa.atomicPropositions();
+      BitSet controlledAps = new BitSet();
+
+      for (int i = 0, s = atomicPropositions.size(); i < s; i++) {
+        controlledAps.set(i, !environmentAtomicProposition.test(atomicPropositions.get(i)));
+      }
+
+      var controlled = ImmutableBitSet.copyOf(controlledAps);
+      var solution = new DFISymbolicDPASolver().solve(dpa, controlled);
+      var printer = new AigerPrinter(false);
+      SymbolicController.of(dpa, controlled, solution).feedTo(printer);
+      printer.print(sink);
+    }
   }
 }
@@ -30,12 +30,15 @@ import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.io.StringWriter;
 import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -75,24 +78,26 @@ final class Mixins {
       source(Class<A> acceptanceClass) {
 
       return Stream.of(automatonFile).flatMap(file -> {
-        try (var reader = "-".equals(file)
-          ? new BufferedReader(new InputStreamReader(System.in))
-          : Files.newBufferedReader(Path.of(file))) {
-
-          List<Automaton<Integer, ? extends A>> automata = new ArrayList<>();
-
-          // Warning: the 'readStream'-method reads until the reader is exhausted and thus this
-          // method blocks in while reading from stdin.
-          HoaReader.readStream(reader,
-            FactorySupplier.defaultSupplier()::getBddSetFactory,
-            null,
-            automaton -> {
-              Preconditions.checkArgument(
-                OmegaAcceptanceCast.isInstanceOf(automaton.acceptance().getClass(),
-                  acceptanceClass),
-                String.format("Expected %s, but got %s.", acceptanceClass, automaton.acceptance()));
-              automata.add(OmegaAcceptanceCast.cast(automaton, acceptanceClass));
-            });
+        List<Automaton<Integer, ? extends A>> automata = new ArrayList<>();
+        Consumer<Automaton<Integer, ?>> consumer = automaton -> {
+          Preconditions.checkArgument(
+            OmegaAcceptanceCast.isInstanceOf(automaton.acceptance().getClass(), acceptanceClass),
+            String.format("Expected %s, but got %s.", acceptanceClass, automaton.acceptance()));
+          automata.add(OmegaAcceptanceCast.cast(automaton, acceptanceClass));
+        };
+
+        try {
+          if ("-".equals(file)) {
+            // Warning: the 'readStream'-method reads until the reader is exhausted and thus this
+            // method blocks in while reading from stdin.
+            try (var reader = new BufferedReader(new InputStreamReader(System.in))) {
+              HoaReader.readStream(reader,
+                FactorySupplier.defaultSupplier()::getBddSetFactory, null, consumer);
+            }
+          } else {
+            HoaReader.readStream(Path.of(file),
+              FactorySupplier.defaultSupplier()::getBddSetFactory, null, consumer);
+          }
 
           return automata.stream();
         } catch (IOException e) {
@@ -140,6 +145,15 @@ final class Mixins {
     )
     private boolean stateLabels = false;
 
+    @Option(
+      names = {"--streaming"},
+      description = "Write each state as soon as it is explored and do not keep the transition "
+        + "relation of the automaton in memory. The header then omits the properties "
+        + "'deterministic' and 'complete', since these are only known after the complete "
+        + "exploration. This option has no effect in combination with '--state-acceptance'."
+    )
+    private boolean streaming = false;
+
     class Sink implements AutoCloseable {
 
       private final BufferedWriter writer;
@@ -162,7 +176,6 @@ final class Mixins {
         this.subcommandArgs = List.copyOf(subcommandArgs);
       }
 
-      @SuppressWarnings("PMD.AvoidReassigningParameters")
       void accept(Automaton<?, ?> automaton, String automatonName)
         throws HOAConsumerException, IOException {
 
@@ -170,11 +183,45 @@ final class Mixins {
           return;
         }
 
+        print(automaton, automatonName, writer);
+        writer.flush();
+      }
+
+      /**
+       * Renders the automaton into a string without writing it to the sink. This method is
+       * thread-safe and allows to compute the (lazily constructed) automaton and its HOA
+       * representation on a different thread than the one writing to the sink.
+       */
+      String render(Automaton<?, ?> automaton, String automatonName)
+        throws HOAConsumerException {
+
+        if (dryRun) {
+          return "";
+        }
+
+        var stringWriter = new StringWriter();
+        print(automaton, automatonName, stringWriter);
+        return stringWriter.toString();
+      }
+
+      void acceptRendered(String renderedAutomaton) throws IOException {
+        if (dryRun) {
+          return;
+        }
+
+        writer.write(renderedAutomaton);
+        writer.flush();
+      }
+
+      @SuppressWarnings("PMD.AvoidReassigningParameters")
+      private void print(Automaton<?, ?> automaton, String automatonName, Writer output)
+        throws HOAConsumerException {
+
         if (complete && !automaton.is(Automaton.Property.COMPLETE)) {
           automaton = Views.complete(automaton);
         }
 
-        var printer = new HOAConsumerPrintFixed(writer);
+        var printer = new HOAConsumerPrintFixed(output);
 
         // Replace this by a fixed version to preserve owl header extension in case of state
         // acceptance.
@@ -188,9 +235,8 @@ final class Mixins {
           stateLabels,
           subcommand,
           subcommandArgs,
-          automatonName);
-
-        writer.flush();
+          automatonName,
+          streaming && !stateAcceptance);
       }
 
       @Override
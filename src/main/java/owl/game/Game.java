@@ -24,7 +24,6 @@ import com.google.common.collect.Sets;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -36,7 +35,6 @@ import owl.collections.Collections3;
 import owl.game.output.AigConsumer;
 import owl.game.output.AigFactory;
 import owl.game.output.AigPrintable;
-import owl.game.output.LabelledAig;
 
 public interface Game<S, A extends EmersonLeiAcceptance> extends Automaton<S, A>, AigPrintable {
 
@@ -55,13 +53,9 @@ public interface Game<S, A extends EmersonLeiAcceptance> extends Automaton<S, A>
   }
 
   default Set<S> getAttractorFixpoint(Collection<S> states, Owner owner) {
+    var index = IndexedGame.of(this);
     Set<S> attractor = new HashSet<>(states);
-    boolean continueIteration = true;
-
-    while (continueIteration) {
-      continueIteration = attractor.addAll(getAttractor(attractor, owner));
-    }
-
+    attractor.addAll(index.states(index.attractor(index.indices(states), owner)));
     return attractor;
   }
 
@@ -81,16 +75,23 @@ public interface Game<S, A extends EmersonLeiAcceptance> extends Automaton<S, A>
     AigFactory factory = new AigFactory();
     inputNames.forEach(consumer::addInput);
 
+    // AIGER latches are reset to 0, hence the initial state is numbered first and encoded by 0.
+    List<S> player2States = new ArrayList<>(states(Owner.PLAYER_2));
+    S initialState = initialState();
+
+    if (player2States.remove(initialState)) {
+      player2States.add(0, initialState);
+    }
+
     // how many latches will we need?
-    int nStates = states(Owner.PLAYER_2).size();
-    int nLatches = (int) Math.ceil(Math.log(nStates) / Math.log(2));
+    int nLatches =
+      Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(player2States.size() - 1, 0));
 
     // create mapping from states to bitsets of latches + inputs
     // where the input bits are always set to 0
     Map<S, BitSet> encoding = new HashMap<>();
-    int iState = inputNames.size() + 1;
 
-    for (S state : states(Owner.PLAYER_2)) {
+    for (int iState = 0; iState < player2States.size(); iState++) {
       int value = iState;
       int index = inputNames.size();
       BitSet b = new BitSet(inputNames.size() + nLatches);
@@ -101,39 +102,46 @@ public interface Game<S, A extends EmersonLeiAcceptance> extends Automaton<S, A>
         index++;
         value >>>= 1;
       }
-      encoding.put(state, b);
-      iState += 1;
+      encoding.put(player2States.get(iState), b);
     }
 
-    // create a list of LabelledAig for the latches and outputs
-    List<LabelledAig> latches = new ArrayList<>(
-      Collections.nCopies(nLatches, factory.getFalse()));
-    List<LabelledAig> outputs = new ArrayList<>(
-      Collections.nCopies(outputNames.size(), factory.getFalse()));
+    // collect for the latches and outputs the valuations of latches + inputs setting them
+    List<List<BitSet>> latches = new ArrayList<>();
+    List<List<BitSet>> outputs = new ArrayList<>();
+
+    for (int i = 0; i < nLatches; i++) {
+      latches.add(new ArrayList<>());
+    }
+
+    for (int i = 0; i < outputNames.size(); i++) {
+      outputs.add(new ArrayList<>());
+    }
 
     // iterate through labelled edges to create latch and output formulas
-    for (S player2State : states(Owner.PLAYER_2)) {
+    for (S player2State : player2States) {
       BitSet stateAndInput = owl.collections.BitSet2.copyOf(encoding.get(player2State));
       stateAndInput.or(choice(player2State, Owner.PLAYER_1));
-      LabelledAig stateAndInputAig = factory.cube(stateAndInput);
 
       // for all set indices in the output valuation
       // we update their transition function
       choice(player2State, Owner.PLAYER_2).stream().forEach(
-        i -> outputs.set(i, factory.disjunction(outputs.get(i), stateAndInputAig)));
+        i -> outputs.get(i).add(stateAndInput));
 
       // we do the same for all set indices in the representation
       // of the successor state
       encoding.get(Iterables.getOnlyElement(successors(player2State))).stream().forEach(
-        i -> latches.set(i, factory.disjunction(latches.get(i), stateAndInputAig)));
+        i -> latches.get(i - inputNames.size()).add(stateAndInput));
     }
 
-    // we finish adding the information to the consumer
-    for (LabelledAig a : latches) {
-      consumer.addLatch("", a);
+    // we finish adding the information to the consumer, the sums of products are factorised
+    int variables = inputNames.size() + nLatches;
+
+    for (List<BitSet> latch : latches) {
+      consumer.addLatch("", factory.sumOfProducts(latch, variables));
     }
 
-    Collections3.forEachPair(outputNames, outputs, consumer::addOutput);
+    Collections3.forEachPair(outputNames, outputs,
+      (name, output) -> consumer.addOutput(name, factory.sumOfProducts(output, variables)));
   }
 
   default Set<S> predecessors(S state, Owner owner) {
@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import owl.automaton.edge.Edge;
+import owl.game.Game.Owner;
+
+/**
+ * An index of a fully explored game. States are numbered from {@code 0} to
+ * {@code stateCount() - 1} and edges from {@code 0} to {@code edgeCount() - 1}. The edges are
+ * stored grouped by their source and for each state the incoming edges are stored as well.
+ *
+ * <p>Attractors are computed with a worklist and per-state counters of the remaining outgoing
+ * edges in time linear in the number of edges. A subgame is described by a mask of states and a
+ * mask of edges: an edge belongs to the subgame if it is contained in the edge mask and its source
+ * and successor are contained in the state mask. Thus a single index can be reused by recursive
+ * algorithms such as {@link owl.game.algorithms.ZielonkaGameSolver}.</p>
+ *
+ * @param <S> the state type of the game.
+ */
+public final class IndexedGame<S> {
+
+  private final List<S> states;
+  private final Map<S, Integer> indices;
+  private final BitSet player2States;
+
+  // Outgoing edges of state s are the indices edgeOffsets[s] until edgeOffsets[s + 1].
+  private final int[] edgeOffsets;
+  private final int[] edgeSources;
+  private final int[] edgeSuccessors;
+  private final List<Edge<S>> edges;
+
+  // Incoming edges of state s are predecessorEdges[predecessorOffsets[s]] until
+  // predecessorEdges[predecessorOffsets[s + 1]].
+  private final int[] predecessorOffsets;
+  private final int[] predecessorEdges;
+
+  private IndexedGame(Game<S, ?> game) {
+    this.states = new ArrayList<>(game.states());
+    this.indices = new HashMap<>();
+    this.player2States = new BitSet();
+
+    for (int i = 0, s = states.size(); i < s; i++) {
+      S state = states.get(i);
+      indices.put(state, i);
+
+      if (game.owner(state) == Owner.PLAYER_2) {
+        player2States.set(i);
+      }
+    }
+
+    this.edgeOffsets = new int[states.size() + 1];
+    this.edges = new ArrayList<>();
+
+    for (int i = 0, s = states.size(); i < s; i++) {
+      edgeOffsets[i] = edges.size();
+      edges.addAll(game.edges(states.get(i)));
+    }
+
+    edgeOffsets[states.size()] = edges.size();
+    this.edgeSources = new int[edges.size()];
+    this.edgeSuccessors = new int[edges.size()];
+    this.predecessorOffsets = new int[states.size() + 1];
+
+    for (int state = 0, s = states.size(); state < s; state++) {
+      for (int edge = edgeOffsets[state]; edge < edgeOffsets[state + 1]; edge++) {
+        int successor = Objects.requireNonNull(indices.get(edges.get(edge).successor()));
+        edgeSources[edge] = state;
+        edgeSuccessors[edge] = successor;
+        predecessorOffsets[successor + 1]++;
+      }
+    }
+
+    for (int state = 0, s = states.size(); state < s; state++) {
+      predecessorOffsets[state + 1] += predecessorOffsets[state];
+    }
+
+    this.predecessorEdges = new int[edges.size()];
+    int[] position = predecessorOffsets.clone();
+
+    for (int edge = 0, s = edges.size(); edge < s; edge++) {
+      predecessorEdges[position[edgeSuccessors[edge]]++] = edge;
+    }
+  }
+
+  /**
+   * Indexes all states and edges of the game.
+   *
+   * @param game the game, which is fully explored.
+   * @param <S> the state type of the game.
+   * @return the index.
+   */
+  public static <S> IndexedGame<S> of(Game<S, ?> game) {
+    return new IndexedGame<>(game);
+  }
+
+  public int stateCount() {
+    return states.size();
+  }
+
+  public S state(int index) {
+    return states.get(index);
+  }
+
+  /**
+   * Returns the index of the state.
+   *
+   * @param state the state.
+   * @return the index of the state or {@code -1} if it is not a state of the game.
+   */
+  public int index(S state) {
+    Integer index = indices.get(state);
+    return index == null ? -1 : index;
+  }
+
+  public BitSet indices(Collection<? extends S> states) {
+    BitSet indices = new BitSet();
+
+    for (S state : states) {
+      int index = index(state);
+
+      if (index >= 0) {
+        indices.set(index);
+      }
+    }
+
+    return indices;
+  }
+
+  public Set<S> states(BitSet indices) {
+    Set<S> states = new LinkedHashSet<>();
+    indices.stream().forEach(index -> states.add(this.states.get(index)));
+    return states;
+  }
+
+  public Owner owner(int state) {
+    return player2States.get(state) ? Owner.PLAYER_2 : Owner.PLAYER_1;
+  }
+
+  public int edgeCount() {
+    return edges.size();
+  }
+
+  public int edgesStart(int state) {
+    return edgeOffsets[state];
+  }
+
+  public int edgesEnd(int state) {
+    return edgeOffsets[state + 1];
+  }
+
+  public int successor(int edge) {
+    return edgeSuccessors[edge];
+  }
+
+  public Edge<S> edge(int edge) {
+    return edges.get(edge);
+  }
+
+  /**
+   * Computes the attractor of {@code target} for {@code owner} in the whole game.
+   *
+   * @param target the indices of the target states.
+   * @param owner the player that wants to reach the target.
+   * @return the indices of the attractor, which includes {@code target}.
+   */
+  public BitSet attractor(BitSet target, Owner owner) {
+    BitSet allStates = new BitSet();
+    allStates.set(0, stateCount());
+    BitSet allEdges = new BitSet();
+    allEdges.set(0, edgeCount());
+    return attractor(target, owner, allStates, allEdges);
+  }
+
+  /**
+   * Computes the attractor of {@code target} for {@code owner} in the subgame given by the masks.
+   * A state of {@code owner} is attracted if one of its edges leads to the attractor and a state of
+   * the opponent if all its edges lead to the attractor. As for
+   * {@link Game#getAttractorFixpoint(Collection, Owner)}, states without edges in the subgame are
+   * only attracted if they are contained in {@code target}.
+   *
+   * @param target the indices of the target states.
+   * @param owner the player that wants to reach the target.
+   * @param states the states of the subgame.
+   * @param edges the edges of the subgame.
+   * @return the indices of the attractor, which includes {@code target}.
+   */
+  public BitSet attractor(BitSet target, Owner owner, BitSet states, BitSet edges) {
+    BitSet attractor = (BitSet) target.clone();
+    int[] workList = new int[stateCount()];
+    int size = 0;
+
+    for (int state = target.nextSetBit(0); state >= 0; state = target.nextSetBit(state + 1)) {
+      if (states.get(state)) {
+        workList[size++] = state;
+      }
+    }
+
+    // For states of the opponent the number of outgoing edges not leading to the attractor. The
+    // counters are initialised when the state is first encountered.
+    int[] remainingEdges = new int[stateCount()];
+    BitSet initialisedCounters = new BitSet();
+
+    while (size > 0) {
+      int state = workList[--size];
+
+      for (int i = predecessorOffsets[state]; i < predecessorOffsets[state + 1]; i++) {
+        int edge = predecessorEdges[i];
+        int predecessor = edgeSources[edge];
+
+        if (attractor.get(predecessor) || !states.get(predecessor) || !edges.get(edge)) {
+          continue;
+        }
+
+        if (owner(predecessor) != owner) {
+          if (!initialisedCounters.get(predecessor)) {
+            initialisedCounters.set(predecessor);
+            remainingEdges[predecessor] = countEdges(predecessor, states, edges);
+          }
+
+          if (--remainingEdges[predecessor] > 0) {
+            continue;
+          }
+        }
+
+        attractor.set(predecessor);
+        workList[size++] = predecessor;
+      }
+    }
+
+    return attractor;
+  }
+
+  private int countEdges(int state, BitSet states, BitSet edges) {
+    int count = 0;
+
+    for (int edge = edgeOffsets[state]; edge < edgeOffsets[state + 1]; edge++) {
+      if (edges.get(edge) && states.get(edgeSuccessors[edge])) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+}
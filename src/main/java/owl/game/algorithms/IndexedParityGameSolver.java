@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game.algorithms;
+
+import static owl.game.Game.Owner.PLAYER_1;
+import static owl.game.Game.Owner.PLAYER_2;
+
+import java.util.BitSet;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.game.Game;
+import owl.game.IndexedGame;
+
+/**
+ * Base class of solvers that run in-process on a {@link ParityGraph}. The game is explored and
+ * indexed once, the winning regions of all states are computed and then mapped back to the states
+ * of the game.
+ */
+abstract class IndexedParityGameSolver implements ParityGameSolver {
+
+  /**
+   * Computes the winning region of player even (player 2).
+   *
+   * @param graph the parity game.
+   * @return the vertices of {@code graph} won by player even.
+   */
+  abstract BitSet solveEven(ParityGraph graph);
+
+  @Override
+  public final <S> boolean realizable(Game<S, ? extends ParityAcceptance> game) {
+    var indexedGame = IndexedGame.of(game);
+    return solveEven(ParityGraph.of(indexedGame, game.acceptance()))
+      .get(indexedGame.index(game.initialState()));
+  }
+
+  @Override
+  public final <S> WinningRegions<S> solve(Game<S, ? extends ParityAcceptance> game) {
+    var indexedGame = IndexedGame.of(game);
+    BitSet player2 = solveEven(ParityGraph.of(indexedGame, game.acceptance()));
+    player2.clear(indexedGame.stateCount(), Math.max(player2.length(), indexedGame.stateCount()));
+    BitSet player1 = new BitSet();
+    player1.set(0, indexedGame.stateCount());
+    player1.andNot(player2);
+
+    var winningRegions = new WinningRegions<>(indexedGame.states(player2), PLAYER_2);
+    winningRegions.addAll(indexedGame.states(player1), PLAYER_1);
+    return winningRegions;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game.algorithms;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Zielonka's recursive algorithm on a {@link ParityGraph}. Subgames are represented as masks of
+ * vertices and the recursion frequently encounters the same subgame again, e.g. after removing the
+ * attractor of the opponent's winning region. Therefore the winning regions of solved subgames
+ * are memoized, which also avoids recomputing the attractors within these subgames.
+ */
+public final class MemoizingZielonkaGameSolver extends IndexedParityGameSolver {
+
+  // Upper bound on the number of words of all memoized bit sets.
+  private static final long MEMO_WORDS = 1L << 24;
+
+  @Override
+  BitSet solveEven(ParityGraph graph) {
+    return solveEven(graph, graph.vertices());
+  }
+
+  /**
+   * Computes the winning region of player even in a subgame.
+   *
+   * @param graph the parity game.
+   * @param vertices the vertices of the subgame, which must not contain dead ends.
+   * @return the vertices of the subgame won by player even.
+   */
+  static BitSet solveEven(ParityGraph graph, BitSet vertices) {
+    return new Instance(graph).solve(vertices);
+  }
+
+  private static final class Instance {
+    private final ParityGraph graph;
+    private final Map<BitSet, BitSet> memo = new HashMap<>();
+    private final long memoCapacity;
+
+    private Instance(ParityGraph graph) {
+      this.graph = graph;
+      this.memoCapacity = Math.max(16, MEMO_WORDS / (graph.vertexCount() / 64 + 1) / 2);
+    }
+
+    // Returns the winning region of player even in the subgame induced by vertices.
+    private BitSet solve(BitSet vertices) {
+      if (vertices.isEmpty()) {
+        return new BitSet();
+      }
+
+      BitSet memoized = memo.get(vertices);
+
+      if (memoized != null) {
+        return (BitSet) memoized.clone();
+      }
+
+      int priority = graph.maxPriority(vertices);
+      boolean player = priority % 2 == 0;
+
+      BitSet subGame = (BitSet) vertices.clone();
+      subGame.andNot(graph.attractor(
+        graph.verticesWithPriority(vertices, priority), player, vertices, null));
+
+      BitSet opponentSubWinning = solve(subGame);
+
+      if (player) {
+        opponentSubWinning.xor(subGame);
+      }
+
+      BitSet even;
+
+      if (opponentSubWinning.isEmpty()) {
+        even = player ? (BitSet) vertices.clone() : new BitSet();
+      } else {
+        BitSet opponentAttractor = graph.attractor(opponentSubWinning, !player, vertices, null);
+        BitSet remaining = (BitSet) vertices.clone();
+        remaining.andNot(opponentAttractor);
+        even = solve(remaining);
+
+        if (!player) {
+          even.or(opponentAttractor);
+        }
+      }
+
+      if (memo.size() >= memoCapacity) {
+        memo.clear();
+      }
+
+      memo.put((BitSet) vertices.clone(), (BitSet) even.clone());
+      return even;
+    }
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game.algorithms;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.automaton.edge.Edge;
+import owl.collections.ImmutableBitSet;
+import owl.game.Game;
+
+/**
+ * Decides realizability while the game is explored. The game is explored breadth-first in rounds
+ * of doubling size. After each round the explored part is solved twice: once with all unexplored
+ * states won by player odd and once with all unexplored states won by player even. States won by
+ * player even in the first and by player odd in the second game are won by the same player in the
+ * whole game. These states are not explored any further and the search stops as soon as the
+ * initial state is decided. Thus the game is only explored completely if necessary, which allows
+ * to use lazily constructed games, e.g. {@link owl.game.GameViews#split}.
+ *
+ * <p>Computing the winning regions of all states requires the whole game, and thus
+ * {@link #solve(Game)} is delegated to the underlying solver.</p>
+ */
+public final class OnTheFlyGameSolver implements ParityGameSolver {
+
+  private final IndexedParityGameSolver solver;
+  private final int initialRound;
+
+  public OnTheFlyGameSolver() {
+    this(new PriorityPromotionGameSolver(), 1024);
+  }
+
+  OnTheFlyGameSolver(IndexedParityGameSolver solver, int initialRound) {
+    checkArgument(initialRound > 0);
+    this.solver = solver;
+    this.initialRound = initialRound;
+  }
+
+  @Override
+  public <S> boolean realizable(Game<S, ? extends ParityAcceptance> game) {
+    var exploration = new Exploration<>(game);
+    int initialState = exploration.index(game.initialState());
+    BitSet even = new BitSet();
+    BitSet odd = new BitSet();
+
+    for (int round = initialRound; ; round = (int) Math.min(2L * round, Integer.MAX_VALUE)) {
+      BitSet decided = (BitSet) even.clone();
+      decided.or(odd);
+      boolean complete = exploration.explore(round, decided);
+
+      // Only states that are explored completely or decided remain if the exploration is complete,
+      // thus the first solution is exact.
+      even.or(exploration.solveEven(solver, even, odd, false));
+
+      if (even.get(initialState)) {
+        return true;
+      }
+
+      if (complete) {
+        return false;
+      }
+
+      BitSet optimisticEven = exploration.solveEven(solver, even, odd, true);
+      optimisticEven.flip(0, exploration.stateCount());
+      odd.or(optimisticEven);
+
+      if (odd.get(initialState)) {
+        return false;
+      }
+    }
+  }
+
+  @Override
+  public <S> WinningRegions<S> solve(Game<S, ? extends ParityAcceptance> game) {
+    return solver.solve(game);
+  }
+
+  private static final class Exploration<S> {
+
+    private final Game<S, ? extends ParityAcceptance> game;
+    private final List<S> states = new ArrayList<>();
+    private final Map<S, Integer> indices = new HashMap<>();
+    private final BitSet player2States = new BitSet();
+    private final Deque<Integer> queue = new ArrayDeque<>();
+
+    // The edges of the explored states, unexplored states have no entry.
+    private final List<List<Edge<S>>> edges = new ArrayList<>();
+
+    private Exploration(Game<S, ? extends ParityAcceptance> game) {
+      this.game = game;
+    }
+
+    private int stateCount() {
+      return states.size();
+    }
+
+    private int index(S state) {
+      Integer index = indices.get(state);
+
+      if (index == null) {
+        index = states.size();
+        states.add(state);
+        indices.put(state, index);
+        edges.add(null);
+        queue.add(index);
+
+        if (game.owner(state) == Game.Owner.PLAYER_2) {
+          player2States.set(index);
+        }
+      }
+
+      return index;
+    }
+
+    /**
+     * Explores the next {@code budget} undecided states.
+     *
+     * @return {@code true} if all undecided states are explored.
+     */
+    private boolean explore(int budget, BitSet decided) {
+      int explored = 0;
+
+      while (explored < budget && !queue.isEmpty()) {
+        int state = queue.remove();
+
+        if (decided.get(state)) {
+          continue;
+        }
+
+        var stateEdges = List.copyOf(game.edges(states.get(state)));
+        edges.set(state, stateEdges);
+        explored++;
+
+        for (Edge<S> edge : stateEdges) {
+          index(edge.successor());
+        }
+      }
+
+      return queue.stream().allMatch(decided::get);
+    }
+
+    /**
+     * Solves the explored part of the game. Decided states and unexplored states are replaced by
+     * an edge to a dead end of the losing player.
+     */
+    private BitSet solveEven(
+      IndexedParityGameSolver solver, BitSet even, BitSet odd, boolean unexploredEven) {
+
+      int stateCount = states.size();
+      // Player odd cannot move in the first and player even cannot move in the second dead end.
+      int evenWins = stateCount;
+      int oddWins = stateCount + 1;
+
+      int[] edgeOffsets = new int[stateCount + 3];
+      List<Integer> edgeSuccessors = new ArrayList<>();
+      List<ImmutableBitSet> edgeColours = new ArrayList<>();
+
+      for (int state = 0; state < stateCount; state++) {
+        edgeOffsets[state] = edgeSuccessors.size();
+        List<Edge<S>> stateEdges = edges.get(state);
+
+        if (even.get(state) || odd.get(state) || stateEdges == null) {
+          boolean evenWinner = even.get(state) || (!odd.get(state) && unexploredEven);
+          edgeSuccessors.add(evenWinner ? evenWins : oddWins);
+          edgeColours.add(ImmutableBitSet.of());
+          continue;
+        }
+
+        for (Edge<S> edge : stateEdges) {
+          edgeSuccessors.add(indices.get(edge.successor()));
+          edgeColours.add(edge.colours());
+        }
+      }
+
+      edgeOffsets[evenWins] = edgeSuccessors.size();
+      edgeOffsets[oddWins] = edgeSuccessors.size();
+      edgeOffsets[stateCount + 2] = edgeSuccessors.size();
+
+      BitSet player2 = (BitSet) player2States.clone();
+      player2.set(oddWins);
+
+      BitSet solution = solver.solveEven(ParityGraph.of(stateCount + 2, player2::get, edgeOffsets,
+        edgeSuccessors.stream().mapToInt(Integer::intValue).toArray(), edgeColours::get,
+        game.acceptance()));
+      solution.clear(stateCount, Math.max(solution.length(), stateCount));
+      return solution;
+    }
+  }
+}
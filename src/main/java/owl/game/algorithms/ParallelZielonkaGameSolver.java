@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A parallel variant of {@link MemoizingZielonkaGameSolver} based on the SCC decomposition of the
+ * game.
+ *
+ * <p>The SCC decomposition is computed once. The SCCs are then processed bottom-up by their height
+ * in the condensation, i.e., the length of the longest path to a bottom SCC. SCCs of the same
+ * height are not connected and are solved in parallel on the common fork-join pool. Once all SCCs
+ * below an SCC are solved, the remaining vertices of the SCC form a subgame: a player can only
+ * leave it towards the winning region of the opponent, since otherwise the vertex would have been
+ * attracted. The attractors of the winning regions are removed before the next height is
+ * processed.</p>
+ */
+public final class ParallelZielonkaGameSolver extends IndexedParityGameSolver {
+
+  @Override
+  BitSet solveEven(ParityGraph graph) {
+    var decomposition = new Decomposition(graph);
+    BitSet remaining = graph.vertices();
+    BitSet even = new BitSet();
+
+    if (decomposition.sccCount == 1) {
+      return MemoizingZielonkaGameSolver.solveEven(graph, remaining);
+    }
+
+    int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+    for (int height = 0; height < decomposition.heightCount; height++) {
+      List<BitSet> subgames = decomposition.subgames(height, remaining, parallelism);
+
+      if (subgames.isEmpty()) {
+        continue;
+      }
+
+      List<BitSet> evenRegions = subgames.size() == 1
+        ? List.of(MemoizingZielonkaGameSolver.solveEven(graph, subgames.get(0)))
+        : subgames.parallelStream()
+          .map(subgame -> MemoizingZielonkaGameSolver.solveEven(graph, subgame))
+          .toList();
+
+      BitSet evenWinning = new BitSet();
+      BitSet oddWinning = new BitSet();
+
+      for (int i = 0; i < subgames.size(); i++) {
+        evenWinning.or(evenRegions.get(i));
+        oddWinning.or(subgames.get(i));
+      }
+
+      oddWinning.andNot(evenWinning);
+
+      // The winning regions are closed in the remaining game and thus their attractors are
+      // disjoint. The attractors only extend to the predecessors of the attracted vertices.
+      BitSet evenAttractor = graph.attractor(evenWinning, true, remaining, null);
+      BitSet oddAttractor = graph.attractor(oddWinning, false, remaining, null);
+      even.or(evenAttractor);
+      remaining.andNot(evenAttractor);
+      remaining.andNot(oddAttractor);
+    }
+
+    assert remaining.isEmpty();
+    return even;
+  }
+
+  /**
+   * The SCC decomposition of a parity graph together with the height of every SCC in the
+   * condensation.
+   */
+  private static final class Decomposition {
+    private final int sccCount;
+    private final int heightCount;
+
+    // The vertices of SCC c are sccVertices[sccOffsets[c]] until sccVertices[sccOffsets[c + 1]],
+    // and the SCCs of height h are heightSccs[heightOffsets[h]] until
+    // heightSccs[heightOffsets[h + 1]].
+    private final int[] sccOffsets;
+    private final int[] sccVertices;
+    private final int[] heightOffsets;
+    private final int[] heightSccs;
+
+    private Decomposition(ParityGraph graph) {
+      int vertexCount = graph.vertexCount();
+      int[] scc = tarjan(graph);
+      sccCount = Arrays.stream(scc).max().orElse(-1) + 1;
+
+      sccOffsets = new int[sccCount + 1];
+      sccVertices = new int[vertexCount];
+      sort(scc, sccOffsets, sccVertices);
+
+      // Tarjan's algorithm completes an SCC after all SCCs reachable from it, hence every edge
+      // leaving SCC c leads to an SCC with a smaller number and heights can be computed in order.
+      int[] height = new int[sccCount];
+
+      for (int c = 0; c < sccCount; c++) {
+        for (int i = sccOffsets[c]; i < sccOffsets[c + 1]; i++) {
+          int vertex = sccVertices[i];
+
+          for (int j = graph.successorsStart(vertex); j < graph.successorsEnd(vertex); j++) {
+            int successorScc = scc[graph.successor(j)];
+
+            if (successorScc != c) {
+              height[c] = Math.max(height[c], height[successorScc] + 1);
+            }
+          }
+        }
+      }
+
+      heightCount = Arrays.stream(height).max().orElse(-1) + 1;
+      heightOffsets = new int[heightCount + 1];
+      heightSccs = new int[sccCount];
+      sort(height, heightOffsets, heightSccs);
+    }
+
+    /**
+     * Returns the remaining vertices of the SCCs of the given height, distributed over at most
+     * {@code parallelism} subgames of similar size. SCCs are not split.
+     */
+    private List<BitSet> subgames(int height, BitSet remaining, int parallelism) {
+      List<BitSet> subgames = new ArrayList<>();
+      int[] sizes = new int[parallelism];
+
+      for (int i = heightOffsets[height]; i < heightOffsets[height + 1]; i++) {
+        int c = heightSccs[i];
+        int size = 0;
+
+        for (int j = sccOffsets[c]; j < sccOffsets[c + 1]; j++) {
+          if (remaining.get(sccVertices[j])) {
+            size++;
+          }
+        }
+
+        if (size == 0) {
+          continue;
+        }
+
+        // Add the SCC to a new subgame or, if there are enough, to the smallest one.
+        int target = subgames.size();
+
+        if (target == parallelism) {
+          target = 0;
+
+          for (int k = 1; k < parallelism; k++) {
+            if (sizes[k] < sizes[target]) {
+              target = k;
+            }
+          }
+        } else {
+          subgames.add(new BitSet());
+        }
+
+        BitSet subgame = subgames.get(target);
+        sizes[target] += size;
+
+        for (int j = sccOffsets[c]; j < sccOffsets[c + 1]; j++) {
+          if (remaining.get(sccVertices[j])) {
+            subgame.set(sccVertices[j]);
+          }
+        }
+      }
+
+      return subgames;
+    }
+
+    // Computes the SCC of every vertex by an iterative version of Tarjan's algorithm. SCCs are
+    // numbered in the order they are completed.
+    private static int[] tarjan(ParityGraph graph) {
+      int vertexCount = graph.vertexCount();
+      int[] index = new int[vertexCount];
+      int[] lowLink = new int[vertexCount];
+      int[] scc = new int[vertexCount];
+      int[] stack = new int[vertexCount];
+      int[] callStack = new int[vertexCount];
+      int[] nextSuccessor = new int[vertexCount];
+      Arrays.fill(index, -1);
+      Arrays.fill(scc, -1);
+
+      int stackSize = 0;
+      int nextIndex = 0;
+      int sccCount = 0;
+
+      for (int root = 0; root < vertexCount; root++) {
+        if (index[root] >= 0) {
+          continue;
+        }
+
+        int callStackSize = 0;
+        index[root] = nextIndex;
+        lowLink[root] = nextIndex;
+        nextIndex++;
+        stack[stackSize++] = root;
+        nextSuccessor[root] = graph.successorsStart(root);
+        callStack[callStackSize++] = root;
+
+        while (callStackSize > 0) {
+          int vertex = callStack[callStackSize - 1];
+
+          if (nextSuccessor[vertex] < graph.successorsEnd(vertex)) {
+            int successor = graph.successor(nextSuccessor[vertex]++);
+
+            if (index[successor] < 0) {
+              index[successor] = nextIndex;
+              lowLink[successor] = nextIndex;
+              nextIndex++;
+              stack[stackSize++] = successor;
+              nextSuccessor[successor] = graph.successorsStart(successor);
+              callStack[callStackSize++] = successor;
+            } else if (scc[successor] < 0) {
+              // The successor is still on the stack.
+              lowLink[vertex] = Math.min(lowLink[vertex], index[successor]);
+            }
+
+            continue;
+          }
+
+          callStackSize--;
+
+          if (callStackSize > 0) {
+            int parent = callStack[callStackSize - 1];
+            lowLink[parent] = Math.min(lowLink[parent], lowLink[vertex]);
+          }
+
+          if (lowLink[vertex] == index[vertex]) {
+            int member;
+
+            do {
+              member = stack[--stackSize];
+              scc[member] = sccCount;
+            } while (member != vertex);
+
+            sccCount++;
+          }
+        }
+      }
+
+      return scc;
+    }
+
+    // Sorts the indices by their key with counting sort.
+    private static void sort(int[] keys, int[] offsets, int[] sorted) {
+      for (int key : keys) {
+        offsets[key + 1]++;
+      }
+
+      for (int i = 1; i < offsets.length; i++) {
+        offsets[i] += offsets[i - 1];
+      }
+
+      int[] position = Arrays.copyOf(offsets, offsets.length - 1);
+
+      for (int i = 0; i < keys.length; i++) {
+        sorted[position[keys[i]]++] = i;
+      }
+    }
+  }
+}
@@ -26,6 +26,11 @@ import java.util.Set;
 import owl.automaton.acceptance.ParityAcceptance;
 import owl.game.Game;
 
+/**
+ * Solver for parity games. Implementations keep no state between calls, thus a single instance
+ * can be used by several threads to solve different games concurrently, e.g., the simulation
+ * games of {@link owl.automaton.algorithm.simulations.BuchiSimulation}.
+ */
 public interface ParityGameSolver {
   <S> boolean realizable(Game<S, ? extends ParityAcceptance> game);
 
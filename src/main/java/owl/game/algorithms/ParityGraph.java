@@ -0,0 +1,387 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game.algorithms;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import javax.annotation.Nullable;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.collections.ImmutableBitSet;
+import owl.game.Game;
+import owl.game.IndexedGame;
+
+/**
+ * A parity game with priorities on vertices stored in flat arrays. Player even (player 2) wins a
+ * play if the maximal priority occurring infinitely often is even.
+ *
+ * <p>The graph obtained by {@link #of(IndexedGame, ParityAcceptance)} uses the indices of the game
+ * states as vertices. A coloured edge is replaced by an intermediate vertex carrying the priority
+ * of the colour, and intermediate vertices are shared by edges with the same successor and
+ * priority. A state without edges is connected to a sink won by its opponent, thus the graph has
+ * no dead ends and a player who cannot move loses.</p>
+ */
+final class ParityGraph {
+
+  private final int[] priorities;
+  private final BitSet even;
+
+  // Successors of vertex v are successors[successorOffsets[v]] until
+  // successors[successorOffsets[v + 1]], and likewise for predecessors.
+  private final int[] successorOffsets;
+  private final int[] successors;
+  private final int[] predecessorOffsets;
+  private final int[] predecessors;
+
+  ParityGraph(int[] priorities, BitSet even, int[] successorOffsets, int[] successors) {
+    checkArgument(successorOffsets.length == priorities.length + 1);
+    checkArgument(successorOffsets[priorities.length] == successors.length);
+
+    this.priorities = priorities;
+    this.even = even;
+    this.successorOffsets = successorOffsets;
+    this.successors = successors;
+
+    int vertexCount = priorities.length;
+    this.predecessorOffsets = new int[vertexCount + 1];
+
+    for (int successor : successors) {
+      predecessorOffsets[successor + 1]++;
+    }
+
+    for (int vertex = 0; vertex < vertexCount; vertex++) {
+      predecessorOffsets[vertex + 1] += predecessorOffsets[vertex];
+    }
+
+    this.predecessors = new int[successors.length];
+    int[] position = predecessorOffsets.clone();
+
+    for (int vertex = 0; vertex < vertexCount; vertex++) {
+      checkArgument(priorities[vertex] >= 0, "Priorities must be non-negative.");
+      checkArgument(successorOffsets[vertex] < successorOffsets[vertex + 1],
+        "Vertex %s has no successor.", vertex);
+
+      for (int i = successorOffsets[vertex]; i < successorOffsets[vertex + 1]; i++) {
+        predecessors[position[successors[i]]++] = vertex;
+      }
+    }
+  }
+
+  static ParityGraph of(IndexedGame<?> game, ParityAcceptance acceptance) {
+    int stateCount = game.stateCount();
+    int[] edgeOffsets = new int[stateCount + 1];
+    int[] edgeSuccessors = new int[game.edgeCount()];
+
+    for (int state = 0; state < stateCount; state++) {
+      edgeOffsets[state] = game.edgesStart(state);
+    }
+
+    edgeOffsets[stateCount] = game.edgeCount();
+
+    for (int edge = 0; edge < edgeSuccessors.length; edge++) {
+      edgeSuccessors[edge] = game.successor(edge);
+    }
+
+    return of(stateCount, state -> game.owner(state) == Game.Owner.PLAYER_2,
+      edgeOffsets, edgeSuccessors, edge -> game.edge(edge).colours(), acceptance);
+  }
+
+  /**
+   * Creates the graph of a game given by flat arrays. The edges of state {@code s} are the indices
+   * {@code edgeOffsets[s]} until {@code edgeOffsets[s + 1]}.
+   *
+   * @param stateCount the number of states.
+   * @param player2 the states owned by player even.
+   * @param edgeOffsets the offsets of the edges of each state.
+   * @param edgeSuccessors the successor of each edge.
+   * @param edgeColours the colours of each edge.
+   * @param acceptance the acceptance condition of the game.
+   * @return the graph, whose first {@code stateCount} vertices are the states.
+   */
+  static ParityGraph of(int stateCount, IntPredicate player2, int[] edgeOffsets,
+    int[] edgeSuccessors, IntFunction<ImmutableBitSet> edgeColours, ParityAcceptance acceptance) {
+    int edgeCount = edgeOffsets[stateCount];
+    boolean max = acceptance.parity().max();
+
+    // Colourless edges are mapped to the lowest priority, which has the parity of the missing
+    // colour.
+    int noColour = max ? -1 : acceptance.acceptanceSets();
+    int shift = acceptance.isAccepting(noColour) ? 0 : 1;
+
+    Map<Long, Integer> intermediates = new HashMap<>();
+    int[] intermediatePriorities = new int[edgeCount];
+    int[] intermediateSuccessors = new int[edgeCount];
+    int[] targets = new int[edgeCount];
+
+    for (int edge = 0; edge < edgeCount; edge++) {
+      var colours = edgeColours.apply(edge);
+      int colour = max ? colours.last().orElse(noColour) : colours.first().orElse(noColour);
+      int successor = edgeSuccessors[edge];
+
+      if (colour == noColour) {
+        targets[edge] = successor;
+        continue;
+      }
+
+      int priority = (max ? colour + 1 : acceptance.acceptanceSets() - colour) + shift;
+      Integer intermediate = intermediates.get(((long) successor << 32) | priority);
+
+      if (intermediate == null) {
+        intermediate = stateCount + intermediates.size();
+        intermediatePriorities[intermediates.size()] = priority;
+        intermediateSuccessors[intermediates.size()] = successor;
+        intermediates.put(((long) successor << 32) | priority, intermediate);
+      }
+
+      targets[edge] = intermediate;
+    }
+
+    int evenSink = stateCount + intermediates.size();
+    int oddSink = evenSink + 1;
+    int vertexCount = oddSink + 1;
+
+    int[] priorities = new int[vertexCount];
+    BitSet even = new BitSet();
+    int[] successorOffsets = new int[vertexCount + 1];
+    int[] successors = new int[edgeCount + intermediates.size() + stateCount + 2];
+    int size = 0;
+
+    for (int state = 0; state < stateCount; state++) {
+      priorities[state] = shift;
+      successorOffsets[state] = size;
+
+      if (player2.test(state)) {
+        even.set(state);
+      }
+
+      if (edgeOffsets[state] == edgeOffsets[state + 1]) {
+        successors[size++] = even.get(state) ? oddSink : evenSink;
+      }
+
+      for (int edge = edgeOffsets[state]; edge < edgeOffsets[state + 1]; edge++) {
+        successors[size++] = targets[edge];
+      }
+    }
+
+    for (int i = 0; i < intermediates.size(); i++) {
+      priorities[stateCount + i] = intermediatePriorities[i];
+      successorOffsets[stateCount + i] = size;
+      successors[size++] = intermediateSuccessors[i];
+    }
+
+    priorities[evenSink] = 0;
+    successorOffsets[evenSink] = size;
+    successors[size++] = evenSink;
+    priorities[oddSink] = 1;
+    successorOffsets[oddSink] = size;
+    successors[size++] = oddSink;
+    successorOffsets[vertexCount] = size;
+
+    int[] trimmedSuccessors = new int[size];
+    System.arraycopy(successors, 0, trimmedSuccessors, 0, size);
+    return new ParityGraph(priorities, even, successorOffsets, trimmedSuccessors);
+  }
+
+  int vertexCount() {
+    return priorities.length;
+  }
+
+  BitSet vertices() {
+    BitSet vertices = new BitSet();
+    vertices.set(0, vertexCount());
+    return vertices;
+  }
+
+  int priority(int vertex) {
+    return priorities[vertex];
+  }
+
+  boolean isEven(int vertex) {
+    return even.get(vertex);
+  }
+
+  int successorsStart(int vertex) {
+    return successorOffsets[vertex];
+  }
+
+  int successorsEnd(int vertex) {
+    return successorOffsets[vertex + 1];
+  }
+
+  int successor(int index) {
+    return successors[index];
+  }
+
+  int maxPriority(BitSet vertices) {
+    int maxPriority = -1;
+
+    for (int vertex = vertices.nextSetBit(0); vertex >= 0;
+         vertex = vertices.nextSetBit(vertex + 1)) {
+      maxPriority = Math.max(maxPriority, priorities[vertex]);
+    }
+
+    return maxPriority;
+  }
+
+  BitSet verticesWithPriority(BitSet vertices, int priority) {
+    BitSet verticesWithPriority = new BitSet();
+
+    for (int vertex = vertices.nextSetBit(0); vertex >= 0;
+         vertex = vertices.nextSetBit(vertex + 1)) {
+      if (priorities[vertex] == priority) {
+        verticesWithPriority.set(vertex);
+      }
+    }
+
+    return verticesWithPriority;
+  }
+
+  /**
+   * Computes the attractor of {@code target} for the given player in the subgame induced by
+   * {@code vertices}.
+   *
+   * @param target the target vertices, only those contained in {@code vertices} are considered.
+   * @param player {@code true} for player even, {@code false} for player odd.
+   * @param vertices the vertices of the subgame.
+   * @param strategy if not {@code null}, the successor chosen by {@code player} is recorded for
+   *     every attracted vertex of {@code player} that is not contained in {@code target}.
+   * @return the attractor, which includes {@code target} restricted to {@code vertices}.
+   */
+  BitSet attractor(BitSet target, boolean player, BitSet vertices, @Nullable int[] strategy) {
+    return new Attractor(this, player, vertices, strategy).addAll(target).compute();
+  }
+
+  /**
+   * An attractor computation that can be extended by further target vertices while running.
+   */
+  static class Attractor {
+    private final ParityGraph graph;
+    private final boolean player;
+    private final BitSet vertices;
+    @Nullable
+    private final int[] strategy;
+
+    private final BitSet attractor = new BitSet();
+    private final int[] workList;
+    private int size = 0;
+
+    // For vertices of the opponent the number of successors in the subgame not leading to the
+    // attractor. The counters are initialised when the vertex is first encountered.
+    private final int[] remainingSuccessors;
+    private final BitSet initialisedCounters = new BitSet();
+
+    Attractor(ParityGraph graph, boolean player, BitSet vertices, @Nullable int[] strategy) {
+      this.graph = graph;
+      this.player = player;
+      this.vertices = vertices;
+      this.strategy = strategy;
+      this.workList = new int[graph.vertexCount()];
+      this.remainingSuccessors = new int[graph.vertexCount()];
+    }
+
+    Attractor addAll(BitSet target) {
+      for (int vertex = target.nextSetBit(0); vertex >= 0;
+           vertex = target.nextSetBit(vertex + 1)) {
+        add(vertex);
+      }
+
+      return this;
+    }
+
+    boolean add(int vertex) {
+      if (!vertices.get(vertex) || attractor.get(vertex)) {
+        return false;
+      }
+
+      attractor.set(vertex);
+      workList[size++] = vertex;
+      return true;
+    }
+
+    boolean contains(int vertex) {
+      return attractor.get(vertex);
+    }
+
+    /**
+     * Processes the work list and returns the attractor. The method {@link #attracted(int)} is
+     * called for every vertex when it is removed from the work list.
+     */
+    BitSet compute() {
+      while (size > 0) {
+        int vertex = workList[--size];
+        attracted(vertex);
+
+        for (int i = graph.predecessorOffsets[vertex]; i < graph.predecessorOffsets[vertex + 1];
+             i++) {
+          int predecessor = graph.predecessors[i];
+
+          if (attractor.get(predecessor) || !vertices.get(predecessor)) {
+            continue;
+          }
+
+          if (graph.isEven(predecessor) == player) {
+            if (strategy != null) {
+              strategy[predecessor] = vertex;
+            }
+          } else {
+            if (!initialisedCounters.get(predecessor)) {
+              initialisedCounters.set(predecessor);
+              remainingSuccessors[predecessor] = countSuccessors(predecessor);
+            }
+
+            if (--remainingSuccessors[predecessor] > 0) {
+              continue;
+            }
+          }
+
+          attractor.set(predecessor);
+          workList[size++] = predecessor;
+        }
+      }
+
+      return attractor;
+    }
+
+    /**
+     * Called once for every vertex of the attractor. Subclasses may {@link #add(int)} further
+     * vertices.
+     */
+    void attracted(int vertex) {
+      // Plain attractors attract only via single vertices.
+    }
+
+    private int countSuccessors(int vertex) {
+      int count = 0;
+
+      for (int i = graph.successorsStart(vertex); i < graph.successorsEnd(vertex); i++) {
+        if (vertices.get(graph.successor(i))) {
+          count++;
+        }
+      }
+
+      return count;
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game.algorithms;
+
+import java.util.BitSet;
+
+/**
+ * The priority promotion algorithm by Benerecetti, Dell'Erba and Mogavero on a
+ * {@link ParityGraph}.
+ *
+ * <p>The game is decomposed top-down into regions: the region of priority {@code p} is the
+ * attractor of the vertices with region priority {@code p} for the player of parity {@code p} in
+ * the subgame of all vertices with lower region priority. If the opponent can only leave a region
+ * towards regions of higher priority, the region is promoted to the lowest of these and all lower
+ * regions are reset. If the opponent cannot leave a region at all, it is a dominion and its
+ * attractor is removed from the game.</p>
+ */
+public final class PriorityPromotionGameSolver extends IndexedParityGameSolver {
+
+  @Override
+  BitSet solveEven(ParityGraph graph) {
+    BitSet game = graph.vertices();
+    BitSet even = new BitSet();
+    int[] regions = new int[graph.vertexCount()];
+
+    while (!game.isEmpty()) {
+      for (int vertex = game.nextSetBit(0); vertex >= 0; vertex = game.nextSetBit(vertex + 1)) {
+        regions[vertex] = graph.priority(vertex);
+      }
+
+      BitSet dominion = null;
+      boolean player = false;
+      int priority = graph.maxPriority(game);
+
+      while (dominion == null) {
+        player = priority % 2 == 0;
+
+        BitSet subGame = new BitSet();
+        BitSet base = new BitSet();
+
+        for (int vertex = game.nextSetBit(0); vertex >= 0;
+             vertex = game.nextSetBit(vertex + 1)) {
+          if (regions[vertex] <= priority) {
+            subGame.set(vertex);
+          }
+
+          if (regions[vertex] == priority) {
+            base.set(vertex);
+          }
+        }
+
+        BitSet region = graph.attractor(base, player, subGame, null);
+        int escape = escape(graph, game, subGame, region, player, regions);
+
+        if (escape == -1) {
+          // The region is open in the subgame and we continue with the next lower priority.
+          int nextPriority = -1;
+
+          for (int vertex = subGame.nextSetBit(0); vertex >= 0;
+               vertex = subGame.nextSetBit(vertex + 1)) {
+            if (region.get(vertex)) {
+              regions[vertex] = priority;
+            } else {
+              nextPriority = Math.max(nextPriority, regions[vertex]);
+            }
+          }
+
+          assert nextPriority >= 0 : "the lowest region is always closed";
+          priority = nextPriority;
+        } else if (escape == Integer.MAX_VALUE) {
+          dominion = graph.attractor(region, player, game, null);
+        } else {
+          // Promote the region and reset all lower regions.
+          for (int vertex = game.nextSetBit(0); vertex >= 0;
+               vertex = game.nextSetBit(vertex + 1)) {
+            if (region.get(vertex)) {
+              regions[vertex] = escape;
+            } else if (regions[vertex] < escape) {
+              regions[vertex] = graph.priority(vertex);
+            }
+          }
+
+          priority = escape;
+        }
+      }
+
+      if (player) {
+        even.or(dominion);
+      }
+
+      game.andNot(dominion);
+    }
+
+    return even;
+  }
+
+  /**
+   * Checks whether the region is closed in the subgame and computes the lowest region priority the
+   * opponent can escape to.
+   *
+   * @return {@code -1} if the region is open, {@link Integer#MAX_VALUE} if the opponent cannot
+   *     leave the region, and the lowest priority of a region the opponent can escape to otherwise.
+   */
+  private static int escape(ParityGraph graph, BitSet game, BitSet subGame, BitSet region,
+    boolean player, int[] regions) {
+
+    int escape = Integer.MAX_VALUE;
+
+    for (int vertex = region.nextSetBit(0); vertex >= 0; vertex = region.nextSetBit(vertex + 1)) {
+      boolean stays = false;
+
+      for (int i = graph.successorsStart(vertex); i < graph.successorsEnd(vertex); i++) {
+        int successor = graph.successor(i);
+
+        if (region.get(successor)) {
+          stays = true;
+        } else if (graph.isEven(vertex) != player) {
+          if (subGame.get(successor)) {
+            return -1;
+          }
+
+          if (game.get(successor)) {
+            escape = Math.min(escape, regions[successor]);
+          }
+        }
+      }
+
+      if (!stays && graph.isEven(vertex) == player) {
+        return -1;
+      }
+    }
+
+    return escape;
+  }
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game.algorithms;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The tangle learning algorithm by van Dijk on a {@link ParityGraph}.
+ *
+ * <p>A tangle is a strongly connected set of vertices together with a strategy for the player of
+ * its maximal priority such that all cycles are won by this player. The game is decomposed
+ * top-down into regions, where the attractor computation also attracts a tangle if all its exits
+ * lead to the region. Every closed region yields new tangles, namely the bottom strongly connected
+ * components of the region restricted to the strategy of its player. A tangle without exits is a
+ * dominion and its attractor is removed from the game.</p>
+ */
+public final class TangleLearningGameSolver extends IndexedParityGameSolver {
+
+  @Override
+  BitSet solveEven(ParityGraph graph) {
+    return new Instance(graph).solve();
+  }
+
+  private record Tangle(boolean player, BitSet vertices, int[] strategy, int[] escapes) {}
+
+  private static final class Instance {
+    private final ParityGraph graph;
+    private final List<Tangle> tangles = new ArrayList<>();
+    private final Set<BitSet> learnedTangles = new HashSet<>();
+    private final int[] strategy;
+
+    // State of Tarjan's algorithm, index 0 denotes an unvisited vertex.
+    private final int[] index;
+    private final int[] lowLink;
+    private final int[] nextSuccessor;
+    private final int[] stack;
+    private final int[] callStack;
+
+    private Instance(ParityGraph graph) {
+      this.graph = graph;
+      this.strategy = new int[graph.vertexCount()];
+      this.index = new int[graph.vertexCount()];
+      this.lowLink = new int[graph.vertexCount()];
+      this.nextSuccessor = new int[graph.vertexCount()];
+      this.stack = new int[graph.vertexCount()];
+      this.callStack = new int[graph.vertexCount()];
+    }
+
+    private BitSet solve() {
+      BitSet game = graph.vertices();
+      BitSet even = new BitSet();
+
+      while (!game.isEmpty()) {
+        List<Tangle> dominions = search(game);
+
+        if (dominions.isEmpty()) {
+          continue;
+        }
+
+        BitSet removed = new BitSet();
+
+        for (Tangle dominion : dominions) {
+          if (dominion.vertices().intersects(removed)) {
+            continue;
+          }
+
+          BitSet attractor = graph.attractor(dominion.vertices(), dominion.player(), game, null);
+
+          if (dominion.player()) {
+            even.or(attractor);
+          }
+
+          game.andNot(attractor);
+          removed.or(attractor);
+        }
+
+        tangles.removeIf(tangle -> {
+          if (tangle.vertices().intersects(removed)) {
+            learnedTangles.remove(tangle.vertices());
+            return true;
+          }
+
+          return false;
+        });
+      }
+
+      return even;
+    }
+
+    // Decomposes the game into regions, learns new tangles and returns the found dominions.
+    private List<Tangle> search(BitSet game) {
+      List<Tangle> dominions = new ArrayList<>();
+      boolean learned = false;
+      BitSet subGame = (BitSet) game.clone();
+
+      while (!subGame.isEmpty()) {
+        int priority = graph.maxPriority(subGame);
+        boolean player = priority % 2 == 0;
+        BitSet top = graph.verticesWithPriority(subGame, priority);
+        BitSet region = new TangleAttractor(player, subGame).addAll(top).compute();
+
+        if (isClosed(subGame, region, top, player)) {
+          for (BitSet component : bottomComponents(region, player)) {
+            var tangle = tangle(game, component, player);
+
+            if (tangle.escapes().length == 0) {
+              dominions.add(tangle);
+            } else if (learnedTangles.add(component)) {
+              tangles.add(tangle);
+              learned = true;
+            }
+          }
+        }
+
+        subGame.andNot(region);
+      }
+
+      checkState(learned || !dominions.isEmpty(), "Tangle learning did not make progress.");
+      return dominions;
+    }
+
+    // Checks that the player can stay in the region from the top vertices and that the opponent
+    // cannot leave the region towards the subgame. The strategy of the top vertices is fixed.
+    private boolean isClosed(BitSet subGame, BitSet region, BitSet top, boolean player) {
+      for (int vertex = top.nextSetBit(0); vertex >= 0; vertex = top.nextSetBit(vertex + 1)) {
+        boolean stays = false;
+
+        for (int i = graph.successorsStart(vertex); i < graph.successorsEnd(vertex); i++) {
+          int successor = graph.successor(i);
+
+          if (graph.isEven(vertex) == player) {
+            if (region.get(successor)) {
+              strategy[vertex] = successor;
+              stays = true;
+              break;
+            }
+          } else if (subGame.get(successor) && !region.get(successor)) {
+            return false;
+          }
+        }
+
+        if (!stays && graph.isEven(vertex) == player) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    private Tangle tangle(BitSet game, BitSet component, boolean player) {
+      int[] tangleStrategy = new int[component.cardinality()];
+      BitSet escapes = new BitSet();
+      int i = 0;
+
+      for (int vertex = component.nextSetBit(0); vertex >= 0;
+           vertex = component.nextSetBit(vertex + 1)) {
+        if (graph.isEven(vertex) == player) {
+          tangleStrategy[i] = strategy[vertex];
+        } else {
+          tangleStrategy[i] = -1;
+
+          for (int j = graph.successorsStart(vertex); j < graph.successorsEnd(vertex); j++) {
+            int successor = graph.successor(j);
+
+            if (game.get(successor) && !component.get(successor)) {
+              escapes.set(successor);
+            }
+          }
+        }
+
+        i++;
+      }
+
+      return new Tangle(player, component, tangleStrategy, escapes.stream().toArray());
+    }
+
+    // Computes the bottom strongly connected components of the region, where the vertices of the
+    // player follow the strategy and the vertices of the opponent keep all edges within the
+    // region, with an iterative variant of Tarjan's algorithm.
+    private List<BitSet> bottomComponents(BitSet region, boolean player) {
+      List<BitSet> components = new ArrayList<>();
+      int counter = 0;
+      int stackSize = 0;
+      BitSet onStack = new BitSet();
+
+      for (int root = region.nextSetBit(0); root >= 0; root = region.nextSetBit(root + 1)) {
+        if (index[root] != 0) {
+          continue;
+        }
+
+        int callStackSize = 0;
+        counter++;
+        index[root] = counter;
+        lowLink[root] = counter;
+        nextSuccessor[root] = graph.isEven(root) == player ? -1 : graph.successorsStart(root);
+        stack[stackSize++] = root;
+        onStack.set(root);
+        callStack[callStackSize++] = root;
+
+        while (callStackSize > 0) {
+          int vertex = callStack[callStackSize - 1];
+          int successor = next(vertex, region, player);
+
+          if (successor >= 0) {
+            if (index[successor] == 0) {
+              counter++;
+              index[successor] = counter;
+              lowLink[successor] = counter;
+              nextSuccessor[successor] =
+                graph.isEven(successor) == player ? -1 : graph.successorsStart(successor);
+              stack[stackSize++] = successor;
+              onStack.set(successor);
+              callStack[callStackSize++] = successor;
+            } else if (onStack.get(successor)) {
+              lowLink[vertex] = Math.min(lowLink[vertex], index[successor]);
+            }
+
+            continue;
+          }
+
+          callStackSize--;
+
+          if (callStackSize > 0) {
+            int parent = callStack[callStackSize - 1];
+            lowLink[parent] = Math.min(lowLink[parent], lowLink[vertex]);
+          }
+
+          if (lowLink[vertex] == index[vertex]) {
+            BitSet component = new BitSet();
+            int member;
+
+            do {
+              member = stack[--stackSize];
+              onStack.clear(member);
+              component.set(member);
+            } while (member != vertex);
+
+            if (isBottom(component, region, player)) {
+              components.add(component);
+            }
+          }
+        }
+      }
+
+      for (int vertex = region.nextSetBit(0); vertex >= 0;
+           vertex = region.nextSetBit(vertex + 1)) {
+        index[vertex] = 0;
+      }
+
+      return components;
+    }
+
+    // Returns the next successor of the vertex in the restricted region or -1.
+    private int next(int vertex, BitSet region, boolean player) {
+      if (graph.isEven(vertex) == player) {
+        if (nextSuccessor[vertex] == -1) {
+          nextSuccessor[vertex] = 0;
+          return strategy[vertex];
+        }
+
+        return -1;
+      }
+
+      while (nextSuccessor[vertex] < graph.successorsEnd(vertex)) {
+        int successor = graph.successor(nextSuccessor[vertex]++);
+
+        if (region.get(successor)) {
+          return successor;
+        }
+      }
+
+      return -1;
+    }
+
+    private boolean isBottom(BitSet component, BitSet region, boolean player) {
+      for (int vertex = component.nextSetBit(0); vertex >= 0;
+           vertex = component.nextSetBit(vertex + 1)) {
+        if (graph.isEven(vertex) == player) {
+          if (!component.get(strategy[vertex])) {
+            return false;
+          }
+
+          continue;
+        }
+
+        for (int i = graph.successorsStart(vertex); i < graph.successorsEnd(vertex); i++) {
+          int successor = graph.successor(i);
+
+          if (region.get(successor) && !component.get(successor)) {
+            return false;
+          }
+        }
+      }
+
+      return true;
+    }
+
+    /**
+     * An attractor that additionally attracts the tangles of the player contained in the subgame
+     * whose escapes within the subgame all lead to the attractor.
+     */
+    private final class TangleAttractor extends ParityGraph.Attractor {
+      private final List<Tangle> candidates = new ArrayList<>();
+      private final int[] remainingEscapes;
+      private final Map<Integer, List<Integer>> escapeIndex = new HashMap<>();
+
+      private TangleAttractor(boolean player, BitSet subGame) {
+        super(graph, player, subGame, strategy);
+
+        for (Tangle tangle : tangles) {
+          if (tangle.player() != player || !contains(subGame, tangle.vertices())) {
+            continue;
+          }
+
+          int candidate = candidates.size();
+          candidates.add(tangle);
+
+          for (int escape : tangle.escapes()) {
+            if (subGame.get(escape)) {
+              escapeIndex.computeIfAbsent(escape, x -> new ArrayList<>()).add(candidate);
+            }
+          }
+        }
+
+        remainingEscapes = new int[candidates.size()];
+
+        for (List<Integer> candidateList : escapeIndex.values()) {
+          for (int candidate : candidateList) {
+            remainingEscapes[candidate]++;
+          }
+        }
+
+        for (int candidate = 0; candidate < candidates.size(); candidate++) {
+          if (remainingEscapes[candidate] == 0) {
+            attractTangle(candidates.get(candidate));
+          }
+        }
+      }
+
+      @Override
+      void attracted(int vertex) {
+        List<Integer> candidateList = escapeIndex.get(vertex);
+
+        if (candidateList == null) {
+          return;
+        }
+
+        for (int candidate : candidateList) {
+          if (--remainingEscapes[candidate] == 0) {
+            attractTangle(candidates.get(candidate));
+          }
+        }
+      }
+
+      private void attractTangle(Tangle tangle) {
+        BitSet vertices = tangle.vertices();
+        int i = 0;
+
+        for (int vertex = vertices.nextSetBit(0); vertex >= 0;
+             vertex = vertices.nextSetBit(vertex + 1)) {
+          if (add(vertex) && tangle.strategy()[i] >= 0) {
+            strategy[vertex] = tangle.strategy()[i];
+          }
+
+          i++;
+        }
+      }
+
+      private static boolean contains(BitSet set, BitSet subset) {
+        for (int i = subset.nextSetBit(0); i >= 0; i = subset.nextSetBit(i + 1)) {
+          if (!set.get(i)) {
+            return false;
+          }
+        }
+
+        return true;
+      }
+    }
+  }
+}
@@ -22,103 +22,171 @@ package owl.game.algorithms;
 import static owl.game.Game.Owner.PLAYER_1;
 import static owl.game.Game.Owner.PLAYER_2;
 
-import com.google.common.collect.Sets;
-import java.util.Objects;
-import java.util.Set;
-import java.util.function.Predicate;
+import java.util.BitSet;
 import owl.automaton.acceptance.ParityAcceptance;
-import owl.automaton.edge.Edge;
 import owl.game.Game;
-import owl.game.GameViews;
+import owl.game.IndexedGame;
 
 public final class ZielonkaGameSolver implements ParityGameSolver {
 
   // The convention here is that player 2 wants to satisfy the parity condition
   // that is, get a minimal colour appearing infinitely often to be accepting.
-  // Also, player 1 chooses actions BEFORE player 2 does
-  private static <S> WinningRegions<S> recursiveZielonka(Game<S, ? extends ParityAcceptance> game) {
-    Set<S> states = game.states();
-    ParityAcceptance acceptance = game.acceptance();
+  // Also, player 1 chooses actions BEFORE player 2 does.
+  //
+  // The game is indexed once and sub-games are represented by a mask of states and a mask of
+  // edges. As for filtered views, a sub-game only contains the states that are reachable from the
+  // initial states within the sub-game, thus callers pass an already restricted mask.
+  private static Regions recursiveZielonka(IndexedGame<?> game, int[] colours,
+    ParityAcceptance acceptance, BitSet initialStates, BitSet states, BitSet edges) {
+
     boolean max = acceptance.parity().max();
 
     // get the minimal colour in the game
     int extremalColour = max ? -1 : acceptance.acceptanceSets();
 
-    for (S state : states) {
-      for (Edge<S> edge : game.edges(state)) {
-        if (max) {
-          extremalColour = Math.max(extremalColour, edge.colours().last().orElse(extremalColour));
-        } else {
-          extremalColour = Math.min(extremalColour, edge.colours().first().orElse(extremalColour));
+    for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+      for (int edge = game.edgesStart(state); edge < game.edgesEnd(state); edge++) {
+        if (isActive(game, edge, states, edges) && colours[edge] >= 0) {
+          extremalColour = max
+            ? Math.max(extremalColour, colours[edge])
+            : Math.min(extremalColour, colours[edge]);
         }
       }
     }
 
-    int theExtremalColour = extremalColour;
-
     // if the extremal colour did not change, we have a winner
-    Game.Owner ourHorse = acceptance.isAccepting(theExtremalColour) ? PLAYER_2 : PLAYER_1;
+    Game.Owner ourHorse = acceptance.isAccepting(extremalColour) ? PLAYER_2 : PLAYER_1;
 
-    if (max ? theExtremalColour == -1 : theExtremalColour == acceptance.acceptanceSets()) {
-      return new WinningRegions<>(states, ourHorse);
+    if (max ? extremalColour == -1 : extremalColour == acceptance.acceptanceSets()) {
+      return new Regions(states, ourHorse);
     }
 
     // lets get the set of all target states, this will depend on
     // whether the minimal colour is winning for player 1 and on
     // which states have one (or all) successors of the minimal
     // colour
-    Predicate<Edge<S>> hasExtremalColour = y -> max
-      ? y.colours().last().orElse(-2) == theExtremalColour
-      : y.colours().first().orElse(-2) == theExtremalColour;
+    BitSet extremalEdges = new BitSet();
+    BitSet winningStates = new BitSet();
 
-    Set<S> winningStates = Sets.filter(states, state -> {
-      Objects.requireNonNull(state);
+    for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+      boolean anyMatch = false;
+      boolean allMatch = true;
 
-      if (game.owner(state) != PLAYER_2) {
-        return false;
-      }
+      for (int edge = game.edgesStart(state); edge < game.edgesEnd(state); edge++) {
+        if (!isActive(game, edge, states, edges)) {
+          continue;
+        }
 
-      if (PLAYER_2 == ourHorse) {
-        return game.edges(state).stream().anyMatch(hasExtremalColour);
+        if (colours[edge] == extremalColour) {
+          extremalEdges.set(edge);
+          anyMatch = true;
+        } else {
+          allMatch = false;
+        }
       }
 
-      return game.edges(state).stream().allMatch(hasExtremalColour);
-    });
+      if (game.owner(state) == PLAYER_2 && (PLAYER_2 == ourHorse ? anyMatch : allMatch)) {
+        winningStates.set(state);
+      }
+    }
 
     // NOTE: winningStates may be empty! this is because it is actually
     // the second layer of the attractor fixpoint, with the coloured edges
     // being the first layer
-    assert winningStates.stream().allMatch(x -> game.owner(x) == PLAYER_2);
 
-    // we now compute the attractor of the winning states and get a filtered
-    // game without the attractor states
-    Set<S> losingSet = Sets.difference(states,
-      game.getAttractorFixpoint(winningStates, ourHorse));
+    // we now compute the attractor of the winning states and get a
+    // sub-game without the attractor states and the coloured edges
+    BitSet losingSet = (BitSet) states.clone();
+    losingSet.andNot(game.attractor(winningStates, ourHorse, states, edges));
 
-    var subGame = GameViews.filter(game,
-      losingSet::contains, hasExtremalColour.negate());
-    WinningRegions<S> subWinning = recursiveZielonka(subGame);
+    BitSet subGameEdges = (BitSet) edges.clone();
+    subGameEdges.andNot(extremalEdges);
+
+    BitSet subGameStates = reachable(game, initialStates, losingSet, subGameEdges);
+    Regions subWinning =
+      recursiveZielonka(game, colours, acceptance, initialStates, subGameStates, subGameEdges);
 
     // if in the sub-game our horse wins everywhere, then he's the winner
-    if (subWinning.winningRegion(ourHorse).containsAll(subGame.states())) {
-      return new WinningRegions<>(states, ourHorse);
+    BitSet opponentSubWinning = subWinning.of(ourHorse.opponent());
+    BitSet remainingStates = (BitSet) subGameStates.clone();
+    remainingStates.andNot(subWinning.of(ourHorse));
+
+    if (remainingStates.isEmpty()) {
+      return new Regions(states, ourHorse);
     }
 
     // otherwise, we have to test a different sub-game
-    Set<S> opponentAttractor =
-      game.getAttractorFixpoint(subWinning.winningRegion(ourHorse.opponent()), ourHorse.opponent());
+    BitSet opponentAttractor =
+      game.attractor(opponentSubWinning, ourHorse.opponent(), states, edges);
+
+    BitSet difference = (BitSet) states.clone();
+    difference.andNot(opponentAttractor);
+    Regions newSubWinning = recursiveZielonka(game, colours, acceptance, initialStates,
+      reachable(game, initialStates, difference, edges), edges);
+    newSubWinning.of(ourHorse.opponent()).or(opponentAttractor);
+    return newSubWinning;
+  }
 
-    Set<S> difference = Sets.difference(states, opponentAttractor);
-    WinningRegions<S> newSubWinning =
-      recursiveZielonka(GameViews.filter(game, difference::contains));
-    newSubWinning.addAll(opponentAttractor, ourHorse.opponent());
+  private static boolean isActive(IndexedGame<?> game, int edge, BitSet states, BitSet edges) {
+    return edges.get(edge) && states.get(game.successor(edge));
+  }
 
-    return newSubWinning;
+  // Restricts the sub-game given by the masks to the states reachable from the initial states.
+  private static BitSet reachable(
+    IndexedGame<?> game, BitSet initialStates, BitSet states, BitSet edges) {
+
+    BitSet reachable = (BitSet) initialStates.clone();
+    reachable.and(states);
+    int[] workList = new int[game.stateCount()];
+    int size = 0;
+
+    for (int state = reachable.nextSetBit(0); state >= 0; state = reachable.nextSetBit(state + 1)) {
+      workList[size++] = state;
+    }
+
+    while (size > 0) {
+      int state = workList[--size];
+
+      for (int edge = game.edgesStart(state); edge < game.edgesEnd(state); edge++) {
+        int successor = game.successor(edge);
+
+        if (isActive(game, edge, states, edges) && !reachable.get(successor)) {
+          reachable.set(successor);
+          workList[size++] = successor;
+        }
+      }
+    }
+
+    return reachable;
+  }
+
+  private static <S> Regions recursiveZielonka(
+    IndexedGame<S> game, Game<S, ? extends ParityAcceptance> parityGame, BitSet initialStates) {
+
+    ParityAcceptance acceptance = parityGame.acceptance();
+    int[] colours = new int[game.edgeCount()];
+
+    for (int edge = 0; edge < colours.length; edge++) {
+      var edgeColours = game.edge(edge).colours();
+      colours[edge] = acceptance.parity().max()
+        ? edgeColours.last().orElse(-1)
+        : edgeColours.first().orElse(-1);
+    }
+
+    BitSet states = new BitSet();
+    states.set(0, game.stateCount());
+    BitSet edges = new BitSet();
+    edges.set(0, game.edgeCount());
+    return recursiveZielonka(game, colours, acceptance, initialStates,
+      reachable(game, initialStates, states, edges), edges);
   }
 
   public static <S> boolean zielonkaRealizability(Game<S, ? extends ParityAcceptance> game) {
-    return recursiveZielonka(GameViews.replaceInitialStates(game, game.states()))
-      .player2.contains(game.initialState());
+    var indexedGame = IndexedGame.of(game);
+    BitSet initialStates = new BitSet();
+    initialStates.set(0, indexedGame.stateCount());
+    return recursiveZielonka(indexedGame, game, initialStates)
+      .player2.get(indexedGame.index(game.initialState()));
   }
 
   @Override
@@ -128,6 +196,21 @@ public final class ZielonkaGameSolver implements ParityGameSolver {
 
   @Override
   public <S> WinningRegions<S> solve(Game<S, ? extends ParityAcceptance> game) {
-    return ZielonkaGameSolver.recursiveZielonka(game);
+    var indexedGame = IndexedGame.of(game);
+    var regions = recursiveZielonka(indexedGame, game, indexedGame.indices(game.initialStates()));
+    var winningRegions = new WinningRegions<>(indexedGame.states(regions.player2), PLAYER_2);
+    winningRegions.addAll(indexedGame.states(regions.player1), PLAYER_1);
+    return winningRegions;
+  }
+
+  private record Regions(BitSet player1, BitSet player2) {
+    private Regions(BitSet states, Game.Owner owner) {
+      this(owner == PLAYER_1 ? (BitSet) states.clone() : new BitSet(),
+        owner == PLAYER_2 ? (BitSet) states.clone() : new BitSet());
+    }
+
+    private BitSet of(Game.Owner owner) {
+      return owner == PLAYER_1 ? player1 : player2;
+    }
   }
 }
@@ -22,6 +22,7 @@ package owl.game.output;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.auto.value.AutoValue;
+import com.google.auto.value.extension.memoized.Memoized;
 import javax.annotation.Nullable;
 
 @AutoValue
@@ -66,4 +67,9 @@ public abstract class Aig {
   public boolean isVariable() {
     return isLeaf() && !isConstant();
   }
+
+  // AIGs are directed acyclic graphs and recomputing the hash code would unfold them into trees.
+  @Memoized
+  @Override
+  public abstract int hashCode();
 }
@@ -19,18 +19,45 @@
 
 package owl.game.output;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 
+/**
+ * Constructs and-inverter graphs. Gates are structurally hashed: the operands of a gate are
+ * normalised by their literal, such that a conjunction and its commuted version share the same
+ * gate. Before a gate is created, constants are propagated and the local two-level rewriting rules
+ * of Brummayer and Biere (contradiction, idempotence, subsumption and substitution) are applied.
+ */
 public final class AigFactory {
   /* To avoid constructing too many AIGs for the same function, we shall keep
-   * track of those we have already constructed.
+   * track of those we have already constructed. Every node is numbered and gates are stored by the
+   * literals (2 * number + negation) of their operands in ascending order.
    */
-  private final Map<Aig, Aig> cache = new HashMap<>();
+  private final Map<Aig, Integer> ids = new IdentityHashMap<>();
+  private final Map<Integer, Aig> leaves = new HashMap<>();
+  private final Map<Long, Aig> gates = new HashMap<>();
+  private final boolean balanced;
 
   public AigFactory() {
-    cache.put(Aig.FALSE, Aig.FALSE);
+    this(false);
+  }
+
+  /**
+   * Creates a new factory.
+   *
+   * @param balanced if {@code true}, conjunctions and disjunctions of lists are constructed as
+   *     balanced trees instead of chains, which minimises the depth of the circuit.
+   */
+  public AigFactory(boolean balanced) {
+    this.balanced = balanced;
+    ids.put(Aig.FALSE, 0);
   }
 
   public LabelledAig getNode(int variable) {
@@ -49,52 +76,327 @@ public final class AigFactory {
     return createNode(left, right);
   }
 
-  public LabelledAig cube(BitSet b) {
-    LabelledAig product = getTrue();
-    for (int i = 0; i <= b.size(); i++) {
-      LabelledAig lit = b.get(i) ? getNode(i + 1) : not(getNode(i + 1));
-      product = conjunction(product, lit);
+  public LabelledAig conjunction(List<LabelledAig> operands) {
+    return fold(operands, true);
+  }
+
+  /**
+   * Returns the conjunction of the literals of the variables {@code 1} to {@code variables}, where
+   * the variable {@code i + 1} occurs positively if and only if {@code valuation} contains
+   * {@code i}.
+   *
+   * @param valuation the valuation.
+   * @param variables the number of variables.
+   * @return the minterm of the valuation.
+   */
+  public LabelledAig cube(BitSet valuation, int variables) {
+    List<LabelledAig> literals = new ArrayList<>(variables);
+
+    for (int i = 0; i < variables; i++) {
+      literals.add(valuation.get(i) ? getNode(i + 1) : not(getNode(i + 1)));
     }
-    return product;
+
+    return conjunction(literals);
   }
 
   public LabelledAig disjunction(LabelledAig left, LabelledAig right) {
     return createNode(left.flip(), right.flip()).flip();
   }
 
+  public LabelledAig disjunction(List<LabelledAig> operands) {
+    return fold(operands, false);
+  }
+
   public LabelledAig not(LabelledAig a) {
     return a.flip();
   }
 
+  /**
+   * Returns the disjunction of the minterms of the given valuations. Instead of a flat sum of
+   * products, the circuit is factorised by repeatedly extracting the literal shared by the most
+   * products.
+   *
+   * @param valuations the valuations, see {@link #cube(BitSet, int)}.
+   * @param variables the number of variables.
+   * @return the disjunction of the minterms.
+   */
+  public LabelledAig sumOfProducts(List<BitSet> valuations, int variables) {
+    List<BitSet> products = new ArrayList<>(valuations.size());
+
+    for (BitSet valuation : valuations) {
+      // Literal 2 * i is the variable i + 1 and literal 2 * i + 1 its negation.
+      BitSet product = new BitSet(2 * variables);
+
+      for (int i = 0; i < variables; i++) {
+        product.set(valuation.get(i) ? 2 * i : 2 * i + 1);
+      }
+
+      products.add(product);
+    }
+
+    return factor(products);
+  }
+
+  private LabelledAig factor(List<BitSet> products) {
+    if (products.isEmpty()) {
+      return getFalse();
+    }
+
+    BitSet common = (BitSet) products.get(0).clone();
+
+    for (BitSet product : products) {
+      if (product.isEmpty()) {
+        return getTrue();
+      }
+
+      common.and(product);
+    }
+
+    if (products.size() == 1 || !common.isEmpty()) {
+      List<LabelledAig> operands = new ArrayList<>();
+      common.stream().forEach(literal -> operands.add(productLiteral(literal)));
+
+      if (products.size() > 1) {
+        List<BitSet> remainders = new ArrayList<>(products.size());
+
+        for (BitSet product : products) {
+          BitSet remainder = (BitSet) product.clone();
+          remainder.andNot(common);
+          remainders.add(remainder);
+        }
+
+        operands.add(factor(remainders));
+      }
+
+      return conjunction(operands);
+    }
+
+    // Extract the literal occurring in most products.
+    Map<Integer, Integer> occurrences = new HashMap<>();
+    int bestLiteral = -1;
+    int bestCount = 0;
+
+    for (BitSet product : products) {
+      for (int literal = product.nextSetBit(0); literal >= 0;
+           literal = product.nextSetBit(literal + 1)) {
+        int count = occurrences.merge(literal, 1, Integer::sum);
+
+        if (count > bestCount || (count == bestCount && literal < bestLiteral)) {
+          bestLiteral = literal;
+          bestCount = count;
+        }
+      }
+    }
+
+    if (bestCount < 2) {
+      List<LabelledAig> operands = new ArrayList<>(products.size());
+      products.forEach(product -> operands.add(factor(List.of(product))));
+      return disjunction(operands);
+    }
+
+    List<BitSet> with = new ArrayList<>();
+    List<BitSet> without = new ArrayList<>();
+
+    for (BitSet product : products) {
+      if (product.get(bestLiteral)) {
+        BitSet remainder = (BitSet) product.clone();
+        remainder.clear(bestLiteral);
+        with.add(remainder);
+      } else {
+        without.add(product);
+      }
+    }
+
+    return disjunction(conjunction(productLiteral(bestLiteral), factor(with)), factor(without));
+  }
+
+  private LabelledAig productLiteral(int literal) {
+    var node = getNode(literal / 2 + 1);
+    return literal % 2 == 0 ? node : not(node);
+  }
+
+  private LabelledAig fold(List<LabelledAig> operands, boolean conjunction) {
+    if (operands.isEmpty()) {
+      return conjunction ? getTrue() : getFalse();
+    }
+
+    if (!balanced) {
+      LabelledAig result = operands.get(0);
+
+      for (int i = 1; i < operands.size(); i++) {
+        result = conjunction
+          ? conjunction(result, operands.get(i))
+          : disjunction(result, operands.get(i));
+      }
+
+      return result;
+    }
+
+    List<LabelledAig> layer = new ArrayList<>(operands);
+
+    while (layer.size() > 1) {
+      List<LabelledAig> nextLayer = new ArrayList<>((layer.size() + 1) / 2);
+
+      for (int i = 0; i + 1 < layer.size(); i += 2) {
+        nextLayer.add(conjunction
+          ? conjunction(layer.get(i), layer.get(i + 1))
+          : disjunction(layer.get(i), layer.get(i + 1)));
+      }
+
+      if (layer.size() % 2 == 1) {
+        nextLayer.add(layer.get(layer.size() - 1));
+      }
+
+      layer = nextLayer;
+    }
+
+    return layer.get(0);
+  }
+
   private LabelledAig createNode(int variable) {
-    return LabelledAig.of(makeUnique(Aig.leaf(variable)));
+    return LabelledAig.of(leaves.computeIfAbsent(variable, x -> register(Aig.leaf(x))));
   }
 
   private LabelledAig createNode(LabelledAig left, LabelledAig right) {
-    LabelledAig realLeft;
-    if (left.isNegated() && left.equals(getTrue())) {
-      realLeft = getFalse();
-    } else if (left.isNegated() && left.equals(getFalse())) {
-      realLeft = getTrue();
-    } else {
-      realLeft = left;
+    // Constant propagation.
+    if (isFalse(left) || isFalse(right)) {
+      return getFalse();
+    }
+
+    if (isTrue(left)) {
+      return right;
+    }
+
+    if (isTrue(right)) {
+      return left;
+    }
+
+    // One-level rules: idempotence and contradiction.
+    if (same(left, right)) {
+      return left;
     }
 
-    LabelledAig realRight;
-    if (right.isNegated() && right.equals(getTrue())) {
-      realRight = getFalse();
-    } else if (right.isNegated() && right.equals(getFalse())) {
-      realRight = getTrue();
-    } else {
-      realRight = right;
+    if (same(left, right.flip())) {
+      return getFalse();
     }
 
-    return LabelledAig.of(makeUnique(Aig.node(realLeft.aig(), realLeft.isNegated(),
-      realRight.aig(), realRight.isNegated())));
+    // Two-level rules.
+    LabelledAig rewritten = rewrite(left, right);
+
+    if (rewritten == null) {
+      rewritten = rewrite(right, left);
+    }
+
+    if (rewritten != null) {
+      return rewritten;
+    }
+
+    int leftLiteral = literal(left);
+    int rightLiteral = literal(right);
+    long key = leftLiteral < rightLiteral
+      ? ((long) leftLiteral << 32) | rightLiteral
+      : ((long) rightLiteral << 32) | leftLiteral;
+
+    Aig gate = gates.get(key);
+
+    if (gate == null) {
+      gate = register(
+        Aig.node(left.aig(), left.isNegated(), right.aig(), right.isNegated()));
+      gates.put(key, gate);
+    }
+
+    return LabelledAig.of(gate);
+  }
+
+  /**
+   * Applies the rewriting rules for a conjunction where {@code gate} is a (negated) gate.
+   *
+   * @return the simplified conjunction or {@code null} if no rule applies.
+   */
+  @Nullable
+  private LabelledAig rewrite(LabelledAig gate, LabelledAig other) {
+    if (gate.aig().isLeaf()) {
+      return null;
+    }
+
+    var left = LabelledAig.of(gate.aig().left(), gate.aig().leftIsNegated());
+    var right = LabelledAig.of(gate.aig().right(), gate.aig().rightIsNegated());
+
+    if (!gate.isNegated()) {
+      // (a & b) & a = a & b
+      if (same(other, left) || same(other, right)) {
+        return gate;
+      }
+
+      // (a & b) & !a = false
+      if (same(other, left.flip()) || same(other, right.flip())) {
+        return getFalse();
+      }
+
+      // (a & b) & (!a & c) = false
+      if (!other.isNegated() && !other.aig().isLeaf()) {
+        var otherLeft = LabelledAig.of(other.aig().left(), other.aig().leftIsNegated());
+        var otherRight = LabelledAig.of(other.aig().right(), other.aig().rightIsNegated());
+
+        if (same(otherLeft, left.flip()) || same(otherLeft, right.flip())
+          || same(otherRight, left.flip()) || same(otherRight, right.flip())) {
+          return getFalse();
+        }
+      }
+
+      return null;
+    }
+
+    // !(a & b) & !a = !a
+    if (same(other, left.flip()) || same(other, right.flip())) {
+      return other;
+    }
+
+    // !(a & b) & a = a & !b
+    if (same(other, left)) {
+      return conjunction(other, right.flip());
+    }
+
+    if (same(other, right)) {
+      return conjunction(other, left.flip());
+    }
+
+    if (!other.isNegated() && !other.aig().isLeaf()) {
+      var otherLeft = LabelledAig.of(other.aig().left(), other.aig().leftIsNegated());
+      var otherRight = LabelledAig.of(other.aig().right(), other.aig().rightIsNegated());
+
+      // !(a & b) & (!a & c) = !a & c
+      if (same(otherLeft, left.flip()) || same(otherLeft, right.flip())
+        || same(otherRight, left.flip()) || same(otherRight, right.flip())) {
+        return other;
+      }
+    }
+
+    return null;
+  }
+
+  // Nodes are unique within a factory and thus compared by identity.
+  @SuppressWarnings({"ReferenceEquality", "ObjectEquality"})
+  private static boolean same(LabelledAig left, LabelledAig right) {
+    return left.aig() == right.aig() && left.isNegated() == right.isNegated();
+  }
+
+  private static boolean isFalse(LabelledAig aig) {
+    return aig.aig().isConstant() && !aig.isNegated();
+  }
+
+  private static boolean isTrue(LabelledAig aig) {
+    return aig.aig().isConstant() && aig.isNegated();
+  }
+
+  private int literal(LabelledAig aig) {
+    Integer id = ids.get(aig.aig());
+    checkArgument(id != null, "AIG was not constructed by this factory.");
+    return 2 * id + (aig.isNegated() ? 1 : 0);
   }
 
-  private Aig makeUnique(Aig object) {
-    Aig unique = cache.putIfAbsent(object, object);
-    return unique == null ? object : unique;
+  private Aig register(Aig aig) {
+    ids.put(aig, ids.size());
+    return aig;
   }
 }
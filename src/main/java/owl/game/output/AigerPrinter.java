@@ -21,10 +21,14 @@ package owl.game.output;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -90,17 +94,15 @@ public class AigerPrinter implements AigConsumer {
     return aig.isNegated() ? i + 1 : i;
   }
 
-  @SuppressWarnings("NumericCastThatLosesPrecision")
-  private static void encode(PrintWriter writer, int x) {
+  private static void encode(OutputStream output, int x) throws IOException {
     int i = x;
-    char ch;
+
     while ((i & ~0x7f) != 0) {
-      ch = (char) ((i & 0x7f) | 0x80);
-      writer.write(ch);
-      i >>= 7;
+      output.write((i & 0x7f) | 0x80);
+      i >>>= 7;
     }
-    ch = (char) i;
-    writer.write(ch);
+
+    output.write(i);
   }
 
   private static int aig2lit(BiMap<Aig, Integer> index, Aig aig, boolean negated) {
@@ -134,15 +136,130 @@ public class AigerPrinter implements AigConsumer {
   }
 
   public void print(OutputStream os) {
+    if (binaryOutput) {
+      var output = new BufferedOutputStream(os);
+
+      try {
+        printBinary(output);
+        output.flush();
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+
+      return;
+    }
+
     PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(os,
       StandardCharsets.UTF_8)));
     print(writer);
     writer.flush();
   }
 
+  /**
+   * Writes the circuit to the writer. In the binary format each byte is written as the character
+   * with the same code, and thus the writer must encode with ISO-8859-1. Any other charset, e.g.,
+   * UTF-8, corrupts the and-gate deltas. Use {@link #print(OutputStream)} to write the binary
+   * format to a byte stream.
+   */
   public void print(PrintWriter writer) {
-    // compute variable indices
+    if (binaryOutput) {
+      var output = new ByteArrayOutputStream();
+
+      try {
+        printBinary(output);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+
+      for (byte b : output.toByteArray()) {
+        writer.write(b & 0xFF);
+      }
+
+      return;
+    }
+
+    BiMap<Aig, Integer> index = HashBiMap.create();
+    int gatesStart = (inputNames.size() + latches.size() + 1) * 2;
+    int maxIndex = computeIndex(index);
+
+    // print header
+    writer.println("aag "
+      + ((maxIndex - 2) / 2) + ' '
+      + inputNames.size() + ' '
+      + latches.size() + ' '
+      + outputs.size() + ' '
+      + ((maxIndex - gatesStart) / 2));
+    // print inputs
+    for (int i = 1; i <= inputNames.size(); i++) {
+      writer.println((i * 2));
+    }
+    // print latches
+    int i = inputNames.size() + 1;
+    for (LabelledAig latch : latches) {
+      writer.println((i * 2) + " " + aig2lit(index, latch));
+      i++;
+    }
+    // print all outputs
+    for (LabelledAig output : outputs) {
+      writer.println(aig2lit(index, output));
+    }
+    // print all and-gates
+    for (int j = gatesStart; j < maxIndex; j += 2) {
+      Aig gate = index.inverse().get(j);
+      assert gate != null : "All indices should have been assigned";
+      writer.println(j + " " + aig2lit(index, gate.left(), gate.leftIsNegated())
+        + ' ' + aig2lit(index, gate.right(), gate.rightIsNegated()));
+    }
+
+    symbolTable().forEach(writer::println);
+  }
+
+  /**
+   * Writes the binary format. The index of all gates is computed before anything is written, since
+   * the header contains the number of and-gates and the gates are written ordered by their index.
+   * Each and-gate is written as the two deltas {@code lhs - rhs0} and {@code rhs0 - rhs1} with
+   * {@code rhs0 >= rhs1}.
+   */
+  private void printBinary(OutputStream output) throws IOException {
     BiMap<Aig, Integer> index = HashBiMap.create();
+    int gatesStart = (inputNames.size() + latches.size() + 1) * 2;
+    int maxIndex = computeIndex(index);
+
+    writeLine(output, "aig "
+      + ((maxIndex - 2) / 2) + ' '
+      + inputNames.size() + ' '
+      + latches.size() + ' '
+      + outputs.size() + ' '
+      + ((maxIndex - gatesStart) / 2));
+    // print latches
+    for (LabelledAig latch : latches) {
+      writeLine(output, Integer.toString(aig2lit(index, latch)));
+    }
+    // print all outputs
+    for (LabelledAig circuit : outputs) {
+      writeLine(output, Integer.toString(aig2lit(index, circuit)));
+    }
+    // print all and-gate deltas
+    for (int j = gatesStart; j < maxIndex; j += 2) {
+      Aig gate = index.inverse().get(j);
+      assert gate != null : "All indices should have been assigned";
+      int leftLit = aig2lit(index, gate.left(), gate.leftIsNegated());
+      int rightLit = aig2lit(index, gate.right(), gate.rightIsNegated());
+      int rhs0 = Math.max(leftLit, rightLit);
+      int rhs1 = Math.min(leftLit, rightLit);
+      assert j > rhs0 : "Visiting sequence must be wrong!";
+      encode(output, j - rhs0);
+      encode(output, rhs0 - rhs1);
+    }
+
+    for (String line : symbolTable()) {
+      writeLine(output, line);
+    }
+  }
+
+  // Assigns indices to the constant, inputs, latches and all gates and returns the next free
+  // index.
+  private int computeIndex(BiMap<Aig, Integer> index) {
     // add the false and true constants to the map
     index.put(Aig.FALSE, 0);
     // add the other variables and gates
@@ -156,103 +273,55 @@ public class AigerPrinter implements AigConsumer {
 
     for (int i = 1; i <= latchNames.size(); i++) {
       index.put(Aig.leaf(i + inputNames.size()), varIndex);
-      maxIndex = visitAig(index, maxIndex, latches.get(i - 1).aig());
       varIndex += 2;
     }
 
+    for (LabelledAig latch : latches) {
+      maxIndex = visitAig(index, maxIndex, latch.aig());
+    }
+
     // add the outputs too
     for (LabelledAig output : outputs) {
       maxIndex = visitAig(index, maxIndex, output.aig());
     }
 
-    // Printing is different for binary and non-binary formats
-    if (binaryOutput) {
-      writer.println("aig "
-        + ((maxIndex - 2) / 2) + ' '
-        + inputNames.size() + ' '
-        + latches.size() + ' '
-        + outputs.size() + ' '
-        + ((maxIndex - varIndex) / 2));
-      // print latches
-      for (LabelledAig latch : latches) {
-        writer.println(aig2lit(index, latch));
-      }
-      // print all outputs
-      for (LabelledAig output : outputs) {
-        writer.println(aig2lit(index, output));
-      }
-      // print all and-gate deltas
-      for (int j = (inputNames.size() + latches.size() + 1) * 2; j < maxIndex; j += 2) {
-        Aig gate = index.inverse().get(j);
-        assert gate != null : "All indices should have been assigned";
-        int leftLit = aig2lit(index, gate.left(), gate.leftIsNegated());
-        int rightLit = aig2lit(index, gate.right(), gate.rightIsNegated());
-        assert rightLit >= leftLit : "Visiting sequence must be wrong!";
-        encode(writer, rightLit - leftLit);
-      }
-
-      writer.println();
-    } else {
-      // print header
-      writer.println("aag "
-        + ((maxIndex - 2) / 2) + ' '
-        + inputNames.size() + ' '
-        + latches.size() + ' '
-        + outputs.size() + ' '
-        + ((maxIndex - varIndex) / 2));
-      // print inputs
-      for (int i = 1; i <= inputNames.size(); i++) {
-        writer.println((i * 2));
-      }
-      // print latches
-      int i = inputNames.size() + 1;
-      for (LabelledAig latch : latches) {
-        writer.println((i * 2) + " " + aig2lit(index, latch));
-        i++;
-      }
-      // print all outputs
-      for (LabelledAig output : outputs) {
-        writer.println(aig2lit(index, output));
-      }
-      // print all and-gates
-      for (int j = (inputNames.size() + latches.size() + 1) * 2;
-           j < maxIndex; j += 2) {
-        Aig gate = index.inverse().get(j);
-        assert gate != null : "All indices should have been assigned";
-        writer.println(j + " " + aig2lit(index, gate.left(), gate.leftIsNegated())
-          + ' ' + aig2lit(index, gate.right(), gate.rightIsNegated()));
-      }
-    }
+    return maxIndex;
+  }
 
-    /*
-     * From here onwards, both formats coincide
-     */
+  // The symbol table and the comments coincide for both formats.
+  private List<String> symbolTable() {
+    List<String> lines = new ArrayList<>();
 
     // print symbol table
     for (int i2 = 0, s2 = inputNames.size(); i2 < s2; i2++) {
       if (!inputNames.get(i2).isEmpty()) {
-        writer.println("i" + i2 + ' ' + inputNames.get(i2));
+        lines.add("i" + i2 + ' ' + inputNames.get(i2));
       }
     }
 
     for (int i1 = 0, s1 = latchNames.size(); i1 < s1; i1++) {
       if (!latchNames.get(i1).isEmpty()) {
-        writer.println("l" + i1 + ' ' + latchNames.get(i1));
+        lines.add("l" + i1 + ' ' + latchNames.get(i1));
       }
     }
 
     for (int i = 0, s = outputNames.size(); i < s; i++) {
       if (!outputNames.get(i).isEmpty()) {
-        writer.println("o" + i + ' ' + outputNames.get(i));
+        lines.add("o" + i + ' ' + outputNames.get(i));
       }
     }
 
     // print comments
     if (!comments.isEmpty()) {
-      writer.println("c");
-      for (String comment : comments) {
-        writer.println(comment);
-      }
+      lines.add("c");
+      lines.addAll(comments);
     }
+
+    return lines;
+  }
+
+  private static void writeLine(OutputStream output, String line) throws IOException {
+    output.write(line.getBytes(StandardCharsets.UTF_8));
+    output.write('\n');
   }
 }
@@ -0,0 +1,721 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.logic.propositional.sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * A conflict-driven clause-learning SAT solver with two watched literals, VSIDS branching with
+ * phase saving, Luby restarts, first-UIP clause learning, and deletion of inactive learnt clauses.
+ *
+ * <p>The solver is incremental: clauses can be added between calls to {@link #model(int...)} and
+ * learnt clauses are kept, and each call may assume a set of literals. Clauses and assumptions use
+ * the DIMACS encoding, i.e., variables are positive integers and negative integers denote negated
+ * variables. Models are returned as the set of variables assigned to true. Activation variables
+ * can be released together with the clauses they guard, which bounds the size of a long-lived
+ * solver that answers many guarded queries.</p>
+ */
+final class CdclSolver {
+
+  private static final byte TRUE = 1;
+  private static final byte FALSE = -1;
+  private static final byte UNASSIGNED = 0;
+
+  private static final double VARIABLE_ACTIVITY_DECAY = 0.95;
+  private static final double CLAUSE_ACTIVITY_DECAY = 0.999;
+  private static final double RESCALE_LIMIT = 1e100;
+  private static final int RESTART_UNIT = 100;
+
+  // Literals are encoded as 2 * variable for positive and 2 * variable + 1 for negative literals.
+  private int variables = 0;
+  private byte[] values = new byte[1];
+  private int[] levels = new int[1];
+  private Clause[] reasons = new Clause[1];
+  private double[] activities = new double[1];
+  private boolean[] phases = new boolean[1];
+  private boolean[] seen = new boolean[1];
+  private List<List<Clause>> watches = new ArrayList<>(List.of(List.of(), List.of()));
+
+  private int[] trail = new int[1];
+  private int trailSize = 0;
+  private int propagationHead = 0;
+  private int[] levelStarts = new int[1];
+  private int decisionLevel = 0;
+
+  private final VariableHeap heap = new VariableHeap();
+  private final List<Clause> originalClauses = new ArrayList<>();
+  private final List<Clause> learntClauses = new ArrayList<>();
+  private final List<Integer> releasedVariables = new ArrayList<>();
+  private double maximalLearntClauses = 0;
+  private double variableActivityIncrement = 1;
+  private double clauseActivityIncrement = 1;
+  private boolean defaultPhase = false;
+  private boolean unsatisfiable = false;
+  private int restarts = 0;
+
+  CdclSolver() {
+    // Nothing to initialise.
+  }
+
+  /**
+   * Sets the value that is tried first for a variable that has not been assigned before.
+   */
+  void defaultPhase(boolean defaultPhase) {
+    this.defaultPhase = defaultPhase;
+    Arrays.fill(phases, defaultPhase);
+  }
+
+  /**
+   * Returns a fresh variable that does not occur in any clause. Released variables are reused.
+   */
+  int newVariable() {
+    if (!releasedVariables.isEmpty()) {
+      return releasedVariables.remove(releasedVariables.size() - 1);
+    }
+
+    ensureVariables(variables + 1);
+    return variables;
+  }
+
+  /**
+   * Removes all clauses containing the negation of the variable and makes the variable available
+   * to {@link #newVariable()} again. The variable must not occur positively in any clause, as is
+   * the case for activation literals. Since such a variable is never resolved on, every learnt
+   * clause derived from a removed clause contains the negation as well and is removed, too.
+   */
+  void releaseVariable(int variable) {
+    backtrack(0);
+    int negatedLiteral = literal(-variable);
+    BitSet watchedLiterals = new BitSet();
+
+    for (List<Clause> clauseList : List.of(originalClauses, learntClauses)) {
+      clauseList.removeIf(clause -> {
+        assert Arrays.stream(clause.literals).noneMatch(literal -> literal == (negatedLiteral ^ 1));
+
+        if (Arrays.stream(clause.literals).noneMatch(literal -> literal == negatedLiteral)) {
+          return false;
+        }
+
+        clause.deleted = true;
+        watchedLiterals.set(clause.literals[0]);
+        watchedLiterals.set(clause.literals[1]);
+        return true;
+      });
+    }
+
+    watchedLiterals.stream().forEach(literal -> watches.get(literal).removeIf(c -> c.deleted));
+
+    // The variable can only be assigned on the top-level, where it is false.
+    if (values[variable] != UNASSIGNED) {
+      int position = 0;
+
+      while (trail[position] >> 1 != variable) {
+        position++;
+      }
+
+      System.arraycopy(trail, position + 1, trail, position, trailSize - position - 1);
+      trailSize--;
+      propagationHead = position < propagationHead ? propagationHead - 1 : propagationHead;
+      values[variable] = UNASSIGNED;
+      reasons[variable] = null;
+      heap.insert(variable);
+    }
+
+    phases[variable] = defaultPhase;
+    releasedVariables.add(variable);
+  }
+
+  void addClauses(int[][] clauses) {
+    for (int[] clause : clauses) {
+      addClause(clause);
+    }
+  }
+
+  void addClause(int... clause) {
+    if (unsatisfiable) {
+      return;
+    }
+
+    backtrack(0);
+
+    int[] literals = new int[clause.length];
+    int size = 0;
+
+    for (int dimacsLiteral : clause) {
+      if (dimacsLiteral == 0) {
+        throw new IllegalArgumentException("0 is not a literal.");
+      }
+
+      ensureVariables(Math.abs(dimacsLiteral));
+      literals[size++] = literal(dimacsLiteral);
+    }
+
+    // Remove duplicates and literals that are false on the top-level, and skip tautologies and
+    // satisfied clauses.
+    Arrays.sort(literals, 0, size);
+    int newSize = 0;
+
+    for (int i = 0; i < size; i++) {
+      int literal = literals[i];
+
+      if (value(literal) == TRUE || (newSize > 0 && literals[newSize - 1] == (literal ^ 1))) {
+        return;
+      }
+
+      if (value(literal) == UNASSIGNED && (newSize == 0 || literals[newSize - 1] != literal)) {
+        literals[newSize++] = literal;
+      }
+    }
+
+    switch (newSize) {
+      case 0 -> unsatisfiable = true;
+      case 1 -> {
+        assign(literals[0], null);
+        unsatisfiable = propagate() != null;
+      }
+      default -> {
+        Clause originalClause = new Clause(Arrays.copyOf(literals, newSize), false);
+        attach(originalClause);
+        originalClauses.add(originalClause);
+      }
+    }
+  }
+
+  /**
+   * Searches for a model satisfying all clauses and the given assumptions.
+   *
+   * @param assumptions literals that are assumed to hold for this call only.
+   * @return the variables set to true by the model or {@code null} if there is no such model.
+   */
+  @Nullable
+  BitSet model(int... assumptions) {
+    if (unsatisfiable) {
+      return null;
+    }
+
+    int[] assumedLiterals = new int[assumptions.length];
+
+    for (int i = 0; i < assumptions.length; i++) {
+      ensureVariables(Math.abs(assumptions[i]));
+      assumedLiterals[i] = literal(assumptions[i]);
+    }
+
+    backtrack(0);
+    maximalLearntClauses =
+      Math.max(maximalLearntClauses, Math.max(originalClauses.size() / 3.0, 1000));
+    int conflictsUntilRestart = luby(restarts) * RESTART_UNIT;
+
+    while (true) {
+      Clause conflict = propagate();
+
+      if (conflict != null) {
+        if (decisionLevel == 0) {
+          unsatisfiable = true;
+          return null;
+        }
+
+        learn(conflict);
+
+        if (--conflictsUntilRestart == 0) {
+          restarts++;
+          conflictsUntilRestart = luby(restarts) * RESTART_UNIT;
+          backtrack(0);
+        }
+
+        continue;
+      }
+
+      if (learntClauses.size() - trailSize >= maximalLearntClauses) {
+        reduceLearntClauses();
+        maximalLearntClauses *= 1.1;
+      }
+
+      int decision = -1;
+
+      while (decisionLevel < assumedLiterals.length) {
+        int assumption = assumedLiterals[decisionLevel];
+
+        if (value(assumption) == TRUE) {
+          // Open a dummy level such that the levels and the assumptions stay aligned.
+          newDecisionLevel();
+        } else if (value(assumption) == FALSE) {
+          backtrack(0);
+          return null;
+        } else {
+          decision = assumption;
+          break;
+        }
+      }
+
+      if (decision == -1) {
+        decision = pickBranchingLiteral();
+
+        if (decision == -1) {
+          BitSet model = new BitSet(variables + 1);
+
+          for (int variable = 1; variable <= variables; variable++) {
+            if (values[variable] == TRUE) {
+              model.set(variable);
+            }
+          }
+
+          backtrack(0);
+          return model;
+        }
+      }
+
+      newDecisionLevel();
+      assign(decision, null);
+    }
+  }
+
+  private static int literal(int dimacsLiteral) {
+    return dimacsLiteral > 0 ? 2 * dimacsLiteral : -2 * dimacsLiteral + 1;
+  }
+
+  private byte value(int literal) {
+    byte value = values[literal >> 1];
+    return (literal & 1) == 0 ? value : (byte) -value;
+  }
+
+  private void ensureVariables(int newVariables) {
+    if (newVariables <= variables) {
+      return;
+    }
+
+    int length = newVariables + 1;
+    int oldLength = values.length;
+
+    if (length > oldLength) {
+      int newLength = Math.max(length, 2 * oldLength);
+      values = Arrays.copyOf(values, newLength);
+      levels = Arrays.copyOf(levels, newLength);
+      reasons = Arrays.copyOf(reasons, newLength);
+      activities = Arrays.copyOf(activities, newLength);
+      phases = Arrays.copyOf(phases, newLength);
+      Arrays.fill(phases, oldLength, newLength, defaultPhase);
+      seen = Arrays.copyOf(seen, newLength);
+      trail = Arrays.copyOf(trail, newLength);
+      levelStarts = Arrays.copyOf(levelStarts, newLength + 1);
+    }
+
+    while (watches.size() < 2 * length) {
+      watches.add(new ArrayList<>());
+    }
+
+    for (int variable = variables + 1; variable <= newVariables; variable++) {
+      heap.insert(variable);
+    }
+
+    variables = newVariables;
+  }
+
+  private void attach(Clause clause) {
+    watches.get(clause.literals[0]).add(clause);
+    watches.get(clause.literals[1]).add(clause);
+  }
+
+  private void assign(int literal, @Nullable Clause reason) {
+    int variable = literal >> 1;
+    assert values[variable] == UNASSIGNED;
+    values[variable] = (literal & 1) == 0 ? TRUE : FALSE;
+    levels[variable] = decisionLevel;
+    reasons[variable] = reason;
+    trail[trailSize++] = literal;
+  }
+
+  private void newDecisionLevel() {
+    // Assumptions that already hold open levels without decisions.
+    if (decisionLevel == levelStarts.length) {
+      levelStarts = Arrays.copyOf(levelStarts, 2 * decisionLevel);
+    }
+
+    levelStarts[decisionLevel++] = trailSize;
+  }
+
+  private void backtrack(int level) {
+    if (decisionLevel <= level) {
+      return;
+    }
+
+    for (int i = trailSize - 1; i >= levelStarts[level]; i--) {
+      int variable = trail[i] >> 1;
+      phases[variable] = values[variable] == TRUE;
+      values[variable] = UNASSIGNED;
+      reasons[variable] = null;
+      heap.insert(variable);
+    }
+
+    trailSize = levelStarts[level];
+    propagationHead = Math.min(propagationHead, trailSize);
+    decisionLevel = level;
+  }
+
+  /**
+   * Propagates all assigned literals. The watched literals of a clause are its first two literals,
+   * and the literal implied by a clause is moved to the first position.
+   *
+   * @return a clause with all literals assigned to false or {@code null} if there is none.
+   */
+  @Nullable
+  private Clause propagate() {
+    while (propagationHead < trailSize) {
+      int falseLiteral = trail[propagationHead++] ^ 1;
+      List<Clause> watchList = watches.get(falseLiteral);
+      int size = watchList.size();
+      int kept = 0;
+
+      for (int i = 0; i < size; i++) {
+        Clause clause = watchList.get(i);
+
+        if (clause.deleted) {
+          continue;
+        }
+
+        int[] literals = clause.literals;
+
+        if (literals[0] == falseLiteral) {
+          literals[0] = literals[1];
+          literals[1] = falseLiteral;
+        }
+
+        if (value(literals[0]) == TRUE) {
+          watchList.set(kept++, clause);
+          continue;
+        }
+
+        boolean foundWatch = false;
+
+        for (int j = 2; j < literals.length; j++) {
+          if (value(literals[j]) != FALSE) {
+            literals[1] = literals[j];
+            literals[j] = falseLiteral;
+            watches.get(literals[1]).add(clause);
+            foundWatch = true;
+            break;
+          }
+        }
+
+        if (foundWatch) {
+          continue;
+        }
+
+        watchList.set(kept++, clause);
+
+        if (value(literals[0]) == FALSE) {
+          for (int j = i + 1; j < size; j++) {
+            watchList.set(kept++, watchList.get(j));
+          }
+
+          watchList.subList(kept, size).clear();
+          propagationHead = trailSize;
+          return clause;
+        }
+
+        assign(literals[0], clause);
+      }
+
+      watchList.subList(kept, size).clear();
+    }
+
+    return null;
+  }
+
+  /**
+   * Derives the first-UIP clause of the conflict, backjumps, and asserts the clause.
+   */
+  private void learn(Clause conflict) {
+    List<Integer> learntLiterals = new ArrayList<>();
+    learntLiterals.add(-1);
+    int pendingLiterals = 0;
+    int impliedLiteral = -1;
+    int trailIndex = trailSize - 1;
+    Clause clause = conflict;
+
+    do {
+      if (clause.learnt) {
+        bumpClause(clause);
+      }
+
+      int[] literals = clause.literals;
+
+      for (int j = impliedLiteral == -1 ? 0 : 1; j < literals.length; j++) {
+        int variable = literals[j] >> 1;
+
+        if (!seen[variable] && levels[variable] > 0) {
+          seen[variable] = true;
+          bumpVariable(variable);
+
+          if (levels[variable] >= decisionLevel) {
+            pendingLiterals++;
+          } else {
+            learntLiterals.add(literals[j]);
+          }
+        }
+      }
+
+      while (!seen[trail[trailIndex] >> 1]) {
+        trailIndex--;
+      }
+
+      impliedLiteral = trail[trailIndex--];
+      clause = reasons[impliedLiteral >> 1];
+      seen[impliedLiteral >> 1] = false;
+      pendingLiterals--;
+    } while (pendingLiterals > 0);
+
+    int[] literals = new int[learntLiterals.size()];
+    literals[0] = impliedLiteral ^ 1;
+    int backtrackLevel = 0;
+
+    for (int i = 1; i < literals.length; i++) {
+      literals[i] = learntLiterals.get(i);
+      seen[literals[i] >> 1] = false;
+
+      // Watch a literal of the highest level besides the asserting literal.
+      int level = levels[literals[i] >> 1];
+
+      if (level > backtrackLevel) {
+        backtrackLevel = level;
+        literals[i] = literals[1];
+        literals[1] = learntLiterals.get(i);
+      }
+    }
+
+    backtrack(backtrackLevel);
+
+    if (literals.length == 1) {
+      assign(literals[0], null);
+    } else {
+      Clause learntClause = new Clause(literals, true);
+      attach(learntClause);
+      learntClauses.add(learntClause);
+      bumpClause(learntClause);
+      assign(literals[0], learntClause);
+    }
+
+    variableActivityIncrement /= VARIABLE_ACTIVITY_DECAY;
+    clauseActivityIncrement /= CLAUSE_ACTIVITY_DECAY;
+  }
+
+  private void bumpVariable(int variable) {
+    activities[variable] += variableActivityIncrement;
+
+    if (activities[variable] > RESCALE_LIMIT) {
+      for (int i = 1; i <= variables; i++) {
+        activities[i] /= RESCALE_LIMIT;
+      }
+
+      variableActivityIncrement /= RESCALE_LIMIT;
+    }
+
+    heap.increased(variable);
+  }
+
+  private void bumpClause(Clause clause) {
+    clause.activity += clauseActivityIncrement;
+
+    if (clause.activity > RESCALE_LIMIT) {
+      for (Clause learntClause : learntClauses) {
+        learntClause.activity /= RESCALE_LIMIT;
+      }
+
+      clauseActivityIncrement /= RESCALE_LIMIT;
+    }
+  }
+
+  /**
+   * Deletes the less active half of the learnt clauses, except for binary clauses and clauses that
+   * are the reason of an assignment. Deleted clauses are removed lazily from the watch lists.
+   */
+  private void reduceLearntClauses() {
+    learntClauses.sort(Comparator.comparingDouble(clause -> clause.activity));
+    int candidates = learntClauses.size() / 2;
+    List<Clause> keptClauses = new ArrayList<>(learntClauses.size());
+
+    for (int i = 0; i < learntClauses.size(); i++) {
+      Clause clause = learntClauses.get(i);
+      int variable = clause.literals[0] >> 1;
+      boolean locked = reasons[variable] == clause && value(clause.literals[0]) == TRUE;
+
+      if (i < candidates && clause.literals.length > 2 && !locked) {
+        clause.deleted = true;
+      } else {
+        keptClauses.add(clause);
+      }
+    }
+
+    learntClauses.clear();
+    learntClauses.addAll(keptClauses);
+  }
+
+  private int pickBranchingLiteral() {
+    while (!heap.isEmpty()) {
+      int variable = heap.removeMax();
+
+      if (values[variable] == UNASSIGNED) {
+        return phases[variable] ? 2 * variable : 2 * variable + 1;
+      }
+    }
+
+    return -1;
+  }
+
+  // The Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, ...
+  private static int luby(int index) {
+    int size = 1;
+    int sequence = 0;
+
+    while (size < index + 1) {
+      sequence++;
+      size = 2 * size + 1;
+    }
+
+    int position = index;
+
+    while (size - 1 != position) {
+      size = (size - 1) >> 1;
+      sequence--;
+      position = position % size;
+    }
+
+    return 1 << sequence;
+  }
+
+  private static final class Clause {
+
+    private final int[] literals;
+    private final boolean learnt;
+    private double activity = 0;
+    private boolean deleted = false;
+
+    private Clause(int[] literals, boolean learnt) {
+      this.literals = literals;
+      this.learnt = learnt;
+    }
+  }
+
+  /**
+   * A binary max-heap of variables ordered by their activity.
+   */
+  private final class VariableHeap {
+
+    private int[] heap = new int[1];
+    private int size = 0;
+    // The position of each variable in the heap or -1 if it is not in the heap.
+    private int[] positions = new int[0];
+
+    private boolean isEmpty() {
+      return size == 0;
+    }
+
+    private void insert(int variable) {
+      if (variable >= positions.length) {
+        int oldLength = positions.length;
+        positions = Arrays.copyOf(positions, Math.max(variable + 1, 2 * oldLength));
+        Arrays.fill(positions, oldLength, positions.length, -1);
+      }
+
+      if (positions[variable] >= 0) {
+        return;
+      }
+
+      if (size == heap.length) {
+        heap = Arrays.copyOf(heap, 2 * size);
+      }
+
+      heap[size] = variable;
+      positions[variable] = size;
+      size++;
+      siftUp(size - 1);
+    }
+
+    private void increased(int variable) {
+      if (variable < positions.length && positions[variable] >= 0) {
+        siftUp(positions[variable]);
+      }
+    }
+
+    private int removeMax() {
+      int variable = heap[0];
+      size--;
+      positions[variable] = -1;
+
+      if (size > 0) {
+        heap[0] = heap[size];
+        positions[heap[0]] = 0;
+        siftDown(0);
+      }
+
+      return variable;
+    }
+
+    private void siftUp(int position) {
+      int variable = heap[position];
+
+      while (position > 0) {
+        int parent = (position - 1) >> 1;
+
+        if (activities[heap[parent]] >= activities[variable]) {
+          break;
+        }
+
+        heap[position] = heap[parent];
+        positions[heap[position]] = position;
+        position = parent;
+      }
+
+      heap[position] = variable;
+      positions[variable] = position;
+    }
+
+    private void siftDown(int position) {
+      int variable = heap[position];
+
+      while (true) {
+        int child = 2 * position + 1;
+
+        if (child >= size) {
+          break;
+        }
+
+        if (child + 1 < size && activities[heap[child + 1]] > activities[heap[child]]) {
+          child++;
+        }
+
+        if (activities[heap[child]] <= activities[variable]) {
+          break;
+        }
+
+        heap[position] = heap[child];
+        positions[heap[position]] = position;
+        position = child;
+      }
+
+      heap[position] = variable;
+      positions[variable] = position;
+    }
+  }
+}
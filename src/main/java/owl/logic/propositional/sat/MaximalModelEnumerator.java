@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.logic.propositional.sat;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import owl.collections.Collections3;
+import owl.logic.propositional.ConjunctiveNormalForm;
+import owl.logic.propositional.PropositionalFormula;
+
+/**
+ * Incremental enumeration of the maximal models of a fixed formula below varying upper bounds.
+ * The formula is encoded once into a {@link CdclSolver} that is shared by all queries, and thus
+ * clauses learnt while answering one query are reused by the following ones. The clauses specific
+ * to a query are guarded by an activation literal that is assumed during the query. Afterwards the
+ * activation literal is released together with the guarded clauses and reused by the next query,
+ * and thus the size of the solver does not grow with the number of queries. The results are not
+ * memoized, since callers such as {@code ZielonkaDag} already cache them.
+ *
+ * <p>The returned models are the same as {@link Solver#maximalModels(PropositionalFormula, Set)},
+ * but their order is unspecified. Instances are thread-safe.</p>
+ *
+ * @param <V> the type of the variables.
+ */
+public final class MaximalModelEnumerator<V> {
+
+  private final PropositionalFormula<V> formula;
+  private final ConjunctiveNormalForm<V> encoding;
+  private final CdclSolver solver = new CdclSolver();
+
+  public MaximalModelEnumerator(PropositionalFormula<V> formula) {
+    this.formula = formula.nnf();
+    this.encoding = new ConjunctiveNormalForm<>(this.formula);
+    this.solver.defaultPhase(true);
+    this.encoding.clauses.forEach(solver::addClause);
+  }
+
+  public PropositionalFormula<V> formula() {
+    return formula;
+  }
+
+  /**
+   * Computes all maximal sets of variables contained in {@code upperBound} that satisfy the
+   * formula, where all other variables are false.
+   *
+   * @param upperBound the variables that may be set to true.
+   * @return the maximal models.
+   */
+  public synchronized List<Set<V>> maximalModels(Set<V> upperBound) {
+    if (formula.evaluate(upperBound)) {
+      return List.of(Set.copyOf(upperBound));
+    }
+
+    // Variables of the formula that may be true, and assumptions for the other variables.
+    BitSet candidates = new BitSet();
+    List<Integer> assumptions = new ArrayList<>();
+    int activationLiteral = solver.newVariable();
+    assumptions.add(activationLiteral);
+
+    encoding.variableMapping.forEach((variable, index) -> {
+      if (upperBound.contains(variable)) {
+        candidates.set(index);
+      } else {
+        assumptions.add(-index);
+      }
+    });
+
+    int[] assumedLiterals = assumptions.stream().mapToInt(Integer::intValue).toArray();
+    List<HashSet<V>> models = new ArrayList<>();
+    BitSet solution;
+
+    while ((solution = solver.model(assumedLiterals)) != null) {
+      solution.and(candidates);
+      BitSet model = grow(solution, candidates, assumedLiterals);
+
+      HashSet<V> mappedModel = new HashSet<>(upperBound);
+      encoding.variableMapping.forEach((variable, index) -> {
+        if (candidates.get(index) && !model.get(index)) {
+          mappedModel.remove(variable);
+        }
+      });
+
+      assert formula.evaluate(mappedModel);
+      models.add(mappedModel);
+
+      // Block the model and all its subsets for this query.
+      solver.addClause(clause(-activationLiteral, candidates, model));
+    }
+
+    solver.releaseVariable(activationLiteral);
+    assert Collections3.maximalElements(models, (x, y) -> y.containsAll(x)).size()
+        == models.size();
+    return models.stream().<Set<V>>map(Set::copyOf).toList();
+  }
+
+  // Extends the model by further candidates until it is maximal.
+  private BitSet grow(BitSet model, BitSet candidates, int[] assumedLiterals) {
+    int activationLiteral = solver.newVariable();
+    BitSet maximalModel = model;
+
+    while (true) {
+      int[] clause = clause(-activationLiteral, candidates, maximalModel);
+
+      if (clause.length == 1) {
+        break;
+      }
+
+      solver.addClause(clause);
+
+      int[] assumptions = new int[assumedLiterals.length + 1 + maximalModel.cardinality()];
+      System.arraycopy(assumedLiterals, 0, assumptions, 0, assumedLiterals.length);
+      assumptions[assumedLiterals.length] = activationLiteral;
+      int i = assumedLiterals.length + 1;
+
+      for (int index = maximalModel.nextSetBit(0); index >= 0;
+          index = maximalModel.nextSetBit(index + 1)) {
+        assumptions[i++] = index;
+      }
+
+      BitSet largerModel = solver.model(assumptions);
+
+      if (largerModel == null) {
+        break;
+      }
+
+      largerModel.and(candidates);
+      maximalModel = largerModel;
+    }
+
+    solver.releaseVariable(activationLiteral);
+    return maximalModel;
+  }
+
+  // The clause consisting of the guard and the candidates that are not in the model.
+  private static int[] clause(int guard, BitSet candidates, BitSet model) {
+    BitSet literals = (BitSet) candidates.clone();
+    literals.andNot(model);
+    int[] clause = new int[literals.cardinality() + 1];
+    clause[0] = guard;
+    int i = 1;
+
+    for (int index = literals.nextSetBit(0); index >= 0; index = literals.nextSetBit(index + 1)) {
+      clause[i++] = index;
+    }
+
+    return clause;
+  }
+}
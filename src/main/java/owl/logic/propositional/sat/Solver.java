@@ -298,6 +298,84 @@ public enum Solver {
     }
   },
 
+  CDCL {
+    @Nullable
+    @Override
+    protected BitSet modelImpl(int[][] clauses) {
+      var solver = new CdclSolver();
+      solver.addClauses(clauses);
+      return solver.model();
+    }
+
+    @Override
+    protected <V> List<HashSet<V>> computeMaximalModelsImpl(
+        PropositionalFormula<V> normalisedFormula, List<HashSet<V>> maximalModels) {
+
+      var conjunctiveNormalForm = new ConjunctiveNormalForm<>(normalisedFormula);
+      var solver = new CdclSolver();
+      solver.defaultPhase(true);
+      solver.addClauses(conjunctiveNormalForm.clauses.toArray(int[][]::new));
+      maximalModels.forEach(x -> solver.addClause(blockingClause(conjunctiveNormalForm, x)));
+
+      List<HashSet<V>> models = new ArrayList<>(maximalModels);
+      BitSet model;
+
+      while ((model = solver.model()) != null) {
+        // Grow the model until it is maximal: each step assumes the current model and requires
+        // one more variable by a clause that is only active under a fresh activation literal.
+        int activationLiteral = solver.newVariable();
+
+        while (true) {
+          // Prune Tsetin variables from model
+          if (conjunctiveNormalForm.tsetinVariablesLowerBound <= model.length()) {
+            model.clear(conjunctiveNormalForm.tsetinVariablesLowerBound, model.length());
+          }
+
+          BitSet currentModel = model;
+          int[] growingClause = IntStream.concat(
+              IntStream.of(-activationLiteral),
+              IntStream.range(1, conjunctiveNormalForm.tsetinVariablesLowerBound)
+                  .filter(i -> !currentModel.get(i))).toArray();
+
+          if (growingClause.length == 1) {
+            break;
+          }
+
+          solver.addClause(growingClause);
+          BitSet largerModel = solver.model(
+              IntStream.concat(IntStream.of(activationLiteral), model.stream()).toArray());
+
+          if (largerModel == null) {
+            break;
+          }
+
+          model = largerModel;
+        }
+
+        solver.addClause(-activationLiteral);
+
+        // Map model to HashSet<V>.
+        HashSet<V> mappedModel = model.stream()
+            .mapToObj(conjunctiveNormalForm.variableMapping.inverse()::get)
+            .collect(Collectors.toCollection(HashSet::new));
+
+        assert normalisedFormula.evaluate(mappedModel);
+        models.add(mappedModel);
+
+        // Block and continue.
+        solver.addClause(blockingClause(conjunctiveNormalForm, mappedModel));
+      }
+
+      return Collections3.maximalElements(models, (x, y) -> y.containsAll(x));
+    }
+
+    private static <V> int[] blockingClause(ConjunctiveNormalForm<V> encoding, Set<V> model) {
+      return IntStream.range(1, encoding.tsetinVariablesLowerBound)
+          .filter(i -> !model.contains(requireNonNull(encoding.variableMapping.inverse().get(i))))
+          .toArray();
+    }
+  },
+
   KISSAT_EXTERNAL {
 
     private static final ProcessBuilder KISSAT_GLOBAL
@@ -443,7 +521,7 @@ public enum Solver {
     writer.flush();
   }
 
-  public static final Solver DEFAULT_MODELS = KISSAT_EXTERNAL;
+  public static final Solver DEFAULT_MODELS = CDCL;
 
   public static final Solver DEFAULT_MAXIMAL_MODELS = JBDD;
 
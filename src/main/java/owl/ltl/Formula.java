@@ -43,6 +43,9 @@ public abstract sealed class Formula implements Comparable<Formula> {
   private final int hashCode;
   private final int height;
 
+  // Set for the canonical representative of the unique table, see intern().
+  boolean interned = false;
+
   Formula(Class<? extends Formula> clazz, List<? extends Formula> operands) {
     this(clazz, operands, 42);
   }
@@ -158,6 +161,11 @@ public abstract sealed class Formula implements Comparable<Formula> {
       return false;
     }
 
+    // Canonical formulas are equal if and only if they are identical.
+    if (this.interned && that.interned) {
+      return false;
+    }
+
     return this.hashCode == that.hashCode
         && this.height == that.height
         && this.getClass().equals(that.getClass())
@@ -178,6 +186,22 @@ public abstract sealed class Formula implements Comparable<Formula> {
     return height;
   }
 
+  /**
+   * Returns the canonical representative of this formula. Structurally equal formulas are mapped to
+   * the same object, all subformulas of the returned formula are canonical as well, and two
+   * canonical formulas are equal if and only if they are identical. Thus, interning formulas that
+   * are kept for a long time or are compared often shares common subformulas and reduces
+   * {@link #equals(Object)} to a reference comparison.
+   *
+   * <p>Canonical representatives are stored in a global, thread-safe table that only holds weak
+   * references.
+   *
+   * @return the canonical representative of this formula.
+   */
+  public final Formula intern() {
+    return FormulaInterner.intern(this);
+  }
+
   // Temporal Properties of an LTL Formula
   public abstract boolean isPureEventual();
 
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.ltl;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.ArrayList;
+import java.util.List;
+import owl.ltl.visitors.Visitor;
+
+/**
+ * Global unique table for formulas backing {@link Formula#intern()}. The table only holds weak
+ * references to its entries, and thus canonical formulas are collected as soon as they are not
+ * referenced anymore.
+ *
+ * <p>Formulas are interned bottom-up. Hence when a node is looked up in the table all its operands
+ * are already canonical and the equality check against a candidate degenerates to comparing the
+ * operands by identity.
+ */
+final class FormulaInterner implements Visitor<Formula> {
+
+  private static final Interner<Formula> UNIQUE_TABLE = Interners.newWeakInterner();
+  private static final FormulaInterner INSTANCE = new FormulaInterner();
+
+  private FormulaInterner() {}
+
+  static Formula intern(Formula formula) {
+    return formula.interned ? formula : INSTANCE.canonicalize(formula.accept(INSTANCE));
+  }
+
+  private Formula canonicalize(Formula formula) {
+    if (formula.interned) {
+      return formula;
+    }
+
+    Formula canonicalFormula = UNIQUE_TABLE.intern(formula);
+    canonicalFormula.interned = true;
+    return canonicalFormula;
+  }
+
+  private Formula internOperand(Formula operand) {
+    return operand.interned ? operand : canonicalize(operand.accept(this));
+  }
+
+  private List<Formula> internOperands(Formula formula) {
+    List<Formula> operands = new ArrayList<>(formula.operands.size());
+    boolean changed = false;
+
+    for (Formula operand : formula.operands) {
+      Formula internedOperand = internOperand(operand);
+      operands.add(internedOperand);
+      changed |= internedOperand != operand;
+    }
+
+    return changed ? operands : formula.operands;
+  }
+
+  // The visit methods return a formula with canonical operands, which is not yet canonical itself.
+
+  @Override
+  public Formula visit(Biconditional biconditional) {
+    var operands = internOperands(biconditional);
+    return operands == biconditional.operands
+      ? biconditional
+      : new Biconditional(operands.get(0), operands.get(1));
+  }
+
+  @Override
+  public Formula visit(BooleanConstant booleanConstant) {
+    return booleanConstant;
+  }
+
+  @Override
+  public Formula visit(Conjunction conjunction) {
+    var operands = internOperands(conjunction);
+    return operands == conjunction.operands ? conjunction : new Conjunction(operands);
+  }
+
+  @Override
+  public Formula visit(Disjunction disjunction) {
+    var operands = internOperands(disjunction);
+    return operands == disjunction.operands ? disjunction : new Disjunction(operands);
+  }
+
+  @Override
+  public Formula visit(Literal literal) {
+    return literal;
+  }
+
+  @Override
+  public Formula visit(Negation negation) {
+    var operands = internOperands(negation);
+    return operands == negation.operands ? negation : new Negation(operands.get(0));
+  }
+
+  @Override
+  public Formula visit(FOperator fOperator) {
+    var operands = internOperands(fOperator);
+    return operands == fOperator.operands ? fOperator : new FOperator(operands.get(0));
+  }
+
+  @Override
+  public Formula visit(GOperator gOperator) {
+    var operands = internOperands(gOperator);
+    return operands == gOperator.operands ? gOperator : new GOperator(operands.get(0));
+  }
+
+  @Override
+  public Formula visit(MOperator mOperator) {
+    var operands = internOperands(mOperator);
+    return operands == mOperator.operands
+      ? mOperator
+      : new MOperator(operands.get(0), operands.get(1));
+  }
+
+  @Override
+  public Formula visit(ROperator rOperator) {
+    var operands = internOperands(rOperator);
+    return operands == rOperator.operands
+      ? rOperator
+      : new ROperator(operands.get(0), operands.get(1));
+  }
+
+  @Override
+  public Formula visit(UOperator uOperator) {
+    var operands = internOperands(uOperator);
+    return operands == uOperator.operands
+      ? uOperator
+      : new UOperator(operands.get(0), operands.get(1));
+  }
+
+  @Override
+  public Formula visit(WOperator wOperator) {
+    var operands = internOperands(wOperator);
+    return operands == wOperator.operands
+      ? wOperator
+      : new WOperator(operands.get(0), operands.get(1));
+  }
+
+  @Override
+  public Formula visit(XOperator xOperator) {
+    var operands = internOperands(xOperator);
+    return operands == xOperator.operands ? xOperator : new XOperator(operands.get(0));
+  }
+}
@@ -64,13 +64,13 @@ public final class LtlParser {
     // Set fail-fast behaviour for grammar errors
     parser.setErrorHandler(new BailErrorStrategy());
 
-    // Convert the AST into a proper object
+    // Convert the AST into a proper object and share structurally equal subformulas.
     var treeVisitor = atomicPropositions == null
       ? new LtlParseTreeVisitor()
       : new LtlParseTreeVisitor(atomicPropositions);
 
     return LabelledFormula.of(
-      treeVisitor.visit(parser.formula()),
+      treeVisitor.visit(parser.formula()).intern(),
       treeVisitor.atomicPropositions());
   }
 }
@@ -32,7 +32,22 @@ public enum SimplifierRepository {
   PUSH_DOWN_X,
   NNF;
 
+  /**
+   * Simplifies the formula. The result is interned, see {@link Formula#intern()}, since simplified
+   * formulas are usually kept for the translation and compared often.
+   *
+   * @param formula the formula.
+   * @return the canonical representative of the simplified formula.
+   */
   public Formula apply(Formula formula) {
+    return simplify(formula).intern();
+  }
+
+  public LabelledFormula apply(LabelledFormula formula) {
+    return formula.wrap(apply(formula.formula()));
+  }
+
+  private Formula simplify(Formula formula) {
     switch (this) {
       case SYNTACTIC:
         return ((UnaryOperator<Formula>) x -> x.substitute(Formula::nnf))
@@ -71,8 +86,4 @@ public enum SimplifierRepository {
         throw new AssertionError("unreachable");
     }
   }
-
-  public LabelledFormula apply(LabelledFormula formula) {
-    return formula.wrap(apply(formula.formula()));
-  }
 }
@@ -172,11 +172,11 @@ public final class LtlTranslationRepository {
                 : LtlToNbaTranslation.EKS20.translation(
                     BuchiAcceptance.class, copiedTranslationOptions).apply(labelledFormula));
 
-            return ParallelEvaluation.takeSmallestWildcardStateType(ParallelEvaluation.evaluate(
+            return ParallelEvaluation.evaluateSmallest(
                 List.of(
                     () -> (Optional) portfolioTranslation.apply(labelledFormula),
                     eks20translation
-                )));
+                ));
           };
         }
 
@@ -470,12 +470,12 @@ public final class LtlTranslationRepository {
                 EKS20.translation(acceptanceClass, copiedTranslationOptions)
                     .apply(labelledFormula));
 
-            return ParallelEvaluation.takeSmallestWildcardStateType(ParallelEvaluation.evaluate(
+            return ParallelEvaluation.evaluateSmallest(
                 List.of(
                     () -> portfolioTranslation.apply(labelledFormula),
                     sejk16translation,
                     eks20translation
-                )));
+                ));
           };
 
         default:
@@ -628,14 +628,14 @@ public final class LtlTranslationRepository {
                 SLM21.translation(acceptanceClass, copiedTranslationOptions, OptionalInt.empty())
                     .apply(labelledFormula));
 
-            return ParallelEvaluation.takeSmallestWildcardStateType(ParallelEvaluation.evaluate(
+            return ParallelEvaluation.evaluateSmallest(
                 List.of(
                     () -> portfolioTranslation.apply(labelledFormula),
                     sejk16translation,
                     eks20translation,
                     se20bks10SymbolicTranslation,
                     slm21translation
-                )));
+                ));
           };
         }
 
@@ -777,13 +777,13 @@ public final class LtlTranslationRepository {
             Supplier<Optional<Automaton<?, ? extends R>>> se20translation = () -> Optional.of(
                 SE20.translation(acceptanceClass, copiedTranslationOptions).apply(labelledFormula));
 
-            return ParallelEvaluation.takeSmallestWildcardStateType(ParallelEvaluation.evaluate(
+            return ParallelEvaluation.evaluateSmallest(
                 List.of(
                     () -> portfolioTranslation.apply(labelledFormula),
                     sejk16translation,
                     eks20translation,
                     se20translation
-                )));
+                ));
           };
 
         default:
@@ -894,13 +894,13 @@ public final class LtlTranslationRepository {
                     acceptanceClass)
             );
 
-            return ParallelEvaluation.takeSmallestWildcardStateType(ParallelEvaluation.evaluate(
+            return ParallelEvaluation.evaluateSmallest(
                 List.of(
                     () -> portfolioTranslation.apply(labelledFormula),
                     ms17translation,
                     slm21translation,
                     dgraTranslation
-                )));
+                ));
           };
         }
 
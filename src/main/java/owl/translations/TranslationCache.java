@@ -0,0 +1,375 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.translations;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import owl.automaton.Automaton;
+import owl.automaton.IntAutomaton;
+import owl.automaton.acceptance.EmersonLeiAcceptance;
+import owl.automaton.hoa.HoaReader;
+import owl.automaton.hoa.HoaWriter;
+import owl.bdd.FactorySupplier;
+import owl.logic.propositional.PropositionalFormula;
+import owl.ltl.LabelledFormula;
+import owl.ltl.rewriter.LiteralMapper;
+import owl.ltl.visitors.PrintVisitor;
+import owl.thirdparty.jhoafparser.ast.AtomLabel;
+import owl.thirdparty.jhoafparser.consumer.HOAConsumer;
+import owl.thirdparty.jhoafparser.consumer.HOAConsumerException;
+import owl.thirdparty.jhoafparser.consumer.HOAIntermediate;
+import owl.thirdparty.jhoafparser.owl.extensions.HOAConsumerPrintFixed;
+import owl.thirdparty.jhoafparser.parser.generated.ParseException;
+import owl.util.OwlVersion;
+
+/**
+ * A persistent, content-addressed cache for LTL translations.
+ *
+ * <p>Formulas are normalised before the lookup: unused atomic propositions are removed (see
+ * {@link LiteralMapper#shiftLiterals(LabelledFormula)}) and the remaining atomic propositions are
+ * renamed to {@code p0, p1, ...}. Thus two formulas that only differ in the names of their atomic
+ * propositions (in the same relative order) share an entry. The normalised formula is hashed
+ * together with {@link #FORMAT_VERSION}, the version of Owl and a string describing the
+ * configuration of the translation, e.g., the selected translation and its options, and the
+ * automaton is stored in HOA format over the normalised atomic propositions in a file named by the
+ * hash. On a miss the automaton returned by the translation is passed through. On a hit the cached
+ * file is parsed from a memory-mapped view by {@link HoaReader} and the atomic propositions are
+ * renamed back.
+ *
+ * <p>The total size of the cache directory is bounded. The size is tracked by an estimate that is
+ * updated on every insertion. If the estimate exceeds the bound, the directory is scanned and the
+ * least recently used entries are removed until a quarter of the bound is free again. Entries are
+ * written atomically and thus a cache directory can be shared by several threads and processes.
+ */
+public final class TranslationCache implements Function<LabelledFormula, Automaton<?, ?>> {
+
+  /**
+   * The version of the cache entries. Development builds of Owl all share the same version string
+   * and thus this has to be incremented whenever a translation or the format of the entries
+   * changes, such that stale entries are not used.
+   */
+  public static final int FORMAT_VERSION = 1;
+
+  private static final Logger logger = Logger.getLogger(TranslationCache.class.getName());
+  private static final String SUFFIX = ".hoa";
+
+  private final Function<? super LabelledFormula, ? extends Automaton<?, ?>> translation;
+  private final String configuration;
+  private final Path directory;
+  private final long maximalSize;
+
+  // Estimated size of the cache directory in bytes, or -1 if the directory has not been scanned.
+  private final AtomicLong estimatedSize = new AtomicLong(-1);
+
+  /**
+   * Wrap a translation into a cache.
+   *
+   * @param translation the translation.
+   * @param configuration a description of the translation and its configuration. Entries are
+   *     only shared between translations with equal configurations.
+   * @param directory the cache directory. It is created if it does not exist.
+   * @param maximalSize the maximal size of the cache directory in bytes.
+   */
+  public TranslationCache(
+    Function<? super LabelledFormula, ? extends Automaton<?, ?>> translation,
+    String configuration,
+    Path directory,
+    long maximalSize) {
+
+    checkArgument(maximalSize > 0, "maximalSize must be positive.");
+    this.translation = translation;
+    this.configuration = configuration;
+    this.directory = directory;
+    this.maximalSize = maximalSize;
+
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Override
+  public Automaton<?, ?> apply(LabelledFormula formula) {
+    var shiftedFormula = LiteralMapper.shiftLiterals(formula);
+    int size = shiftedFormula.formula.atomicPropositions().size();
+    List<String> normalisedAtomicPropositions = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      normalisedAtomicPropositions.add("p" + i);
+    }
+
+    var normalisedFormula
+      = LabelledFormula.of(shiftedFormula.formula.formula(), normalisedAtomicPropositions);
+    String key = "owl-translation-cache " + FORMAT_VERSION + '\n'
+      + OwlVersion.getNameAndVersion().version() + '\n'
+      + configuration + '\n'
+      + PrintVisitor.toString(normalisedFormula, true);
+    Path entry = directory.resolve(
+      Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + SUFFIX);
+
+    // The i-th atomic proposition of the formula is the mapping[i]-th normalised one.
+    int[] mapping = new int[formula.atomicPropositions().size()];
+
+    for (int i = 0; i < mapping.length; i++) {
+      mapping[i] = i < shiftedFormula.mapping.length()
+        ? shiftedFormula.mapping.get(i)
+        : LiteralMapper.UNDEFINED;
+    }
+
+    var cachedAutomaton = lookup(entry, key, mapping);
+
+    if (cachedAutomaton != null) {
+      return cachedAutomaton.withAtomicPropositions(formula.atomicPropositions());
+    }
+
+    Automaton<?, ?> automaton = translation.apply(formula);
+    store(entry, key, automaton, mapping);
+    return automaton;
+  }
+
+  @Nullable
+  private IntAutomaton<?> lookup(Path entry, String key, int[] mapping) {
+    // Name the atomic propositions such that the reader maps the normalised atomic propositions
+    // to the indices of the formula. The unused atomic propositions get names that do not occur
+    // in the entry.
+    List<String> atomicPropositions = new ArrayList<>(mapping.length);
+
+    for (int i = 0; i < mapping.length; i++) {
+      atomicPropositions.add(
+        mapping[i] == LiteralMapper.UNDEFINED ? "unused" + i : "p" + mapping[i]);
+    }
+
+    List<Automaton<Integer, ?>> automata = new ArrayList<>(1);
+
+    try {
+      // The key is stored in front of the automaton in order to detect hash collisions.
+      byte[] prefix = prefix(key).getBytes(StandardCharsets.UTF_8);
+      byte[] storedPrefix;
+
+      try (InputStream input = Files.newInputStream(entry)) {
+        storedPrefix = input.readNBytes(prefix.length);
+      }
+
+      if (!Arrays.equals(prefix, storedPrefix)) {
+        return null;
+      }
+
+      HoaReader.readStream(entry,
+        FactorySupplier.defaultSupplier()::getBddSetFactory, atomicPropositions, automata::add);
+      // Mark the entry as recently used.
+      Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (NoSuchFileException ex) {
+      return null;
+    } catch (IOException | ParseException ex) {
+      logger.log(Level.WARNING, "Failed to read cache entry " + entry, ex);
+      return null;
+    }
+
+    if (automata.size() != 1) {
+      logger.log(Level.WARNING, "Malformed cache entry " + entry);
+      return null;
+    }
+
+    return intAutomaton(automata.get(0));
+  }
+
+  private void store(Path entry, String key, Automaton<?, ?> automaton, int[] mapping) {
+    Path temporaryFile = null;
+
+    try {
+      temporaryFile = Files.createTempFile(directory, "entry", ".tmp");
+
+      try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+        writer.write(prefix(key));
+        HoaWriter.write(automaton,
+          new NormalisingConsumer(new HOAConsumerPrintFixed(writer), mapping), false);
+      } catch (HOAConsumerException ex) {
+        logger.log(Level.FINE, "Automaton cannot be cached, not storing " + entry, ex);
+        return;
+      }
+
+      long entrySize = Files.size(temporaryFile);
+
+      try {
+        Files.move(temporaryFile, entry,
+          StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException ex) {
+        Files.move(temporaryFile, entry, StandardCopyOption.REPLACE_EXISTING);
+      }
+
+      // Scanning the directory is linear in the number of entries and is thus only done if the
+      // estimate exceeds the bound. Entries written by other processes are accounted for by the
+      // next scan.
+      long size = estimatedSize.accumulateAndGet(entrySize, (x, y) -> x < 0 ? x : x + y);
+
+      if (size < 0 || size > maximalSize) {
+        evict();
+      }
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Failed to write cache entry " + entry, ex);
+    } finally {
+      if (temporaryFile != null) {
+        try {
+          Files.deleteIfExists(temporaryFile);
+        } catch (IOException ex) {
+          logger.log(Level.WARNING, "Failed to delete temporary file " + temporaryFile, ex);
+        }
+      }
+    }
+  }
+
+  private void evict() throws IOException {
+    record Entry(Path path, long size, FileTime lastModifiedTime) {}
+
+    List<Entry> entries = new ArrayList<>();
+    long totalSize = 0;
+
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, '*' + SUFFIX)) {
+      for (Path path : stream) {
+        BasicFileAttributes attributes;
+
+        try {
+          attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+          // Concurrently removed.
+          continue;
+        }
+
+        entries.add(new Entry(path, attributes.size(), attributes.lastModifiedTime()));
+        totalSize += attributes.size();
+      }
+    }
+
+    if (totalSize > maximalSize) {
+      // Free a quarter of the bound such that the directory is not scanned on every insertion.
+      long targetSize = maximalSize - maximalSize / 4;
+      entries.sort(Comparator.comparing(Entry::lastModifiedTime));
+
+      for (Entry entry : entries) {
+        if (totalSize <= targetSize) {
+          break;
+        }
+
+        Files.deleteIfExists(entry.path());
+        totalSize -= entry.size();
+      }
+    }
+
+    estimatedSize.set(totalSize);
+  }
+
+  // The key is written as a comment, in which the delimiters of comments are escaped.
+  private static String prefix(String key) {
+    String escapedKey = key.replace("%", "%25").replace("*", "%2A").replace("/", "%2F");
+    return "/* " + escapedKey + " */\n";
+  }
+
+  // The fast path of the reader yields IntAutomata, the full parser is only used for entries
+  // that were not written by this class.
+  private static <A extends EmersonLeiAcceptance> IntAutomaton<A> intAutomaton(
+    Automaton<Integer, A> automaton) {
+
+    return automaton instanceof IntAutomaton<A> intAutomaton
+      ? intAutomaton
+      : IntAutomaton.copyOf(automaton);
+  }
+
+  /**
+   * Renames the atomic propositions to the normalised ones and drops the unused ones.
+   */
+  private static final class NormalisingConsumer extends HOAIntermediate {
+    private final int[] mapping;
+
+    private NormalisingConsumer(HOAConsumer next, int[] mapping) {
+      super(next);
+      this.mapping = mapping;
+    }
+
+    @Override
+    public void setAPs(List<String> aps) throws HOAConsumerException {
+      if (aps.size() != mapping.length) {
+        throw new HOAConsumerException("Unexpected atomic propositions " + aps);
+      }
+
+      int size = (int) Arrays.stream(mapping).filter(i -> i != LiteralMapper.UNDEFINED).count();
+      List<String> normalisedAtomicPropositions = new ArrayList<>(size);
+
+      for (int i = 0; i < size; i++) {
+        normalisedAtomicPropositions.add("p" + i);
+      }
+
+      next.setAPs(normalisedAtomicPropositions);
+    }
+
+    @Override
+    public void addState(int id, @Nullable String info,
+      @Nullable PropositionalFormula<AtomLabel> labelExpr, @Nullable List<Integer> accSignature)
+      throws HOAConsumerException {
+
+      next.addState(id, info, labelExpr == null ? null : normalise(labelExpr), accSignature);
+    }
+
+    @Override
+    public void addEdgeWithLabel(int stateId, PropositionalFormula<AtomLabel> labelExpr,
+      Collection<Integer> conjSuccessors, @Nullable Collection<Integer> accSignature)
+      throws HOAConsumerException {
+
+      next.addEdgeWithLabel(stateId, normalise(labelExpr), conjSuccessors, accSignature);
+    }
+
+    private PropositionalFormula<AtomLabel> normalise(PropositionalFormula<AtomLabel> label)
+      throws HOAConsumerException {
+
+      for (AtomLabel atom : label.variables()) {
+        if (atom.isAlias() || mapping[atom.apIndex()] == LiteralMapper.UNDEFINED) {
+          throw new HOAConsumerException("Label refers to an unused atomic proposition.");
+        }
+      }
+
+      return label.map(atom -> AtomLabel.createAPIndex(mapping[atom.apIndex()]));
+    }
+  }
+}
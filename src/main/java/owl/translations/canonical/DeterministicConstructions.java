@@ -221,6 +221,13 @@ public final class DeterministicConstructions {
           .map(x -> Collections3.ofNullable(buildEdge(Iterables.getOnlyElement(x).unfold())));
     }
 
+    // The successors only depend on the equivalence class and thus can be computed concurrently,
+    // if the factory can be shared.
+    @Override
+    protected final boolean concurrentEdgeTreeImpl() {
+      return factory.isThreadSafe();
+    }
+
     @Nullable
     protected abstract Edge<EquivalenceClass> buildEdge(EquivalenceClass successor);
   }
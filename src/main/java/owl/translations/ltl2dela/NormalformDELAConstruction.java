@@ -395,7 +395,7 @@ public final class NormalformDELAConstruction
         var xor = PropositionalFormula.Negation.of(
             PropositionalFormula.Biconditional.of(alpha, simplifiedAcceptance));
 
-        if (Solver.DPLL.model(xor).isEmpty()) {
+        if (Solver.DEFAULT_MODELS.model(xor).isEmpty()) {
           return ImmutableBitSet.copyOf(padding);
         }
       }
@@ -77,8 +77,8 @@ public class LTL2DPAFunction implements Function<LabelledFormula, Automaton<?, P
     }
 
     return OmegaAcceptanceCast.cast(
-      ParallelEvaluation.takeSmallest((List)
-        ParallelEvaluation.evaluate(List.of(automatonSupplier, complementSupplier))),
+      (Automaton) ParallelEvaluation.evaluateSmallest(
+        List.of(automatonSupplier, complementSupplier)),
       ParityAcceptance.class);
   }
 
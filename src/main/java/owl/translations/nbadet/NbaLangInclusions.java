@@ -29,7 +29,7 @@ import java.util.stream.Collectors;
 import owl.automaton.Automaton;
 import owl.automaton.acceptance.BuchiAcceptance;
 import owl.automaton.algorithm.simulations.BuchiSimulation;
-import owl.automaton.algorithm.simulations.ColorRefinement;
+import owl.automaton.algorithm.simulations.DirectSimulation;
 import owl.bdd.BddSet;
 import owl.collections.Pair;
 
@@ -152,7 +152,7 @@ public final class NbaLangInclusions {
     @Override
     public Set<Pair<S, S>> compute(Automaton<S, ? extends BuchiAcceptance> aut, Integer parsedArg) {
       logger.fine("running direct simulation based on color refinement.");
-      return ColorRefinement.of(aut);
+      return DirectSimulation.of(aut);
     }
   }
 
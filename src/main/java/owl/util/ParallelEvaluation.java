@@ -19,48 +19,166 @@
 
 package owl.util;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.common.util.concurrent.Uninterruptibles;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 import owl.automaton.Automaton;
 import owl.automaton.acceptance.EmersonLeiAcceptance;
 
 /**
  * This class provides static methods that evaluate the list of suppliers in parallel.
+ *
+ * <p>All methods share a bounded pool of daemon threads. The calling thread evaluates the first
+ * supplier and afterwards every supplier that has not been started by the pool yet. Thus nested
+ * evaluations, e.g., a portfolio that contains another portfolio, always make progress even if
+ * all threads of the pool are occupied.</p>
  */
 public final class ParallelEvaluation {
 
+  /**
+   * The system property setting the time budget in milliseconds of each candidate of
+   * {@link #evaluateSmallest(List)}. If unset, the candidates have no time budget.
+   */
+  public static final String TIME_BUDGET_PROPERTY = "owl.portfolio.timeBudget";
+
   private ParallelEvaluation() {}
 
   public static <T> List<T> evaluate(List<? extends Supplier<Optional<T>>> suppliers) {
-    ExecutorService executorService = Executors.newCachedThreadPool();
-    List<Future<Optional<? extends T>>> futures = new ArrayList<>();
+    List<FutureTask<Optional<T>>> tasks = new ArrayList<>(suppliers.size());
 
-    // All suppliers, except the first one, are executed by the executor, i.e., on another thread.
-    for (int i = 1, s = suppliers.size(); i < s; i++) {
-      futures.add(executorService.submit(suppliers.get(i)::get));
+    for (Supplier<Optional<T>> supplier : suppliers) {
+      tasks.add(new FutureTask<>(supplier::get));
     }
 
     List<T> results = new ArrayList<>();
-    suppliers.get(0).get().ifPresent(results::add);
 
-    // Retrieve results.
-    for (Future<Optional<? extends T>> future : futures) {
+    try {
+      for (Optional<T> result : run(tasks)) {
+        result.ifPresent(results::add);
+      }
+    } finally {
+      tasks.forEach(task -> task.cancel(false));
+    }
+
+    return results;
+  }
+
+  /**
+   * Evaluates the suppliers in parallel and returns the smallest automaton with respect to the
+   * order of {@link #takeSmallest(List)}. Each automaton is explored by the thread that computed
+   * it. Exploration of an automaton stops as soon as it has more states than an already completed
+   * candidate, since it cannot be the smallest anymore, or if it exceeds the time budget set by
+   * {@link #TIME_BUDGET_PROPERTY} and another candidate has already been completed.
+   *
+   * @param suppliers the candidates. An empty result is ignored.
+   * @return the smallest automaton.
+   * @throws NoSuchElementException if no supplier returned an automaton.
+   * @throws IllegalArgumentException if the time budget property is set to an invalid value.
+   */
+  public static <A extends EmersonLeiAcceptance> Automaton<?, ? extends A> evaluateSmallest(
+    List<? extends Supplier<? extends Optional<? extends Automaton<?, ? extends A>>>> suppliers) {
+
+    String timeBudget = System.getProperty(TIME_BUDGET_PROPERTY);
+
+    if (timeBudget == null) {
+      return evaluateSmallest(suppliers, null);
+    }
+
+    long milliseconds;
+
+    try {
+      milliseconds = Long.parseLong(timeBudget.strip());
+      checkArgument(milliseconds > 0);
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException("The property '" + TIME_BUDGET_PROPERTY
+        + "' must be a positive integer, but was '" + timeBudget + "'.", ex);
+    }
+
+    return evaluateSmallest(suppliers, Duration.ofMillis(milliseconds));
+  }
+
+  /**
+   * Evaluates the suppliers in parallel and returns the smallest automaton with respect to the
+   * order of {@link #takeSmallest(List)}. Each automaton is explored by the thread that computed
+   * it. Exploration of an automaton stops as soon as it has more states than an already completed
+   * candidate, since it cannot be the smallest anymore, or if it exceeds the time budget and
+   * another candidate has already been completed. Cancellation is cooperative: it is only checked
+   * during exploration and not while a supplier is computing.
+   *
+   * @param suppliers the candidates. An empty result is ignored.
+   * @param timeBudget the time budget of each candidate, or {@code null} if there is none.
+   * @return the smallest automaton.
+   * @throws NoSuchElementException if no supplier returned an automaton.
+   */
+  public static <A extends EmersonLeiAcceptance> Automaton<?, ? extends A> evaluateSmallest(
+    List<? extends Supplier<? extends Optional<? extends Automaton<?, ? extends A>>>> suppliers,
+    @Nullable Duration timeBudget) {
+
+    var portfolio = new Portfolio(timeBudget == null ? Long.MAX_VALUE : timeBudget.toNanos());
+    List<FutureTask<Candidate<A>>> tasks = new ArrayList<>(suppliers.size());
+
+    for (Supplier<? extends Optional<? extends Automaton<?, ? extends A>>> supplier : suppliers) {
+      tasks.add(new FutureTask<>(() -> portfolio.run(supplier)));
+    }
+
+    Candidate<A> smallest = null;
+
+    try {
+      // Since candidates are processed in order, the first one wins ties.
+      for (Candidate<A> candidate : run(tasks)) {
+        if (candidate != null && (smallest == null || candidate.compareTo(smallest) < 0)) {
+          smallest = candidate;
+        }
+      }
+    } finally {
+      tasks.forEach(task -> task.cancel(false));
+    }
+
+    if (smallest == null) {
+      throw new NoSuchElementException();
+    }
+
+    return smallest.automaton();
+  }
+
+  private static <T> List<T> run(List<FutureTask<T>> tasks) {
+    // All tasks, except the first one, are submitted to the pool.
+    for (FutureTask<T> task : tasks.subList(Math.min(1, tasks.size()), tasks.size())) {
+      Pool.EXECUTOR.execute(task);
+    }
+
+    List<T> results = new ArrayList<>(tasks.size());
+
+    for (FutureTask<T> task : tasks) {
+      // Does nothing if the task has already been started by the pool.
+      task.run();
+
       try {
-        Uninterruptibles.getUninterruptibly(future).ifPresent(results::add);
+        results.add(Uninterruptibles.getUninterruptibly(task));
       } catch (ExecutionException e) {
-        throw new RuntimeException(e);
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new UncheckedExecutionException(e.getCause());
       }
     }
 
-    executorService.shutdownNow();
     return results;
   }
 
@@ -96,6 +214,92 @@ public final class ParallelEvaluation {
     return smallestAutomaton;
   }
 
+  private static final class Pool {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+      Runtime.getRuntime().availableProcessors(),
+      runnable -> {
+        var thread = new Thread(
+          runnable, "owl-parallel-evaluation-" + THREAD_COUNT.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+      });
+
+    private Pool() {}
+  }
+
+  private record Candidate<A extends EmersonLeiAcceptance>(
+    Automaton<?, ? extends A> automaton, int size, int acceptanceSets)
+    implements Comparable<Candidate<A>> {
+
+    @Override
+    public int compareTo(Candidate<A> that) {
+      int sizeComparison = Integer.compare(size, that.size);
+      return sizeComparison == 0
+        ? Integer.compare(acceptanceSets, that.acceptanceSets)
+        : sizeComparison;
+    }
+  }
+
+  private static final class Portfolio {
+    private final long timeBudget;
+    // The size of the smallest completed candidate.
+    private final AtomicInteger smallestSize = new AtomicInteger(Integer.MAX_VALUE);
+
+    private Portfolio(long timeBudget) {
+      this.timeBudget = timeBudget;
+    }
+
+    @Nullable
+    private <A extends EmersonLeiAcceptance> Candidate<A> run(
+      Supplier<? extends Optional<? extends Automaton<?, ? extends A>>> supplier) {
+
+      long start = System.nanoTime();
+      Optional<? extends Automaton<?, ? extends A>> result = supplier.get();
+
+      if (result.isEmpty()) {
+        return null;
+      }
+
+      Automaton<?, ? extends A> automaton = result.get();
+      int size = explore(automaton, start);
+
+      if (size < 0) {
+        return null;
+      }
+
+      smallestSize.accumulateAndGet(size, Math::min);
+      return new Candidate<>(automaton, size, automaton.acceptance().acceptanceSets());
+    }
+
+    // Returns the number of states or -1 if the exploration has been cancelled.
+    private <S> int explore(Automaton<S, ?> automaton, long start) {
+      Set<S> exploredStates = new HashSet<>(automaton.initialStates());
+      Deque<S> workList = new ArrayDeque<>(exploredStates);
+
+      while (!workList.isEmpty()) {
+        if (isLosing(exploredStates.size(), start)) {
+          return -1;
+        }
+
+        for (S successor : automaton.successors(workList.remove())) {
+          if (exploredStates.add(successor)) {
+            workList.add(successor);
+          }
+        }
+      }
+
+      return exploredStates.size();
+    }
+
+    private boolean isLosing(int size, long start) {
+      int smallestSize = this.smallestSize.get();
+      return size > smallestSize
+        || (smallestSize < Integer.MAX_VALUE && System.nanoTime() - start > timeBudget);
+    }
+  }
+
   @SuppressWarnings({"unchecked", "raw"})
   public static <A extends EmersonLeiAcceptance> Automaton<?, ? extends A>
     takeSmallestWildcardStateType(
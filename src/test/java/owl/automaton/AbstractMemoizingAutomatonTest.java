@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.automaton;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import owl.automaton.acceptance.AllAcceptance;
+import owl.automaton.edge.Edge;
+import owl.bdd.MtBdd;
+
+class AbstractMemoizingAutomatonTest {
+
+  @Test
+  void testParallelExploration() {
+    int size = 1000;
+    var automaton = new ModuloAutomaton(size);
+    var pool = new ForkJoinPool(4);
+
+    try {
+      var states = automaton.states(pool);
+      assertEquals(IntStream.range(0, size).boxed().collect(Collectors.toSet()), states);
+      assertTrue(automaton.explorationCompleted);
+
+      // The transition relation is memoized and identical to the sequential exploration.
+      var reference = new ModuloAutomaton(size);
+      assertEquals(reference.states(), states);
+
+      for (Integer state : states) {
+        assertEquals(reference.edgeTree(state), automaton.edgeTree(state));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static final class ModuloAutomaton
+      extends AbstractMemoizingAutomaton.EdgeTreeImplementation<Integer, AllAcceptance> {
+
+    private final int size;
+    private boolean explorationCompleted = false;
+
+    private ModuloAutomaton(int size) {
+      super(List.of("a"), Set.of(0), AllAcceptance.INSTANCE);
+      this.size = size;
+    }
+
+    @Override
+    protected MtBdd<Edge<Integer>> edgeTreeImpl(Integer state) {
+      return MtBdd.of(0,
+          MtBdd.of(Edge.of((state + 1) % size)),
+          MtBdd.of(Edge.of((2 * state + 1) % size)));
+    }
+
+    @Override
+    protected boolean concurrentEdgeTreeImpl() {
+      return true;
+    }
+
+    @Override
+    protected void explorationCompleted() {
+      explorationCompleted = true;
+    }
+  }
+}
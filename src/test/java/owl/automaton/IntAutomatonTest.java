@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.automaton;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import owl.automaton.acceptance.EmersonLeiAcceptance;
+import owl.automaton.acceptance.GeneralizedBuchiAcceptance;
+import owl.automaton.acceptance.GeneralizedRabinAcceptance;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.automaton.algorithm.LanguageEmptiness;
+import owl.automaton.algorithm.SccDecomposition;
+import owl.automaton.edge.Edge;
+import owl.automaton.hoa.HoaReader;
+import owl.automaton.hoa.HoaWriter;
+import owl.bdd.BddSet;
+import owl.collections.Numbering;
+import owl.ltl.LabelledFormula;
+import owl.ltl.parser.LtlParser;
+import owl.thirdparty.jhoafparser.parser.generated.ParseException;
+import owl.translations.LtlTranslationRepository;
+import owl.translations.LtlTranslationRepository.BranchingMode;
+
+class IntAutomatonTest {
+
+  private static final List<String> FORMULAS = List.of(
+    "a U b",
+    "G a & F !a",
+    "F G a | G F b",
+    "G F a & F G !a",
+    "G (a -> F b) & F G !b & G F a",
+    "(G F a -> G F b) & (G F c -> G F d)",
+    "X (a R (b M c)) | F G (a <-> X b)");
+
+  private static final List<Function<LabelledFormula, ? extends Automaton<?, ?>>> TRANSLATIONS =
+    List.of(
+      LtlTranslationRepository.defaultTranslation(
+        BranchingMode.DETERMINISTIC, ParityAcceptance.class),
+      LtlTranslationRepository.defaultTranslation(
+        BranchingMode.DETERMINISTIC, GeneralizedRabinAcceptance.class),
+      LtlTranslationRepository.defaultTranslation(
+        BranchingMode.DETERMINISTIC, EmersonLeiAcceptance.class),
+      LtlTranslationRepository.defaultTranslation(
+        BranchingMode.NON_DETERMINISTIC, GeneralizedBuchiAcceptance.class));
+
+  static List<Automaton<?, ?>> automata() {
+    return FORMULAS.stream()
+      .map(LtlParser::parse)
+      .flatMap(formula -> TRANSLATIONS.stream().flatMap(translation -> List.of(
+        translation.apply(formula), translation.apply(formula.not())).stream()))
+      .<Automaton<?, ?>>map(x -> x)
+      .toList();
+  }
+
+  @ParameterizedTest
+  @MethodSource("automata")
+  void testCopyOf(Automaton<Object, ?> automaton) {
+    var numbering = new Numbering<Object>();
+    var intAutomaton = IntAutomaton.copyOf(automaton, numbering);
+
+    assertEquals(automaton.states().size(), intAutomaton.stateCount());
+    assertEquals(automaton.initialStates().size(), intAutomaton.initialStates().size());
+
+    for (int state = 0; state < intAutomaton.stateCount(); state++) {
+      Set<Edge<Object>> expectedEdges = new HashSet<>();
+      automaton.edgeMap(numbering.lookup(state)).forEach((edge, guard) -> {
+        if (!guard.isEmpty()) {
+          expectedEdges.add(edge);
+        }
+      });
+
+      Set<Edge<Object>> actualEdges = new HashSet<>();
+
+      for (Edge<Integer> edge : intAutomaton.edges(state)) {
+        actualEdges.add(edge.mapSuccessor(x -> numbering.lookup(x.intValue())));
+      }
+
+      assertEquals(expectedEdges, actualEdges);
+
+      for (var entry : intAutomaton.edgeMap(state).entrySet()) {
+        BddSet expectedGuard = automaton.edgeMap(numbering.lookup(state))
+          .get(entry.getKey().mapSuccessor(x -> numbering.lookup(x.intValue())));
+        assertEquals(expectedGuard, entry.getValue());
+      }
+    }
+
+    var copy = intAutomaton.toAutomaton(numbering);
+    assertEquals(automaton.states(), copy.states());
+    assertEquals(automaton.initialStates(), copy.initialStates());
+  }
+
+  @ParameterizedTest
+  @MethodSource("automata")
+  void testPredecessors(Automaton<Object, ?> automaton) {
+    var intAutomaton = IntAutomaton.copyOf(automaton);
+    List<Set<Integer>> expected = new ArrayList<>();
+
+    for (int state = 0; state < intAutomaton.stateCount(); state++) {
+      expected.add(new HashSet<>());
+    }
+
+    for (int state = 0; state < intAutomaton.stateCount(); state++) {
+      for (int successor : intAutomaton.successors(state)) {
+        expected.get(successor).add(state);
+      }
+    }
+
+    for (int state = 0; state < intAutomaton.stateCount(); state++) {
+      assertEquals(expected.get(state), intAutomaton.predecessors(state));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("automata")
+  void testSccDecomposition(Automaton<Object, ?> automaton) {
+    var numbering = new Numbering<Object>();
+    var intAutomaton = IntAutomaton.copyOf(automaton, numbering);
+
+    var expectedSccs = SccDecomposition.of(automaton).sccs();
+    var actualSccs = SccDecomposition.of(intAutomaton).sccs();
+
+    assertEquals(expectedSccs.size(), actualSccs.size());
+    assertEquals(
+      Set.copyOf(expectedSccs),
+      actualSccs.stream().map(scc -> {
+        Set<Object> mappedScc = new HashSet<>();
+
+        for (int state : scc) {
+          mappedScc.add(numbering.lookup(state));
+        }
+
+        return mappedScc;
+      }).collect(Collectors.toSet()));
+
+    // The SCCs are in topological order.
+    var decomposition = SccDecomposition.of(intAutomaton);
+
+    for (int i = 0; i < actualSccs.size(); i++) {
+      for (int state : actualSccs.get(i)) {
+        for (int successor : intAutomaton.successors(state)) {
+          assertTrue(decomposition.index(successor) >= i);
+        }
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("automata")
+  void testLanguageEmptiness(Automaton<Object, ?> automaton) {
+    assertEquals(
+      LanguageEmptiness.isEmpty(automaton),
+      LanguageEmptiness.isEmpty(IntAutomaton.copyOf(automaton)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("automata")
+  void testHoaWriter(Automaton<Object, ?> automaton) throws ParseException {
+    var intAutomaton = IntAutomaton.copyOf(automaton);
+    var readAutomaton = HoaReader.read(HoaWriter.toString(intAutomaton));
+
+    assertEquals(intAutomaton.states(), readAutomaton.states());
+    assertEquals(intAutomaton.initialStates(), readAutomaton.initialStates());
+    assertEquals(
+      intAutomaton.acceptance().booleanExpression(),
+      readAutomaton.acceptance().booleanExpression());
+
+    for (int state = 0; state < intAutomaton.stateCount(); state++) {
+      assertEquals(intAutomaton.edges(state), readAutomaton.edges(state));
+    }
+  }
+}
@@ -22,11 +22,17 @@ package owl.automaton;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import owl.automaton.acceptance.AllAcceptance;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.automaton.algorithm.LanguageContainment;
 import owl.automaton.algorithm.LanguageEmptiness;
+import owl.ltl.parser.LtlParser;
+import owl.translations.LtlTranslationRepository.LtlToDpaTranslation;
+import owl.translations.LtlTranslationRepository.Option;
 
 class ViewsTest {
 
@@ -41,4 +47,21 @@ class ViewsTest {
     assertTrue(completeAutomaton.is(Automaton.Property.COMPLETE));
     assertTrue(LanguageEmptiness.isEmpty(completeAutomaton));
   }
-}
\ No newline at end of file
+
+  @Test
+  void convertParity() {
+    var translation = LtlToDpaTranslation.SLM21.translation(EnumSet.of(Option.COMPLETE));
+
+    for (var formula : List.of("F G a | G F b", "G F a & F G !b", "(a U b) R X c")) {
+      var automaton = translation.apply(LtlParser.parse(formula));
+
+      for (var parity : ParityAcceptance.Parity.values()) {
+        var converted = Views.convertParity(automaton, parity);
+        assertEquals(parity, converted.acceptance().parity());
+        assertTrue(LanguageContainment.languageEquivalent(automaton, converted), formula);
+        assertTrue(LanguageContainment.languageEquivalent(
+          automaton, Views.convertParity(converted, automaton.acceptance().parity())), formula);
+      }
+    }
+  }
+}
@@ -20,16 +20,20 @@
 package owl.automaton.algorithm.simulations;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
+import owl.automaton.Automaton;
 import owl.automaton.HashMapAutomaton;
 import owl.automaton.MutableAutomaton;
 import owl.automaton.acceptance.BuchiAcceptance;
 import owl.automaton.edge.Edge;
 import owl.collections.Pair;
+import owl.ltl.parser.LtlParser;
+import owl.translations.LtlTranslationRepository;
 
 class BuchiSimulationTest {
 
@@ -89,4 +93,27 @@ class BuchiSimulationTest {
       new BuchiSimulation().directSimulation(automaton, automaton, 1)
     );
   }
-}
\ No newline at end of file
+
+  @Test
+  public void ltlAutomataTest() {
+    var translation = LtlTranslationRepository.LtlToNbaTranslation.EKS20
+      .translation(BuchiAcceptance.class);
+
+    for (String formula : List.of("G F a | F G b", "G (a -> X (b U c))", "F G a & G F (b | c)")) {
+      assertSimulationsContainDirectSimulation(translation.apply(LtlParser.parse(formula)));
+    }
+  }
+
+  private static <S> void assertSimulationsContainDirectSimulation(
+    Automaton<S, ? extends BuchiAcceptance> automaton) {
+
+    var simulation = new BuchiSimulation();
+    var direct = simulation.directSimulation(automaton, automaton, 1);
+
+    // The games for all pairs are solved in parallel and share their results.
+    assertEquals(DirectSimulation.of(automaton), direct);
+    assertTrue(simulation.directSimulation(automaton, automaton, 2).containsAll(direct));
+    assertTrue(simulation.directLookaheadSimulation(automaton, automaton, 2).containsAll(direct));
+    assertTrue(simulation.delayedSimulation(automaton, automaton, 1).containsAll(direct));
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.automaton.algorithm.simulations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import owl.automaton.Automaton;
+import owl.automaton.acceptance.BuchiAcceptance;
+import owl.ltl.LabelledFormula;
+import owl.ltl.parser.LtlParser;
+import owl.translations.LtlTranslationRepository;
+
+public class DirectSimulationTest {
+
+  private static final Function<LabelledFormula, Automaton<?, ? extends BuchiAcceptance>> LTL_TO_NBA
+    = LtlTranslationRepository.LtlToNbaTranslation.EKS20.translation(BuchiAcceptance.class);
+
+  @Test
+  void testCommonAutomata() {
+    for (var automaton : List.of(
+      CommonAutomata.buildAutomatonOne(),
+      CommonAutomata.anotherRefinementAutomaton(),
+      CommonAutomata.simpleColorRefinementAutomaton(),
+      CommonAutomata.predecessorAutomaton())) {
+
+      assertEquals(ColorRefinement.of(automaton), DirectSimulation.of(automaton));
+      assertEquals(
+        new BuchiSimulation().directSimulation(automaton, automaton, 1),
+        DirectSimulation.of(automaton));
+    }
+  }
+
+  @Test
+  void testLtlAutomata() {
+    for (String formula : List.of(
+      "G F a",
+      "F G a | G F b",
+      "a U (b | X c)",
+      "G (a -> F b) & F G c",
+      "(G F a -> G F b) & X X (c R d)")) {
+
+      assertSameRelation(LTL_TO_NBA.apply(LtlParser.parse(formula)));
+    }
+  }
+
+  private static <S> void assertSameRelation(Automaton<S, ? extends BuchiAcceptance> automaton) {
+    assertEquals(ColorRefinement.of(automaton), DirectSimulation.of(automaton));
+  }
+}
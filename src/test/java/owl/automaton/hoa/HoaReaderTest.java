@@ -27,14 +27,21 @@ import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static owl.util.Assertions.assertThat;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import owl.automaton.Automaton;
+import owl.automaton.IntAutomaton;
 import owl.automaton.acceptance.AllAcceptance;
 import owl.automaton.acceptance.BuchiAcceptance;
 import owl.automaton.acceptance.EmersonLeiAcceptance;
@@ -44,6 +51,7 @@ import owl.automaton.acceptance.ParityAcceptance;
 import owl.automaton.acceptance.RabinAcceptance;
 import owl.automaton.edge.Edge;
 import owl.bdd.BddSetFactory;
+import owl.bdd.FactorySupplier;
 import owl.thirdparty.jhoafparser.parser.generated.ParseException;
 
 class HoaReaderTest {
@@ -211,6 +219,69 @@ class HoaReaderTest {
     Assertions.assertThrows(ParseException.class, () -> HoaReader.read(HoaExampleRepository.MISSING_ACC_NAME_FIELD));
   }
 
+  @Test
+  void testReadFile(@TempDir Path directory) throws IOException, ParseException {
+    var file = directory.resolve("automata.hoa");
+    Files.writeString(file, String.join("\n", HoaExampleRepository.VALID_AUTOMATA));
+
+    var automata = readFile(file);
+    assertEquals(HoaExampleRepository.VALID_AUTOMATA.size(), automata.size());
+
+    for (int i = 0; i < automata.size(); i++) {
+      var expected = HoaReader.read(
+        HoaExampleRepository.VALID_AUTOMATA.get(i), automata.get(i)::factory, null);
+      assertSameAutomaton(expected, automata.get(i));
+    }
+  }
+
+  @Test
+  void testReadFileMapped(@TempDir Path directory) throws IOException, ParseException {
+    var examples = List.of(HoaExampleRepository.ALL, HoaExampleRepository.GENERALIZED_BUCHI,
+      HoaExampleRepository.RABIN, HoaExampleRepository.PARITY_WITH_MULTI_COLOUR,
+      HoaExampleRepository.GENERALIZED_RABIN);
+
+    var file = directory.resolve("automata.hoa");
+    Files.writeString(file, String.join("\n/* comment */\n", examples));
+
+    var automata = readFile(file);
+    assertEquals(examples.size(), automata.size());
+
+    for (int i = 0; i < automata.size(); i++) {
+      var expected = HoaReader.read(examples.get(i), automata.get(i)::factory, null);
+      assertSameAutomaton(expected, automata.get(i));
+    }
+
+    // Only the third automaton uses state-based acceptance and requires the full parser, the
+    // automata after it are again read by the fast path.
+    for (int i = 0; i < automata.size(); i++) {
+      assertEquals(i != 2, automata.get(i) instanceof IntAutomaton);
+    }
+  }
+
+  private static List<Automaton<Integer, ?>> readFile(Path file)
+    throws IOException, ParseException {
+
+    List<Automaton<Integer, ?>> automata = new ArrayList<>();
+    HoaReader.readStream(
+      file, FactorySupplier.defaultSupplier()::getBddSetFactory, null, automata::add);
+    return automata;
+  }
+
+  private static void assertSameAutomaton(
+    Automaton<Integer, ?> expected, Automaton<Integer, ?> actual) {
+
+    assertEquals(expected.atomicPropositions(), actual.atomicPropositions());
+    assertEquals(expected.acceptance().getClass(), actual.acceptance().getClass());
+    assertEquals(
+      expected.acceptance().booleanExpression(), actual.acceptance().booleanExpression());
+    assertEquals(expected.initialStates(), actual.initialStates());
+    assertEquals(expected.states(), actual.states());
+
+    for (Integer state : expected.states()) {
+      assertEquals(expected.edgeMap(state), actual.edgeMap(state));
+    }
+  }
+
   private static BitSet createBitSet(boolean... indices) {
     BitSet bitSet = new BitSet(indices.length);
     for (int i = 0; i < indices.length; i++) {
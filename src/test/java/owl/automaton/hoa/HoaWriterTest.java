@@ -19,8 +19,10 @@
 
 package owl.automaton.hoa;
 
+import java.io.StringWriter;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -33,6 +35,7 @@ import owl.bdd.MtBdd;
 import owl.thirdparty.jhoafparser.consumer.HOAConsumerException;
 import owl.thirdparty.jhoafparser.consumer.HOAConsumerNull;
 import owl.thirdparty.jhoafparser.consumer.HOAIntermediateCheckValidity;
+import owl.thirdparty.jhoafparser.owl.extensions.HOAConsumerPrintFixed;
 import owl.thirdparty.jhoafparser.parser.generated.ParseException;
 
 public class HoaWriterTest {
@@ -53,6 +56,40 @@ public class HoaWriterTest {
         automaton, new HOAIntermediateCheckValidity(new HOAConsumerNull()), true);
   }
 
+  @Test
+  void testStreaming() throws HOAConsumerException, ParseException {
+    var calls = new AtomicInteger();
+    var automaton = new AbstractMemoizingAutomaton.EdgeTreeImplementation<>(
+        List.of("a"), Set.of(0), BuchiAcceptance.INSTANCE) {
+
+      @Override
+      public MtBdd<Edge<Integer>> edgeTreeImpl(Integer state) {
+        calls.incrementAndGet();
+        return MtBdd.of(0,
+            MtBdd.of(Edge.of((state + 1) % 10, 0)),
+            MtBdd.of(Edge.of(state)));
+      }
+    };
+
+    var buffer = new StringWriter();
+    HoaWriter.write(
+        automaton, new HOAConsumerPrintFixed(buffer), false, null, null, null, true);
+    var hoaString = buffer.toString();
+
+    // Each state is explored exactly once and nothing is memoized.
+    Assertions.assertEquals(10, calls.get());
+    Assertions.assertFalse(hoaString.contains("deterministic"));
+
+    // Ordinary exploration computes and memoizes the transition relation again.
+    Assertions.assertEquals(10, automaton.states().size());
+    Assertions.assertEquals(20, calls.get());
+
+    var reconstructedAutomaton = HoaReader.read(hoaString);
+    Assertions.assertEquals(10, reconstructedAutomaton.states().size());
+    Assertions.assertTrue(
+        LanguageContainment.languageEquivalent(automaton, reconstructedAutomaton));
+  }
+
   private static List<String> hoaStrings() {
     return HoaExampleRepository.VALID_AUTOMATA;
   }
@@ -22,12 +22,19 @@ package owl.automaton.symbolic;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static owl.automaton.Automaton.Property.COMPLETE;
+import static owl.automaton.Automaton.Property.DETERMINISTIC;
 import static owl.automaton.Automaton.Property.LIMIT_DETERMINISTIC;
 import static owl.automaton.Automaton.Property.SEMI_DETERMINISTIC;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.ATOMIC_PROPOSITION;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.COLOUR;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.STATE;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.SUCCESSOR_STATE;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
 import org.junit.jupiter.api.Test;
 import owl.automaton.Automaton;
 import owl.automaton.EmptyAutomaton;
@@ -36,6 +43,7 @@ import owl.automaton.acceptance.AllAcceptance;
 import owl.automaton.acceptance.BuchiAcceptance;
 import owl.automaton.acceptance.RabinAcceptance;
 import owl.automaton.algorithm.LanguageContainment;
+import owl.bdd.BddSet;
 import owl.ltl.LabelledFormula;
 import owl.ltl.parser.LtlParser;
 import owl.translations.LtlTranslationRepository;
@@ -125,6 +133,86 @@ public class SymbolicAutomatonTest {
     assertSameFields(automaton3, symbolic3.toAutomaton());
   }
 
+  @Test
+  protected void testReorderVariables() {
+    for (String formula : List.of("a | X b | F G c & G F d", "G (a <-> X X X b) & F G c")) {
+      var automaton = LTL_TO_DRA.apply(LtlParser.parse(formula));
+      var symbolic = SymbolicAutomaton.of(automaton);
+      var reordered = symbolic.reorderVariables();
+      var allocation = reordered.variableAllocation();
+
+      assertTrue(reordered.transitionRelation().nodeCount()
+        <= symbolic.transitionRelation().nodeCount());
+
+      for (int i = 0, s = allocation.variables(STATE).size(); i < s; i++) {
+        assertEquals(allocation.localToGlobal(i, STATE) + 1,
+          allocation.localToGlobal(i, SUCCESSOR_STATE));
+      }
+
+      assertSameFields(automaton, reordered.toAutomaton());
+      assertLanguageEquivalence(automaton, reordered.toAutomaton());
+    }
+  }
+
+  @Test
+  protected void testPartitionedTransitionRelation() {
+    for (String formula : List.of("a | X b | F G c & G F d", "G (a <-> X X X b) & F G c")) {
+      var parsedFormula = LtlParser.parse(formula);
+      assertPartitionedTransitionRelation(SymbolicAutomaton.of(LTL_TO_DRA.apply(parsedFormula)));
+      assertPartitionedTransitionRelation(SymbolicAutomaton.of(LTL_TO_NBA.apply(parsedFormula)));
+    }
+  }
+
+  private static void assertPartitionedTransitionRelation(SymbolicAutomaton<?> automaton) {
+    var allocation = automaton.variableAllocation();
+    var transitionRelation = automaton.transitionRelation();
+    var partitioned = PartitionedTransitionRelation.of(transitionRelation, allocation, 1);
+
+    if (automaton.is(DETERMINISTIC)) {
+      assertTrue(partitioned.clusters().size() > 1);
+    }
+
+    assertEquals(transitionRelation,
+      automaton.factory().intersection(partitioned.clusters().toArray(BddSet[]::new)));
+
+    BddSet reachableStates = automaton.initialStates().intersection(
+      automaton.factory().of(new BitSet(), allocation.variables(COLOUR).copyInto(new BitSet())));
+    BddSet previousStates = automaton.factory().of(false);
+
+    while (!previousStates.equals(reachableStates)) {
+      previousStates = reachableStates;
+      BddSet successors = transitionRelation.intersection(reachableStates.project(
+        allocation.variables(COLOUR))).project(allocation.variables(STATE, ATOMIC_PROPOSITION));
+      BddSet predecessors = transitionRelation.intersection(reachableStates.relabel(
+        swapStateVariables(allocation))).project(
+          allocation.variables(SUCCESSOR_STATE, ATOMIC_PROPOSITION, COLOUR));
+
+      assertEquals(successors.relabel(swapStateVariables(allocation)),
+        partitioned.image(reachableStates));
+      assertEquals(predecessors, partitioned.preImage(reachableStates));
+      reachableStates = reachableStates.union(partitioned.image(reachableStates));
+    }
+
+    assertEquals(reachableStates, automaton.reachableStates());
+    assertEquals(reachableStates, partitioned.reachableStates(automaton.initialStates()
+      .intersection(automaton.factory().of(new BitSet(),
+        allocation.variables(COLOUR).copyInto(new BitSet())))));
+  }
+
+  private static IntUnaryOperator swapStateVariables(
+    SymbolicAutomaton.VariableAllocation allocation) {
+
+    return variable -> {
+      if (allocation.variables(STATE).contains(variable)) {
+        return allocation.localToGlobal(allocation.globalToLocal(variable, STATE), SUCCESSOR_STATE);
+      } else if (allocation.variables(SUCCESSOR_STATE).contains(variable)) {
+        return allocation.localToGlobal(allocation.globalToLocal(variable, SUCCESSOR_STATE), STATE);
+      } else {
+        return variable;
+      }
+    };
+  }
+
   private static void assertSameFields(Automaton<?, ?> expected, Automaton<?, ?> actual) {
     assertEquals(expected.acceptance(), actual.acceptance());
     assertEquals(expected.atomicPropositions(), actual.atomicPropositions());
@@ -19,8 +19,14 @@
 
 package owl.automaton.symbolic;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.ATOMIC_PROPOSITION;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.COLOUR;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.STATE;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.SUCCESSOR_STATE;
 import static owl.automaton.symbolic.SymbolicDPASolver.Solution.Winner.CONTROLLER;
 import static owl.automaton.symbolic.SymbolicDPASolver.Solution.Winner.ENVIRONMENT;
 import static owl.translations.LtlTranslationRepository.LtlToDpaTranslation.SLM21;
@@ -32,7 +38,9 @@ import com.google.gson.Gson;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.PrintWriter;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
@@ -40,12 +48,15 @@ import java.util.BitSet;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.IntUnaryOperator;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.TestFactory;
 import owl.automaton.Views;
 import owl.automaton.acceptance.ParityAcceptance;
+import owl.bdd.BddSet;
 import owl.collections.ImmutableBitSet;
+import owl.game.output.AigerPrinter;
 import owl.ltl.LabelledFormula;
 import owl.ltl.parser.LtlParser;
 
@@ -84,12 +95,71 @@ public class SymbolicDPASolverTest {
                       .apply(formula), ParityAcceptance.Parity.MIN_EVEN));
               ImmutableBitSet controllable = controllable(formula.atomicPropositions(),
                   testCase.controllable);
-              assertSame(new DFISymbolicDPASolver().solve(dpa, controllable).winner(),
-                  realizable ? CONTROLLER : ENVIRONMENT
-              );
+              var solution = new DFISymbolicDPASolver().solve(dpa, controllable);
+              assertSame(solution.winner(), realizable ? CONTROLLER : ENVIRONMENT);
+
+              if (realizable) {
+                assertControllerFollowsStrategy(dpa, controllable, solution);
+              }
             })));
   }
 
+  private static void assertControllerFollowsStrategy(
+    SymbolicAutomaton<? extends ParityAcceptance> dpa,
+    ImmutableBitSet controllable,
+    SymbolicDPASolver.Solution solution) {
+
+    var factory = dpa.factory();
+    var allocation = dpa.variableAllocation();
+    var controller = SymbolicController.of(dpa, controllable, solution);
+
+    BddSet closedLoop = dpa.transitionRelation();
+    int output = 0;
+
+    for (int i = controllable.first().orElse(-1); i >= 0; i = controllable.higher(i).orElse(-1)) {
+      closedLoop = closedLoop.intersection(equivalence(
+        factory.of(allocation.localToGlobal(i, ATOMIC_PROPOSITION)),
+        controller.outputFunctions().get(output)));
+      output++;
+    }
+
+    for (int i = 0; i < controller.successorFunctions().size(); i++) {
+      assertTrue(equivalence(
+        factory.of(allocation.localToGlobal(i, SUCCESSOR_STATE)),
+        controller.successorFunctions().get(i)).containsAll(closedLoop));
+    }
+
+    // Every move of the closed loop from a reachable state is a move of the strategy.
+    IntUnaryOperator successorToState = variable -> allocation.typeOf(variable) == SUCCESSOR_STATE
+      ? allocation.localToGlobal(allocation.globalToLocal(variable, SUCCESSOR_STATE), STATE)
+      : variable;
+    BddSet reachable = dpa.initialStates().project(allocation.variables(COLOUR));
+    BddSet previous = factory.of(false);
+
+    while (!reachable.equals(previous)) {
+      previous = reachable;
+      reachable = reachable.union(reachable.intersection(closedLoop)
+        .project(allocation.variables(STATE, ATOMIC_PROPOSITION, COLOUR))
+        .relabel(successorToState));
+    }
+
+    assertTrue(solution.strategy().containsAll(reachable.intersection(closedLoop)));
+
+    var printer = new AigerPrinter(false);
+    controller.feedTo(printer);
+    var writer = new StringWriter();
+    printer.print(new PrintWriter(writer));
+    String[] header = writer.toString().split("\n", 2)[0].split(" ");
+    assertEquals(dpa.atomicPropositions().size() - controllable.size(),
+      Integer.parseInt(header[2]));
+    assertEquals(allocation.variables(STATE).size(), Integer.parseInt(header[3]));
+    assertEquals(controllable.size(), Integer.parseInt(header[4]));
+  }
+
+  private static BddSet equivalence(BddSet left, BddSet right) {
+    return left.intersection(right).union(left.union(right).complement());
+  }
+
   private static ImmutableBitSet controllable(List<String> aps, String[] controllable) {
     BitSet controllableBitSet = new BitSet();
     for (String ap : controllable) {
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.bdd;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class MtBddTest {
+
+  @Test
+  void testCanonical() {
+    assertSame(MtBdd.of(1, 2), MtBdd.of(2, 1));
+    assertSame(MtBdd.of(), MtBdd.copyOf(Set.of()));
+    assertSame(MtBdd.of(0, MtBdd.of("a"), MtBdd.of("a")), MtBdd.of("a"));
+    assertSame(
+      MtBdd.of(0, MtBdd.of(1, MtBdd.of("a"), MtBdd.of("b")), MtBdd.of("c")),
+      MtBdd.of(0, MtBdd.of(1, MtBdd.copyOf(List.of("a")), MtBdd.of("b")), MtBdd.of("c")));
+  }
+
+  @Test
+  void testUnion() {
+    var tree1 = MtBdd.of(0, MtBdd.of(1, MtBdd.of("a"), MtBdd.of("b")), MtBdd.of("c"));
+    var tree2 = MtBdd.of(1, MtBdd.of("c"), MtBdd.of());
+    var union = MtBddOperations.union(tree1, tree2);
+
+    assertSame(union, MtBddOperations.union(tree2, tree1));
+    assertSame(union, MtBddOperations.union(List.of(tree1, tree2, tree1)));
+    assertSame(union, MtBdd.of(0,
+      MtBdd.of(1, MtBdd.of("a", "c"), MtBdd.of("b")),
+      MtBdd.of(1, MtBdd.of("c"), MtBdd.of("c"))));
+
+    var valuation = new BitSet();
+    valuation.set(1);
+    assertEquals(Set.of("c"), union.get(valuation));
+  }
+
+  @Test
+  void testMap() {
+    var tree = MtBdd.of(0, MtBdd.of(1, MtBdd.of(1), MtBdd.of(2)), MtBdd.of(3));
+    assertSame(MtBdd.of(0, MtBdd.of(1, MtBdd.of(false), MtBdd.of(true)), MtBdd.of(false)),
+      tree.map(values -> Set.of(values.iterator().next() % 2 == 0)));
+  }
+}
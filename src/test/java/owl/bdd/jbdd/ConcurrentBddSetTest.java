@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.bdd.jbdd;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import owl.bdd.BddSet;
+import owl.bdd.BddSetFactory;
+import owl.collections.BddSetTest;
+
+public class ConcurrentBddSetTest extends BddSetTest {
+
+  private static final int VARIABLES = 6;
+
+  @Override
+  protected BddSetFactory factory() {
+    return JBddSupplier.CONCURRENT.getBddSetFactory();
+  }
+
+  @Test
+  void sharedFactory() throws InterruptedException, ExecutionException {
+    // A tiny table forces growth and garbage collection while other threads use the factory.
+    var factory = new JBddSetFactory(JBddSupplier.CONCURRENT, JBddSizing.DEFAULT, 16);
+    var executor = Executors.newFixedThreadPool(4);
+
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+
+      for (int thread = 0; thread < 8; thread++) {
+        var random = new Random(thread);
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 200; i++) {
+            // Build a random set as a union of valuations and compare it with its members.
+            Set<Integer> members = new HashSet<>();
+            BddSet set = factory.of(false);
+
+            for (int j = random.nextInt(8); j >= 0; j--) {
+              int member = random.nextInt(1 << VARIABLES);
+              members.add(member);
+              set = set.union(factory.of(BitSet.valueOf(new long[] {member}), VARIABLES));
+            }
+
+            var complement = set.complement();
+
+            for (int valuation = 0; valuation < 1 << VARIABLES; valuation++) {
+              var bitSet = BitSet.valueOf(new long[] {valuation});
+              assertEquals(members.contains(valuation), set.contains(bitSet));
+              assertEquals(!members.contains(valuation), complement.contains(bitSet));
+            }
+
+            int[] count = new int[1];
+            set.iterator(VARIABLES).forEachRemaining(x -> count[0]++);
+            assertEquals(members.size(), count[0]);
+            assertEquals(factory.of(false), set.intersection(complement));
+          }
+
+          return null;
+        }));
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
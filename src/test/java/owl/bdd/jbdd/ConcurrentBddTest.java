@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.bdd.jbdd;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.tum.in.jbdd.Bdd;
+import de.tum.in.jbdd.BddConfiguration;
+import de.tum.in.jbdd.BddFactory;
+import de.tum.in.jbdd.ImmutableBddConfiguration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentBddTest {
+
+  private static final int VARIABLES = 8;
+
+  private static final BddConfiguration CONFIGURATION = ImmutableBddConfiguration.builder()
+    .logStatisticsOnShutdown(false)
+    .build();
+
+  @Test
+  void agreesWithSequentialBdd() {
+    var random = new Random(7);
+    Bdd expected = BddFactory.buildBddRecursive(1024, CONFIGURATION);
+    // A tiny table with four threads exercises collection, growth and the parallel recursion.
+    Bdd actual = new ConcurrentBdd(16, CONFIGURATION, 4);
+    expected.createVariables(VARIABLES);
+    actual.createVariables(VARIABLES);
+
+    List<int[]> expectedNodes = new ArrayList<>();
+    List<int[]> actualNodes = new ArrayList<>();
+
+    for (int i = 0; i < VARIABLES; i++) {
+      expectedNodes.add(new int[] {expected.variableNode(i)});
+      actualNodes.add(new int[] {actual.variableNode(i)});
+      assertTrue(actual.isVariable(actual.variableNode(i)));
+      assertTrue(actual.isVariableNegated(actual.not(actual.variableNode(i))));
+    }
+
+    for (int i = 0; i < 2000; i++) {
+      int operation = random.nextInt(11);
+      int a = random.nextInt(expectedNodes.size());
+      int b = random.nextInt(expectedNodes.size());
+      int c = random.nextInt(expectedNodes.size());
+      BitSet variables = BitSet.valueOf(new long[] {random.nextInt(1 << VARIABLES)});
+      BitSet values = BitSet.valueOf(new long[] {random.nextInt(1 << VARIABLES)});
+      int expectedNode = apply(expected, operation, expectedNodes.get(a)[0],
+        expectedNodes.get(b)[0], expectedNodes.get(c)[0], variables, values);
+      int actualNode = apply(actual, operation, actualNodes.get(a)[0],
+        actualNodes.get(b)[0], actualNodes.get(c)[0], variables, values);
+
+      expectedNodes.add(new int[] {expected.reference(expectedNode)});
+      actualNodes.add(new int[] {actual.reference(actualNode)});
+      assertSame(expected, expectedNode, actual, actualNode);
+
+      // Release some nodes, such that they can be collected.
+      if (expectedNodes.size() > 100) {
+        int j = VARIABLES + random.nextInt(expectedNodes.size() - VARIABLES);
+        expected.dereference(expectedNodes.remove(j)[0]);
+        actual.dereference(actualNodes.remove(j)[0]);
+      }
+    }
+
+    for (int i = 0; i < expectedNodes.size(); i++) {
+      assertSame(expected, expectedNodes.get(i)[0], actual, actualNodes.get(i)[0]);
+    }
+  }
+
+  @Test
+  void concurrentOperations() throws InterruptedException, ExecutionException {
+    var bdd = new ConcurrentBdd(16, CONFIGURATION, 4);
+    bdd.createVariables(VARIABLES);
+    var executor = Executors.newFixedThreadPool(4);
+
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+
+      for (int thread = 0; thread < 8; thread++) {
+        var random = new Random(thread);
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 500; i++) {
+            // Build a random CNF and compare it with its evaluation on all assignments.
+            boolean[][] clauses = new boolean[3][2 * VARIABLES];
+            int cnf = bdd.trueNode();
+
+            for (boolean[] clause : clauses) {
+              int disjunction = bdd.falseNode();
+
+              for (int j = 0; j < clause.length; j++) {
+                clause[j] = random.nextInt(4) == 0;
+
+                if (clause[j]) {
+                  int literal = bdd.variableNode(j / 2);
+                  literal = j % 2 == 0 ? literal : bdd.not(literal);
+                  disjunction = bdd.updateWith(bdd.or(disjunction, literal), disjunction);
+                }
+              }
+
+              cnf = bdd.consume(bdd.and(cnf, disjunction), cnf, disjunction);
+            }
+
+            for (int assignment = 0; assignment < 1 << VARIABLES; assignment++) {
+              boolean value = true;
+
+              for (boolean[] clause : clauses) {
+                boolean clauseValue = false;
+
+                for (int j = 0; j < clause.length; j++) {
+                  clauseValue |= clause[j] && (((assignment >> (j / 2)) & 1) == 1) == (j % 2 == 0);
+                }
+
+                value &= clauseValue;
+              }
+
+              assertEquals(value,
+                bdd.evaluate(cnf, BitSet.valueOf(new long[] {assignment})));
+            }
+
+            bdd.dereference(cnf);
+          }
+
+          return null;
+        }));
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void referenceCountsSurviveGrowth() throws InterruptedException, ExecutionException {
+    var executor = Executors.newFixedThreadPool(4);
+
+    try {
+      for (int round = 0; round < 10; round++) {
+        var bdd = new ConcurrentBdd(16, CONFIGURATION, 4);
+        bdd.createVariables(VARIABLES);
+        int node = bdd.reference(bdd.and(bdd.variableNode(0), bdd.variableNode(1)));
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Grow the node table by keeping all minterms referenced.
+        futures.add(executor.submit(() -> {
+          for (int minterm = 0; minterm < 1 << VARIABLES; minterm++) {
+            int cube = bdd.trueNode();
+
+            for (int i = 0; i < VARIABLES; i++) {
+              int literal = bdd.variableNode(i);
+              literal = ((minterm >> i) & 1) == 1 ? literal : bdd.not(literal);
+              cube = bdd.and(cube, literal);
+            }
+
+            bdd.reference(cube);
+          }
+
+          return null;
+        }));
+
+        for (int thread = 0; thread < 3; thread++) {
+          futures.add(executor.submit(() -> {
+            for (int i = 0; i < 10_000; i++) {
+              bdd.reference(node);
+              bdd.dereference(node);
+            }
+
+            bdd.reference(node);
+            return null;
+          }));
+        }
+
+        for (Future<?> future : futures) {
+          future.get();
+        }
+
+        assertEquals(4, bdd.getReferenceCount(node));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void cacheGrowsWithHitRate() {
+    // The cache does not grow beyond one entry per node.
+    var bdd = new ConcurrentBdd(4096, CONFIGURATION, 1);
+    bdd.createVariables(VARIABLES);
+    String initialStatistics = bdd.statistics();
+
+    // Repeating the same operations only hits the cache.
+    for (int i = 0; i < 100_000; i++) {
+      bdd.and(bdd.variableNode(i % VARIABLES), bdd.variableNode((i + 1) % VARIABLES));
+    }
+
+    assertTrue(initialStatistics.contains(" 1024 cache entries"));
+    assertFalse(bdd.statistics().contains(" 1024 cache entries"));
+  }
+
+  private static int apply(
+    Bdd bdd, int operation, int a, int b, int c, BitSet variables, BitSet values) {
+    return switch (operation) {
+      case 0 -> bdd.and(a, b);
+      case 1 -> bdd.or(a, b);
+      case 2 -> bdd.xor(a, b);
+      case 3 -> bdd.equivalence(a, b);
+      case 4 -> bdd.implication(a, b);
+      case 5 -> bdd.notAnd(a, b);
+      case 6 -> bdd.not(a);
+      case 7 -> bdd.ifThenElse(a, b, c);
+      case 8 -> bdd.exists(a, variables);
+      case 9 -> bdd.restrict(a, variables, values);
+      default -> {
+        int[] substitutions = new int[VARIABLES];
+
+        for (int i = 0; i < VARIABLES; i++) {
+          substitutions[i] = variables.get(i) ? bdd.variableNode((i + 1) % VARIABLES) : -1;
+        }
+
+        yield bdd.compose(a, substitutions);
+      }
+    };
+  }
+
+  private static void assertSame(Bdd expected, int expectedNode, Bdd actual, int actualNode) {
+    for (int assignment = 0; assignment < 1 << VARIABLES; assignment++) {
+      BitSet valuation = BitSet.valueOf(new long[] {assignment});
+      assertEquals(expected.evaluate(expectedNode, valuation),
+        actual.evaluate(actualNode, valuation));
+    }
+
+    assertEquals(expected.isNodeRoot(expectedNode), actual.isNodeRoot(actualNode));
+    assertEquals(expected.support(expectedNode), actual.support(actualNode));
+    assertEquals(expected.countSatisfyingAssignments(expectedNode),
+      actual.countSatisfyingAssignments(actualNode));
+
+    if (expectedNode != expected.falseNode()) {
+      assertEquals(expected.getSatisfyingAssignment(expectedNode),
+        actual.getSatisfyingAssignment(actualNode));
+      assertEquals(solutions(expected, expectedNode), solutions(actual, actualNode));
+    } else {
+      assertFalse(actual.solutionIterator(actualNode).hasNext());
+    }
+  }
+
+  private static Set<BitSet> solutions(Bdd bdd, int node) {
+    Set<BitSet> solutions = new HashSet<>();
+    // The iterator of the sequential implementation reuses the returned bit set.
+    bdd.solutionIterator(node).forEachRemaining(solution -> solutions.add(
+      (BitSet) solution.clone()));
+    return solutions;
+  }
+}
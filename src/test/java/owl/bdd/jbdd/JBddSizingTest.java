@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.bdd.jbdd;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import owl.bdd.FactorySupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class JBddSizingTest {
+
+  @AfterEach
+  void clearProperties() {
+    System.clearProperty(FactorySupplier.BDD_CACHE_DIVIDER_PROPERTY);
+    System.clearProperty(FactorySupplier.BDD_INITIAL_MEMORY_PROPERTY);
+  }
+
+  @Test
+  void fromSystemProperties() {
+    assertEquals(JBddSizing.DEFAULT, JBddSizing.fromSystemProperties());
+
+    System.setProperty(FactorySupplier.BDD_CACHE_DIVIDER_PROPERTY, "2");
+    System.setProperty(FactorySupplier.BDD_INITIAL_MEMORY_PROPERTY, "1");
+    var sizing = JBddSizing.fromSystemProperties();
+
+    assertEquals(2, sizing.cacheDivider(8));
+    assertEquals(1 << 15, sizing.initialNodes(1024));
+
+    System.setProperty(FactorySupplier.BDD_INITIAL_MEMORY_PROPERTY, "-1");
+    assertThrows(IllegalArgumentException.class, JBddSizing::fromSystemProperties);
+  }
+
+  @Test
+  void initialNodes() {
+    assertEquals(8, JBddSizing.DEFAULT.cacheDivider(8));
+    assertEquals(1024, JBddSizing.DEFAULT.initialNodes(1024));
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import owl.automaton.AbstractMemoizingAutomaton;
+import owl.automaton.acceptance.AllAcceptance;
+import owl.automaton.edge.Edge;
+import owl.bdd.BddSet;
+import owl.bdd.FactorySupplier;
+import owl.game.output.Aig;
+import owl.game.output.AigConsumer;
+import owl.game.output.LabelledAig;
+
+class GameTest {
+
+  @Test
+  void testFeedToStartsInInitialState() {
+    // The states 0 -> 1 -> 2 -> 0 form a cycle and only state 2 reads the input 'a' and sets the
+    // output 'o'. The initial state 2 is not the first state of the game.
+    var game = GameViews.replaceInitialStates(new CycleGame(), Set.of(2));
+    assertEquals(0, game.states().iterator().next());
+
+    var circuit = new Circuit();
+    game.feedTo(circuit);
+    assertEquals(1, circuit.inputs);
+
+    // Starting from the reset state, the output is set in the first and fourth step.
+    BitSet latches = new BitSet();
+    List<Boolean> outputs = new ArrayList<>();
+
+    for (boolean input : List.of(true, false, false, true)) {
+      BitSet valuation = new BitSet();
+      valuation.set(0, input);
+
+      for (int i = 0; i < circuit.latches.size(); i++) {
+        valuation.set(circuit.inputs + i, latches.get(i));
+      }
+
+      outputs.add(evaluate(circuit.outputs.get(0), valuation));
+      latches.clear();
+
+      for (int i = 0; i < circuit.latches.size(); i++) {
+        latches.set(i, evaluate(circuit.latches.get(i), valuation));
+      }
+    }
+
+    assertEquals(List.of(true, false, false, true), outputs);
+  }
+
+  private static boolean evaluate(LabelledAig circuit, BitSet valuation) {
+    return evaluate(circuit.aig(), valuation) ^ circuit.isNegated();
+  }
+
+  private static boolean evaluate(Aig aig, BitSet valuation) {
+    if (aig.isConstant()) {
+      return false;
+    }
+
+    if (aig.isVariable()) {
+      return valuation.get(aig.variable() - 1);
+    }
+
+    return (evaluate(aig.left(), valuation) ^ aig.leftIsNegated())
+      && (evaluate(aig.right(), valuation) ^ aig.rightIsNegated());
+  }
+
+  private static final class Circuit implements AigConsumer {
+    private int inputs;
+    private final List<LabelledAig> latches = new ArrayList<>();
+    private final List<LabelledAig> outputs = new ArrayList<>();
+
+    @Override
+    public int addInput(String name) {
+      return inputs++;
+    }
+
+    @Override
+    public int addLatch(String name, LabelledAig circuit) {
+      latches.add(circuit);
+      return latches.size() - 1;
+    }
+
+    @Override
+    public void addOutput(String name, LabelledAig circuit) {
+      outputs.add(circuit);
+    }
+
+    @Override
+    public void addComment(String comment) {
+      // Comments are not relevant for the simulation.
+    }
+  }
+
+  private static final class CycleGame
+    extends AbstractMemoizingAutomaton.EdgeMapImplementation<Integer, AllAcceptance>
+    implements Game<Integer, AllAcceptance> {
+
+    private CycleGame() {
+      super(List.of("a", "o"), FactorySupplier.defaultSupplier().getBddSetFactory(), Set.of(0),
+        AllAcceptance.INSTANCE);
+    }
+
+    @Override
+    protected Map<Edge<Integer>, BddSet> edgeMapImpl(Integer state) {
+      return Map.of(Edge.of((state + 1) % 3), factory.of(true));
+    }
+
+    @Override
+    public Owner owner(Integer state) {
+      return Owner.PLAYER_2;
+    }
+
+    @Override
+    public BitSet choice(Integer state, Owner owner) {
+      // Both players set their only variable in state 2.
+      BitSet choice = new BitSet();
+      choice.set(0, state == 2);
+      return choice;
+    }
+
+    @Override
+    public List<String> variables(Owner owner) {
+      return owner == Owner.PLAYER_1 ? List.of("a") : List.of("o");
+    }
+
+    @Override
+    public Set<Integer> predecessors(Integer state) {
+      return Set.of((state + 2) % 3);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import owl.game.Game.Owner;
+import owl.ltl.parser.LtlParser;
+
+class IndexedGameTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    "F (a <-> X b)",
+    "G (a <-> X b) & G F (!a | b | c)",
+    "(G F a <-> G F c) & G (a -> F b)",
+    "G (a -> X (b | X b)) & F G (c | !b)"
+  })
+  void testAttractor(String formula) {
+    testAttractor(GameFactory.copyOf(
+      GameViews.split(GameFactoryTest.translate(LtlParser.parse(formula)), List.of("a"))));
+  }
+
+  private static <S> void testAttractor(Game<S, ?> game) {
+    var index = IndexedGame.of(game);
+    BitSet allStates = new BitSet();
+    allStates.set(0, index.stateCount());
+    assertEquals(game.states(), index.states(allStates));
+
+    for (int colour = -1; colour < game.acceptance().acceptanceSets(); colour++) {
+      // All states with an edge of the given colour, or without colours.
+      Set<S> target = new HashSet<>();
+
+      for (S state : game.states()) {
+        for (var edge : game.edges(state)) {
+          if (colour == -1 ? edge.colours().isEmpty() : edge.colours().contains(colour)) {
+            target.add(state);
+          }
+        }
+      }
+
+      for (Owner owner : Owner.values()) {
+        var expected = naiveAttractor(game, target, owner);
+        assertEquals(expected, index.states(index.attractor(index.indices(target), owner)));
+        assertEquals(expected, game.getAttractorFixpoint(target, owner));
+      }
+    }
+  }
+
+  private static <S> Set<S> naiveAttractor(Game<S, ?> game, Set<S> target, Owner owner) {
+    Set<S> attractor = new HashSet<>(target);
+    boolean continueIteration = true;
+
+    while (continueIteration) {
+      continueIteration = attractor.addAll(game.getAttractor(attractor, owner));
+    }
+
+    return attractor;
+  }
+}
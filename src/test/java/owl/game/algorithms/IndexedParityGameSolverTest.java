@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.common.collect.Sets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import owl.automaton.AbstractMemoizingAutomaton;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.automaton.edge.Edge;
+import owl.bdd.BddSet;
+import owl.game.Game;
+import owl.game.GameFactoryTest;
+import owl.game.GameViews;
+import owl.ltl.parser.LtlParser;
+
+class IndexedParityGameSolverTest {
+
+  private static final List<IndexedParityGameSolver> SOLVERS = List.of(
+    new MemoizingZielonkaGameSolver(),
+    new ParallelZielonkaGameSolver(),
+    new PriorityPromotionGameSolver(),
+    new TangleLearningGameSolver());
+
+  static List<Arguments> instances() {
+    return List.of(
+      Arguments.of("F (a <-> X b)", List.of("a"), true),
+      Arguments.of("((((G (F (r_0))) && (G (F (r_1)))) <-> (G (F (g)))) "
+        + "&& (G ((((r_0) && (r_1)) -> (G (! (g)))) && (true))))", List.of("r_0", "r_1"), false),
+      Arguments.of("(G ((((req) -> (X ((grant) && (X ((grant) && (X (grant))))))) "
+        + "&& ((grant) -> (X (! (grant))))) && ((cancel) -> (X ((! (grant)) U (go))))))",
+        List.of("go", "cancel", "req"), false),
+      Arguments.of("(((G (F (r_0))) && (G (F (r_1)))) <-> (G (F (g))))",
+        List.of("r_0", "r_1"), true),
+      Arguments.of("G (a <-> X b) & G F (!a | b | c)", List.of("a"), true),
+      Arguments.of("(G F a <-> G F c) & G (a -> F b)", List.of("a"), true));
+  }
+
+  static Stream<Arguments> realizability() {
+    var instances = instances();
+    return SOLVERS.stream().flatMap(solver -> instances.stream().map(instance ->
+      Arguments.of(solver, instance.get()[0], instance.get()[1], instance.get()[2])));
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  void realizability(ParityGameSolver solver, String formula, List<String> environmentAps,
+    boolean realizable) {
+
+    var automaton = GameFactoryTest.translate(LtlParser.parse(formula));
+    var game = GameViews.split(automaton, environmentAps);
+    var expected =
+      new ZielonkaGameSolver().solve(GameViews.replaceInitialStates(game, game.states()));
+    var actual = solver.solve(game);
+
+    assertEquals(realizable, ZielonkaGameSolver.zielonkaRealizability(game));
+    assertEquals(realizable, solver.realizable(game));
+    assertEquals(expected.playerEven(), actual.playerEven());
+    assertEquals(game.states(), Sets.union(actual.playerEven(), actual.playerOdd()));
+  }
+
+  @Test
+  void randomGames() {
+    var random = new Random(42);
+    var reference = new ZielonkaGameSolver();
+
+    for (int i = 0; i < 500; i++) {
+      var game = randomGame(random, 1 + random.nextInt(20), 1 + random.nextInt(8), i % 2 == 0);
+      var expected = reference.solve(game).playerEven();
+
+      for (IndexedParityGameSolver solver : SOLVERS) {
+        assertEquals(expected, solver.solve(game).playerEven(), solver.getClass().getSimpleName());
+      }
+    }
+  }
+
+  // The game has a shape the reference solver handles: player 1 and player 2 alternate as in the
+  // games obtained by GameViews.split, the edges of player 1 are not coloured and all edges of a
+  // player-2 state have the same colour. Each node n of a random graph yields the player-1 state
+  // 2n and the player-2 state 2n + 1. All states are initial and thus every state of the game is
+  // solved. If layered is set, the nodes are split into consecutive blocks and edges only lead to
+  // the same or an earlier block. Thus the game has many SCCs of different heights.
+  private static RandomGame randomGame(
+    Random random, int nodeCount, int colours, boolean layered) {
+
+    int[] blockStart = new int[nodeCount];
+    int[] blockEnd = new int[nodeCount];
+
+    for (int node = 1; node < nodeCount; node++) {
+      blockStart[node] = layered && random.nextInt(4) == 0 ? node : blockStart[node - 1];
+    }
+
+    for (int node = nodeCount - 1; node >= 0; node--) {
+      blockEnd[node] = node == nodeCount - 1 || blockStart[node + 1] == node + 1
+        ? node + 1
+        : blockEnd[node + 1];
+    }
+
+    var parities = ParityAcceptance.Parity.values();
+    var acceptance = new ParityAcceptance(colours, parities[random.nextInt(parities.length)]);
+    List<Set<Edge<Integer>>> edges = new ArrayList<>();
+
+    for (int state = 0; state < 2 * nodeCount; state++) {
+      Set<Edge<Integer>> stateEdges = new HashSet<>();
+      boolean player2 = state % 2 == 1;
+      int colour = player2 ? random.nextInt(colours + 1) - 1 : -1;
+
+      for (int j = 1 + random.nextInt(3); j > 0; j--) {
+        int start = blockStart[state / 2];
+        int node = start > 0 && random.nextBoolean()
+          ? random.nextInt(start)
+          : start + random.nextInt(blockEnd[state / 2] - start);
+        int successor = player2 ? 2 * node : 2 * node + 1;
+        stateEdges.add(colour < 0 ? Edge.of(successor) : Edge.of(successor, colour));
+      }
+
+      edges.add(stateEdges);
+    }
+
+    return new RandomGame(acceptance, edges);
+  }
+
+  private static final class RandomGame
+    extends AbstractMemoizingAutomaton.EdgeMapImplementation<Integer, ParityAcceptance>
+    implements Game<Integer, ParityAcceptance> {
+
+    private final List<Set<Edge<Integer>>> edges;
+
+    private RandomGame(ParityAcceptance acceptance, List<Set<Edge<Integer>>> edges) {
+      super(List.of(), IntStream.range(0, edges.size()).boxed().collect(Collectors.toSet()),
+        acceptance);
+      this.edges = edges;
+    }
+
+    @Override
+    protected Map<Edge<Integer>, BddSet> edgeMapImpl(Integer state) {
+      Map<Edge<Integer>, BddSet> edgeMap = new HashMap<>();
+      edges.get(state).forEach(edge -> edgeMap.put(edge, factory.of(true)));
+      return edgeMap;
+    }
+
+    @Override
+    public Owner owner(Integer state) {
+      return state % 2 == 1 ? Owner.PLAYER_2 : Owner.PLAYER_1;
+    }
+
+    @Override
+    public BitSet choice(Integer state, Owner owner) {
+      return new BitSet();
+    }
+
+    @Override
+    public List<String> variables(Owner owner) {
+      return List.of();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import owl.game.GameFactoryTest;
+import owl.game.GameViews;
+import owl.ltl.parser.LtlParser;
+
+class OnTheFlyGameSolverTest {
+
+  static Stream<Arguments> realizability() {
+    return Stream.of(1, 2, 16, 1024).flatMap(round ->
+      IndexedParityGameSolverTest.instances().stream().map(instance -> Arguments.of(
+        round, instance.get()[0], instance.get()[1], instance.get()[2])));
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  void realizability(int initialRound, String formula, List<String> environmentAps,
+    boolean realizable) {
+
+    var automaton = GameFactoryTest.translate(LtlParser.parse(formula));
+    var game = GameViews.split(automaton, environmentAps);
+
+    assertEquals(realizable,
+      new OnTheFlyGameSolver(new PriorityPromotionGameSolver(), initialRound).realizable(game));
+    assertEquals(realizable,
+      new OnTheFlyGameSolver(new TangleLearningGameSolver(), initialRound).realizable(game));
+  }
+}
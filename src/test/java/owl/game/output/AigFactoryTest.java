@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.game.output;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class AigFactoryTest {
+
+  @Test
+  void testStructuralHashing() {
+    var factory = new AigFactory();
+    var a = factory.getNode(1);
+    var b = factory.getNode(2);
+
+    assertSame(factory.conjunction(a, b).aig(), factory.conjunction(b, a).aig());
+    assertSame(factory.disjunction(a, b).aig(), factory.disjunction(b, a).aig());
+  }
+
+  @Test
+  void testRewriting() {
+    var factory = new AigFactory();
+    var a = factory.getNode(1);
+    var b = factory.getNode(2);
+    var c = factory.getNode(3);
+    var ab = factory.conjunction(a, b);
+
+    assertEquals(a, factory.conjunction(a, factory.getTrue()));
+    assertEquals(factory.getFalse(), factory.conjunction(factory.getFalse(), a));
+    assertEquals(factory.getTrue(), factory.disjunction(a, factory.getTrue()));
+    assertEquals(a, factory.conjunction(a, a));
+    assertEquals(factory.getFalse(), factory.conjunction(a, factory.not(a)));
+    assertEquals(factory.getTrue(), factory.disjunction(a, factory.not(a)));
+
+    // Two-level rules.
+    assertEquals(ab, factory.conjunction(ab, a));
+    assertEquals(factory.getFalse(), factory.conjunction(ab, factory.not(b)));
+    assertEquals(factory.getFalse(),
+      factory.conjunction(ab, factory.conjunction(factory.not(a), c)));
+    assertEquals(factory.not(a), factory.conjunction(factory.not(ab), factory.not(a)));
+    assertEquals(factory.conjunction(a, factory.not(b)), factory.conjunction(factory.not(ab), a));
+    assertEquals(a, factory.disjunction(ab, a));
+  }
+
+  @Test
+  void testCube() {
+    var factory = new AigFactory();
+    var valuation = new BitSet();
+    valuation.set(1);
+
+    var cube = factory.cube(valuation, 3);
+    assertEquals(3, variables(cube.aig()).cardinality());
+
+    for (int i = 0; i < 8; i++) {
+      assertEquals(i == 2, evaluate(cube, BitSet.valueOf(new long[] {i})));
+    }
+  }
+
+  @Test
+  void testSumOfProducts() {
+    var random = new Random(7);
+
+    for (boolean balanced : List.of(false, true)) {
+      for (int i = 0; i < 100; i++) {
+        var factory = new AigFactory(balanced);
+        int variables = 1 + random.nextInt(6);
+        List<BitSet> valuations = new ArrayList<>();
+
+        for (int j = random.nextInt(1 << variables); j > 0; j--) {
+          valuations.add(BitSet.valueOf(new long[] {random.nextInt(1 << variables)}));
+        }
+
+        var sum = factory.sumOfProducts(valuations, variables);
+
+        for (int j = 0; j < 1 << variables; j++) {
+          var valuation = BitSet.valueOf(new long[] {j});
+          assertEquals(valuations.contains(valuation), evaluate(sum, valuation));
+        }
+      }
+    }
+  }
+
+  @Test
+  void testBalancing() {
+    List<LabelledAig> operands = new ArrayList<>();
+    var chainFactory = new AigFactory();
+    var balancedFactory = new AigFactory(true);
+
+    for (int i = 1; i <= 16; i++) {
+      operands.add(chainFactory.getNode(i));
+    }
+
+    assertEquals(15, depth(chainFactory.conjunction(operands).aig()));
+
+    operands.clear();
+
+    for (int i = 1; i <= 16; i++) {
+      operands.add(balancedFactory.getNode(i));
+    }
+
+    assertEquals(4, depth(balancedFactory.conjunction(operands).aig()));
+  }
+
+  // Evaluates the AIG, where variable i + 1 is true if and only if the valuation contains i.
+  private static boolean evaluate(LabelledAig aig, BitSet valuation) {
+    return evaluate(aig.aig(), valuation) ^ aig.isNegated();
+  }
+
+  private static boolean evaluate(Aig aig, BitSet valuation) {
+    if (aig.isConstant()) {
+      return false;
+    }
+
+    if (aig.isVariable()) {
+      return valuation.get(aig.variable() - 1);
+    }
+
+    return (evaluate(aig.left(), valuation) ^ aig.leftIsNegated())
+      && (evaluate(aig.right(), valuation) ^ aig.rightIsNegated());
+  }
+
+  private static BitSet variables(Aig aig) {
+    BitSet variables = new BitSet();
+
+    if (aig.isVariable()) {
+      variables.set(aig.variable());
+    } else if (!aig.isLeaf()) {
+      variables.or(variables(aig.left()));
+      variables.or(variables(aig.right()));
+    }
+
+    return variables;
+  }
+
+  private static int depth(Aig aig) {
+    return aig.isLeaf() ? 0 : 1 + Math.max(depth(aig.left()), depth(aig.right()));
+  }
+}
@@ -19,9 +19,13 @@
 
 package owl.game.output;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 
@@ -47,24 +51,28 @@ class AigPrintableTest {
       + "This is a" + SEP
       + "two-line comment" + SEP;
 
+  // The binary format always uses '\n' and encodes every gate by two deltas.
   @SuppressWarnings("StringConcatenationMissingWhitespace")
   private static final String sampleBinaryAigerOutput =
-    "aig 7 2 1 2 4" + SEP
-      + "14" + SEP
-      + "6" + SEP
-      + "7" + SEP
+    "aig 7 2 1 2 4\n"
+      + "14\n"
+      + "6\n"
+      + "7\n"
+      + ((char) 0x02)
       + ((char) 0x04)
+      + ((char) 0x03)
       + ((char) 0x04)
+      + ((char) 0x01)
+      + ((char) 0x02)
       + ((char) 0x02)
       + ((char) 0x08)
-      + SEP
-      + "i0 enable" + SEP
-      + "i1 reset" + SEP
-      + "l0 latch" + SEP
-      + "o0 Q" + SEP
-      + "c" + SEP
-      + "This is a" + SEP
-      + "two-line comment" + SEP;
+      + "i0 enable\n"
+      + "i1 reset\n"
+      + "l0 latch\n"
+      + "o0 Q\n"
+      + "c\n"
+      + "This is a\n"
+      + "two-line comment\n";
 
   @Test
   void testPrinting() {
@@ -86,6 +94,31 @@ class AigPrintableTest {
     assertEquals(baos.toString(), sampleBinaryAigerOutput);
   }
 
+  @Test
+  void testBinaryPrintingToWriter() {
+    SampleAiger sample = new SampleAiger();
+    AigerPrinter consumer = new AigerPrinter(true);
+    sample.feedTo(consumer);
+    StringWriter writer = new StringWriter();
+    consumer.print(new PrintWriter(writer));
+    assertEquals(sampleBinaryAigerOutput, writer.toString());
+  }
+
+  @Test
+  void testBinaryPrintingToIsoLatinWriter() {
+    SampleAiger sample = new SampleAiger();
+    AigerPrinter consumer = new AigerPrinter(true);
+    sample.feedTo(consumer);
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    consumer.print(expected);
+    ByteArrayOutputStream actual = new ByteArrayOutputStream();
+    PrintWriter writer =
+      new PrintWriter(new OutputStreamWriter(actual, StandardCharsets.ISO_8859_1));
+    consumer.print(writer);
+    writer.flush();
+    assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+  }
+
   private static final class SampleAiger implements AigPrintable {
     @Override
     public void feedTo(AigConsumer consumer) {
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.logic.propositional.sat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CdclSolverTest {
+
+  @Test
+  void testRandomFormulas() {
+    var random = new Random(42);
+
+    for (int round = 0; round < 200; round++) {
+      int variables = 3 + random.nextInt(10);
+      var solver = new CdclSolver();
+      List<int[]> clauses = new ArrayList<>();
+
+      // Add the clauses in batches to exercise the incremental interface.
+      for (int batch = 0; batch < 4; batch++) {
+        for (int i = 0, s = random.nextInt(3 * variables); i < s; i++) {
+          int[] clause = new int[1 + random.nextInt(3)];
+
+          for (int j = 0; j < clause.length; j++) {
+            int variable = 1 + random.nextInt(variables);
+            clause[j] = random.nextBoolean() ? variable : -variable;
+          }
+
+          clauses.add(clause);
+          solver.addClause(clause);
+        }
+
+        int[] assumptions = random.ints(random.nextInt(3), 1, variables + 1)
+          .map(variable -> random.nextBoolean() ? variable : -variable)
+          .toArray();
+
+        assertModel(clauses, assumptions, variables, solver.model(assumptions));
+        assertModel(clauses, new int[0], variables, solver.model());
+      }
+    }
+  }
+
+  @Test
+  void testPigeonhole() {
+    // Five pigeons do not fit into four holes. The last pigeon is only placed if the activation
+    // variable is assumed.
+    int pigeons = 5;
+    int holes = 4;
+    int activation = pigeons * holes + 1;
+    var solver = new CdclSolver();
+
+    for (int pigeon = 0; pigeon < pigeons; pigeon++) {
+      int[] clause = new int[pigeon == pigeons - 1 ? holes + 1 : holes];
+
+      for (int hole = 0; hole < holes; hole++) {
+        clause[hole] = pigeon * holes + hole + 1;
+      }
+
+      if (pigeon == pigeons - 1) {
+        clause[holes] = -activation;
+      }
+
+      solver.addClause(clause);
+    }
+
+    for (int hole = 0; hole < holes; hole++) {
+      for (int pigeon1 = 0; pigeon1 < pigeons; pigeon1++) {
+        for (int pigeon2 = pigeon1 + 1; pigeon2 < pigeons; pigeon2++) {
+          solver.addClause(-(pigeon1 * holes + hole + 1), -(pigeon2 * holes + hole + 1));
+        }
+      }
+    }
+
+    assertNotNull(solver.model());
+    assertNotNull(solver.model(-activation));
+    assertNull(solver.model(activation));
+    solver.addClause(activation);
+    assertNull(solver.model());
+    assertNull(solver.model(-activation));
+  }
+
+  @Test
+  void testReleaseVariable() {
+    var solver = new CdclSolver();
+    solver.addClause(1, 2);
+
+    for (int round = 0; round < 100; round++) {
+      // The guarded clauses contradict the first clause. In every other round the activation
+      // literal is additionally assigned on the top-level before it is released.
+      int activation = solver.newVariable();
+      assertEquals(3, activation);
+      solver.addClause(-activation, -1);
+      solver.addClause(-activation, -2);
+      assertNull(solver.model(activation));
+
+      if (round % 2 == 0) {
+        solver.addClause(-activation);
+      }
+
+      solver.releaseVariable(activation);
+      assertNotNull(solver.model(activation));
+    }
+  }
+
+  private static void assertModel(
+    List<int[]> clauses, int[] assumptions, int variables, BitSet model) {
+
+    boolean satisfiable = false;
+
+    for (int valuation = 0; valuation < 1 << variables && !satisfiable; valuation++) {
+      satisfiable = satisfies(clauses, assumptions, BitSet.valueOf(new long[] {valuation << 1}));
+    }
+
+    assertEquals(satisfiable, model != null);
+
+    if (model != null) {
+      assertTrue(satisfies(clauses, assumptions, model));
+    }
+  }
+
+  private static boolean satisfies(List<int[]> clauses, int[] assumptions, BitSet valuation) {
+    for (int literal : assumptions) {
+      if (valuation.get(Math.abs(literal)) != literal > 0) {
+        return false;
+      }
+    }
+
+    nextClause:
+    for (int[] clause : clauses) {
+      for (int literal : clause) {
+        if (valuation.get(Math.abs(literal)) == literal > 0) {
+          continue nextClause;
+        }
+      }
+
+      return false;
+    }
+
+    return true;
+  }
+}
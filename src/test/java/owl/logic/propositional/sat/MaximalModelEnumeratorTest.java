@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.logic.propositional.sat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static owl.logic.propositional.PropositionalFormula.Conjunction;
+import static owl.logic.propositional.PropositionalFormula.Disjunction;
+import static owl.logic.propositional.PropositionalFormula.Negation;
+import static owl.logic.propositional.PropositionalFormula.Variable;
+
+import com.google.common.collect.Sets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import owl.logic.propositional.PropositionalFormula;
+
+class MaximalModelEnumeratorTest {
+
+  @Test
+  void testMaximalModels() {
+    var formulas = List.of(
+        Conjunction.of(
+            List.of(
+                Variable.of(1),
+                Disjunction.of(
+                    Negation.of(Variable.of(1)),
+                    Variable.of(2),
+                    Variable.of(3)),
+                Disjunction.of(
+                    Negation.of(Variable.of(2)),
+                    Negation.of(Variable.of(3))),
+                Variable.of(4),
+                Negation.of(Variable.of(5)))),
+        Disjunction.of(
+            Conjunction.of(Variable.of(1), Negation.of(Variable.of(2))),
+            Conjunction.of(Variable.of(3), Negation.of(Variable.of(4))),
+            Conjunction.of(Variable.of(5), Negation.of(Variable.of(1)))),
+        Negation.of(Disjunction.of(Variable.of(1), Variable.of(2))),
+        PropositionalFormula.<Integer>falseConstant());
+
+    for (PropositionalFormula<Integer> formula : formulas) {
+      var enumerator = new MaximalModelEnumerator<>(formula);
+
+      // The upper bounds are queried twice in order to check the reuse of the solver and of the
+      // released activation literals.
+      for (int round = 0; round < 2; round++) {
+        for (Set<Integer> upperBound : Sets.powerSet(Set.of(1, 2, 3, 4, 5, 6))) {
+          assertEquals(
+              new HashSet<>(Solver.JBDD.maximalModels(formula, upperBound)),
+              new HashSet<>(enumerator.maximalModels(upperBound)),
+              formula + " " + upperBound);
+        }
+      }
+    }
+  }
+}
@@ -41,7 +41,7 @@ class SolverTest {
   @ParameterizedTest
   @EnumSource(
       value = Solver.class,
-      names = {"DPLL", "JBDD", "KISSAT_EXTERNAL"})
+      names = {"DPLL", "JBDD", "CDCL", "KISSAT_EXTERNAL"})
   void testModel(Solver solver) {
     var formula1 = Conjunction.of(
         Negation.of(Variable.of(1)),
@@ -88,7 +88,7 @@ class SolverTest {
   @ParameterizedTest
   @EnumSource(
       value = Solver.class,
-      names = {"DPLL", "JBDD", "KISSAT_EXTERNAL"})
+      names = {"DPLL", "JBDD", "CDCL", "KISSAT_EXTERNAL"})
   void testModelCnf(Solver solver) {
     var formula1 = List.of(
         new Solver.Clause<>(List.of(), List.of(1)),
@@ -125,7 +125,7 @@ class SolverTest {
   @ParameterizedTest
   @EnumSource(
       value = Solver.class,
-      names = {"JBDD"})
+      names = {"JBDD", "CDCL"})
   void testMaximalModel(Solver solver) {
     var formula = Conjunction.of(
         List.of(
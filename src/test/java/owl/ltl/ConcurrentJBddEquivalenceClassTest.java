@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2016 - 2021  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.ltl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import owl.bdd.EquivalenceClassFactory;
+import owl.bdd.jbdd.JBddSupplier;
+import owl.ltl.parser.LtlParser;
+
+public class ConcurrentJBddEquivalenceClassTest extends EquivalenceClassTest {
+
+  @Override
+  protected EquivalenceClassFactory obtainFactory(LabelledFormula domain) {
+    return JBddSupplier.CONCURRENT.getEquivalenceClassFactory(domain.atomicPropositions());
+  }
+
+  @Test
+  void sharedFactory() throws InterruptedException, ExecutionException {
+    var formulas = Stream.of("G (a | X b)", "F G (a & c)", "(a U b) | G F c", "X X (a R F b)",
+        "G (a -> F (b & X c))", "(G F a) & (F G b) & (c W a)")
+      .map(x -> LtlParser.parse(x, List.of("a", "b", "c")).formula())
+      .toList();
+
+    var factory = obtainFactory(LtlParser.parse("a & b & c"));
+    var executor = Executors.newFixedThreadPool(4);
+
+    try {
+      // All threads register the temporal operators and compute the same classes concurrently.
+      List<Future<List<Object>>> futures = new ArrayList<>();
+
+      for (int thread = 0; thread < 8; thread++) {
+        futures.add(executor.submit(() -> {
+          List<Object> results = new ArrayList<>();
+
+          for (Formula formula : formulas) {
+            var clazz = factory.of(formula);
+            results.add(clazz);
+            results.add(clazz.unfold());
+            results.add(clazz.not());
+            results.add(clazz.unfold().temporalStepTree());
+            results.add(clazz.support(true));
+            results.add(clazz.and(factory.of(formulas.get(0))));
+          }
+
+          return results;
+        }));
+      }
+
+      List<Object> expected = futures.get(0).get();
+
+      for (Future<List<Object>> future : futures) {
+        List<Object> actual = future.get();
+        assertEquals(expected, actual);
+
+        // Classes are canonical.
+        for (int i = 0; i < expected.size(); i++) {
+          if (expected.get(i) instanceof EquivalenceClass) {
+            assertSame(expected.get(i), actual.get(i));
+          }
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -21,6 +21,7 @@ package owl.ltl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.collect.Lists;
@@ -34,6 +35,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import owl.ltl.parser.LtlParser;
+import owl.ltl.rewriter.SimplifierRepository;
 
 public class FormulaTest {
 
@@ -136,4 +138,27 @@ public class FormulaTest {
     assertEquals(formula, formula.not().not());
     assertEquals(formula.not(), formula.not().not().not());
   }
+
+  @ParameterizedTest
+  @MethodSource("formulaPairProvider")
+  void intern(Formula formula1, Formula formula2) {
+    Formula canonical1 = formula1.intern();
+    Formula canonical2 = formula2.intern();
+
+    assertEquals(formula1, canonical1);
+    assertSame(canonical1, canonical1.intern());
+    assertEquals(formula1.equals(formula1.nnf()), canonical1 == formula1.nnf().intern());
+    assertEquals(formula1.equals(formula2), canonical1 == canonical2);
+    assertEquals(formula1.equals(formula2), canonical1.equals(canonical2));
+  }
+
+  @Test
+  void parsedAndSimplifiedFormulasAreInterned() {
+    var formula = LtlParser.parse("G (a | F b) & F (a | F b)").formula();
+    assertSame(formula, formula.intern());
+    assertSame(formula, LtlParser.parse("G (a | F b) & F (a | F b)").formula());
+
+    var simplified = SimplifierRepository.SYNTACTIC_FIXPOINT.apply(formula);
+    assertSame(simplified, simplified.intern());
+  }
 }
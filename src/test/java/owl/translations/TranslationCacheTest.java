@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package owl.translations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import owl.automaton.Automaton;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.automaton.algorithm.LanguageContainment;
+import owl.ltl.LabelledFormula;
+import owl.ltl.parser.LtlParser;
+
+class TranslationCacheTest {
+
+  private static final Function<LabelledFormula, Automaton<?, ? extends ParityAcceptance>>
+    TRANSLATION = LtlTranslationRepository.defaultTranslation(
+      LtlTranslationRepository.BranchingMode.DETERMINISTIC, ParityAcceptance.class);
+
+  @Test
+  void testHitModuloRenaming(@TempDir Path directory) {
+    var translations = new AtomicInteger();
+    var cache = new TranslationCache(formula -> {
+      translations.incrementAndGet();
+      return TRANSLATION.apply(formula);
+    }, "ltl2dpa", directory, 1 << 20);
+
+    var formula1 = LtlParser.parse("F a & G (b | X c)", List.of("a", "b", "c"));
+    var formula2 = LtlParser.parse("F x & G (y | X z)", List.of("u", "x", "y", "z"));
+
+    var automaton1 = cache.apply(formula1);
+    var automaton2 = cache.apply(formula2);
+    assertEquals(1, translations.get());
+
+    assertEquals(formula1.atomicPropositions(), automaton1.atomicPropositions());
+    assertEquals(formula2.atomicPropositions(), automaton2.atomicPropositions());
+    assertTrue(LanguageContainment.languageEquivalent(TRANSLATION.apply(formula1), automaton1));
+    assertTrue(LanguageContainment.languageEquivalent(TRANSLATION.apply(formula2), automaton2));
+
+    // Translations with a different configuration do not share entries.
+    var otherCache = new TranslationCache(formula -> {
+      translations.incrementAndGet();
+      return TRANSLATION.apply(formula);
+    }, "ltl2dpa --other-option", directory, 1 << 20);
+
+    otherCache.apply(formula1);
+    assertEquals(2, translations.get());
+  }
+
+  @Test
+  void testMissReturnsTranslation(@TempDir Path directory) {
+    var formula = LtlParser.parse("G F a | X b", List.of("a", "u", "b"));
+    var automaton = TRANSLATION.apply(formula);
+    var cache = new TranslationCache(x -> automaton, "ltl2dpa", directory, 1 << 20);
+
+    assertSame(automaton, cache.apply(formula));
+
+    var cachedAutomaton = cache.apply(formula);
+    assertNotSame(automaton, cachedAutomaton);
+    assertEquals(formula.atomicPropositions(), cachedAutomaton.atomicPropositions());
+    assertTrue(LanguageContainment.languageEquivalent(automaton, cachedAutomaton));
+  }
+
+  @Test
+  void testEviction(@TempDir Path directory) throws IOException {
+    long maximalSize = 4096;
+    var cache = new TranslationCache(TRANSLATION, "ltl2dpa", directory, maximalSize);
+
+    for (int i = 0; i < 32; i++) {
+      cache.apply(LtlParser.parse("G F a | " + "X ".repeat(i) + "b"));
+
+      long size;
+
+      try (Stream<Path> entries = Files.list(directory)) {
+        size = entries.mapToLong(path -> path.toFile().length()).sum();
+      }
+
+      assertTrue(size <= maximalSize, "cache exceeds its bound: " + size);
+    }
+  }
+}
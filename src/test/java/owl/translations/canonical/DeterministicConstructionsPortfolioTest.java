@@ -21,6 +21,7 @@ package owl.translations.canonical;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static owl.translations.canonical.DeterministicConstructionsPortfolio.coSafety;
 import static owl.translations.canonical.DeterministicConstructionsPortfolio.fgSafety;
@@ -30,6 +31,7 @@ import static owl.translations.canonical.DeterministicConstructionsPortfolio.saf
 import static owl.util.Assertions.assertThat;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Nested;
@@ -44,6 +46,7 @@ import owl.automaton.acceptance.AllAcceptance;
 import owl.automaton.acceptance.BuchiAcceptance;
 import owl.automaton.acceptance.CoBuchiAcceptance;
 import owl.automaton.hoa.HoaWriter;
+import owl.bdd.jbdd.JBddSupplier;
 import owl.collections.BitSet2;
 import owl.ltl.Conjunction;
 import owl.ltl.Disjunction;
@@ -220,6 +223,17 @@ class DeterministicConstructionsPortfolioTest {
       assertThrows(IllegalArgumentException.class,
         () -> safety(LtlParser.parse("F a")));
     }
+
+    @Test
+    void testParallelExploration() {
+      var formula = LtlParser.parse("G (a | X (b | X (c | X (d | X e))))");
+      var factories = JBddSupplier.CONCURRENT.getFactories(formula.atomicPropositions());
+      var automaton = DeterministicConstructions.Safety.of(factories, formula.formula());
+      assertTrue(automaton.concurrentEdgeTreeImpl());
+      var states = automaton.states(ForkJoinPool.commonPool());
+      assertEquals(safety(formula).states().size(), states.size());
+      assertEdgeConsistency(automaton, false);
+    }
   }
 
   private static <S> void assertEdgeConsistency(Automaton<S, ?> automaton, boolean complete) {
@@ -19,13 +19,23 @@
 
 package owl.util;
 
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.time.Duration;
+import java.util.BitSet;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import owl.automaton.AbstractMemoizingAutomaton;
 import owl.automaton.Automaton;
 import owl.automaton.EmptyAutomaton;
 import owl.automaton.SingletonAutomaton;
 import owl.automaton.acceptance.GeneralizedBuchiAcceptance;
+import owl.automaton.edge.Edge;
 
 class ParallelEvaluationTest {
 
@@ -61,4 +71,81 @@ class ParallelEvaluationTest {
     Assertions.assertEquals(singleton2,
       ParallelEvaluation.takeSmallest(List.of(singleton2)));
   }
-}
\ No newline at end of file
+
+  @Test
+  void evaluate() {
+    List<Supplier<Optional<Integer>>> suppliers = List.of(
+      () -> Optional.of(1), Optional::empty, () -> Optional.of(3));
+
+    Assertions.assertEquals(List.of(1, 3), ParallelEvaluation.evaluate(suppliers));
+  }
+
+  @Test
+  void evaluateSmallest() {
+    var automaton1 = chain(3, 0, GeneralizedBuchiAcceptance.of(1));
+    var automaton2 = chain(2, 0, GeneralizedBuchiAcceptance.of(2));
+    var automaton3 = chain(2, 0, GeneralizedBuchiAcceptance.of(1));
+    var automaton4 = chain(2, 0, GeneralizedBuchiAcceptance.of(1));
+
+    List<Supplier<Optional<Automaton<?, GeneralizedBuchiAcceptance>>>> suppliers = List.of(
+      () -> Optional.of(automaton1),
+      Optional::empty,
+      () -> Optional.of(automaton2),
+      () -> Optional.of(automaton3),
+      () -> Optional.of(automaton4));
+
+    Assertions.assertSame(automaton3, ParallelEvaluation.evaluateSmallest(suppliers));
+    Assertions.assertThrows(NoSuchElementException.class,
+      () -> ParallelEvaluation.evaluateSmallest(List.of(Optional::empty)));
+  }
+
+  @Test
+  void evaluateSmallestCancelsLargerCandidates() {
+    var small = chain(2, 0, GeneralizedBuchiAcceptance.of(1));
+    var infinite = chain(Integer.MAX_VALUE, 0, GeneralizedBuchiAcceptance.of(1));
+
+    Assertions.assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+      Assertions.assertSame(small, ParallelEvaluation.evaluateSmallest(
+        List.of(() -> Optional.of(infinite), () -> Optional.of(small))));
+      Assertions.assertSame(small, ParallelEvaluation.evaluateSmallest(
+        List.of(() -> Optional.of(small), () -> Optional.of(infinite))));
+    });
+  }
+
+  @Test
+  void evaluateSmallestWithTimeBudget() {
+    var slow = chain(3, 500, GeneralizedBuchiAcceptance.of(1));
+    var fast = chain(5, 0, GeneralizedBuchiAcceptance.of(1));
+
+    Assertions.assertSame(fast, ParallelEvaluation.evaluateSmallest(
+      List.of(() -> Optional.of(slow), () -> Optional.of(fast)), Duration.ofMillis(100)));
+
+    try {
+      System.setProperty(ParallelEvaluation.TIME_BUDGET_PROPERTY, "100");
+      Assertions.assertSame(fast, ParallelEvaluation.evaluateSmallest(
+        List.of(() -> Optional.of(slow), () -> Optional.of(fast))));
+
+      System.setProperty(ParallelEvaluation.TIME_BUDGET_PROPERTY, "-1");
+      Assertions.assertThrows(IllegalArgumentException.class,
+        () -> ParallelEvaluation.evaluateSmallest(List.of(() -> Optional.of(fast))));
+    } finally {
+      System.clearProperty(ParallelEvaluation.TIME_BUDGET_PROPERTY);
+    }
+  }
+
+  // An automaton with the states 0, 1, ..., length - 1 that is computed on-the-fly and takes
+  // delay milliseconds for computing the successor of a state.
+  private static Automaton<Integer, GeneralizedBuchiAcceptance> chain(
+    int length, long delay, GeneralizedBuchiAcceptance acceptance) {
+
+    return new AbstractMemoizingAutomaton.EdgeImplementation<>(
+      List.of(), Set.of(0), acceptance) {
+
+      @Override
+      public Edge<Integer> edgeImpl(Integer state, BitSet valuation) {
+        Uninterruptibles.sleepUninterruptibly(delay, TimeUnit.MILLISECONDS);
+        return Edge.of(state + 1 < length ? state + 1 : state);
+      }
+    };
+  }
+}